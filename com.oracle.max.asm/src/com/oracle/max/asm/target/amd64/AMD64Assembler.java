@@ -1520,6 +1520,14 @@ public class AMD64Assembler extends AbstractAssembler {
         emitOperandHelper(rax, dst);
     }
 
+    public final void popcntl(CiRegister dst, CiRegister src) {
+        emitByte(0xF3);
+        int encode = prefixAndEncode(dst.getEncoding(), src.getEncoding());
+        emitByte(0x0F);
+        emitByte(0xB8);
+        emitByte(0xC0 | encode);
+    }
+
     public final void prefetchPrefix(CiAddress src) {
         prefix(src);
         emitByte(0x0F);
@@ -2648,6 +2656,14 @@ public class AMD64Assembler extends AbstractAssembler {
         emitOperandHelper(rax, dst);
     }
 
+    public final void popcntq(CiRegister dst, CiRegister src) {
+        emitByte(0xF3);
+        int encode = prefixqAndEncode(dst.getEncoding(), src.getEncoding());
+        emitByte(0x0F);
+        emitByte(0xB8);
+        emitByte(0xC0 | encode);
+    }
+
     public final void pushq(CiAddress src) {
         prefixq(src);
         emitByte(0xFF);
@@ -57,7 +57,7 @@ import com.sun.max.vm.thread.*;
 /**
  * Integration of the C1X compiler into Maxine's compilation framework.
  */
-public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCompiler {
+public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCompiler, RuntimeCompiler.OSR {
 
     /**
      * The Maxine specific implementation of the {@linkplain RiRuntime runtime interface} needed by C1X.
@@ -124,6 +124,28 @@ public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCo
 
             map.put("UseStackMapTableLiveness", "Use liveness information derived from StackMapTable class file attribute.");
 
+            map.put("OptProfileGuidedInlining", "Inline virtual and interface calls for the dominant receiver type recorded by baseline code " +
+                            "behind a deoptimizing type guard, and raise the inlining size limit for hot methods.");
+
+            map.put("ProfileTypeMinProbability", "Minimum fraction of a call site's receiver type profile a single type must account for to be speculated on.");
+
+            map.put("ProfileTypeMinCount", "Minimum number of profiled executions of a call site before its receiver type profile is used.");
+
+            map.put("HotInvocationCount", "Profiled invocation count from which a method is considered hot when deciding whether to inline it.");
+
+            map.put("HotInlineSizeRatio", "Factor by which the maximum inline size is raised for hot methods.");
+
+            map.put("OptLoopInvariantCodeMotion", "Move loop invariant computations and field loads that cannot trap to the loop pre-header.");
+
+            map.put("OptRangeCheckElimination", "Remove the bounds checks of array accesses indexed by a loop induction variable " +
+                            "whose range is bounded by the length of the accessed array.");
+
+            map.put("OptEscapeAnalysis", "Replace allocations that do not escape the compiled method by their field values, " +
+                            "remove locking of such objects and describe them in debug info so that deoptimization can materialize them.");
+
+            map.put("UsePopCountInstruction", "Use the POPCNT instruction for Integer.bitCount and Long.bitCount on AMD64. " +
+                            "Off by default as the processor is not queried for POPCNT support; only enable it on processors that implement it.");
+
             for (String name : map.keySet()) {
                 try {
                     C1XOptions.class.getField(name);
@@ -177,6 +199,7 @@ public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCo
             // Speculative opts are ok provided the compilation broker can handle deopt
             C1XOptions.UseAssumptions = vm().compilationBroker.isDeoptSupported() && Deoptimization.UseDeopt;
         } else if (phase == Phase.TERMINATING) {
+            PersistentCodeCache.saveOnExit();
             if (C1XOptions.PrintMetrics) {
                 C1XMetrics.print();
                 DebugInfo.dumpStats(Log.out);
@@ -251,6 +274,12 @@ public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCo
     }
 
     public TargetMethod compile(final ClassMethodActor method, boolean isDeopt, boolean install, CiStatistics stats) {
+        if (install && !isDeopt && !method.isTemplate() && PersistentCodeCache.isEnabled()) {
+            TargetMethod persisted = PersistentCodeCache.install(method);
+            if (persisted != null) {
+                return persisted;
+            }
+        }
         CiTargetMethod compiledMethod;
         do {
             DebugInfoLevel debugInfoLevel = method.isTemplate() ? DebugInfoLevel.REF_MAPS : DebugInfoLevel.FULL;
@@ -282,6 +311,26 @@ public class C1X extends RuntimeCompiler.DefaultNameAdapter implements RuntimeCo
         } while (true);
     }
 
+    @Override
+    public TargetMethod compileOSR(ClassMethodActor method, int osrBCI) {
+        do {
+            CiResult result = compiler().compileMethod(method, osrBCI, null, DebugInfoLevel.FULL);
+            if (result.bailout() != null) {
+                return null;
+            }
+            CiTargetMethod compiledMethod = result.targetMethod();
+            Dependencies deps = Dependencies.validateDependencies(compiledMethod.assumptions());
+            if (deps != Dependencies.INVALID) {
+                MaxTargetMethod maxTargetMethod = new MaxTargetMethod(method, compiledMethod, true);
+                if (deps != null) {
+                    Dependencies.registerValidatedTarget(deps, maxTargetMethod);
+                }
+                return maxTargetMethod;
+            }
+            // Loop back and recompile.
+        } while (true);
+    }
+
     void printMachineCode(CiTargetMethod ciTM, MaxTargetMethod maxTM, boolean reentrant) {
         if (!C1XOptions.PrintCFGToFile || C1XOptions.OmmitAssembly || reentrant || TTY.isSuppressed()) {
             return;
@@ -528,6 +528,14 @@ public final class DebugInfo {
             }
         } else if (value.isIllegal()) {
             value = WordUtil.ZERO;
+        } else if (value instanceof CiVirtualObject) {
+            CiVirtualObject object = (CiVirtualObject) value;
+            CiValue[] values = object.values();
+            CiValue[] liveValues = new CiValue[values.length];
+            for (int i = 0; i < values.length; i++) {
+                liveValues[i] = toLiveSlot(fa, values[i]);
+            }
+            value = CiVirtualObject.get(object.type(), liveValues, object.id());
         } else {
             assert value.isConstant();
         }
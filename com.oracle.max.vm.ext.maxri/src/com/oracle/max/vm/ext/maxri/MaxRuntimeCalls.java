@@ -28,12 +28,15 @@ import java.lang.reflect.*;
 
 import com.sun.cri.ci.*;
 import com.sun.max.annotate.*;
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
 import com.sun.max.vm.*;
 import com.sun.max.vm.actor.holder.ClassActor;
 import com.sun.max.vm.actor.member.*;
 import com.sun.max.vm.classfile.constant.SymbolTable;
 import com.sun.max.vm.classfile.constant.Utf8Constant;
 import com.sun.max.vm.compiler.*;
+import com.sun.max.vm.compiler.deopt.*;
 import com.sun.max.vm.compiler.target.*;
 import com.sun.max.vm.heap.*;
 import com.sun.max.vm.object.*;
@@ -76,6 +79,7 @@ public class MaxRuntimeCalls {
         }
 
         MaxTargetMethod.initializeMaxRuntimeCallsRuntimeUnwindExceptionMethodActor(getRuntimeUnwindExceptionMethodActor());
+        Deoptimization.initializeTypeGuardMissMethodActor(getClassMethodActor(CiRuntimeCall.TypeGuardMiss));
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.UnwindException)
@@ -173,8 +177,9 @@ public class MaxRuntimeCalls {
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.OSRMigrationEnd)
-    public static void runtimeOSRMigrationEnd() {
+    public static void runtimeOSRMigrationEnd(Pointer osrBuffer) {
         verifyRefMaps();
+        Memory.deallocate(osrBuffer);
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.JavaTimeMillis)
@@ -222,31 +227,49 @@ public class MaxRuntimeCalls {
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticCos)
     public static double runtimeArithmeticCos(double v) {
         verifyRefMaps();
-        return Math.cos(v);
+        return StrictMath.cos(v);
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticTan)
     public static double runtimeArithmeticTan(double v) {
         verifyRefMaps();
-        return Math.tan(v);
+        return StrictMath.tan(v);
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticLog)
     public static double runtimeArithmeticLog(double v) {
         verifyRefMaps();
-        return Math.log(v);
+        return StrictMath.log(v);
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticLog10)
     public static double runtimeArithmeticLog10(double v) {
         verifyRefMaps();
-        return Math.log10(v);
+        return StrictMath.log10(v);
     }
 
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticSin)
     public static double runtimeArithmeticSin(double v) {
         verifyRefMaps();
-        return Math.sin(v);
+        return StrictMath.sin(v);
+    }
+
+    @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticExp)
+    public static double runtimeArithmeticExp(double v) {
+        verifyRefMaps();
+        return StrictMath.exp(v);
+    }
+
+    @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticPow)
+    public static double runtimeArithmeticPow(double x, double y) {
+        verifyRefMaps();
+        return StrictMath.pow(x, y);
+    }
+
+    @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.ArithmeticAtan2)
+    public static double runtimeArithmeticAtan2(double y, double x) {
+        verifyRefMaps();
+        return StrictMath.atan2(y, x);
     }
 
     /**
@@ -257,6 +280,16 @@ public class MaxRuntimeCalls {
         throw FatalError.unexpected("stub should be overwritten");
     }
 
+    /**
+     * Called when a speculative type guard fails. The calling method is invalidated and deoptimized upon return
+     * from this call such that the guarded bytecode is re-executed.
+     */
+    @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.TypeGuardMiss)
+    public static void runtimeTypeGuardMiss() {
+        verifyRefMaps();
+        Deoptimization.typeGuardMiss();
+    }
+
     @MAX_RUNTIME_ENTRYPOINT(runtimeCall = CiRuntimeCall.SetDeoptInfo)
     public static void setDeoptInfo(Object info) {
         // TODO
@@ -113,6 +113,11 @@ public class MaxTargetMethod extends TargetMethod implements Cloneable {
 
     private CiTargetMethod debugCiTargetMethod;
 
+    /**
+     * Position of the on-stack replacement entry point or -1 if this method was not compiled for OSR.
+     */
+    private int osrEntryPosition;
+
     public MaxTargetMethod(ClassMethodActor classMethodActor, CiTargetMethod ciTargetMethod, boolean install) {
         super(classMethodActor, CallEntryPoint.OPTIMIZED_ENTRY_POINT);
         assert classMethodActor != null;
@@ -141,6 +146,7 @@ public class MaxTargetMethod extends TargetMethod implements Cloneable {
             }
         }
 
+        osrEntryPosition = ciTargetMethod.osrEntryOffset();
         initCodeBuffer(ciTargetMethod, install);
         initFrameLayout(ciTargetMethod);
         CiDebugInfo[] debugInfos = initSafepoints(ciTargetMethod);
@@ -165,6 +171,11 @@ public class MaxTargetMethod extends TargetMethod implements Cloneable {
         return annotations;
     }
 
+    @Override
+    public int osrEntryPosition() {
+        return osrEntryPosition;
+    }
+
     /**
      * Gets the size (in bytes) of a bit map covering all the registers that may store references.
      * The bit position of a register in the bit map is the register's {@linkplain CiRegister#encoding encoding}.
@@ -210,6 +221,16 @@ public class MaxTargetMethod extends TargetMethod implements Cloneable {
         return debugInfo;
     }
 
+    /**
+     * Gets the compiler output this target method was installed from. This is {@code null} for
+     * target methods in the boot image.
+     *
+     * @see PersistentCodeCache
+     */
+    CiTargetMethod ciTargetMethod() {
+        return debugCiTargetMethod;
+    }
+
     private static int totalHandlersSize;
 
     private void initExceptionTable(CiTargetMethod ciTargetMethod) {
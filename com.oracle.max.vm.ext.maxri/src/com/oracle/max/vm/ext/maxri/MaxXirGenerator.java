@@ -40,6 +40,7 @@ import com.sun.cri.xir.*;
 import com.sun.cri.xir.CiXirAssembler.*;
 import com.sun.max.*;
 import com.sun.max.annotate.*;
+import com.sun.max.lang.*;
 import com.sun.max.platform.*;
 import com.sun.max.program.*;
 import com.sun.max.unsafe.*;
@@ -55,6 +56,8 @@ import com.sun.max.vm.heap.*;
 import com.sun.max.vm.heap.debug.*;
 import com.sun.max.vm.layout.*;
 import com.sun.max.vm.methodhandle.*;
+import com.sun.max.vm.monitor.modal.modehandlers.*;
+import com.sun.max.vm.monitor.modal.schemes.*;
 import com.sun.max.vm.object.*;
 import com.sun.max.vm.profilers.tracing.numa.*;
 import com.sun.max.vm.runtime.*;
@@ -71,11 +74,18 @@ import com.sun.max.vm.type.*;
  */
 public class MaxXirGenerator implements RiXirGenerator {
 
-    private static final int SMALL_MULTIANEWARRAY_RANK = 2;
+    private static final int SMALL_MULTIANEWARRAY_RANK = 4;
     private CiRegister LATCH_REGISTER = null;
     // (tw) TODO: Up this to 255 / make a loop in the template
     private static final int MAX_MULTIANEWARRAY_RANK = 6;
 
+    /**
+     * Upper bound, in bytes, on the size of an array allocated by the inline TLAB fast path. The array size is
+     * computed in a 32-bit temp, so this bound also keeps that computation from overflowing. Larger arrays
+     * seldom fit in a TLAB and are handed straight to {@link Heap#createArray}.
+     */
+    private static final int MAX_INLINE_ARRAY_SIZE = 1 << 20;
+
     static XirWriteBarrierSpecification writeBarrierSpecification() {
         HeapScheme heapScheme = VMConfiguration.vmConfig().heapScheme();
         if (heapScheme instanceof XirWriteBarrierSpecification) {
@@ -167,6 +177,18 @@ public class MaxXirGenerator implements RiXirGenerator {
 
     private XirTemplate typeAssertTemplate;
 
+    private XirTemplate identityHashCodeTemplate;
+    private XirTemplate objectHashCodeTemplate;
+    private XirTemplate stringEqualsTemplate;
+    private XirTemplate stringCompareToTemplate;
+    private XirTemplate stringIndexOfTemplate;
+
+    private MethodActor identityHashCodeMethod;
+    private MethodActor objectHashCodeMethod;
+    private MethodActor stringEqualsMethod;
+    private MethodActor stringCompareToMethod;
+    private MethodActor stringIndexOfMethod;
+
     private XirTemplate exceptionObjectTemplate;
 
     public final List<XirTemplate> stubs = new ArrayList<XirTemplate>();
@@ -201,6 +223,21 @@ public class MaxXirGenerator implements RiXirGenerator {
         return FieldActor.findInstance(ClassActor.fromJava(Hub.class), "tupleSize").offset();
     }
 
+    @FOLD
+    int miscOffset() {
+        return generalLayout().getOffsetFromOrigin(Layout.HeaderField.MISC).toInt();
+    }
+
+    @FOLD
+    int offsetOfFirstCharArrayElement() {
+        return charArrayLayout().getElementOffsetFromOrigin(0).toInt();
+    }
+
+    @FOLD
+    int offsetOfStringValue() {
+        return FieldActor.findInstance(ClassActor.fromJava(String.class), "value").offset();
+    }
+
     @FOLD
     int minObjectAlignmentMask() {
         return vmConfig().heapScheme().objectAlignment() - 1;
@@ -329,6 +366,8 @@ public class MaxXirGenerator implements RiXirGenerator {
 
         typeAssertTemplate = buildTypeAssert();
 
+        buildIntrinsicTemplates();
+
         exceptionObjectTemplate = buildExceptionObject();
 
         MaxTargetMethod.initializeMaxXirGeneratorRuntimeCallsMonitorEnterMethodActor(getRuntimeCallsMonitorEnterMethodActor());
@@ -636,13 +675,13 @@ public class MaxXirGenerator implements RiXirGenerator {
     @Override
     public XirSnippet genNewMultiArray(XirSite site, XirArgument[] lengths, RiType type) {
         int rank = lengths.length;
+        if (rank >= multiNewArrayTemplate.length) {
+            FatalError.unimplemented("com.oracle.max.vm.ext.maxri.MaxXirGenerator.genNewMultiArray");
+        }
         if (!(type instanceof RiResolvedType) || rank >= SMALL_MULTIANEWARRAY_RANK) {
             XirArgument guard = guardFor(type);
             return new XirSnippet(multiNewArrayTemplate[rank].unresolved, Utils.concat(lengths, guard));
         }
-        if (rank >= multiNewArrayTemplate.length) {
-            FatalError.unimplemented("com.oracle.max.vm.ext.maxri.MaxXirGenerator.genNewMultiArray");
-        }
         XirArgument hub = XirArgument.forObject(hubFor(type));
         return new XirSnippet(multiNewArrayTemplate[rank].resolved, Utils.concat(lengths, hub));
     }
@@ -1122,6 +1161,25 @@ public class MaxXirGenerator implements RiXirGenerator {
         }
     }
 
+    /**
+     * Emits the single unsigned comparison that guards an inline TLAB array allocation. It sends both negative
+     * lengths and lengths whose array would exceed {@link #MAX_INLINE_ARRAY_SIZE} to {@code slowPath}.
+     */
+    private void checkInlineArrayLength(XirLabel slowPath, XirOperand length, int elemSize) {
+        int maxLength = (MAX_INLINE_ARRAY_SIZE - arrayLayout().headerSize()) / elemSize;
+        asm.jugteq(slowPath, length, asm.i(maxLength + 1));
+    }
+
+    /**
+     * Emits the out-of-line allocation of an array whose length failed {@link #checkInlineArrayLength}. The runtime
+     * call throws {@link NegativeArraySizeException} for a negative length and otherwise allocates from the heap.
+     */
+    private void allocateArrayOutOfLine(CiKind kind, XirLabel largeOrNegativeLength, XirLabel allocated, XirOperand result, XirOperand hub, XirOperand length) {
+        asm.bindOutOfLine(largeOrNegativeLength);
+        callRuntimeThroughStub(asm, kind.isObject() ? "allocateObjectArray" : "allocatePrimitiveArray", result, hub, length);
+        asm.jmp(allocated);
+    }
+
     @HOSTED_ONLY
     private XirTemplate buildTLABAllocateArrayIn(CiKind kind, XirOperand result, XirOperand hub) {
         XirParameter length = asm.createInputParameter("length", CiKind.Int);
@@ -1130,7 +1188,8 @@ public class MaxXirGenerator implements RiXirGenerator {
 
         XirLabel done = asm.createInlineLabel("done");
         XirLabel ok = asm.createInlineLabel("ok");
-        XirLabel reportNegativeIndexError = asm.createOutOfLineLabel("indexError");
+        XirLabel allocated = asm.createInlineLabel("allocated");
+        XirLabel largeOrNegativeLength = asm.createOutOfLineLabel("largeOrNegativeLength");
 
         XirOperand tla = asm.createRegisterTemp("TLA", WordUtil.archKind(), LATCH_REGISTER);
         XirOperand etla = asm.createTemp("ETLA", WordUtil.archKind());
@@ -1140,11 +1199,11 @@ public class MaxXirGenerator implements RiXirGenerator {
         XirConstant offsetToTLABMark = asm.i(HeapSchemeWithTLAB.TLAB_MARK.offset);
         XirConstant offsetToTLABEnd = asm.i(HeapSchemeWithTLAB.TLAB_TOP.offset);
 
-        asm.jlt(reportNegativeIndexError, length, asm.i(0));
-        asm.pload(WordUtil.archKind(), etla, tla, asm.i(VmThreadLocal.ETLA.offset), false);
-
         int elemSize = target().sizeInBytes(kind);
         Scale scale = Scale.fromInt(elemSize);
+        checkInlineArrayLength(largeOrNegativeLength, length, elemSize);
+        asm.pload(WordUtil.archKind(), etla, tla, asm.i(VmThreadLocal.ETLA.offset), false);
+
         alignArraySize(length, arraySize, elemSize, scale);
 
         asm.pload(WordUtil.archKind(), cell, etla, offsetToTLABMark, false);
@@ -1169,9 +1228,9 @@ public class MaxXirGenerator implements RiXirGenerator {
         if (MaxineVM.useNUMAProfiler) {
             callRuntimeThroughStub(asm, "callProfileNewArray", null, arraySize, hub, cell);
         }
+        asm.bindInline(allocated);
 
-        asm.bindOutOfLine(reportNegativeIndexError);
-        callRuntimeThroughStub(asm, "throwNegativeArraySizeException", null, length);
+        allocateArrayOutOfLine(kind, largeOrNegativeLength, allocated, result, hub, length);
 
         return finishTemplate(asm, (kind.isObject() ? "a" : "") + "newarray<" + kind + ">");
     }
@@ -1184,7 +1243,8 @@ public class MaxXirGenerator implements RiXirGenerator {
 
         XirLabel done = asm.createInlineLabel("done");
         XirLabel slowPath = asm.createOutOfLineLabel("slowPath");
-        XirLabel reportNegativeIndexError = asm.createOutOfLineLabel("indexError");
+        XirLabel allocated = asm.createInlineLabel("allocated");
+        XirLabel largeOrNegativeLength = asm.createOutOfLineLabel("largeOrNegativeLength");
 
         XirOperand tla = asm.createRegisterTemp("TLA", WordUtil.archKind(), this.LATCH_REGISTER);
         XirOperand etla = asm.createTemp("ETLA", WordUtil.archKind());
@@ -1194,11 +1254,11 @@ public class MaxXirGenerator implements RiXirGenerator {
         XirConstant offsetToTLABMark = asm.i(HeapSchemeWithTLAB.TLAB_MARK.offset);
         XirConstant offsetToTLABEnd = asm.i(HeapSchemeWithTLAB.TLAB_TOP.offset);
 
-        asm.jlt(reportNegativeIndexError, length, asm.i(0));
-        asm.pload(WordUtil.archKind(), etla, tla, asm.i(VmThreadLocal.ETLA.offset), false);
-
         int elemSize = target().sizeInBytes(kind);
         Scale scale = Scale.fromInt(elemSize);
+        checkInlineArrayLength(largeOrNegativeLength, length, elemSize);
+        asm.pload(WordUtil.archKind(), etla, tla, asm.i(VmThreadLocal.ETLA.offset), false);
+
         alignArraySize(length, arraySize, elemSize, scale);
 
         asm.pload(WordUtil.archKind(), cell, etla, offsetToTLABMark, false);
@@ -1219,9 +1279,9 @@ public class MaxXirGenerator implements RiXirGenerator {
         if (MaxineVM.useNUMAProfiler) {
             callRuntimeThroughStub(asm, "callProfileNewTuple", null, arraySize, hub, cell);
         }
+        asm.bindInline(allocated);
 
-        asm.bindOutOfLine(reportNegativeIndexError);
-        callRuntimeThroughStub(asm, "throwNegativeArraySizeException", null, length);
+        allocateArrayOutOfLine(kind, largeOrNegativeLength, allocated, result, hub, length);
 
         asm.bindOutOfLine(slowPath);
         callRuntimeThroughStub(asm, "slowPathAllocate", cell, arraySize, etla);
@@ -1282,7 +1342,7 @@ public class MaxXirGenerator implements RiXirGenerator {
             }
 
         } else {
-            // XXX: specialized, inline templates for each kind
+            // inline allocation needs a TLAB to bump, see buildTLABNewArray
             XirOperand result = asm.restart(CiKind.Object);
             XirParameter hub = asm.createConstantInputParameter("hub", CiKind.Object);
             XirParameter length = asm.createInputParameter("length", CiKind.Int);
@@ -1853,12 +1913,234 @@ public class MaxXirGenerator implements RiXirGenerator {
 
         // -- out of line -------------------------------------------------------
         asm.bindOutOfLine(slowPath);
-        asm.callRuntime(CiRuntimeCall.Deoptimize, null);
+        asm.callRuntime(CiRuntimeCall.TypeGuardMiss, null);
         asm.shouldNotReachHere();
 
         return asm.finishTemplate(object, "typeCheck");
     }
 
+    @HOSTED_ONLY
+    private void buildIntrinsicTemplates() {
+        identityHashCodeMethod = MethodActor.fromJava(Classes.getDeclaredMethod(System.class, "identityHashCode", Object.class));
+        objectHashCodeMethod = MethodActor.fromJava(Classes.getDeclaredMethod(Object.class, "hashCode"));
+        stringEqualsMethod = MethodActor.fromJava(Classes.getDeclaredMethod(String.class, "equals", Object.class));
+        stringCompareToMethod = MethodActor.fromJava(Classes.getDeclaredMethod(String.class, "compareTo", String.class));
+        stringIndexOfMethod = MethodActor.fromJava(Classes.getDeclaredMethod(String.class, "indexOf", String.class));
+
+        // the hashcode fast path depends on the lock word layout of the modal monitor schemes
+        if (vmConfig().monitorScheme() instanceof ModalMonitorScheme && platform().target.arch.is64bit() && platform().endianness() == Endianness.LITTLE) {
+            identityHashCodeTemplate = buildIdentityHashCode(true);
+            objectHashCodeTemplate = buildIdentityHashCode(false);
+        }
+        stringEqualsTemplate = buildStringEquals();
+        stringCompareToTemplate = buildStringCompareTo();
+        stringIndexOfTemplate = buildStringIndexOf();
+    }
+
+    /**
+     * Builds the template for {@link System#identityHashCode(Object)} or, if {@code nullable == false}, for
+     * {@link Object#hashCode()}. The hashcode is read directly from the misc word if it has already been
+     * assigned and the lock word is not inflated. The 32 bit hashcode field straddles the two halves of
+     * the 64 bit misc word, which is loaded as two little-endian int halves to keep the template in 32 bit arithmetic.
+     */
+    @HOSTED_ONLY
+    private XirTemplate buildIdentityHashCode(boolean nullable) {
+        XirOperand result = asm.restart(CiKind.Int);
+        XirParameter object = asm.createInputParameter("object", CiKind.Object);
+        XirOperand high = asm.createTemp("high", CiKind.Int);
+        XirLabel done = asm.createInlineLabel("done");
+        XirLabel slowPath = asm.createOutOfLineLabel("slowPath");
+
+        if (nullable) {
+            asm.mov(result, asm.i(0));
+            asm.jeq(done, object, asm.o(null));
+        }
+        asm.pload(CiKind.Int, result, object, asm.i(miscOffset()), !nullable);
+        asm.and(high, result, asm.i(1 << HashableLockword.shapeBitIndex()));
+        asm.jneq(slowPath, high, asm.i(0));
+        asm.shr(result, result, asm.i(HashableLockword.hashcodeShift()));
+        asm.pload(CiKind.Int, high, object, asm.i(miscOffset() + 4), false);
+        asm.shl(high, high, asm.i(32 - HashableLockword.hashcodeShift()));
+        asm.or(result, result, high);
+        // a zero hashcode field means no hashcode has been assigned yet
+        asm.jeq(slowPath, result, asm.i(0));
+        asm.bindInline(done);
+
+        // -- out of line -------------------------------------------------------
+        asm.bindOutOfLine(slowPath);
+        callRuntimeThroughStub(asm, "identityHashCode", result, object);
+        asm.jmp(done);
+
+        return finishTemplate(asm, nullable ? "identityHashCode" : "hashCode");
+    }
+
+    /**
+     * Builds the template for {@link String#equals(Object)}. The character arrays are compared a word at a time,
+     * followed by the remaining characters.
+     */
+    @HOSTED_ONLY
+    private XirTemplate buildStringEquals() {
+        XirOperand result = asm.restart(CiKind.Int);
+        XirParameter string = asm.createInputParameter("string", CiKind.Object);
+        XirParameter other = asm.createInputParameter("other", CiKind.Object);
+        XirParameter stringHub = asm.createConstantInputParameter("stringHub", CiKind.Object);
+        XirOperand value = asm.createTemp("value", CiKind.Object);
+        XirOperand otherValue = asm.createTemp("otherValue", CiKind.Object);
+        XirOperand length = asm.createTemp("length", CiKind.Int);
+        XirOperand limit = asm.createTemp("limit", CiKind.Int);
+        XirOperand index = asm.createTemp("index", CiKind.Int);
+        XirOperand a = asm.createTemp("a", WordUtil.archKind());
+        XirOperand b = asm.createTemp("b", WordUtil.archKind());
+        XirLabel wordLoop = asm.createInlineLabel("wordLoop");
+        XirLabel charLoop = asm.createInlineLabel("charLoop");
+        XirLabel equal = asm.createInlineLabel("equal");
+        XirLabel notEqual = asm.createInlineLabel("notEqual");
+        XirLabel done = asm.createInlineLabel("done");
+        int charsPerWord = Word.size() / 2;
+
+        asm.pload(CiKind.Object, value, string, asm.i(offsetOfStringValue()), true);
+        asm.jeq(equal, string, other);
+        asm.jeq(notEqual, other, asm.o(null));
+        asm.pload(CiKind.Object, otherValue, other, asm.i(hubOffset()), false);
+        asm.jneq(notEqual, otherValue, stringHub);
+        asm.pload(CiKind.Object, otherValue, other, asm.i(offsetOfStringValue()), false);
+        asm.pload(CiKind.Int, length, value, asm.i(arrayLayout().arrayLengthOffset()), false);
+        asm.pload(CiKind.Int, limit, otherValue, asm.i(arrayLayout().arrayLengthOffset()), false);
+        asm.jneq(notEqual, length, limit);
+
+        asm.and(limit, length, asm.i(~(charsPerWord - 1)));
+        asm.mov(index, asm.i(0));
+        asm.bindInline(wordLoop);
+        asm.jgteq(charLoop, index, limit);
+        asm.pload(WordUtil.archKind(), a, value, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.pload(WordUtil.archKind(), b, otherValue, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.jneq(notEqual, a, b);
+        asm.add(index, index, asm.i(charsPerWord));
+        asm.jmp(wordLoop);
+
+        asm.bindInline(charLoop);
+        asm.jgteq(equal, index, length);
+        asm.pload(CiKind.Char, a, value, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.pload(CiKind.Char, b, otherValue, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.jneq(notEqual, a, b);
+        asm.add(index, index, asm.i(1));
+        asm.jmp(charLoop);
+
+        asm.bindInline(equal);
+        asm.mov(result, asm.i(1));
+        asm.jmp(done);
+        asm.bindInline(notEqual);
+        asm.mov(result, asm.i(0));
+        asm.bindInline(done);
+
+        return finishTemplate(asm, "String.equals");
+    }
+
+    /**
+     * Builds the template for {@link String#compareTo(String)}.
+     */
+    @HOSTED_ONLY
+    private XirTemplate buildStringCompareTo() {
+        XirOperand result = asm.restart(CiKind.Int);
+        XirParameter string = asm.createInputParameter("string", CiKind.Object);
+        XirParameter other = asm.createInputParameter("other", CiKind.Object);
+        XirOperand value = asm.createTemp("value", CiKind.Object);
+        XirOperand otherValue = asm.createTemp("otherValue", CiKind.Object);
+        XirOperand length = asm.createTemp("length", CiKind.Int);
+        XirOperand otherLength = asm.createTemp("otherLength", CiKind.Int);
+        XirOperand index = asm.createTemp("index", CiKind.Int);
+        XirOperand a = asm.createTemp("a", CiKind.Int);
+        XirOperand b = asm.createTemp("b", CiKind.Int);
+        XirLabel haveLimit = asm.createInlineLabel("haveLimit");
+        XirLabel loop = asm.createInlineLabel("loop");
+        XirLabel charDifference = asm.createInlineLabel("charDifference");
+        XirLabel lengthDifference = asm.createInlineLabel("lengthDifference");
+        XirLabel done = asm.createInlineLabel("done");
+
+        asm.pload(CiKind.Object, value, string, asm.i(offsetOfStringValue()), true);
+        asm.pload(CiKind.Object, otherValue, other, asm.i(offsetOfStringValue()), true);
+        asm.pload(CiKind.Int, length, value, asm.i(arrayLayout().arrayLengthOffset()), false);
+        asm.pload(CiKind.Int, otherLength, otherValue, asm.i(arrayLayout().arrayLengthOffset()), false);
+
+        // the result holds the number of characters to compare until the loop exits
+        asm.mov(result, length);
+        asm.jlteq(haveLimit, length, otherLength);
+        asm.mov(result, otherLength);
+        asm.bindInline(haveLimit);
+        asm.mov(index, asm.i(0));
+        asm.bindInline(loop);
+        asm.jgteq(lengthDifference, index, result);
+        asm.pload(CiKind.Char, a, value, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.pload(CiKind.Char, b, otherValue, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.jneq(charDifference, a, b);
+        asm.add(index, index, asm.i(1));
+        asm.jmp(loop);
+
+        asm.bindInline(charDifference);
+        asm.sub(result, a, b);
+        asm.jmp(done);
+        asm.bindInline(lengthDifference);
+        asm.sub(result, length, otherLength);
+        asm.bindInline(done);
+
+        return finishTemplate(asm, "String.compareTo");
+    }
+
+    /**
+     * Builds the template for {@link String#indexOf(String)} as a naive search.
+     */
+    @HOSTED_ONLY
+    private XirTemplate buildStringIndexOf() {
+        XirOperand result = asm.restart(CiKind.Int);
+        XirParameter string = asm.createInputParameter("string", CiKind.Object);
+        XirParameter str = asm.createInputParameter("str", CiKind.Object);
+        XirOperand value = asm.createTemp("value", CiKind.Object);
+        XirOperand strValue = asm.createTemp("strValue", CiKind.Object);
+        XirOperand lastStart = asm.createTemp("lastStart", CiKind.Int);
+        XirOperand strLength = asm.createTemp("strLength", CiKind.Int);
+        XirOperand start = asm.createTemp("start", CiKind.Int);
+        XirOperand index = asm.createTemp("index", CiKind.Int);
+        XirOperand a = asm.createTemp("a", CiKind.Int);
+        XirOperand b = asm.createTemp("b", CiKind.Int);
+        XirLabel outerLoop = asm.createInlineLabel("outerLoop");
+        XirLabel innerLoop = asm.createInlineLabel("innerLoop");
+        XirLabel mismatch = asm.createInlineLabel("mismatch");
+        XirLabel found = asm.createInlineLabel("found");
+        XirLabel notFound = asm.createInlineLabel("notFound");
+        XirLabel done = asm.createInlineLabel("done");
+
+        asm.pload(CiKind.Object, value, string, asm.i(offsetOfStringValue()), true);
+        asm.pload(CiKind.Object, strValue, str, asm.i(offsetOfStringValue()), true);
+        asm.pload(CiKind.Int, lastStart, value, asm.i(arrayLayout().arrayLengthOffset()), false);
+        asm.pload(CiKind.Int, strLength, strValue, asm.i(arrayLayout().arrayLengthOffset()), false);
+        asm.sub(lastStart, lastStart, strLength);
+
+        asm.mov(start, asm.i(0));
+        asm.bindInline(outerLoop);
+        asm.jgt(notFound, start, lastStart);
+        asm.mov(index, asm.i(0));
+        asm.bindInline(innerLoop);
+        asm.jgteq(found, index, strLength);
+        asm.add(a, start, index);
+        asm.pload(CiKind.Char, a, value, a, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.pload(CiKind.Char, b, strValue, index, offsetOfFirstCharArrayElement(), Scale.Times2, false);
+        asm.jneq(mismatch, a, b);
+        asm.add(index, index, asm.i(1));
+        asm.jmp(innerLoop);
+        asm.bindInline(mismatch);
+        asm.add(start, start, asm.i(1));
+        asm.jmp(outerLoop);
+
+        asm.bindInline(found);
+        asm.mov(result, start);
+        asm.jmp(done);
+        asm.bindInline(notFound);
+        asm.mov(result, asm.i(-1));
+        asm.bindInline(done);
+
+        return finishTemplate(asm, "String.indexOf");
+    }
+
     @HOSTED_ONLY
     private XirPair buildInstanceofForNonLeaf(boolean nonnull) {
         XirTemplate resolved;
@@ -2042,6 +2324,21 @@ public class MaxXirGenerator implements RiXirGenerator {
 
     @Override
     public XirSnippet genIntrinsic(XirSite site, XirArgument[] arguments, RiMethod method) {
+        if (method == stringEqualsMethod) {
+            return new XirSnippet(stringEqualsTemplate, arguments[0], arguments[1], XirArgument.forObject(ClassActor.fromJava(String.class).dynamicHub()));
+        }
+        if (method == stringCompareToMethod) {
+            return new XirSnippet(stringCompareToTemplate, arguments);
+        }
+        if (method == stringIndexOfMethod) {
+            return new XirSnippet(stringIndexOfTemplate, arguments);
+        }
+        if (method == identityHashCodeMethod && identityHashCodeTemplate != null) {
+            return new XirSnippet(identityHashCodeTemplate, arguments);
+        }
+        if (method == objectHashCodeMethod && objectHashCodeTemplate != null) {
+            return new XirSnippet(objectHashCodeTemplate, arguments);
+        }
         return null;
     }
 
@@ -2381,6 +2678,10 @@ public class MaxXirGenerator implements RiXirGenerator {
             Throw.throwNegativeArraySizeException(length);
         }
 
+        public static int identityHashCode(Object object) {
+            return ObjectAccess.makeHashCode(object);
+        }
+
         public static void monitorEnter(Object o) {
             vmConfig().monitorScheme().monitorEnter(o);
         }
@@ -0,0 +1,1074 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.oracle.max.vm.ext.maxri;
+
+import static com.sun.max.platform.Platform.*;
+import static com.sun.max.vm.MaxineVM.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.*;
+
+import com.sun.cri.ci.*;
+import com.sun.cri.ci.CiAssumptions.*;
+import com.sun.cri.ci.CiTargetMethod.*;
+import com.sun.cri.ri.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.classfile.*;
+import com.sun.max.vm.classfile.constant.*;
+import com.sun.max.vm.code.*;
+import com.sun.max.vm.compiler.deps.*;
+import com.sun.max.vm.compiler.target.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.object.*;
+import com.sun.max.vm.reference.*;
+import com.sun.max.vm.type.*;
+
+/**
+ * A cache of optimized code persisted across VM runs.
+ * <p>
+ * At VM exit (or when {@link #save(String)} is called), the {@link MaxTargetMethod}s in the runtime opt code region
+ * are serialized to the file given by {@code -XX:PersistentCodeCache}. What is saved is the compiler output each
+ * method was installed from: the unpatched code and trampolines, the data patches (relocations), the safepoints with
+ * their reference maps and frames, the exception handlers and the {@link CiAssumptions assumptions} from which the
+ * method's {@link Dependencies} were derived. In a subsequent run of the same boot image, a request to compile a
+ * method with the optimizing compiler first looks for a persisted entry for it. The entry is validated against the
+ * classes loaded so far and, if it is still valid, installed exactly as if the compiler had just produced it, which
+ * re-creates the adapter, re-patches the code, links the direct calls and registers the dependencies.
+ * <p>
+ * Objects referenced from persisted code are encoded either as an offset in the boot heap (which is only valid for
+ * the boot image that wrote the file, see {@link #imageIdentity}) or symbolically (class, hub, static tuple, mirror,
+ * method, field or interned string). Code referencing any other object, such as a {@link ResolutionGuard}, is not
+ * persisted. Each entry also records the classes it depends on: the classes it references symbolically and those
+ * resolved in the constant pools of the method and of the methods inlined into it. An entry is installed only if all
+ * these classes are loaded by the same kind of class loader, have the same {@linkplain #fingerprint shape} and
+ * bytecode as when the entry was saved, and are initialized if they were initialized then (the compiler omits class
+ * initialization barriers and folds static final fields of initialized classes).
+ */
+public final class PersistentCodeCache {
+
+    private static final VMStringOption persistentCodeCacheOption = VMOptions.register(new VMStringOption("-XX:PersistentCodeCache=", false, null,
+        "File to which optimized code is saved at VM exit and from which it is installed in subsequent runs of the same boot image."), MaxineVM.Phase.STARTING);
+
+    static boolean TracePersistentCodeCache;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "TracePersistentCodeCache", PersistentCodeCache.class, "Trace saving and installing of persisted optimized code.");
+    }
+
+    private static final int MAGIC = 0x4d585043; // "MXPC"
+
+    private static final int VERSION = 1;
+
+    /**
+     * Identifies the boot image this class is part of. Being initialized while the image is built, its value
+     * differs for every image, which invalidates all persisted code (and the boot heap offsets it contains)
+     * whenever the VM is rebuilt.
+     */
+    private static final long imageIdentity = new Random().nextLong() ^ System.nanoTime();
+
+    private static final int LOADER_BOOT = 0;
+    private static final int LOADER_VM = 1;
+    private static final int LOADER_SYSTEM = 2;
+
+    private static final int OBJECT_NULL = 0;
+    private static final int OBJECT_BOOT_HEAP = 1;
+    private static final int OBJECT_STRING = 2;
+    private static final int OBJECT_CLASS_ACTOR = 3;
+    private static final int OBJECT_MIRROR = 4;
+    private static final int OBJECT_DYNAMIC_HUB = 5;
+    private static final int OBJECT_STATIC_HUB = 6;
+    private static final int OBJECT_STATIC_TUPLE = 7;
+    private static final int OBJECT_METHOD_ACTOR = 8;
+    private static final int OBJECT_FIELD_ACTOR = 9;
+
+    private static final int VALUE_ILLEGAL = 0;
+    private static final int VALUE_REGISTER = 1;
+    private static final int VALUE_STACK_SLOT = 2;
+    private static final int VALUE_CONSTANT = 3;
+    private static final int VALUE_MONITOR = 4;
+
+    private static final int CODE_POS_NONE = 0;
+    private static final int CODE_POS = 1;
+    private static final int CODE_POS_FRAME = 2;
+
+    private static final int ASSUMPTION_CONCRETE_SUBTYPE = 0;
+    private static final int ASSUMPTION_CONCRETE_METHOD = 1;
+    private static final int ASSUMPTION_INLINED_METHOD = 2;
+
+    private static final int ANNOTATION_JUMP_TABLE = 0;
+    private static final int ANNOTATION_LOOKUP_TABLE = 1;
+    private static final int ANNOTATION_INLINE_DATA = 2;
+
+    /**
+     * The persisted entries read at startup that have not been looked up yet, keyed by {@link #keyOf(ClassActor, String, String)}.
+     * This is {@code null} until the file has been read.
+     */
+    private static HashMap<String, byte[]> entries;
+
+    private static int installed;
+    private static int rejected;
+
+    private PersistentCodeCache() {
+    }
+
+    /**
+     * Signals that a target method cannot be persisted, or that a persisted entry cannot be installed.
+     */
+    static final class Rejected extends Exception {
+        Rejected(String reason) {
+            super(reason);
+        }
+    }
+
+    /**
+     * Determines if compilations should first look for persisted code, that is, if {@code -XX:PersistentCodeCache}
+     * was given or entries have been {@linkplain #load(String) loaded} explicitly.
+     */
+    public static boolean isEnabled() {
+        return persistentCodeCacheOption.getValue() != null || entries != null;
+    }
+
+    /**
+     * Gets the number of persisted entries installed in this run.
+     */
+    public static int installedCount() {
+        return installed;
+    }
+
+    /**
+     * Gets the number of persisted entries that were looked up in this run but could not be installed.
+     */
+    public static int rejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Installs the persisted code of a given method, if any and if it is still valid.
+     *
+     * @return the installed target method or {@code null} if the method must be compiled
+     */
+    public static TargetMethod install(ClassMethodActor method) {
+        final byte[] entry;
+        synchronized (PersistentCodeCache.class) {
+            if (!ensureLoaded() || entries.isEmpty()) {
+                return null;
+            }
+            final String key;
+            try {
+                key = keyOf(method.holder(), method.name.string, method.descriptor().string);
+            } catch (Rejected e) {
+                return null;
+            }
+            // An entry is only ever tried once: if it is rejected, the method is compiled and will be saved again.
+            entry = entries.remove(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        try {
+            CiTargetMethod ciTargetMethod = new Decoder(entry).readEntry(method);
+            Dependencies deps = Dependencies.validateDependencies(ciTargetMethod.assumptions());
+            if (deps == Dependencies.INVALID) {
+                throw new Rejected("assumptions do not hold");
+            }
+            MaxTargetMethod targetMethod = new MaxTargetMethod(method, ciTargetMethod, true);
+            if (deps != null) {
+                Dependencies.registerValidatedTarget(deps, targetMethod);
+            }
+            installed++;
+            if (TracePersistentCodeCache) {
+                Log.println("PersistentCodeCache: installed " + targetMethod);
+            }
+            return targetMethod;
+        } catch (Rejected e) {
+            rejected++;
+            if (TracePersistentCodeCache) {
+                Log.println("PersistentCodeCache: rejected " + method + ": " + e.getMessage());
+            }
+        } catch (IOException e) {
+            rejected++;
+            if (TracePersistentCodeCache) {
+                Log.println("PersistentCodeCache: corrupt entry for " + method + ": " + e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves the optimized code to the file given by {@code -XX:PersistentCodeCache}, if any.
+     * This is called at VM exit.
+     */
+    public static void saveOnExit() {
+        if (persistentCodeCacheOption.getValue() != null && isRunning()) {
+            save(persistentCodeCacheOption.getValue());
+        }
+    }
+
+    /**
+     * Saves the optimized code currently installed in the runtime opt code region to a given file, together with
+     * the persisted entries read at startup that were not needed by this run. The file is written to a temporary
+     * file first, which is then renamed so that a concurrently starting VM never sees a partially written file.
+     *
+     * @return the number of entries written or {@code -1} if the file could not be written
+     */
+    public static synchronized int save(String path) {
+        ensureLoaded();
+        final LinkedHashMap<String, byte[]> out = new LinkedHashMap<String, byte[]>();
+        if (entries != null) {
+            out.putAll(entries);
+        }
+        final Encoder encoder = new Encoder();
+        int skipped = 0;
+        for (TargetMethod tm : Code.getCodeManager().getRuntimeOptCodeRegion().copyOfTargetMethods()) {
+            if (!(tm instanceof MaxTargetMethod)) {
+                continue;
+            }
+            MaxTargetMethod maxTargetMethod = (MaxTargetMethod) tm;
+            try {
+                byte[] entry = encoder.encodeEntry(maxTargetMethod);
+                ClassMethodActor method = maxTargetMethod.classMethodActor;
+                out.put(keyOf(method.holder(), method.name.string, method.descriptor().string), entry);
+            } catch (Rejected e) {
+                skipped++;
+                if (TracePersistentCodeCache) {
+                    Log.println("PersistentCodeCache: not saving " + tm + ": " + e.getMessage());
+                }
+            } catch (IOException e) {
+                throw new InternalError(e.toString());
+            }
+        }
+
+        final File file = new File(path);
+        final File tmp = new File(path + ".tmp");
+        try {
+            DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            try {
+                stream.writeInt(MAGIC);
+                stream.writeInt(VERSION);
+                stream.writeLong(imageIdentity);
+                stream.writeInt(out.size());
+                for (Map.Entry<String, byte[]> e : out.entrySet()) {
+                    stream.writeUTF(e.getKey());
+                    stream.writeInt(e.getValue().length);
+                    stream.write(e.getValue());
+                }
+            } finally {
+                stream.close();
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("could not rename " + tmp + " to " + file);
+            }
+        } catch (IOException e) {
+            Log.println("WARNING: could not save persistent code cache to " + path + ": " + e.getMessage());
+            tmp.delete();
+            return -1;
+        }
+        if (TracePersistentCodeCache) {
+            Log.println("PersistentCodeCache: saved " + out.size() + " methods to " + path + " (" + skipped + " not persistable, " +
+                installed + " installed and " + rejected + " rejected in this run)");
+        }
+        return out.size();
+    }
+
+    /**
+     * Replaces the persisted entries that have not been looked up yet with those read from a given file, as if the
+     * VM had been started with {@code -XX:PersistentCodeCache=path}. This allows code saved by a run to be installed
+     * in the same run.
+     *
+     * @return the number of entries read
+     */
+    public static synchronized int load(String path) {
+        entries = new HashMap<String, byte[]>();
+        read(new File(path));
+        return entries.size();
+    }
+
+    /**
+     * Reads the persisted entries if that has not been done yet. This is deferred until the VM is running
+     * as the file system cannot be accessed before.
+     *
+     * @return {@code true} if the entries are available
+     */
+    private static boolean ensureLoaded() {
+        if (entries != null) {
+            return true;
+        }
+        if (persistentCodeCacheOption.getValue() == null || !isRunning()) {
+            return false;
+        }
+        entries = new HashMap<String, byte[]>();
+        read(new File(persistentCodeCacheOption.getValue()));
+        return true;
+    }
+
+    /**
+     * Adds the entries in a given file to {@link #entries}. A missing file or a file written by a different boot
+     * image adds no entries.
+     */
+    private static void read(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (stream.readInt() != MAGIC || stream.readInt() != VERSION || stream.readLong() != imageIdentity) {
+                    if (TracePersistentCodeCache) {
+                        Log.println("PersistentCodeCache: ignoring " + file + " written by a different VM");
+                    }
+                    return;
+                }
+                int count = stream.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = stream.readUTF();
+                    byte[] entry = new byte[stream.readInt()];
+                    stream.readFully(entry);
+                    entries.put(key, entry);
+                }
+            } finally {
+                stream.close();
+            }
+        } catch (IOException e) {
+            Log.println("WARNING: could not read persistent code cache from " + file + ": " + e.getMessage());
+            entries.clear();
+        }
+        if (TracePersistentCodeCache) {
+            Log.println("PersistentCodeCache: read " + entries.size() + " methods from " + file);
+        }
+    }
+
+    private static int loaderKind(ClassActor classActor) throws Rejected {
+        final ClassLoader loader = classActor.classLoader;
+        if (loader == null || loader == BootClassLoader.BOOT_CLASS_LOADER) {
+            return LOADER_BOOT;
+        }
+        if (loader == VMClassLoader.VM_CLASS_LOADER) {
+            return LOADER_VM;
+        }
+        if (loader == ClassLoader.getSystemClassLoader()) {
+            return LOADER_SYSTEM;
+        }
+        throw new Rejected("class " + classActor + " is defined by a custom class loader");
+    }
+
+    private static String keyOf(ClassActor holder, String name, String signature) throws Rejected {
+        return loaderKind(holder) + holder.typeDescriptor.string + "." + name + signature;
+    }
+
+    static boolean isInBootHeap(Object object) {
+        return Heap.bootHeapRegion.contains(Reference.fromJava(object).toOrigin());
+    }
+
+    /**
+     * Computes a fingerprint of a class that changes if the class, or any of its superclasses not in the boot image,
+     * is defined by a different class file or laid out differently. The fingerprint covers the names, descriptors,
+     * flags and offsets of the fields, the names, descriptors, flags and vtable indexes of the methods and their
+     * bytecode. If {@code withStaticFinals} is {@code true}, the values of the static final fields of the class are
+     * included too.
+     */
+    static long fingerprint(ClassActor classActor, boolean withStaticFinals) {
+        final CRC32 crc = new CRC32();
+        if (withStaticFinals) {
+            final Object staticTuple = classActor.staticTuple();
+            for (FieldActor fieldActor : classActor.localStaticFieldActors()) {
+                if (fieldActor.isFinal()) {
+                    long value;
+                    if (fieldActor.kind.isReference) {
+                        Object object = fieldActor.getObject(staticTuple);
+                        value = object instanceof String ? object.hashCode() : 0;
+                    } else {
+                        value = fieldActor.getValue(staticTuple).toLong();
+                    }
+                    update(crc, value);
+                }
+            }
+        }
+        for (ClassActor c = classActor; c != null && !isInBootHeap(c); c = c.superClassActor) {
+            update(crc, c.typeDescriptor.string);
+            update(crc, c.flags());
+            for (FieldActor fieldActor : c.localInstanceFieldActors()) {
+                update(crc, fieldActor);
+            }
+            for (FieldActor fieldActor : c.localStaticFieldActors()) {
+                update(crc, fieldActor);
+            }
+            for (VirtualMethodActor methodActor : c.localVirtualMethodActors()) {
+                update(crc, methodActor);
+                update(crc, methodActor.vTableIndex());
+            }
+            for (StaticMethodActor methodActor : c.localStaticMethodActors()) {
+                update(crc, methodActor);
+            }
+            for (InterfaceMethodActor methodActor : c.localInterfaceMethodActors()) {
+                update(crc, methodActor);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, FieldActor fieldActor) {
+        update(crc, fieldActor.name.string);
+        update(crc, fieldActor.descriptor().string);
+        update(crc, fieldActor.flags());
+        update(crc, fieldActor.offset());
+    }
+
+    private static void update(CRC32 crc, MethodActor methodActor) {
+        update(crc, methodActor.name.string);
+        update(crc, methodActor.descriptor().string);
+        update(crc, methodActor.flags());
+        if (methodActor instanceof ClassMethodActor) {
+            CodeAttribute codeAttribute = ((ClassMethodActor) methodActor).codeAttribute();
+            if (codeAttribute != null) {
+                crc.update(codeAttribute.encodedData());
+            }
+        }
+    }
+
+    private static void update(CRC32 crc, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            crc.update(s.charAt(i));
+        }
+        crc.update(0);
+    }
+
+    private static void update(CRC32 crc, long value) {
+        for (int i = 0; i < 8; i++) {
+            crc.update((int) (value >>> (i * 8)));
+        }
+    }
+
+    /**
+     * Serializes target methods. An entry starts with the records of the classes the code depends on, followed by
+     * the compiler output.
+     */
+    static final class Encoder {
+
+        /**
+         * Fingerprints computed during the current save, shared by all entries.
+         */
+        final HashMap<ClassActor, Long> fingerprints = new HashMap<ClassActor, Long>();
+
+        /**
+         * The classes the entry being encoded depends on.
+         */
+        final LinkedHashSet<ClassActor> classes = new LinkedHashSet<ClassActor>();
+
+        DataOutputStream out;
+
+        byte[] encodeEntry(MaxTargetMethod tm) throws Rejected, IOException {
+            final ClassMethodActor method = tm.classMethodActor;
+            final CiTargetMethod ciTargetMethod = tm.ciTargetMethod();
+            if (ciTargetMethod == null || method.isTemplate() || method.isNative()) {
+                throw new Rejected("not compiled at runtime from bytecode");
+            }
+            if (tm.invalidated() != null || tm.isWiped()) {
+                throw new Rejected("invalidated");
+            }
+            if (tm.osrEntryPosition() != -1) {
+                throw new Rejected("compiled for on-stack replacement");
+            }
+            classes.clear();
+            final ByteArrayOutputStream body = new ByteArrayOutputStream(tm.codeLength() * 2);
+            out = new DataOutputStream(body);
+            writeTargetMethod(method, ciTargetMethod);
+
+            final ByteArrayOutputStream entry = new ByteArrayOutputStream(body.size() + classes.size() * 32);
+            out = new DataOutputStream(entry);
+            addResolvedConstants(method);
+            if (ciTargetMethod.assumptions() != null) {
+                for (Assumption a : ciTargetMethod.assumptions()) {
+                    if (a instanceof InlinedMethod) {
+                        addResolvedConstants((ClassMethodActor) ((InlinedMethod) a).dependee);
+                    }
+                }
+            }
+            final ClassActor[] dependencies = classes.toArray(new ClassActor[classes.size()]);
+            out.writeInt(dependencies.length);
+            for (ClassActor classActor : dependencies) {
+                writeClassName(classActor);
+                final boolean initialized = classActor.isInitialized();
+                out.writeBoolean(initialized);
+                out.writeLong(fingerprint(classActor, initialized));
+            }
+            body.writeTo(entry);
+            return entry.toByteArray();
+        }
+
+        /**
+         * Adds the classes resolved in the constant pool of a given method to the dependencies of the current entry.
+         * The code compiled for the method may embed their layout (e.g. field offsets or vtable indexes).
+         */
+        private void addResolvedConstants(ClassMethodActor method) throws Rejected {
+            final CodeAttribute codeAttribute = method.codeAttribute();
+            if (codeAttribute == null) {
+                return;
+            }
+            final ConstantPool cp = codeAttribute.cp;
+            for (int i = 1; i < cp.numberOfConstants(); i++) {
+                PoolConstant constant = cp.at(i);
+                if (constant instanceof ResolvableConstant && ((ResolvableConstant) constant).isResolved()) {
+                    Object resolved = ((ResolvableConstant) constant).resolve(cp, i);
+                    if (resolved instanceof ClassActor) {
+                        addClass((ClassActor) resolved);
+                    } else if (resolved instanceof MemberActor) {
+                        addClass(((MemberActor) resolved).holder());
+                    }
+                }
+            }
+        }
+
+        private void addClass(ClassActor classActor) throws Rejected {
+            if (classActor.isArrayClass()) {
+                addClass(classActor.componentClassActor());
+            } else if (!classActor.isPrimitiveClassActor() && classes.add(classActor)) {
+                loaderKind(classActor);
+                if (!fingerprints.containsKey(classActor)) {
+                    fingerprints.put(classActor, fingerprint(classActor, classActor.isInitialized()));
+                }
+            }
+        }
+
+        private void writeClassName(ClassActor classActor) throws Rejected, IOException {
+            out.writeByte(loaderKind(classActor));
+            out.writeUTF(classActor.typeDescriptor.string);
+        }
+
+        private void writeClass(ClassActor classActor) throws Rejected, IOException {
+            addClass(classActor);
+            writeClassName(classActor);
+        }
+
+        private void writeMethod(MethodActor methodActor) throws Rejected, IOException {
+            writeClass(methodActor.holder());
+            out.writeUTF(methodActor.name.string);
+            out.writeUTF(methodActor.descriptor().string);
+        }
+
+        private void writeTargetMethod(ClassMethodActor method, CiTargetMethod ciTargetMethod) throws Rejected, IOException {
+            writeMethod(method);
+            out.writeInt(ciTargetMethod.frameSize());
+            out.writeInt(ciTargetMethod.customStackAreaOffset());
+            out.writeInt(ciTargetMethod.registerRestoreEpilogueOffset());
+            writeBytes(ciTargetMethod.targetCode(), ciTargetMethod.targetCodeSize());
+            writeBytes(ciTargetMethod.trampolines(), ciTargetMethod.trampolinesSize());
+
+            if (!ciTargetMethod.marks.isEmpty()) {
+                throw new Rejected("has marks");
+            }
+
+            out.writeInt(ciTargetMethod.dataReferences.size());
+            for (DataPatch patch : ciTargetMethod.dataReferences) {
+                out.writeInt(patch.pcOffset);
+                out.writeInt(patch.alignment);
+                writeConstant(patch.constant);
+            }
+
+            out.writeInt(ciTargetMethod.safepoints.size());
+            for (Safepoint safepoint : ciTargetMethod.safepoints) {
+                out.writeInt(safepoint.pcOffset);
+                if (safepoint instanceof Call) {
+                    Call call = (Call) safepoint;
+                    out.writeBoolean(true);
+                    out.writeInt(call.size);
+                    out.writeBoolean(call.direct);
+                    if (call.target instanceof String) {
+                        throw new Rejected("calls a native function");
+                    }
+                    writeObject(call.target);
+                } else {
+                    out.writeBoolean(false);
+                }
+                writeDebugInfo(safepoint.debugInfo);
+            }
+
+            out.writeInt(ciTargetMethod.exceptionHandlers.size());
+            for (ExceptionHandler handler : ciTargetMethod.exceptionHandlers) {
+                out.writeInt(handler.pcOffset);
+                out.writeInt(handler.bci);
+                out.writeInt(handler.scopeLevel);
+                out.writeInt(handler.handlerPos);
+                out.writeInt(handler.handlerBci);
+                writeObject(handler.exceptionType);
+            }
+
+            final List<CodeAnnotation> annotations = ciTargetMethod.annotations();
+            int count = 0;
+            if (annotations != null) {
+                for (CodeAnnotation a : annotations) {
+                    if (!(a instanceof CodeComment)) {
+                        count++;
+                    }
+                }
+            }
+            out.writeInt(count);
+            if (count != 0) {
+                for (CodeAnnotation a : annotations) {
+                    if (a instanceof JumpTable) {
+                        JumpTable t = (JumpTable) a;
+                        out.writeByte(ANNOTATION_JUMP_TABLE);
+                        out.writeInt(t.position);
+                        out.writeInt(t.low);
+                        out.writeInt(t.high);
+                        out.writeInt(t.entrySize);
+                    } else if (a instanceof LookupTable) {
+                        LookupTable t = (LookupTable) a;
+                        out.writeByte(ANNOTATION_LOOKUP_TABLE);
+                        out.writeInt(t.position);
+                        out.writeInt(t.npairs);
+                        out.writeInt(t.keySize);
+                        out.writeInt(t.offsetSize);
+                    } else if (a instanceof InlineData) {
+                        InlineData d = (InlineData) a;
+                        out.writeByte(ANNOTATION_INLINE_DATA);
+                        out.writeInt(d.position);
+                        out.writeInt(d.size);
+                    } else if (!(a instanceof CodeComment)) {
+                        throw new Rejected("unknown code annotation " + a.getClass().getSimpleName());
+                    }
+                }
+            }
+
+            final CiAssumptions assumptions = ciTargetMethod.assumptions();
+            if (assumptions == null) {
+                out.writeInt(-1);
+            } else {
+                int n = 0;
+                for (Iterator<Assumption> i = assumptions.iterator(); i.hasNext(); i.next()) {
+                    n++;
+                }
+                out.writeInt(n);
+                for (Assumption a : assumptions) {
+                    if (a instanceof ConcreteSubtype) {
+                        ConcreteSubtype cs = (ConcreteSubtype) a;
+                        out.writeByte(ASSUMPTION_CONCRETE_SUBTYPE);
+                        writeClass((ClassActor) cs.context);
+                        writeClass((ClassActor) cs.subtype);
+                    } else if (a instanceof ConcreteMethod || a instanceof InlinedMethod) {
+                        DependentMethod dm = (DependentMethod) a;
+                        out.writeByte(a instanceof ConcreteMethod ? ASSUMPTION_CONCRETE_METHOD : ASSUMPTION_INLINED_METHOD);
+                        writeMethod((MethodActor) dm.method);
+                        writeClass((ClassActor) dm.context);
+                        writeMethod((MethodActor) dm.dependee);
+                    } else {
+                        throw new Rejected("unknown assumption " + a.getClass().getSimpleName());
+                    }
+                }
+            }
+        }
+
+        private void writeBytes(byte[] bytes, int length) throws IOException {
+            out.writeInt(length);
+            if (length != 0) {
+                out.write(bytes, 0, length);
+            }
+        }
+
+        private void writeBitMap(CiBitMap bitMap) throws IOException {
+            if (bitMap == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = bitMap.toByteArray();
+                writeBytes(bytes, bytes.length);
+            }
+        }
+
+        private void writeDebugInfo(CiDebugInfo debugInfo) throws Rejected, IOException {
+            if (debugInfo == null) {
+                out.writeBoolean(false);
+                return;
+            }
+            out.writeBoolean(true);
+            writeBitMap(debugInfo.registerRefMap);
+            writeBitMap(debugInfo.frameRefMap);
+            writeCodePos(debugInfo.codePos);
+        }
+
+        private void writeCodePos(CiCodePos codePos) throws Rejected, IOException {
+            if (codePos == null) {
+                out.writeByte(CODE_POS_NONE);
+                return;
+            }
+            if (codePos instanceof CiFrame) {
+                CiFrame frame = (CiFrame) codePos;
+                out.writeByte(CODE_POS_FRAME);
+                writeMethod((MethodActor) frame.method);
+                out.writeInt(frame.bci);
+                out.writeBoolean(frame.rethrowException);
+                out.writeInt(frame.numLocals);
+                out.writeInt(frame.numStack);
+                out.writeInt(frame.numLocks);
+                out.writeInt(frame.values.length);
+                for (CiValue value : frame.values) {
+                    writeValue(value);
+                }
+            } else {
+                out.writeByte(CODE_POS);
+                writeMethod((MethodActor) codePos.method);
+                out.writeInt(codePos.bci);
+            }
+            writeCodePos(codePos.caller);
+        }
+
+        private void writeValue(CiValue value) throws Rejected, IOException {
+            if (value.isIllegal()) {
+                out.writeByte(VALUE_ILLEGAL);
+            } else if (value.isRegister()) {
+                out.writeByte(VALUE_REGISTER);
+                out.writeByte(value.kind.ordinal());
+                out.writeInt(value.asRegister().number);
+            } else if (value.isStackSlot()) {
+                CiStackSlot slot = (CiStackSlot) value;
+                out.writeByte(VALUE_STACK_SLOT);
+                out.writeByte(value.kind.ordinal());
+                out.writeInt(slot.index());
+                out.writeBoolean(slot.inCallerFrame());
+            } else if (value.isConstant()) {
+                out.writeByte(VALUE_CONSTANT);
+                writeConstant((CiConstant) value);
+            } else if (value.isMonitor()) {
+                CiMonitorValue monitor = (CiMonitorValue) value;
+                out.writeByte(VALUE_MONITOR);
+                writeValue(monitor.owner);
+                writeValue(monitor.lockData);
+                out.writeBoolean(monitor.eliminated);
+            } else {
+                throw new Rejected("cannot persist value " + value);
+            }
+        }
+
+        private void writeConstant(CiConstant constant) throws Rejected, IOException {
+            out.writeByte(constant.kind.ordinal());
+            if (constant.kind.isObject()) {
+                writeObject(constant.asObject());
+            } else {
+                out.writeLong(constant.asPrimitive());
+            }
+        }
+
+        private void writeObject(Object object) throws Rejected, IOException {
+            if (object == null) {
+                out.writeByte(OBJECT_NULL);
+            } else if (isInBootHeap(object)) {
+                out.writeByte(OBJECT_BOOT_HEAP);
+                out.writeLong(Reference.fromJava(object).toOrigin().minus(Heap.bootHeapRegion.start()).toLong());
+            } else if (object instanceof String) {
+                String s = (String) object;
+                if (s != s.intern() || s.length() > 0x3fff) {
+                    throw new Rejected("references a string that is not an interned literal");
+                }
+                out.writeByte(OBJECT_STRING);
+                out.writeUTF(s);
+            } else if (object instanceof ClassActor) {
+                out.writeByte(OBJECT_CLASS_ACTOR);
+                writeClass((ClassActor) object);
+            } else if (object instanceof Class) {
+                out.writeByte(OBJECT_MIRROR);
+                writeClass(ClassActor.fromJava((Class) object));
+            } else if (object instanceof DynamicHub) {
+                out.writeByte(OBJECT_DYNAMIC_HUB);
+                writeClass(((Hub) object).classActor);
+            } else if (object instanceof StaticHub) {
+                out.writeByte(OBJECT_STATIC_HUB);
+                writeClass(((Hub) object).classActor);
+            } else if (object instanceof MethodActor) {
+                out.writeByte(OBJECT_METHOD_ACTOR);
+                writeMethod((MethodActor) object);
+            } else if (object instanceof FieldActor) {
+                FieldActor fieldActor = (FieldActor) object;
+                out.writeByte(OBJECT_FIELD_ACTOR);
+                writeClass(fieldActor.holder());
+                out.writeUTF(fieldActor.name.string);
+                out.writeUTF(fieldActor.descriptor().string);
+            } else if (ObjectAccess.readHub(object) instanceof StaticHub) {
+                out.writeByte(OBJECT_STATIC_TUPLE);
+                writeClass(ObjectAccess.readHub(object).classActor);
+            } else {
+                throw new Rejected("references an instance of " + object.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Deserializes an entry written by {@link Encoder}, resolving all symbolic references against the classes
+     * currently loaded. Nothing is loaded or initialized as a side effect.
+     */
+    static final class Decoder {
+
+        final DataInputStream in;
+
+        Decoder(byte[] entry) {
+            in = new DataInputStream(new ByteArrayInputStream(entry));
+        }
+
+        CiTargetMethod readEntry(ClassMethodActor method) throws Rejected, IOException {
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                ClassActor classActor = readClass();
+                boolean initialized = in.readBoolean();
+                long fingerprint = in.readLong();
+                if (initialized && !classActor.isInitialized()) {
+                    throw new Rejected(classActor + " is not initialized yet");
+                }
+                if (fingerprint(classActor, initialized) != fingerprint) {
+                    throw new Rejected(classActor + " has changed");
+                }
+            }
+            if (readMethod() != method) {
+                throw new Rejected("entry is for another method");
+            }
+
+            final CiTargetMethod ciTargetMethod = new CiTargetMethod();
+            ciTargetMethod.setFrameSize(in.readInt());
+            ciTargetMethod.setCustomStackAreaOffset(in.readInt());
+            int registerRestoreEpilogueOffset = in.readInt();
+            if (registerRestoreEpilogueOffset != -1) {
+                ciTargetMethod.setRegisterRestoreEpilogueOffset(registerRestoreEpilogueOffset);
+            }
+            final byte[] code = readBytes();
+            ciTargetMethod.setTargetCode(code, code.length);
+            final byte[] trampolines = readBytes();
+            if (trampolines.length != 0) {
+                ciTargetMethod.setTrampolines(trampolines);
+            }
+
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                int pcOffset = in.readInt();
+                int alignment = in.readInt();
+                ciTargetMethod.recordDataReference(pcOffset, readConstant(), alignment);
+            }
+
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                int pcOffset = in.readInt();
+                if (in.readBoolean()) {
+                    int size = in.readInt();
+                    boolean direct = in.readBoolean();
+                    Object target = readObject();
+                    ciTargetMethod.recordCall(pcOffset, size, target, readDebugInfo(), direct);
+                } else {
+                    ciTargetMethod.recordSafepoint(pcOffset, readDebugInfo());
+                }
+            }
+
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                int pcOffset = in.readInt();
+                int bci = in.readInt();
+                int scopeLevel = in.readInt();
+                int handlerPos = in.readInt();
+                int handlerBci = in.readInt();
+                ciTargetMethod.recordExceptionHandler(pcOffset, bci, scopeLevel, handlerPos, handlerBci, (RiType) readObject());
+            }
+
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                int kind = in.readByte();
+                if (kind == ANNOTATION_JUMP_TABLE) {
+                    ciTargetMethod.addAnnotation(new JumpTable(in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+                } else if (kind == ANNOTATION_LOOKUP_TABLE) {
+                    ciTargetMethod.addAnnotation(new LookupTable(in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+                } else {
+                    ciTargetMethod.addAnnotation(new InlineData(in.readInt(), in.readInt()));
+                }
+            }
+
+            n = in.readInt();
+            if (n >= 0) {
+                final CiAssumptions assumptions = new CiAssumptions();
+                for (int i = 0; i < n; i++) {
+                    int kind = in.readByte();
+                    if (kind == ASSUMPTION_CONCRETE_SUBTYPE) {
+                        assumptions.record(new ConcreteSubtype(readClass(), readClass()));
+                    } else {
+                        MethodActor m = readMethod();
+                        ClassActor context = readClass();
+                        MethodActor dependee = readMethod();
+                        if (kind == ASSUMPTION_CONCRETE_METHOD) {
+                            assumptions.record(new ConcreteMethod(m, context, dependee));
+                        } else {
+                            assumptions.record(new InlinedMethod(m, context, dependee));
+                        }
+                    }
+                }
+                ciTargetMethod.setAssumptions(assumptions);
+            }
+            return ciTargetMethod;
+        }
+
+        private ClassActor readClass() throws Rejected, IOException {
+            final int loaderKind = in.readByte();
+            final String descriptor = in.readUTF();
+            final ClassLoader loader;
+            if (loaderKind == LOADER_BOOT) {
+                loader = BootClassLoader.BOOT_CLASS_LOADER;
+            } else if (loaderKind == LOADER_VM) {
+                loader = VMClassLoader.VM_CLASS_LOADER;
+            } else {
+                loader = ClassLoader.getSystemClassLoader();
+            }
+            final ClassActor classActor = ClassRegistry.get(loader, JavaTypeDescriptor.parseTypeDescriptor(descriptor), false);
+            if (classActor == null) {
+                throw new Rejected(descriptor + " is not loaded");
+            }
+            return classActor;
+        }
+
+        private MethodActor readMethod() throws Rejected, IOException {
+            final ClassActor holder = readClass();
+            final String name = in.readUTF();
+            final String signature = in.readUTF();
+            final Utf8Constant symbol = SymbolTable.lookupSymbol(name);
+            final MethodActor methodActor = symbol == null ? null : holder.findLocalMethodActor(symbol, SignatureDescriptor.create(signature));
+            if (methodActor == null) {
+                throw new Rejected("no method " + holder + "." + name + signature);
+            }
+            return methodActor;
+        }
+
+        private FieldActor readField() throws Rejected, IOException {
+            final ClassActor holder = readClass();
+            final String name = in.readUTF();
+            final String descriptor = in.readUTF();
+            final Utf8Constant symbol = SymbolTable.lookupSymbol(name);
+            final FieldActor fieldActor = symbol == null ? null : holder.findLocalFieldActor(symbol, JavaTypeDescriptor.parseTypeDescriptor(descriptor));
+            if (fieldActor == null) {
+                throw new Rejected("no field " + holder + "." + name);
+            }
+            return fieldActor;
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private CiBitMap readBitMap() throws IOException {
+            final byte[] bytes = readBytes();
+            return bytes == null ? null : new CiBitMap(bytes);
+        }
+
+        private CiDebugInfo readDebugInfo() throws Rejected, IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            final CiBitMap registerRefMap = readBitMap();
+            final CiBitMap frameRefMap = readBitMap();
+            return new CiDebugInfo(readCodePos(), registerRefMap, frameRefMap);
+        }
+
+        private CiCodePos readCodePos() throws Rejected, IOException {
+            final int kind = in.readByte();
+            if (kind == CODE_POS_NONE) {
+                return null;
+            }
+            final RiResolvedMethod method = readMethod();
+            final int bci = in.readInt();
+            if (kind == CODE_POS) {
+                return new CiCodePos(readCodePos(), method, bci);
+            }
+            final boolean rethrowException = in.readBoolean();
+            final int numLocals = in.readInt();
+            final int numStack = in.readInt();
+            final int numLocks = in.readInt();
+            final CiValue[] values = new CiValue[in.readInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue();
+            }
+            return new CiFrame((CiFrame) readCodePos(), method, bci, rethrowException, values, numLocals, numStack, numLocks);
+        }
+
+        private CiValue readValue() throws Rejected, IOException {
+            final int tag = in.readByte();
+            switch (tag) {
+                case VALUE_ILLEGAL:
+                    return CiValue.IllegalValue;
+                case VALUE_REGISTER: {
+                    CiKind kind = CiKind.VALUES[in.readByte()];
+                    return target().arch.registers[in.readInt()].asValue(kind);
+                }
+                case VALUE_STACK_SLOT: {
+                    CiKind kind = CiKind.VALUES[in.readByte()];
+                    int index = in.readInt();
+                    return CiStackSlot.get(kind, index, in.readBoolean());
+                }
+                case VALUE_CONSTANT:
+                    return readConstant();
+                case VALUE_MONITOR: {
+                    CiValue owner = readValue();
+                    CiValue lockData = readValue();
+                    return new CiMonitorValue(owner, lockData.isIllegal() ? null : lockData, in.readBoolean());
+                }
+                default:
+                    throw new IOException("unknown value tag " + tag);
+            }
+        }
+
+        private CiConstant readConstant() throws Rejected, IOException {
+            final CiKind kind = CiKind.VALUES[in.readByte()];
+            if (kind.isObject()) {
+                return CiConstant.forObject(readObject());
+            }
+            return new CiConstant(kind, in.readLong());
+        }
+
+        private Object readObject() throws Rejected, IOException {
+            final int tag = in.readByte();
+            switch (tag) {
+                case OBJECT_NULL:
+                    return null;
+                case OBJECT_BOOT_HEAP: {
+                    long offset = in.readLong();
+                    if (offset < 0 || offset >= Heap.bootHeapRegion.size().toLong()) {
+                        throw new IOException("boot heap offset out of range: " + offset);
+                    }
+                    return Reference.fromOrigin(Heap.bootHeapRegion.start().plus(offset).asPointer()).toJava();
+                }
+                case OBJECT_STRING:
+                    return in.readUTF().intern();
+                case OBJECT_CLASS_ACTOR:
+                    return readClass();
+                case OBJECT_MIRROR:
+                    return readClass().javaClass();
+                case OBJECT_DYNAMIC_HUB:
+                    return readClass().dynamicHub();
+                case OBJECT_STATIC_HUB:
+                    return readClass().staticHub();
+                case OBJECT_STATIC_TUPLE:
+                    return readClass().staticTuple();
+                case OBJECT_METHOD_ACTOR:
+                    return readMethod();
+                case OBJECT_FIELD_ACTOR:
+                    return readField();
+                default:
+                    throw new IOException("unknown object tag " + tag);
+            }
+        }
+    }
+}
@@ -2052,11 +2052,12 @@ public abstract class T1XCompilation {
         emitEpilogue();
     }
 
-    protected void do_profileBackwardBranch() {
+    protected void do_profileBackwardBranch(int targetBCI) {
         if (methodProfileBuilder != null) {
             // Profiling of backward branches.
             start(PROFILE_BACKWARD_BRANCH);
             assignObject(0, "mpo", methodProfileBuilder.methodProfileObject());
+            assignInt(1, "bci", targetBCI);
             finish();
         }
     }
@@ -2136,7 +2137,7 @@ public abstract class T1XCompilation {
             finish();
 
             if (bci >= targetBCI) {
-                do_profileBackwardBranch();
+                do_profileBackwardBranch(targetBCI);
             }
         }
     }
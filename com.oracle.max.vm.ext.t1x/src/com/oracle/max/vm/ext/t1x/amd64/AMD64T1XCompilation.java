@@ -600,6 +600,15 @@ public class AMD64T1XCompilation extends T1XCompilation {
         super.cleanup();
     }
 
+    /**
+     * Determines if a jump over the "taken" code of a branch must use a 32-bit displacement.
+     * The "taken" code of a profiled backward branch includes the backward branch counter which
+     * may call out to request on-stack replacement, making it too large for an 8-bit displacement.
+     */
+    private boolean forceDisp32OverBackwardBranch(boolean isForwardBranch) {
+        return !isForwardBranch && methodProfileBuilder != null;
+    }
+
     /**
      * Constructs code for a branch without profiling instrumentation.
      */
@@ -622,29 +631,30 @@ public class AMD64T1XCompilation extends T1XCompilation {
             // Compute relative offset
             final int target = bciToPos[targetBCI];
             if (cc == null) {
-                do_profileBackwardBranch();
+                do_profileBackwardBranch(targetBCI);
                 do_safepointAtBackwardBranch(bci);
                 asm.jmp(target, false);
             } else {
                 ConditionFlag ccNeg = cc.negation();
                 int jumpNotTakenPos = buf.position();
                 final int placeholderForShortJumpDisp = jumpNotTakenPos + 2;
+                final boolean forceDisp32 = forceDisp32OverBackwardBranch(false);
                 int fallThroughPos;
 
                 // If condition is false jump to "not taken" code
-                asm.jcc(ccNeg, placeholderForShortJumpDisp, false);
-                assert buf.position() - jumpNotTakenPos == 2;
+                asm.jcc(ccNeg, placeholderForShortJumpDisp, forceDisp32);
+                assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 6 : 2);
 
                 // Start of "taken" code
-                do_profileBackwardBranch();
+                do_profileBackwardBranch(targetBCI);
                 do_safepointAtBackwardBranch(bci);
                 asm.jmp(target, false);
 
                 // Start of "not taken" code
                 fallThroughPos = buf.position();
                 buf.setPosition(jumpNotTakenPos);
-                asm.jcc(ccNeg, fallThroughPos, false);
-                assert buf.position() - jumpNotTakenPos == 2;
+                asm.jcc(ccNeg, fallThroughPos, forceDisp32);
+                assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 6 : 2);
                 buf.setPosition(fallThroughPos);
             }
         }
@@ -657,6 +667,7 @@ public class AMD64T1XCompilation extends T1XCompilation {
         boolean isForwardBranch = bci < targetBCI;
         boolean isConditionalBranch = cc != null;
         final int relativeOffset = isForwardBranch ? 0 : bciToPos[targetBCI];
+        final boolean forceDisp32 = MaxineVM.useNUMAProfiler || forceDisp32OverBackwardBranch(isForwardBranch);
         int jumpTakenPos = buf.position();
         int jumpNotTakenPos = buf.position();
         int fallThroughPos;
@@ -673,8 +684,8 @@ public class AMD64T1XCompilation extends T1XCompilation {
             do_profileNotTakenBranch(bci);
             jumpNotTakenPos = buf.position();
             placeholderForShortJumpDisp = jumpNotTakenPos + 2;
-            asm.jmp(placeholderForShortJumpDisp, MaxineVM.useNUMAProfiler);
-            assert buf.position() - jumpNotTakenPos == (MaxineVM.useNUMAProfiler ? 5 : 2);
+            asm.jmp(placeholderForShortJumpDisp, forceDisp32);
+            assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 5 : 2);
         }
 
         // Start of "taken" code
@@ -700,8 +711,8 @@ public class AMD64T1XCompilation extends T1XCompilation {
         if (isConditionalBranch) {
             fallThroughPos = buf.position();
             buf.setPosition(jumpNotTakenPos);
-            asm.jmp(fallThroughPos, MaxineVM.useNUMAProfiler);
-            assert buf.position() - jumpNotTakenPos == (MaxineVM.useNUMAProfiler ? 5 : 2);
+            asm.jmp(fallThroughPos, forceDisp32);
+            assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 5 : 2);
             buf.setPosition(fallThroughPos);
         }
 
@@ -715,13 +726,14 @@ public class AMD64T1XCompilation extends T1XCompilation {
         boolean isConditionalBranch = cc != null;
         ConditionFlag ccNeg = isConditionalBranch ? cc.negation() : null;
         final int relativeOffset = isForwardBranch ? 0 : bciToPos[targetBCI];
+        final boolean forceDisp32 = forceDisp32OverBackwardBranch(isForwardBranch);
         int jumpNotTakenPos = buf.position();
 
         if (isConditionalBranch) {
             // If condition is false jump to "not taken" code
             final int placeholderForShortJumpDisp = jumpNotTakenPos + 2;
-            asm.jcc(ccNeg, placeholderForShortJumpDisp, false);
-            assert buf.position() - jumpNotTakenPos == 2;
+            asm.jcc(ccNeg, placeholderForShortJumpDisp, forceDisp32);
+            assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 6 : 2);
         }
 
         // Start of "taken" code
@@ -740,8 +752,8 @@ public class AMD64T1XCompilation extends T1XCompilation {
             // Patch the jump to "not taken" code now that we know where it is going
             int notTakenCodePos = buf.position();
             buf.setPosition(jumpNotTakenPos);
-            asm.jcc(ccNeg, notTakenCodePos, false);
-            assert buf.position() - jumpNotTakenPos == 2;
+            asm.jcc(ccNeg, notTakenCodePos, forceDisp32);
+            assert buf.position() - jumpNotTakenPos == (forceDisp32 ? 6 : 2);
             buf.setPosition(notTakenCodePos);
             do_profileNotTakenBranch(bci);
         }
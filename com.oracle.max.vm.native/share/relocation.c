@@ -57,10 +57,12 @@
 
 /**
  * Relocates the pointers in the heap and code. All the pointers are assumed to be
- * canonicalized; their current values assume that the heap and code start address 0.
+ * linked for a known address; if they are canonicalized, their current values assume
+ * that the heap and code start at address 0.
  *
  * @param heap the physical address at which the (contiguous) heap and code reside
- * @param relocatedHeap the logical address to which the heap and code is being relocated
+ * @param relocatedHeap the amount to add to every non-null pointer, i.e. the logical address to which the heap
+ *        and code is being relocated minus the address for which they were linked
  * @param relocationData the bit map denoting where all the pointers are in the heap and code
  * @param relocationDataSize the size (in bytes) of the bit map
  */
@@ -51,12 +51,19 @@
 #   endif
 #   ifndef MAP_32BIT
 #       define MAP_32BIT        0x40
+#   endif
+    /* Kernels older than 4.17 ignore this flag and treat the address as a hint. */
+#   ifndef MAP_FIXED_NOREPLACE
+#       define MAP_FIXED_NOREPLACE 0x100000
 #   endif
 #else
     /* TODO */
 #   ifndef MAP_32BIT
 #       define MAP_32BIT            0
 #   endif
+#   ifndef MAP_FIXED_NOREPLACE
+#       define MAP_FIXED_NOREPLACE  0
+#   endif
 #endif
 
 #define PROT                (PROT_EXEC | PROT_READ | PROT_WRITE)
@@ -156,6 +163,28 @@ Address virtualMemory_allocatePrivateAnon(Address address, Size size, jboolean r
 }
 
 
+/* Allocates virtual space at the specified address without replacing any existing mapping.
+ * Fails (returning ALLOC_FAILED) if any part of the range is already mapped.
+ * Where MAP_FIXED_NOREPLACE is not available, the address is passed as a hint and a mapping
+ * placed anywhere else by the kernel is undone.
+ */
+Address virtualMemory_allocatePrivateAnonNoReplace(Address address, Size size, jboolean reserveSwap, jboolean protNone, int type) {
+  int flags = MAP_PRIVATE | MAP_ANON | MAP_FIXED_NOREPLACE;
+  int prot = protNone == JNI_TRUE ? PROT_NONE : PROT;
+  if (reserveSwap == JNI_FALSE) {
+     flags |= MAP_NORESERVE;
+  }
+  Address result = check_mmap_result(mmap((void*) address, (size_t) size, prot, flags, -1, 0));
+#if log_LOADER
+  log_println("virtualMemory_allocatePrivateAnonNoReplace(address=%p, size=%p) allocated at %p", address, size, result);
+#endif
+  if (result != ALLOC_FAILED && result != address) {
+      munmap((void *) result, (size_t) size);
+      return ALLOC_FAILED;
+  }
+  return result;
+}
+
 Address virtualMemory_mapFile(Size size, jint fd, Size offset) {
 #ifdef arm
     Address address = 0x0;
@@ -238,6 +267,26 @@ boolean virtualMemory_allocateAtFixedAddress(Address address, Size size, int typ
 #endif
 }
 
+boolean virtualMemory_releaseMemory(Address address, Size size, int type) {
+#if os_LINUX
+    /* The pages are dropped immediately; the range stays mapped and reads as zero-filled memory on next access. */
+    return madvise((void *) address, (size_t) size, MADV_DONTNEED) == 0;
+#elif os_SOLARIS || os_DARWIN
+    return madvise((void *) address, (size_t) size, MADV_FREE) == 0;
+#else
+    return false;
+#endif
+}
+
+boolean virtualMemory_adviseHugePages(Address address, Size size, int type) {
+#if os_LINUX && defined(MADV_HUGEPAGE)
+    /* Transparent huge pages are used for the range if they are enabled in "madvise" or "always" mode. */
+    return madvise((void *) address, (size_t) size, MADV_HUGEPAGE) == 0;
+#else
+    return false;
+#endif
+}
+
 void virtualMemory_protectPages(Address address, int count) {
 /* log_println("---   protected %p .. %p", address, address + (count * virtualMemory_getPageSize())); */
     c_ASSERT(virtualMemory_pageAlign(address) == address);
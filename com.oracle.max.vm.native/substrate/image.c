@@ -43,7 +43,7 @@
 /*
  * Image format version checked against com.sun.max.vm.hosted.BootImage.BOOT_IMAGE_FORMAT_VERSION
  */
-#define IMAGE_FORMAT_VERSION                    2
+#define IMAGE_FORMAT_VERSION                    4
 #define DEFAULT_RELOCATION_SCHEME        0
 
 #if os_MAXVE
@@ -295,6 +295,18 @@ static void checkTrailer(int fd) {
     }
 }
 
+/**
+ * Gets the address for which the pointers in the heap and code were linked when the image was built.
+ * This is 0 if the pointers are canonical, in which case the image is always relocated.
+ */
+static Address linkAddress(void) {
+#if word_64_BITS
+    return (((Address) (Unsigned4) theHeader->linkAddressHigh) << 32) | (Address) (Unsigned4) theHeader->linkAddressLow;
+#else
+    return (Address) (Unsigned4) theHeader->linkAddressLow;
+#endif
+}
+
 static void mapHeapAndCode(int fd) {
     int heapOffsetInImage = virtualMemory_pageAlign(sizeof(struct image_Header) + theHeader->stringDataSize + theHeader->relocationDataSize);
     int heapAndCodeSize = theHeader->heapSize + theHeader->codeSize;
@@ -314,7 +326,17 @@ static void mapHeapAndCode(int fd) {
         // The address returned might subsequently be used to memory map various regions, including the
         // boot heap region, automatically splitting this mapping.
         // In any case,  the VM (mostly the heap scheme) is responsible for releasing unused reserved space.
-        reservedVirtualSpace = virtualMemory_allocatePrivateAnon((Address) 0, virtualSpaceSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+        if (linkAddress() != 0) {
+            // Try to place the reserved space such that the boot heap region ends up at its link address.
+            if (theHeader->bootRegionMappingConstraint == 1) {
+                reservedVirtualSpace = virtualMemory_allocatePrivateAnonNoReplace(linkAddress(), virtualSpaceSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+            } else if (theHeader->bootRegionMappingConstraint == 2 && linkAddress() + heapAndCodeSize >= virtualSpaceSize) {
+                reservedVirtualSpace = virtualMemory_allocatePrivateAnonNoReplace(linkAddress() + heapAndCodeSize - virtualSpaceSize, virtualSpaceSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+            }
+        }
+        if (reservedVirtualSpace == ALLOC_FAILED) {
+            reservedVirtualSpace = virtualMemory_allocatePrivateAnon((Address) 0, virtualSpaceSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+        }
         if (reservedVirtualSpace == ALLOC_FAILED) {
             log_exit(4, "could not reserve requested virtual space");
         }
@@ -326,12 +348,21 @@ static void mapHeapAndCode(int fd) {
         // Map the boot heap region at the end of the reserved space. The start of the boot heap region is page-aligned.
         theHeap = reservedVirtualSpace + virtualSpaceSize - heapAndCodeSize;
     } else {
-        // Map the boot heap region anywhere outside of the reserved space.
-        theHeap = virtualMemory_allocatePrivateAnon((Address) 0, heapAndCodeSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+        // Map the boot heap region anywhere outside of the reserved space, preferably at its link address.
+        theHeap = ALLOC_FAILED;
+        if (linkAddress() != 0) {
+            theHeap = virtualMemory_allocatePrivateAnonNoReplace(linkAddress(), heapAndCodeSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+        }
+        if (theHeap == ALLOC_FAILED) {
+            theHeap = virtualMemory_allocatePrivateAnon((Address) 0, heapAndCodeSize, JNI_FALSE, JNI_FALSE, HEAP_VM);
+        }
         if (theHeap == ALLOC_FAILED) {
             log_exit(4, "could not reserve virtual space for boot image");
         }
     }
+    // The mapping is private: pages are shared with other processes mapping the same image file until they are
+    // written, at which point they are copied. The image generator groups the objects written at runtime at the
+    // start of the heap so that the immutable heap segment and the code mostly stay shared.
     if (virtualMemory_mapFileAtFixedAddress(theHeap, heapAndCodeSize, fd, heapOffsetInImage) == ALLOC_FAILED) {
         log_exit(4, "could not map boot image");
     }
@@ -351,6 +382,7 @@ static void mapHeapAndCode(int fd) {
 #if log_LOADER
     log_println("ReservedVSpace Size %d ActualVSpaceSize(*1Mb) %u",theHeader->reservedVirtualSpaceSize, virtualSpaceSize);
     log_println("boot heap start at %p", theHeap);
+    log_println("boot heap immutable segment start at %p", theHeap + theHeader->immutableHeapSegmentOffset);
     log_println("boot heap end at %p ", theHeap + theHeader->heapSize);
     log_println("code heap start at %p", theCode);
     log_println("code heap end at %p", theCodeEnd);
@@ -362,6 +394,7 @@ static void mapHeapAndCode(int fd) {
 static void relocate(int fd) {
     off_t wantedFileOffset;
     Byte *relocationData;
+    Address delta = theHeap - linkAddress();
 #if log_LOADER
     log_println("image.relocate");
 #endif
@@ -369,6 +402,14 @@ static void relocate(int fd) {
     off_t actualFileOffset;
     int n;
 #endif
+    if (delta == 0) {
+        // Mapped at the link address: the pointers in the image are already correct and
+        // the mapped pages are left untouched (and thus shared with other VM processes).
+#if log_LOADER
+        log_println("image.relocate: mapped at link address %p, nothing to relocate", theHeap);
+#endif
+        return;
+    }
 
     wantedFileOffset = sizeof(struct image_Header) + theHeader->stringDataSize;
 #if !MEMORY_IMAGE
@@ -393,7 +434,7 @@ static void relocate(int fd) {
     log_println("image.relocate [relocation map: %d bytes]", theHeader->relocationDataSize);
 #endif
 
-    relocation_apply((void *) theHeap, theHeap, relocationData, theHeader->relocationDataSize, word_BIG_ENDIAN, theHeader->wordSize);
+    relocation_apply((void *) theHeap, delta, relocationData, theHeader->relocationDataSize, word_BIG_ENDIAN, theHeader->wordSize);
 
 #if !MEMORY_IMAGE
     free(relocationData);
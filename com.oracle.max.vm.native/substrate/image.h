@@ -49,10 +49,13 @@
     f(relocationDataSize) \
     f(heapSize) /* multiple of 'pageSize'  */ \
     f(codeSize) /* multiple of 'pageSize'  */ \
+    f(immutableHeapSegmentOffset) /* page-aligned start of the heap objects never written at runtime */ \
     f(dynamicHeapRegionsArrayOffset) \
     f(reservedVirtualSpaceSize) /* Amount of contiguous virtual space to reserve at boot image load-time  */ \
     f(reservedVirtualSpaceFieldOffset) /* offset where to store the address of the reserved contiguous virtual space, if any*/ \
     f(bootRegionMappingConstraint) \
+    f(linkAddressLow) /* Low 32 bits of the address the heap and code pointers are linked for (0 if canonical) */ \
+    f(linkAddressHigh) /* High 32 bits of the address the heap and code pointers are linked for */ \
     f(tlaListHeadOffset) /* See the comment for the 'tlaListHead' field in the VmThreadMap class.  */ \
     f(exitCodeOffset) \
     f(tlaSize) /* The size of a TLA.  */ \
@@ -121,12 +124,13 @@ typedef struct image_Trailer {
 
 /**
  *  Read and verify the boot image file header, the string info section and the trailer,
- *  then verify these, then mmap the boot image, then relocate pointers in it.
+ *  then verify these, then mmap the boot image, then relocate pointers in it unless
+ *  the heap and code could be mapped at the address they were linked for.
  *
  *  Subsequently, after the string section:
  *   - relocation data
  *   - page padding
- *   - boot heap data
+ *   - boot heap data (objects written at runtime first, then the page-aligned immutable segment)
  *   - boot code data
  *
  * @param imageFileName full path of the boot image file
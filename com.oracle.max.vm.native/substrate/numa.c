@@ -21,6 +21,7 @@
  * libNUMA wrappers for Maxine VM
  */
 #include <numa.h>
+#include <numaif.h>
 
 #include "vm.h"
 
@@ -45,4 +46,19 @@ int numaNodeOfCPU(int cpuID) {
 
 int numaPageSize() {
     return numa_pagesize();
-}
\ No newline at end of file
+}
+
+int numaConfiguredNodes() {
+    return numa_num_configured_nodes();
+}
+
+/**
+ * Binds the physical pages backing a range of virtual memory to a NUMA node.
+ * Pages already touched are migrated to the node.
+ *
+ * @return 0 on success, -1 otherwise
+ */
+int numaBind(jlong address, jlong size, int node) {
+    unsigned long nodemask = 1UL << node;
+    return mbind((void *) address, (unsigned long) size, MPOL_BIND, &nodemask, sizeof(nodemask) * 8, MPOL_MF_MOVE);
+}
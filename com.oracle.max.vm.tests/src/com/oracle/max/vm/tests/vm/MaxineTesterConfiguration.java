@@ -159,7 +159,7 @@ public class MaxineTesterConfiguration {
         output(Classes.forName("test.output.GCTest8"), RAND_ALL);
         output(Classes.forName("test.output.CatchOutOfMemory"), RAND_ALL);
 
-        vmoutput(findOutputTests("com.sun.max.vm.tests.vm.output."));
+        vmoutput(findOutputTests("com.oracle.max.vm.tests.vm.output."));
 
         // Register all classes containing JUnit tests on the class path
         findJUnitTests();
@@ -340,11 +340,17 @@ public class MaxineTesterConfiguration {
         imageConfig("jtt-mst1xc1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.ms", "-native-tests", testCallerT1X);
         imageConfig("jtt-mst1xt1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.ms", "-native-tests", joinCompileCommands(testCallerT1X, testCalleeT1X));
         imageConfig("jtt-msc1xc1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.ms", "-native-tests");
+        imageConfig("jtt-msconcurrent", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.ms", "-concurrent-marking", "-native-tests");
 
         imageConfig("jtt-msec1xt1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.mse", "-native-tests", testCalleeT1X);
         imageConfig("jtt-mset1xc1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.mse", "-native-tests", testCallerT1X);
         imageConfig("jtt-mset1xt1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.mse", "-native-tests", joinCompileCommands(testCallerT1X, testCalleeT1X));
         imageConfig("jtt-msec1xc1x", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.mse", "-native-tests");
+        imageConfig("jtt-mselazysweep", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=gcx.mse", "-native-tests", "--XX:+LazySweep");
+
+        imageConfig("jtt-gssparallel", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=sequential.gen.semiSpace", "-native-tests", "--XX:ParallelGCThreads=4");
+        imageConfig("jtt-gssparallelnoaging", opt_c1x, "-run=com.oracle.max.vm.tests.vm.jtrun.all", "-heap=sequential.gen.semiSpace", "-native-tests", "--XX:ParallelGCThreads=4",
+                        "--XX:MaxTenuringThreshold=0");
 
         imageConfig("vm-output", "-run=com.oracle.max.vm.tests.vm.output");
 
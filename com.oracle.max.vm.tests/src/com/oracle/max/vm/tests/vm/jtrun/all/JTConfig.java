@@ -223,8 +223,10 @@ public class JTConfig {
         jtt.bytecode.BC_multianewarray02.class,
         jtt.bytecode.BC_multianewarray03.class,
         jtt.bytecode.BC_multianewarray04.class,
+        jtt.bytecode.BC_multianewarray05.class,
         jtt.bytecode.BC_new.class,
         jtt.bytecode.BC_newarray.class,
+        jtt.bytecode.BC_newarray02.class,
         jtt.bytecode.BC_putfield.class,
         jtt.bytecode.BC_putstatic.class,
         jtt.bytecode.BC_saload.class,
@@ -544,17 +546,26 @@ public class JTConfig {
         jtt.loop.LoopNewInstance.class,
         jtt.loop.LoopPhi.class,
         jtt.loop.LoopSwitch01.class,
+        jtt.max.BootHeapImmutable01.class,
         jtt.max.CodePointer01.class,
         jtt.max.CodePointer02.class,
+        jtt.max.CodeRegions01.class,
+        jtt.max.ConcurrentMarking01.class,
+        jtt.max.ConcurrentMarking02.class,
         jtt.max.Fold01.class,
         jtt.max.Fold02.class,
         jtt.max.Fold03.class,
+        jtt.max.FragmentedRegions01.class,
         jtt.max.Hub_Subtype01.class,
         jtt.max.Hub_Subtype02.class,
         jtt.max.ImmortalHeap_allocation.class,
         jtt.max.ImmortalHeap_switching.class,
         jtt.max.Inline01.class,
         jtt.max.Invoke_except01.class,
+        jtt.max.LazySweep01.class,
+        jtt.max.NUMAAllocation01.class,
+        jtt.max.ParallelEvacuation01.class,
+        jtt.max.ParallelEvacuation02.class,
         jtt.max.Prototyping01.class,
         jtt.max.Unsigned_idiv01.class,
         jtt.max.Unsigned_irem01.class,
@@ -600,6 +611,10 @@ public class JTConfig {
         jtt.optimize.ABCE_01.class,
         jtt.optimize.ABCE_02.class,
         jtt.optimize.ABCE_03.class,
+        jtt.optimize.ABCE_04.class,
+        jtt.optimize.ABCE_05.class,
+        jtt.optimize.ABCE_06.class,
+        jtt.optimize.ABCE_07.class,
         jtt.optimize.ArrayCopy01.class,
         jtt.optimize.ArrayLength01.class,
         jtt.optimize.BC_idiv_16.class,
@@ -619,6 +634,9 @@ public class JTConfig {
         jtt.optimize.Conditional01.class,
         jtt.optimize.DeadCode01.class,
         jtt.optimize.DeadCode02.class,
+        jtt.optimize.EA_01.class,
+        jtt.optimize.EA_02.class,
+        jtt.optimize.EA_03.class,
         jtt.optimize.Fold_Cast01.class,
         jtt.optimize.Fold_Convert01.class,
         jtt.optimize.Fold_Convert02.class,
@@ -637,6 +655,12 @@ public class JTConfig {
         jtt.optimize.Fold_Math01.class,
         jtt.optimize.Inline01.class,
         jtt.optimize.Inline02.class,
+        jtt.optimize.Intrinsic_String01.class,
+        jtt.optimize.Intrinsic_String02.class,
+        jtt.optimize.Intrinsic_String03.class,
+        jtt.optimize.Intrinsic_bitCount01.class,
+        jtt.optimize.Intrinsic_hashCode01.class,
+        jtt.optimize.LICM_01.class,
         jtt.optimize.LLE_01.class,
         jtt.optimize.List_reorder_bug.class,
         jtt.optimize.NCE_01.class,
@@ -755,8 +779,11 @@ public class JTConfig {
         jtt.reflect.Method_getReturnType01.class,
         jtt.reflect.Reflection_getCallerClass01.class,
         jtt.reflect.Reflection_getCallerClass02.class,
+        jtt.threads.Monitor_bias01.class,
         jtt.threads.Monitor_contended01.class,
+        jtt.threads.Monitor_contended02.class,
         jtt.threads.Monitor_notowner01.class,
+        jtt.threads.Monitor_pool01.class,
         jtt.threads.Monitorenter01.class,
         jtt.threads.Monitorenter02.class,
         jtt.threads.Object_wait01.class,
@@ -767,6 +794,7 @@ public class JTConfig {
         jtt.threads.ThreadLocal02.class,
         jtt.threads.ThreadLocal03.class,
         jtt.threads.Thread_currentThread01.class,
+        jtt.threads.Thread_getStackTrace01.class,
         jtt.threads.Thread_getState01.class,
         jtt.threads.Thread_getState02.class,
         jtt.threads.Thread_holdsLock01.class,
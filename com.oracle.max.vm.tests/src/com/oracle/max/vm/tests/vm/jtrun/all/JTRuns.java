@@ -275,567 +275,595 @@ public class JTRuns {
             case 190: jtt_bytecode_BC_multianewarray02(); break;
             case 191: jtt_bytecode_BC_multianewarray03(); break;
             case 192: jtt_bytecode_BC_multianewarray04(); break;
-            case 193: jtt_bytecode_BC_new(); break;
-            case 194: jtt_bytecode_BC_newarray(); break;
-            case 195: jtt_bytecode_BC_putfield(); break;
-            case 196: jtt_bytecode_BC_putstatic(); break;
-            case 197: jtt_bytecode_BC_saload(); break;
-            case 198: jtt_bytecode_BC_sastore(); break;
-            case 199: jtt_bytecode_BC_tableswitch(); break;
-            case 200: jtt_bytecode_BC_tableswitch2(); break;
-            case 201: jtt_bytecode_BC_tableswitch3(); break;
-            case 202: jtt_bytecode_BC_tableswitch4(); break;
-            case 203: jtt_bytecode_BC_wide01(); break;
-            case 204: jtt_bytecode_BC_wide02(); break;
-            case 205: jtt_exbytecode_EBC_movd2l_01(); break;
-            case 206: jtt_exbytecode_EBC_movd2l_02(); break;
-            case 207: jtt_exbytecode_EBC_movd2l_03(); break;
-            case 208: jtt_exbytecode_EBC_movd2l_04(); break;
-            case 209: jtt_exbytecode_EBC_movf2i_01(); break;
-            case 210: jtt_exbytecode_EBC_movf2i_02(); break;
-            case 211: jtt_exbytecode_EBC_movf2i_03(); break;
-            case 212: jtt_exbytecode_EBC_movf2i_04(); break;
-            case 213: jtt_exbytecode_EBC_movi2f_01(); break;
-            case 214: jtt_exbytecode_EBC_movi2f_02(); break;
-            case 215: jtt_exbytecode_EBC_movi2f_03(); break;
-            case 216: jtt_exbytecode_EBC_movi2f_04(); break;
-            case 217: jtt_exbytecode_EBC_movl2d_01(); break;
-            case 218: jtt_exbytecode_EBC_movl2d_02(); break;
-            case 219: jtt_exbytecode_EBC_movl2d_03(); break;
-            case 220: jtt_exbytecode_EBC_movl2d_04(); break;
-            case 221: jtt_exbytecode_EBC_ucmp_ae_01(); break;
-            case 222: jtt_exbytecode_EBC_ucmp_at_01(); break;
-            case 223: jtt_exbytecode_EBC_ucmp_be_01(); break;
-            case 224: jtt_exbytecode_EBC_ucmp_bt_01(); break;
-            case 225: jtt_exbytecode_EBC_uwgt_01(); break;
-            case 226: jtt_exbytecode_EBC_uwgteq_01(); break;
-            case 227: jtt_exbytecode_EBC_uwlt_01(); break;
-            case 228: jtt_exbytecode_EBC_uwlteq_01(); break;
-            case 229: jtt_except_BC_aaload0(); break;
-            case 230: jtt_except_BC_aaload1(); break;
-            case 231: jtt_except_BC_aaload2(); break;
-            case 232: jtt_except_BC_aastore0(); break;
-            case 233: jtt_except_BC_aastore1(); break;
-            case 234: jtt_except_BC_anewarray(); break;
-            case 235: jtt_except_BC_anewarray0(); break;
-            case 236: jtt_except_BC_arraylength(); break;
-            case 237: jtt_except_BC_athrow0(); break;
-            case 238: jtt_except_BC_athrow1(); break;
-            case 239: jtt_except_BC_athrow2(); break;
-            case 240: jtt_except_BC_athrow3(); break;
-            case 241: jtt_except_BC_baload(); break;
-            case 242: jtt_except_BC_bastore(); break;
-            case 243: jtt_except_BC_caload(); break;
-            case 244: jtt_except_BC_castore(); break;
-            case 245: jtt_except_BC_checkcast(); break;
-            case 246: jtt_except_BC_checkcast1(); break;
-            case 247: jtt_except_BC_checkcast2(); break;
-            case 248: jtt_except_BC_checkcast3(); break;
-            case 249: jtt_except_BC_checkcast4(); break;
-            case 250: jtt_except_BC_checkcast5(); break;
-            case 251: jtt_except_BC_checkcast6(); break;
-            case 252: jtt_except_BC_daload(); break;
-            case 253: jtt_except_BC_dastore(); break;
-            case 254: jtt_except_BC_faload(); break;
-            case 255: jtt_except_BC_fastore(); break;
-            case 256: jtt_except_BC_getfield(); break;
-            case 257: jtt_except_BC_iaload(); break;
-            case 258: jtt_except_BC_iastore(); break;
-            case 259: jtt_except_BC_idiv(); break;
-            case 260: jtt_except_BC_idiv2(); break;
-            case 261: jtt_except_BC_invokespecial01(); break;
-            case 262: jtt_except_BC_invokevirtual01(); break;
-            case 263: jtt_except_BC_invokevirtual02(); break;
-            case 264: jtt_except_BC_irem(); break;
-            case 265: jtt_except_BC_laload(); break;
-            case 266: jtt_except_BC_lastore(); break;
-            case 267: jtt_except_BC_ldiv(); break;
-            case 268: jtt_except_BC_ldiv2(); break;
-            case 269: jtt_except_BC_lrem(); break;
-            case 270: jtt_except_BC_monitorenter(); break;
-            case 271: jtt_except_BC_multianewarray(); break;
-            case 272: jtt_except_BC_multianewarray0(); break;
-            case 273: jtt_except_BC_newarray(); break;
-            case 274: jtt_except_BC_putfield(); break;
-            case 275: jtt_except_BC_saload(); break;
-            case 276: jtt_except_BC_sastore(); break;
-            case 277: jtt_except_Catch_Loop01(); break;
-            case 278: jtt_except_Catch_Loop02(); break;
-            case 279: jtt_except_Catch_Loop03(); break;
-            case 280: jtt_except_Catch_NASE_1(); break;
-            case 281: jtt_except_Catch_NASE_2(); break;
-            case 282: jtt_except_Catch_NPE_00(); break;
-            case 283: jtt_except_Catch_NPE_01(); break;
-            case 284: jtt_except_Catch_NPE_02(); break;
-            case 285: jtt_except_Catch_NPE_03(); break;
-            case 286: jtt_except_Catch_NPE_04(); break;
-            case 287: jtt_except_Catch_NPE_05(); break;
-            case 288: jtt_except_Catch_NPE_06(); break;
-            case 289: jtt_except_Catch_NPE_07(); break;
-            case 290: jtt_except_Catch_NPE_08(); break;
-            case 291: jtt_except_Catch_NPE_09(); break;
-            case 292: jtt_except_Catch_NPE_10(); break;
-            case 293: jtt_except_Catch_NPE_11(); break;
-            case 294: jtt_except_Catch_StackOverflowError_01(); break;
-            case 295: jtt_except_Catch_StackOverflowError_02(); break;
-            case 296: jtt_except_Catch_StackOverflowError_03(); break;
-            case 297: jtt_except_Catch_Two01(); break;
-            case 298: jtt_except_Catch_Two02(); break;
-            case 299: jtt_except_Catch_Two03(); break;
-            case 300: jtt_except_Catch_Unresolved(); break;
-            case 301: jtt_except_Catch_Unresolved01(); break;
-            case 302: jtt_except_Catch_Unresolved02(); break;
-            case 303: jtt_except_Catch_Unresolved03(); break;
-            case 304: jtt_except_Except_Locals(); break;
-            case 305: jtt_except_Except_Synchronized01(); break;
-            case 306: jtt_except_Except_Synchronized02(); break;
-            case 307: jtt_except_Except_Synchronized03(); break;
-            case 308: jtt_except_Except_Synchronized04(); break;
-            case 309: jtt_except_Except_Synchronized05(); break;
-            case 310: jtt_except_Finally01(); break;
-            case 311: jtt_except_Finally02(); break;
-            case 312: jtt_except_StackTrace_AIOOBE_00(); break;
-            case 313: jtt_except_StackTrace_CCE_00(); break;
-            case 314: jtt_except_StackTrace_NPE_00(); break;
-            case 315: jtt_except_StackTrace_NPE_01(); break;
-            case 316: jtt_except_StackTrace_NPE_02(); break;
-            case 317: jtt_except_StackTrace_NPE_03(); break;
-            case 318: jtt_except_Throw_InCatch01(); break;
-            case 319: jtt_except_Throw_InCatch02(); break;
-            case 320: jtt_except_Throw_InCatch03(); break;
-            case 321: jtt_except_Throw_InNested(); break;
-            case 322: jtt_except_Throw_NPE_01(); break;
-            case 323: jtt_except_Throw_Synchronized01(); break;
-            case 324: jtt_except_Throw_Synchronized02(); break;
-            case 325: jtt_except_Throw_Synchronized03(); break;
-            case 326: jtt_except_Throw_Synchronized04(); break;
-            case 327: jtt_except_Throw_Synchronized05(); break;
-            case 328: jtt_hotpath_HP_allocate01(); break;
-            case 329: jtt_hotpath_HP_allocate02(); break;
-            case 330: jtt_hotpath_HP_allocate03(); break;
-            case 331: jtt_hotpath_HP_allocate04(); break;
-            case 332: jtt_hotpath_HP_array01(); break;
-            case 333: jtt_hotpath_HP_array02(); break;
-            case 334: jtt_hotpath_HP_array03(); break;
-            case 335: jtt_hotpath_HP_array04(); break;
-            case 336: jtt_hotpath_HP_control01(); break;
-            case 337: jtt_hotpath_HP_control02(); break;
-            case 338: jtt_hotpath_HP_convert01(); break;
-            case 339: jtt_hotpath_HP_count(); break;
-            case 340: jtt_hotpath_HP_dead01(); break;
-            case 341: jtt_hotpath_HP_demo01(); break;
-            case 342: jtt_hotpath_HP_field01(); break;
-            case 343: jtt_hotpath_HP_field02(); break;
-            case 344: jtt_hotpath_HP_field03(); break;
-            case 345: jtt_hotpath_HP_field04(); break;
-            case 346: jtt_hotpath_HP_idea(); break;
-            case 347: jtt_hotpath_HP_inline01(); break;
-            case 348: jtt_hotpath_HP_inline02(); break;
-            case 349: jtt_hotpath_HP_invoke01(); break;
-            case 350: jtt_hotpath_HP_life(); break;
-            case 351: jtt_hotpath_HP_nest01(); break;
-            case 352: jtt_hotpath_HP_nest02(); break;
-            case 353: jtt_hotpath_HP_scope01(); break;
-            case 354: jtt_hotpath_HP_scope02(); break;
-            case 355: jtt_hotpath_HP_series(); break;
-            case 356: jtt_hotpath_HP_trees01(); break;
-            case 357: jtt_jasm_BC_dcmpg(); break;
-            case 358: jtt_jasm_BC_dcmpg2(); break;
-            case 359: jtt_jasm_BC_dcmpl(); break;
-            case 360: jtt_jasm_BC_dcmpl2(); break;
-            case 361: jtt_jasm_BC_fcmpg(); break;
-            case 362: jtt_jasm_BC_fcmpg2(); break;
-            case 363: jtt_jasm_BC_fcmpl(); break;
-            case 364: jtt_jasm_BC_fcmpl2(); break;
-            case 365: jtt_jasm_BC_lcmp(); break;
-            case 366: jtt_jasm_Invokevirtual_private00(); break;
-            case 367: jtt_jasm_Invokevirtual_private01(); break;
-            case 368: jtt_jasm_Loop00(); break;
-            case 369: jtt_jdk_AtomicIntegerFieldUpdater01(); break;
-            case 370: jtt_jdk_Class_getName(); break;
-            case 371: jtt_jdk_EnumMap01(); break;
-            case 372: jtt_jdk_EnumMap02(); break;
-            case 373: jtt_jdk_System_currentTimeMillis01(); break;
-            case 374: jtt_jdk_System_currentTimeMillis02(); break;
-            case 375: jtt_jdk_System_nanoTime01(); break;
-            case 376: jtt_jdk_System_nanoTime02(); break;
-            case 377: jtt_jdk_System_setOut(); break;
-            case 378: jtt_jdk_Thread_setName(); break;
-            case 379: jtt_jdk_UnsafeAccess01(); break;
-            case 380: jtt_jni_JNI_FieldBoolean(); break;
-            case 381: jtt_jni_JNI_IdentityBoolean(); break;
-            case 382: jtt_jni_JNI_IdentityByte(); break;
-            case 383: jtt_jni_JNI_IdentityChar(); break;
-            case 384: jtt_jni_JNI_IdentityFloat(); break;
-            case 385: jtt_jni_JNI_IdentityInt(); break;
-            case 386: jtt_jni_JNI_IdentityLong(); break;
-            case 387: jtt_jni_JNI_IdentityObject(); break;
-            case 388: jtt_jni_JNI_IdentityShort(); break;
-            case 389: jtt_jni_JNI_ManyObjectParameters(); break;
-            case 390: jtt_jni_JNI_ManyParameters(); break;
-            case 391: jtt_jni_JNI_Nop(); break;
-            case 392: jtt_jni_JNI_OverflowArguments(); break;
-            case 393: jtt_jvmni_JVM_ArrayCopy01(); break;
-            case 394: jtt_jvmni_JVM_GetClassContext01(); break;
-            case 395: jtt_jvmni_JVM_GetClassContext02(); break;
-            case 396: jtt_jvmni_JVM_GetFreeMemory01(); break;
-            case 397: jtt_jvmni_JVM_GetMaxMemory01(); break;
-            case 398: jtt_jvmni_JVM_GetTotalMemory01(); break;
-            case 399: jtt_jvmni_JVM_IsNaN01(); break;
-            case 400: jtt_lang_Boxed_TYPE_01(); break;
-            case 401: jtt_lang_Bridge_method01(); break;
-            case 402: jtt_lang_ClassLoader_loadClass01(); break;
-            case 403: jtt_lang_Class_Literal01(); break;
-            case 404: jtt_lang_Class_asSubclass01(); break;
-            case 405: jtt_lang_Class_cast01(); break;
-            case 406: jtt_lang_Class_cast02(); break;
-            case 407: jtt_lang_Class_forName01(); break;
-            case 408: jtt_lang_Class_forName02(); break;
-            case 409: jtt_lang_Class_forName03(); break;
-            case 410: jtt_lang_Class_forName04(); break;
-            case 411: jtt_lang_Class_forName05(); break;
-            case 412: jtt_lang_Class_getAnnotation01(); break;
-            case 413: jtt_lang_Class_getComponentType01(); break;
-            case 414: jtt_lang_Class_getInterfaces01(); break;
-            case 415: jtt_lang_Class_getName01(); break;
-            case 416: jtt_lang_Class_getName02(); break;
-            case 417: jtt_lang_Class_getSimpleName01(); break;
-            case 418: jtt_lang_Class_getSimpleName02(); break;
-            case 419: jtt_lang_Class_getSuperClass01(); break;
-            case 420: jtt_lang_Class_isArray01(); break;
-            case 421: jtt_lang_Class_isAssignableFrom01(); break;
-            case 422: jtt_lang_Class_isAssignableFrom02(); break;
-            case 423: jtt_lang_Class_isAssignableFrom03(); break;
-            case 424: jtt_lang_Class_isInstance01(); break;
-            case 425: jtt_lang_Class_isInstance02(); break;
-            case 426: jtt_lang_Class_isInstance03(); break;
-            case 427: jtt_lang_Class_isInstance04(); break;
-            case 428: jtt_lang_Class_isInstance05(); break;
-            case 429: jtt_lang_Class_isInstance06(); break;
-            case 430: jtt_lang_Class_isInterface01(); break;
-            case 431: jtt_lang_Class_isPrimitive01(); break;
-            case 432: jtt_lang_Double_01(); break;
-            case 433: jtt_lang_Double_toString(); break;
-            case 434: jtt_lang_Float_01(); break;
-            case 435: jtt_lang_Float_02(); break;
-            case 436: jtt_lang_Float_03(); break;
-            case 437: jtt_lang_Int_greater01(); break;
-            case 438: jtt_lang_Int_greater02(); break;
-            case 439: jtt_lang_Int_greater03(); break;
-            case 440: jtt_lang_Int_greaterEqual01(); break;
-            case 441: jtt_lang_Int_greaterEqual02(); break;
-            case 442: jtt_lang_Int_greaterEqual03(); break;
-            case 443: jtt_lang_Int_less01(); break;
-            case 444: jtt_lang_Int_less02(); break;
-            case 445: jtt_lang_Int_less03(); break;
-            case 446: jtt_lang_Int_lessEqual01(); break;
-            case 447: jtt_lang_Int_lessEqual02(); break;
-            case 448: jtt_lang_Int_lessEqual03(); break;
-            case 449: jtt_lang_JDK_ClassLoaders01(); break;
-            case 450: jtt_lang_JDK_ClassLoaders02(); break;
-            case 451: jtt_lang_Long_greater01(); break;
-            case 452: jtt_lang_Long_greater02(); break;
-            case 453: jtt_lang_Long_greater03(); break;
-            case 454: jtt_lang_Long_greaterEqual01(); break;
-            case 455: jtt_lang_Long_greaterEqual02(); break;
-            case 456: jtt_lang_Long_greaterEqual03(); break;
-            case 457: jtt_lang_Long_less01(); break;
-            case 458: jtt_lang_Long_less02(); break;
-            case 459: jtt_lang_Long_less03(); break;
-            case 460: jtt_lang_Long_lessEqual01(); break;
-            case 461: jtt_lang_Long_lessEqual02(); break;
-            case 462: jtt_lang_Long_lessEqual03(); break;
-            case 463: jtt_lang_Long_reverseBytes01(); break;
-            case 464: jtt_lang_Long_reverseBytes02(); break;
-            case 465: jtt_lang_Math_abs(); break;
-            case 466: jtt_lang_Math_cos(); break;
-            case 467: jtt_lang_Math_log(); break;
-            case 468: jtt_lang_Math_log10(); break;
-            case 469: jtt_lang_Math_pow(); break;
-            case 470: jtt_lang_Math_sin(); break;
-            case 471: jtt_lang_Math_sqrt(); break;
-            case 472: jtt_lang_Math_tan(); break;
-            case 473: jtt_lang_Miranda_method01(); break;
-            case 474: jtt_lang_Object_clone01(); break;
-            case 475: jtt_lang_Object_clone02(); break;
-            case 476: jtt_lang_Object_equals01(); break;
-            case 477: jtt_lang_Object_getClass01(); break;
-            case 478: jtt_lang_Object_hashCode01(); break;
-            case 479: jtt_lang_Object_notify01(); break;
-            case 480: jtt_lang_Object_notify02(); break;
-            case 481: jtt_lang_Object_notifyAll01(); break;
-            case 482: jtt_lang_Object_notifyAll02(); break;
-            case 483: jtt_lang_Object_toString01(); break;
-            case 484: jtt_lang_Object_toString02(); break;
-            case 485: jtt_lang_Object_wait01(); break;
-            case 486: jtt_lang_Object_wait02(); break;
-            case 487: jtt_lang_Object_wait03(); break;
-            case 488: jtt_lang_ProcessEnvironment_init(); break;
-            case 489: jtt_lang_Runtime_exec01(); break;
-            case 490: jtt_lang_StringCoding_Scale(); break;
-            case 491: jtt_lang_String_intern01(); break;
-            case 492: jtt_lang_String_intern02(); break;
-            case 493: jtt_lang_String_intern03(); break;
-            case 494: jtt_lang_String_valueOf01(); break;
-            case 495: jtt_lang_System_identityHashCode01(); break;
-            case 496: jtt_loop_DegeneratedLoop(); break;
-            case 497: jtt_loop_Loop01(); break;
-            case 498: jtt_loop_Loop02(); break;
-            case 499: jtt_loop_Loop03(); break;
-            case 500: jtt_loop_Loop04(); break;
-            case 501: jtt_loop_Loop05(); break;
-            case 502: jtt_loop_Loop06(); break;
-            case 503: jtt_loop_Loop07(); break;
-            case 504: jtt_loop_Loop08(); break;
-            case 505: jtt_loop_Loop09(); break;
-            case 506: jtt_loop_Loop11(); break;
-            case 507: jtt_loop_Loop12(); break;
-            case 508: jtt_loop_Loop13(); break;
-            case 509: jtt_loop_Loop14(); break;
-            case 510: jtt_loop_LoopInline(); break;
-            case 511: jtt_loop_LoopNewInstance(); break;
-            case 512: jtt_loop_LoopPhi(); break;
-            case 513: jtt_loop_LoopSwitch01(); break;
-            case 514: jtt_max_CodePointer01(); break;
-            case 515: jtt_max_CodePointer02(); break;
-            case 516: jtt_max_Fold01(); break;
-            case 517: jtt_max_Fold02(); break;
-            case 518: jtt_max_Fold03(); break;
-            case 519: jtt_max_Hub_Subtype01(); break;
-            case 520: jtt_max_Hub_Subtype02(); break;
-            case 521: jtt_max_ImmortalHeap_allocation(); break;
-            case 522: jtt_max_ImmortalHeap_switching(); break;
-            case 523: jtt_max_Inline01(); break;
-            case 524: jtt_max_Invoke_except01(); break;
-            case 525: jtt_max_Prototyping01(); break;
-            case 526: jtt_max_Unsigned_idiv01(); break;
-            case 527: jtt_max_Unsigned_irem01(); break;
-            case 528: jtt_max_Unsigned_ldiv01(); break;
-            case 529: jtt_max_Unsigned_lrem01(); break;
-            case 530: jtt_micro_ArrayCompare01(); break;
-            case 531: jtt_micro_ArrayCompare02(); break;
-            case 532: jtt_micro_BC_invokevirtual2(); break;
-            case 533: jtt_micro_BigByteParams01(); break;
-            case 534: jtt_micro_BigDoubleParams02(); break;
-            case 535: jtt_micro_BigFloatParams01(); break;
-            case 536: jtt_micro_BigFloatParams02(); break;
-            case 537: jtt_micro_BigIntParams01(); break;
-            case 538: jtt_micro_BigIntParams02(); break;
-            case 539: jtt_micro_BigInterfaceParams01(); break;
-            case 540: jtt_micro_BigLongParams02(); break;
-            case 541: jtt_micro_BigMixedParams01(); break;
-            case 542: jtt_micro_BigMixedParams02(); break;
-            case 543: jtt_micro_BigMixedParams03(); break;
-            case 544: jtt_micro_BigObjectParams01(); break;
-            case 545: jtt_micro_BigObjectParams02(); break;
-            case 546: jtt_micro_BigParamsAlignment(); break;
-            case 547: jtt_micro_BigShortParams01(); break;
-            case 548: jtt_micro_BigVirtualParams01(); break;
-            case 549: jtt_micro_Bubblesort(); break;
-            case 550: jtt_micro_Fibonacci(); break;
-            case 551: jtt_micro_InvokeVirtual_01(); break;
-            case 552: jtt_micro_InvokeVirtual_02(); break;
-            case 553: jtt_micro_Matrix01(); break;
-            case 554: jtt_micro_ReferenceMap01(); break;
-            case 555: jtt_micro_StrangeFrames(); break;
-            case 556: jtt_micro_String_format01(); break;
-            case 557: jtt_micro_String_format02(); break;
-            case 558: jtt_micro_VarArgs_String01(); break;
-            case 559: jtt_micro_VarArgs_boolean01(); break;
-            case 560: jtt_micro_VarArgs_byte01(); break;
-            case 561: jtt_micro_VarArgs_char01(); break;
-            case 562: jtt_micro_VarArgs_double01(); break;
-            case 563: jtt_micro_VarArgs_float01(); break;
-            case 564: jtt_micro_VarArgs_int01(); break;
-            case 565: jtt_micro_VarArgs_long01(); break;
-            case 566: jtt_micro_VarArgs_short01(); break;
-            case 567: jtt_optimize_ABCE_01(); break;
-            case 568: jtt_optimize_ABCE_02(); break;
-            case 569: jtt_optimize_ABCE_03(); break;
-            case 570: jtt_optimize_ArrayCopy01(); break;
-            case 571: jtt_optimize_ArrayLength01(); break;
-            case 572: jtt_optimize_BC_idiv_16(); break;
-            case 573: jtt_optimize_BC_idiv_4(); break;
-            case 574: jtt_optimize_BC_imul_16(); break;
-            case 575: jtt_optimize_BC_imul_4(); break;
-            case 576: jtt_optimize_BC_ldiv_16(); break;
-            case 577: jtt_optimize_BC_ldiv_4(); break;
-            case 578: jtt_optimize_BC_lmul_16(); break;
-            case 579: jtt_optimize_BC_lmul_4(); break;
-            case 580: jtt_optimize_BC_lshr_C16(); break;
-            case 581: jtt_optimize_BC_lshr_C24(); break;
-            case 582: jtt_optimize_BC_lshr_C32(); break;
-            case 583: jtt_optimize_BlockSkip01(); break;
-            case 584: jtt_optimize_Cmov01(); break;
-            case 585: jtt_optimize_Cmov02(); break;
-            case 586: jtt_optimize_Conditional01(); break;
-            case 587: jtt_optimize_DeadCode01(); break;
-            case 588: jtt_optimize_DeadCode02(); break;
-            case 589: jtt_optimize_Fold_Cast01(); break;
-            case 590: jtt_optimize_Fold_Convert01(); break;
-            case 591: jtt_optimize_Fold_Convert02(); break;
-            case 592: jtt_optimize_Fold_Convert03(); break;
-            case 593: jtt_optimize_Fold_Convert04(); break;
-            case 594: jtt_optimize_Fold_Double01(); break;
-            case 595: jtt_optimize_Fold_Double02(); break;
-            case 596: jtt_optimize_Fold_Double03(); break;
-            case 597: jtt_optimize_Fold_Float01(); break;
-            case 598: jtt_optimize_Fold_Float02(); break;
-            case 599: jtt_optimize_Fold_InstanceOf01(); break;
-            case 600: jtt_optimize_Fold_Int01(); break;
-            case 601: jtt_optimize_Fold_Int02(); break;
-            case 602: jtt_optimize_Fold_Long01(); break;
-            case 603: jtt_optimize_Fold_Long02(); break;
-            case 604: jtt_optimize_Fold_Math01(); break;
-            case 605: jtt_optimize_Inline01(); break;
-            case 606: jtt_optimize_Inline02(); break;
-            case 607: jtt_optimize_LLE_01(); break;
-            case 608: jtt_optimize_List_reorder_bug(); break;
-            case 609: jtt_optimize_NCE_01(); break;
-            case 610: jtt_optimize_NCE_02(); break;
-            case 611: jtt_optimize_NCE_03(); break;
-            case 612: jtt_optimize_NCE_04(); break;
-            case 613: jtt_optimize_NCE_FlowSensitive01(); break;
-            case 614: jtt_optimize_NCE_FlowSensitive02(); break;
-            case 615: jtt_optimize_NCE_FlowSensitive03(); break;
-            case 616: jtt_optimize_NCE_FlowSensitive04(); break;
-            case 617: jtt_optimize_NCE_FlowSensitive05(); break;
-            case 618: jtt_optimize_Narrow_byte01(); break;
-            case 619: jtt_optimize_Narrow_byte02(); break;
-            case 620: jtt_optimize_Narrow_byte03(); break;
-            case 621: jtt_optimize_Narrow_char01(); break;
-            case 622: jtt_optimize_Narrow_char02(); break;
-            case 623: jtt_optimize_Narrow_char03(); break;
-            case 624: jtt_optimize_Narrow_short01(); break;
-            case 625: jtt_optimize_Narrow_short02(); break;
-            case 626: jtt_optimize_Narrow_short03(); break;
-            case 627: jtt_optimize_Phi01(); break;
-            case 628: jtt_optimize_Phi02(); break;
-            case 629: jtt_optimize_Phi03(); break;
-            case 630: jtt_optimize_Reduce_Convert01(); break;
-            case 631: jtt_optimize_Reduce_Double01(); break;
-            case 632: jtt_optimize_Reduce_Float01(); break;
-            case 633: jtt_optimize_Reduce_Int01(); break;
-            case 634: jtt_optimize_Reduce_Int02(); break;
-            case 635: jtt_optimize_Reduce_Int03(); break;
-            case 636: jtt_optimize_Reduce_Int04(); break;
-            case 637: jtt_optimize_Reduce_IntShift01(); break;
-            case 638: jtt_optimize_Reduce_IntShift02(); break;
-            case 639: jtt_optimize_Reduce_Long01(); break;
-            case 640: jtt_optimize_Reduce_Long02(); break;
-            case 641: jtt_optimize_Reduce_Long03(); break;
-            case 642: jtt_optimize_Reduce_Long04(); break;
-            case 643: jtt_optimize_Reduce_LongShift01(); break;
-            case 644: jtt_optimize_Reduce_LongShift02(); break;
-            case 645: jtt_optimize_Switch01(); break;
-            case 646: jtt_optimize_Switch02(); break;
-            case 647: jtt_optimize_TypeCastElem(); break;
-            case 648: jtt_optimize_VN_Cast01(); break;
-            case 649: jtt_optimize_VN_Cast02(); break;
-            case 650: jtt_optimize_VN_Convert01(); break;
-            case 651: jtt_optimize_VN_Convert02(); break;
-            case 652: jtt_optimize_VN_Double01(); break;
-            case 653: jtt_optimize_VN_Double02(); break;
-            case 654: jtt_optimize_VN_Field01(); break;
-            case 655: jtt_optimize_VN_Field02(); break;
-            case 656: jtt_optimize_VN_Float01(); break;
-            case 657: jtt_optimize_VN_Float02(); break;
-            case 658: jtt_optimize_VN_InstanceOf01(); break;
-            case 659: jtt_optimize_VN_InstanceOf02(); break;
-            case 660: jtt_optimize_VN_InstanceOf03(); break;
-            case 661: jtt_optimize_VN_Int01(); break;
-            case 662: jtt_optimize_VN_Int02(); break;
-            case 663: jtt_optimize_VN_Int03(); break;
-            case 664: jtt_optimize_VN_Long01(); break;
-            case 665: jtt_optimize_VN_Long02(); break;
-            case 666: jtt_optimize_VN_Long03(); break;
-            case 667: jtt_optimize_VN_Loop01(); break;
-            case 668: jtt_reflect_Array_get01(); break;
-            case 669: jtt_reflect_Array_get02(); break;
-            case 670: jtt_reflect_Array_get03(); break;
-            case 671: jtt_reflect_Array_getBoolean01(); break;
-            case 672: jtt_reflect_Array_getByte01(); break;
-            case 673: jtt_reflect_Array_getChar01(); break;
-            case 674: jtt_reflect_Array_getDouble01(); break;
-            case 675: jtt_reflect_Array_getFloat01(); break;
-            case 676: jtt_reflect_Array_getInt01(); break;
-            case 677: jtt_reflect_Array_getLength01(); break;
-            case 678: jtt_reflect_Array_getLong01(); break;
-            case 679: jtt_reflect_Array_getShort01(); break;
-            case 680: jtt_reflect_Array_newInstance01(); break;
-            case 681: jtt_reflect_Array_newInstance02(); break;
-            case 682: jtt_reflect_Array_newInstance03(); break;
-            case 683: jtt_reflect_Array_newInstance04(); break;
-            case 684: jtt_reflect_Array_newInstance05(); break;
-            case 685: jtt_reflect_Array_newInstance06(); break;
-            case 686: jtt_reflect_Array_set01(); break;
-            case 687: jtt_reflect_Array_set02(); break;
-            case 688: jtt_reflect_Array_set03(); break;
-            case 689: jtt_reflect_Array_setBoolean01(); break;
-            case 690: jtt_reflect_Array_setByte01(); break;
-            case 691: jtt_reflect_Array_setChar01(); break;
-            case 692: jtt_reflect_Array_setDouble01(); break;
-            case 693: jtt_reflect_Array_setFloat01(); break;
-            case 694: jtt_reflect_Array_setInt01(); break;
-            case 695: jtt_reflect_Array_setLong01(); break;
-            case 696: jtt_reflect_Array_setShort01(); break;
-            case 697: jtt_reflect_Class_getDeclaredField01(); break;
-            case 698: jtt_reflect_Class_getDeclaredMethod01(); break;
-            case 699: jtt_reflect_Class_getField01(); break;
-            case 700: jtt_reflect_Class_getField02(); break;
-            case 701: jtt_reflect_Class_getMethod01(); break;
-            case 702: jtt_reflect_Class_getMethod02(); break;
-            case 703: jtt_reflect_Class_newInstance01(); break;
-            case 704: jtt_reflect_Class_newInstance02(); break;
-            case 705: jtt_reflect_Class_newInstance03(); break;
-            case 706: jtt_reflect_Class_newInstance06(); break;
-            case 707: jtt_reflect_Class_newInstance07(); break;
-            case 708: jtt_reflect_Field_get01(); break;
-            case 709: jtt_reflect_Field_get02(); break;
-            case 710: jtt_reflect_Field_get03(); break;
-            case 711: jtt_reflect_Field_get04(); break;
-            case 712: jtt_reflect_Field_getType01(); break;
-            case 713: jtt_reflect_Field_set01(); break;
-            case 714: jtt_reflect_Field_set02(); break;
-            case 715: jtt_reflect_Field_set03(); break;
-            case 716: jtt_reflect_Invoke_except01(); break;
-            case 717: jtt_reflect_Invoke_main01(); break;
-            case 718: jtt_reflect_Invoke_main02(); break;
-            case 719: jtt_reflect_Invoke_main03(); break;
-            case 720: jtt_reflect_Invoke_virtual01(); break;
-            case 721: jtt_reflect_Method_getParameterTypes01(); break;
-            case 722: jtt_reflect_Method_getReturnType01(); break;
-            case 723: jtt_reflect_Reflection_getCallerClass01(); break;
-            case 724: jtt_reflect_Reflection_getCallerClass02(); break;
-            case 725: jtt_threads_Monitor_contended01(); break;
-            case 726: jtt_threads_Monitor_notowner01(); break;
-            case 727: jtt_threads_Monitorenter01(); break;
-            case 728: jtt_threads_Monitorenter02(); break;
-            case 729: jtt_threads_Object_wait01(); break;
-            case 730: jtt_threads_Object_wait02(); break;
-            case 731: jtt_threads_Object_wait03(); break;
-            case 732: jtt_threads_Object_wait04(); break;
-            case 733: jtt_threads_ThreadLocal01(); break;
-            case 734: jtt_threads_ThreadLocal02(); break;
-            case 735: jtt_threads_ThreadLocal03(); break;
-            case 736: jtt_threads_Thread_currentThread01(); break;
-            case 737: jtt_threads_Thread_getState01(); break;
-            case 738: jtt_threads_Thread_getState02(); break;
-            case 739: jtt_threads_Thread_holdsLock01(); break;
-            case 740: jtt_threads_Thread_isAlive01(); break;
-            case 741: jtt_threads_Thread_isInterrupted01(); break;
-            case 742: jtt_threads_Thread_isInterrupted02(); break;
-            case 743: jtt_threads_Thread_isInterrupted03(); break;
-            case 744: jtt_threads_Thread_isInterrupted04(); break;
-            case 745: jtt_threads_Thread_isInterrupted05(); break;
-            case 746: jtt_threads_Thread_join01(); break;
-            case 747: jtt_threads_Thread_join02(); break;
-            case 748: jtt_threads_Thread_join03(); break;
-            case 749: jtt_threads_Thread_new01(); break;
-            case 750: jtt_threads_Thread_new02(); break;
-            case 751: jtt_threads_Thread_setPriority01(); break;
-            case 752: jtt_threads_Thread_sleep01(); break;
-            case 753: jtt_threads_Thread_yield01(); break;
+            case 193: jtt_bytecode_BC_multianewarray05(); break;
+            case 194: jtt_bytecode_BC_new(); break;
+            case 195: jtt_bytecode_BC_newarray(); break;
+            case 196: jtt_bytecode_BC_newarray02(); break;
+            case 197: jtt_bytecode_BC_putfield(); break;
+            case 198: jtt_bytecode_BC_putstatic(); break;
+            case 199: jtt_bytecode_BC_saload(); break;
+            case 200: jtt_bytecode_BC_sastore(); break;
+            case 201: jtt_bytecode_BC_tableswitch(); break;
+            case 202: jtt_bytecode_BC_tableswitch2(); break;
+            case 203: jtt_bytecode_BC_tableswitch3(); break;
+            case 204: jtt_bytecode_BC_tableswitch4(); break;
+            case 205: jtt_bytecode_BC_wide01(); break;
+            case 206: jtt_bytecode_BC_wide02(); break;
+            case 207: jtt_exbytecode_EBC_movd2l_01(); break;
+            case 208: jtt_exbytecode_EBC_movd2l_02(); break;
+            case 209: jtt_exbytecode_EBC_movd2l_03(); break;
+            case 210: jtt_exbytecode_EBC_movd2l_04(); break;
+            case 211: jtt_exbytecode_EBC_movf2i_01(); break;
+            case 212: jtt_exbytecode_EBC_movf2i_02(); break;
+            case 213: jtt_exbytecode_EBC_movf2i_03(); break;
+            case 214: jtt_exbytecode_EBC_movf2i_04(); break;
+            case 215: jtt_exbytecode_EBC_movi2f_01(); break;
+            case 216: jtt_exbytecode_EBC_movi2f_02(); break;
+            case 217: jtt_exbytecode_EBC_movi2f_03(); break;
+            case 218: jtt_exbytecode_EBC_movi2f_04(); break;
+            case 219: jtt_exbytecode_EBC_movl2d_01(); break;
+            case 220: jtt_exbytecode_EBC_movl2d_02(); break;
+            case 221: jtt_exbytecode_EBC_movl2d_03(); break;
+            case 222: jtt_exbytecode_EBC_movl2d_04(); break;
+            case 223: jtt_exbytecode_EBC_ucmp_ae_01(); break;
+            case 224: jtt_exbytecode_EBC_ucmp_at_01(); break;
+            case 225: jtt_exbytecode_EBC_ucmp_be_01(); break;
+            case 226: jtt_exbytecode_EBC_ucmp_bt_01(); break;
+            case 227: jtt_exbytecode_EBC_uwgt_01(); break;
+            case 228: jtt_exbytecode_EBC_uwgteq_01(); break;
+            case 229: jtt_exbytecode_EBC_uwlt_01(); break;
+            case 230: jtt_exbytecode_EBC_uwlteq_01(); break;
+            case 231: jtt_except_BC_aaload0(); break;
+            case 232: jtt_except_BC_aaload1(); break;
+            case 233: jtt_except_BC_aaload2(); break;
+            case 234: jtt_except_BC_aastore0(); break;
+            case 235: jtt_except_BC_aastore1(); break;
+            case 236: jtt_except_BC_anewarray(); break;
+            case 237: jtt_except_BC_anewarray0(); break;
+            case 238: jtt_except_BC_arraylength(); break;
+            case 239: jtt_except_BC_athrow0(); break;
+            case 240: jtt_except_BC_athrow1(); break;
+            case 241: jtt_except_BC_athrow2(); break;
+            case 242: jtt_except_BC_athrow3(); break;
+            case 243: jtt_except_BC_baload(); break;
+            case 244: jtt_except_BC_bastore(); break;
+            case 245: jtt_except_BC_caload(); break;
+            case 246: jtt_except_BC_castore(); break;
+            case 247: jtt_except_BC_checkcast(); break;
+            case 248: jtt_except_BC_checkcast1(); break;
+            case 249: jtt_except_BC_checkcast2(); break;
+            case 250: jtt_except_BC_checkcast3(); break;
+            case 251: jtt_except_BC_checkcast4(); break;
+            case 252: jtt_except_BC_checkcast5(); break;
+            case 253: jtt_except_BC_checkcast6(); break;
+            case 254: jtt_except_BC_daload(); break;
+            case 255: jtt_except_BC_dastore(); break;
+            case 256: jtt_except_BC_faload(); break;
+            case 257: jtt_except_BC_fastore(); break;
+            case 258: jtt_except_BC_getfield(); break;
+            case 259: jtt_except_BC_iaload(); break;
+            case 260: jtt_except_BC_iastore(); break;
+            case 261: jtt_except_BC_idiv(); break;
+            case 262: jtt_except_BC_idiv2(); break;
+            case 263: jtt_except_BC_invokespecial01(); break;
+            case 264: jtt_except_BC_invokevirtual01(); break;
+            case 265: jtt_except_BC_invokevirtual02(); break;
+            case 266: jtt_except_BC_irem(); break;
+            case 267: jtt_except_BC_laload(); break;
+            case 268: jtt_except_BC_lastore(); break;
+            case 269: jtt_except_BC_ldiv(); break;
+            case 270: jtt_except_BC_ldiv2(); break;
+            case 271: jtt_except_BC_lrem(); break;
+            case 272: jtt_except_BC_monitorenter(); break;
+            case 273: jtt_except_BC_multianewarray(); break;
+            case 274: jtt_except_BC_multianewarray0(); break;
+            case 275: jtt_except_BC_newarray(); break;
+            case 276: jtt_except_BC_putfield(); break;
+            case 277: jtt_except_BC_saload(); break;
+            case 278: jtt_except_BC_sastore(); break;
+            case 279: jtt_except_Catch_Loop01(); break;
+            case 280: jtt_except_Catch_Loop02(); break;
+            case 281: jtt_except_Catch_Loop03(); break;
+            case 282: jtt_except_Catch_NASE_1(); break;
+            case 283: jtt_except_Catch_NASE_2(); break;
+            case 284: jtt_except_Catch_NPE_00(); break;
+            case 285: jtt_except_Catch_NPE_01(); break;
+            case 286: jtt_except_Catch_NPE_02(); break;
+            case 287: jtt_except_Catch_NPE_03(); break;
+            case 288: jtt_except_Catch_NPE_04(); break;
+            case 289: jtt_except_Catch_NPE_05(); break;
+            case 290: jtt_except_Catch_NPE_06(); break;
+            case 291: jtt_except_Catch_NPE_07(); break;
+            case 292: jtt_except_Catch_NPE_08(); break;
+            case 293: jtt_except_Catch_NPE_09(); break;
+            case 294: jtt_except_Catch_NPE_10(); break;
+            case 295: jtt_except_Catch_NPE_11(); break;
+            case 296: jtt_except_Catch_StackOverflowError_01(); break;
+            case 297: jtt_except_Catch_StackOverflowError_02(); break;
+            case 298: jtt_except_Catch_StackOverflowError_03(); break;
+            case 299: jtt_except_Catch_Two01(); break;
+            case 300: jtt_except_Catch_Two02(); break;
+            case 301: jtt_except_Catch_Two03(); break;
+            case 302: jtt_except_Catch_Unresolved(); break;
+            case 303: jtt_except_Catch_Unresolved01(); break;
+            case 304: jtt_except_Catch_Unresolved02(); break;
+            case 305: jtt_except_Catch_Unresolved03(); break;
+            case 306: jtt_except_Except_Locals(); break;
+            case 307: jtt_except_Except_Synchronized01(); break;
+            case 308: jtt_except_Except_Synchronized02(); break;
+            case 309: jtt_except_Except_Synchronized03(); break;
+            case 310: jtt_except_Except_Synchronized04(); break;
+            case 311: jtt_except_Except_Synchronized05(); break;
+            case 312: jtt_except_Finally01(); break;
+            case 313: jtt_except_Finally02(); break;
+            case 314: jtt_except_StackTrace_AIOOBE_00(); break;
+            case 315: jtt_except_StackTrace_CCE_00(); break;
+            case 316: jtt_except_StackTrace_NPE_00(); break;
+            case 317: jtt_except_StackTrace_NPE_01(); break;
+            case 318: jtt_except_StackTrace_NPE_02(); break;
+            case 319: jtt_except_StackTrace_NPE_03(); break;
+            case 320: jtt_except_Throw_InCatch01(); break;
+            case 321: jtt_except_Throw_InCatch02(); break;
+            case 322: jtt_except_Throw_InCatch03(); break;
+            case 323: jtt_except_Throw_InNested(); break;
+            case 324: jtt_except_Throw_NPE_01(); break;
+            case 325: jtt_except_Throw_Synchronized01(); break;
+            case 326: jtt_except_Throw_Synchronized02(); break;
+            case 327: jtt_except_Throw_Synchronized03(); break;
+            case 328: jtt_except_Throw_Synchronized04(); break;
+            case 329: jtt_except_Throw_Synchronized05(); break;
+            case 330: jtt_hotpath_HP_allocate01(); break;
+            case 331: jtt_hotpath_HP_allocate02(); break;
+            case 332: jtt_hotpath_HP_allocate03(); break;
+            case 333: jtt_hotpath_HP_allocate04(); break;
+            case 334: jtt_hotpath_HP_array01(); break;
+            case 335: jtt_hotpath_HP_array02(); break;
+            case 336: jtt_hotpath_HP_array03(); break;
+            case 337: jtt_hotpath_HP_array04(); break;
+            case 338: jtt_hotpath_HP_control01(); break;
+            case 339: jtt_hotpath_HP_control02(); break;
+            case 340: jtt_hotpath_HP_convert01(); break;
+            case 341: jtt_hotpath_HP_count(); break;
+            case 342: jtt_hotpath_HP_dead01(); break;
+            case 343: jtt_hotpath_HP_demo01(); break;
+            case 344: jtt_hotpath_HP_field01(); break;
+            case 345: jtt_hotpath_HP_field02(); break;
+            case 346: jtt_hotpath_HP_field03(); break;
+            case 347: jtt_hotpath_HP_field04(); break;
+            case 348: jtt_hotpath_HP_idea(); break;
+            case 349: jtt_hotpath_HP_inline01(); break;
+            case 350: jtt_hotpath_HP_inline02(); break;
+            case 351: jtt_hotpath_HP_invoke01(); break;
+            case 352: jtt_hotpath_HP_life(); break;
+            case 353: jtt_hotpath_HP_nest01(); break;
+            case 354: jtt_hotpath_HP_nest02(); break;
+            case 355: jtt_hotpath_HP_scope01(); break;
+            case 356: jtt_hotpath_HP_scope02(); break;
+            case 357: jtt_hotpath_HP_series(); break;
+            case 358: jtt_hotpath_HP_trees01(); break;
+            case 359: jtt_jasm_BC_dcmpg(); break;
+            case 360: jtt_jasm_BC_dcmpg2(); break;
+            case 361: jtt_jasm_BC_dcmpl(); break;
+            case 362: jtt_jasm_BC_dcmpl2(); break;
+            case 363: jtt_jasm_BC_fcmpg(); break;
+            case 364: jtt_jasm_BC_fcmpg2(); break;
+            case 365: jtt_jasm_BC_fcmpl(); break;
+            case 366: jtt_jasm_BC_fcmpl2(); break;
+            case 367: jtt_jasm_BC_lcmp(); break;
+            case 368: jtt_jasm_Invokevirtual_private00(); break;
+            case 369: jtt_jasm_Invokevirtual_private01(); break;
+            case 370: jtt_jasm_Loop00(); break;
+            case 371: jtt_jdk_AtomicIntegerFieldUpdater01(); break;
+            case 372: jtt_jdk_Class_getName(); break;
+            case 373: jtt_jdk_EnumMap01(); break;
+            case 374: jtt_jdk_EnumMap02(); break;
+            case 375: jtt_jdk_System_currentTimeMillis01(); break;
+            case 376: jtt_jdk_System_currentTimeMillis02(); break;
+            case 377: jtt_jdk_System_nanoTime01(); break;
+            case 378: jtt_jdk_System_nanoTime02(); break;
+            case 379: jtt_jdk_System_setOut(); break;
+            case 380: jtt_jdk_Thread_setName(); break;
+            case 381: jtt_jdk_UnsafeAccess01(); break;
+            case 382: jtt_jni_JNI_FieldBoolean(); break;
+            case 383: jtt_jni_JNI_IdentityBoolean(); break;
+            case 384: jtt_jni_JNI_IdentityByte(); break;
+            case 385: jtt_jni_JNI_IdentityChar(); break;
+            case 386: jtt_jni_JNI_IdentityFloat(); break;
+            case 387: jtt_jni_JNI_IdentityInt(); break;
+            case 388: jtt_jni_JNI_IdentityLong(); break;
+            case 389: jtt_jni_JNI_IdentityObject(); break;
+            case 390: jtt_jni_JNI_IdentityShort(); break;
+            case 391: jtt_jni_JNI_ManyObjectParameters(); break;
+            case 392: jtt_jni_JNI_ManyParameters(); break;
+            case 393: jtt_jni_JNI_Nop(); break;
+            case 394: jtt_jni_JNI_OverflowArguments(); break;
+            case 395: jtt_jvmni_JVM_ArrayCopy01(); break;
+            case 396: jtt_jvmni_JVM_GetClassContext01(); break;
+            case 397: jtt_jvmni_JVM_GetClassContext02(); break;
+            case 398: jtt_jvmni_JVM_GetFreeMemory01(); break;
+            case 399: jtt_jvmni_JVM_GetMaxMemory01(); break;
+            case 400: jtt_jvmni_JVM_GetTotalMemory01(); break;
+            case 401: jtt_jvmni_JVM_IsNaN01(); break;
+            case 402: jtt_lang_Boxed_TYPE_01(); break;
+            case 403: jtt_lang_Bridge_method01(); break;
+            case 404: jtt_lang_ClassLoader_loadClass01(); break;
+            case 405: jtt_lang_Class_Literal01(); break;
+            case 406: jtt_lang_Class_asSubclass01(); break;
+            case 407: jtt_lang_Class_cast01(); break;
+            case 408: jtt_lang_Class_cast02(); break;
+            case 409: jtt_lang_Class_forName01(); break;
+            case 410: jtt_lang_Class_forName02(); break;
+            case 411: jtt_lang_Class_forName03(); break;
+            case 412: jtt_lang_Class_forName04(); break;
+            case 413: jtt_lang_Class_forName05(); break;
+            case 414: jtt_lang_Class_getAnnotation01(); break;
+            case 415: jtt_lang_Class_getComponentType01(); break;
+            case 416: jtt_lang_Class_getInterfaces01(); break;
+            case 417: jtt_lang_Class_getName01(); break;
+            case 418: jtt_lang_Class_getName02(); break;
+            case 419: jtt_lang_Class_getSimpleName01(); break;
+            case 420: jtt_lang_Class_getSimpleName02(); break;
+            case 421: jtt_lang_Class_getSuperClass01(); break;
+            case 422: jtt_lang_Class_isArray01(); break;
+            case 423: jtt_lang_Class_isAssignableFrom01(); break;
+            case 424: jtt_lang_Class_isAssignableFrom02(); break;
+            case 425: jtt_lang_Class_isAssignableFrom03(); break;
+            case 426: jtt_lang_Class_isInstance01(); break;
+            case 427: jtt_lang_Class_isInstance02(); break;
+            case 428: jtt_lang_Class_isInstance03(); break;
+            case 429: jtt_lang_Class_isInstance04(); break;
+            case 430: jtt_lang_Class_isInstance05(); break;
+            case 431: jtt_lang_Class_isInstance06(); break;
+            case 432: jtt_lang_Class_isInterface01(); break;
+            case 433: jtt_lang_Class_isPrimitive01(); break;
+            case 434: jtt_lang_Double_01(); break;
+            case 435: jtt_lang_Double_toString(); break;
+            case 436: jtt_lang_Float_01(); break;
+            case 437: jtt_lang_Float_02(); break;
+            case 438: jtt_lang_Float_03(); break;
+            case 439: jtt_lang_Int_greater01(); break;
+            case 440: jtt_lang_Int_greater02(); break;
+            case 441: jtt_lang_Int_greater03(); break;
+            case 442: jtt_lang_Int_greaterEqual01(); break;
+            case 443: jtt_lang_Int_greaterEqual02(); break;
+            case 444: jtt_lang_Int_greaterEqual03(); break;
+            case 445: jtt_lang_Int_less01(); break;
+            case 446: jtt_lang_Int_less02(); break;
+            case 447: jtt_lang_Int_less03(); break;
+            case 448: jtt_lang_Int_lessEqual01(); break;
+            case 449: jtt_lang_Int_lessEqual02(); break;
+            case 450: jtt_lang_Int_lessEqual03(); break;
+            case 451: jtt_lang_JDK_ClassLoaders01(); break;
+            case 452: jtt_lang_JDK_ClassLoaders02(); break;
+            case 453: jtt_lang_Long_greater01(); break;
+            case 454: jtt_lang_Long_greater02(); break;
+            case 455: jtt_lang_Long_greater03(); break;
+            case 456: jtt_lang_Long_greaterEqual01(); break;
+            case 457: jtt_lang_Long_greaterEqual02(); break;
+            case 458: jtt_lang_Long_greaterEqual03(); break;
+            case 459: jtt_lang_Long_less01(); break;
+            case 460: jtt_lang_Long_less02(); break;
+            case 461: jtt_lang_Long_less03(); break;
+            case 462: jtt_lang_Long_lessEqual01(); break;
+            case 463: jtt_lang_Long_lessEqual02(); break;
+            case 464: jtt_lang_Long_lessEqual03(); break;
+            case 465: jtt_lang_Long_reverseBytes01(); break;
+            case 466: jtt_lang_Long_reverseBytes02(); break;
+            case 467: jtt_lang_Math_abs(); break;
+            case 468: jtt_lang_Math_cos(); break;
+            case 469: jtt_lang_Math_log(); break;
+            case 470: jtt_lang_Math_log10(); break;
+            case 471: jtt_lang_Math_pow(); break;
+            case 472: jtt_lang_Math_sin(); break;
+            case 473: jtt_lang_Math_sqrt(); break;
+            case 474: jtt_lang_Math_tan(); break;
+            case 475: jtt_lang_Miranda_method01(); break;
+            case 476: jtt_lang_Object_clone01(); break;
+            case 477: jtt_lang_Object_clone02(); break;
+            case 478: jtt_lang_Object_equals01(); break;
+            case 479: jtt_lang_Object_getClass01(); break;
+            case 480: jtt_lang_Object_hashCode01(); break;
+            case 481: jtt_lang_Object_notify01(); break;
+            case 482: jtt_lang_Object_notify02(); break;
+            case 483: jtt_lang_Object_notifyAll01(); break;
+            case 484: jtt_lang_Object_notifyAll02(); break;
+            case 485: jtt_lang_Object_toString01(); break;
+            case 486: jtt_lang_Object_toString02(); break;
+            case 487: jtt_lang_Object_wait01(); break;
+            case 488: jtt_lang_Object_wait02(); break;
+            case 489: jtt_lang_Object_wait03(); break;
+            case 490: jtt_lang_ProcessEnvironment_init(); break;
+            case 491: jtt_lang_Runtime_exec01(); break;
+            case 492: jtt_lang_StringCoding_Scale(); break;
+            case 493: jtt_lang_String_intern01(); break;
+            case 494: jtt_lang_String_intern02(); break;
+            case 495: jtt_lang_String_intern03(); break;
+            case 496: jtt_lang_String_valueOf01(); break;
+            case 497: jtt_lang_System_identityHashCode01(); break;
+            case 498: jtt_loop_DegeneratedLoop(); break;
+            case 499: jtt_loop_Loop01(); break;
+            case 500: jtt_loop_Loop02(); break;
+            case 501: jtt_loop_Loop03(); break;
+            case 502: jtt_loop_Loop04(); break;
+            case 503: jtt_loop_Loop05(); break;
+            case 504: jtt_loop_Loop06(); break;
+            case 505: jtt_loop_Loop07(); break;
+            case 506: jtt_loop_Loop08(); break;
+            case 507: jtt_loop_Loop09(); break;
+            case 508: jtt_loop_Loop11(); break;
+            case 509: jtt_loop_Loop12(); break;
+            case 510: jtt_loop_Loop13(); break;
+            case 511: jtt_loop_Loop14(); break;
+            case 512: jtt_loop_LoopInline(); break;
+            case 513: jtt_loop_LoopNewInstance(); break;
+            case 514: jtt_loop_LoopPhi(); break;
+            case 515: jtt_loop_LoopSwitch01(); break;
+            case 516: jtt_max_BootHeapImmutable01(); break;
+            case 517: jtt_max_CodePointer01(); break;
+            case 518: jtt_max_CodePointer02(); break;
+            case 519: jtt_max_CodeRegions01(); break;
+            case 520: jtt_max_ConcurrentMarking01(); break;
+            case 521: jtt_max_ConcurrentMarking02(); break;
+            case 522: jtt_max_Fold01(); break;
+            case 523: jtt_max_Fold02(); break;
+            case 524: jtt_max_Fold03(); break;
+            case 525: jtt_max_FragmentedRegions01(); break;
+            case 526: jtt_max_Hub_Subtype01(); break;
+            case 527: jtt_max_Hub_Subtype02(); break;
+            case 528: jtt_max_ImmortalHeap_allocation(); break;
+            case 529: jtt_max_ImmortalHeap_switching(); break;
+            case 530: jtt_max_Inline01(); break;
+            case 531: jtt_max_Invoke_except01(); break;
+            case 532: jtt_max_LazySweep01(); break;
+            case 533: jtt_max_NUMAAllocation01(); break;
+            case 534: jtt_max_ParallelEvacuation01(); break;
+            case 535: jtt_max_ParallelEvacuation02(); break;
+            case 536: jtt_max_Prototyping01(); break;
+            case 537: jtt_max_Unsigned_idiv01(); break;
+            case 538: jtt_max_Unsigned_irem01(); break;
+            case 539: jtt_max_Unsigned_ldiv01(); break;
+            case 540: jtt_max_Unsigned_lrem01(); break;
+            case 541: jtt_micro_ArrayCompare01(); break;
+            case 542: jtt_micro_ArrayCompare02(); break;
+            case 543: jtt_micro_BC_invokevirtual2(); break;
+            case 544: jtt_micro_BigByteParams01(); break;
+            case 545: jtt_micro_BigDoubleParams02(); break;
+            case 546: jtt_micro_BigFloatParams01(); break;
+            case 547: jtt_micro_BigFloatParams02(); break;
+            case 548: jtt_micro_BigIntParams01(); break;
+            case 549: jtt_micro_BigIntParams02(); break;
+            case 550: jtt_micro_BigInterfaceParams01(); break;
+            case 551: jtt_micro_BigLongParams02(); break;
+            case 552: jtt_micro_BigMixedParams01(); break;
+            case 553: jtt_micro_BigMixedParams02(); break;
+            case 554: jtt_micro_BigMixedParams03(); break;
+            case 555: jtt_micro_BigObjectParams01(); break;
+            case 556: jtt_micro_BigObjectParams02(); break;
+            case 557: jtt_micro_BigParamsAlignment(); break;
+            case 558: jtt_micro_BigShortParams01(); break;
+            case 559: jtt_micro_BigVirtualParams01(); break;
+            case 560: jtt_micro_Bubblesort(); break;
+            case 561: jtt_micro_Fibonacci(); break;
+            case 562: jtt_micro_InvokeVirtual_01(); break;
+            case 563: jtt_micro_InvokeVirtual_02(); break;
+            case 564: jtt_micro_Matrix01(); break;
+            case 565: jtt_micro_ReferenceMap01(); break;
+            case 566: jtt_micro_StrangeFrames(); break;
+            case 567: jtt_micro_String_format01(); break;
+            case 568: jtt_micro_String_format02(); break;
+            case 569: jtt_micro_VarArgs_String01(); break;
+            case 570: jtt_micro_VarArgs_boolean01(); break;
+            case 571: jtt_micro_VarArgs_byte01(); break;
+            case 572: jtt_micro_VarArgs_char01(); break;
+            case 573: jtt_micro_VarArgs_double01(); break;
+            case 574: jtt_micro_VarArgs_float01(); break;
+            case 575: jtt_micro_VarArgs_int01(); break;
+            case 576: jtt_micro_VarArgs_long01(); break;
+            case 577: jtt_micro_VarArgs_short01(); break;
+            case 578: jtt_optimize_ABCE_01(); break;
+            case 579: jtt_optimize_ABCE_02(); break;
+            case 580: jtt_optimize_ABCE_03(); break;
+            case 581: jtt_optimize_ABCE_04(); break;
+            case 582: jtt_optimize_ABCE_05(); break;
+            case 583: jtt_optimize_ABCE_06(); break;
+            case 584: jtt_optimize_ABCE_07(); break;
+            case 585: jtt_optimize_ArrayCopy01(); break;
+            case 586: jtt_optimize_ArrayLength01(); break;
+            case 587: jtt_optimize_BC_idiv_16(); break;
+            case 588: jtt_optimize_BC_idiv_4(); break;
+            case 589: jtt_optimize_BC_imul_16(); break;
+            case 590: jtt_optimize_BC_imul_4(); break;
+            case 591: jtt_optimize_BC_ldiv_16(); break;
+            case 592: jtt_optimize_BC_ldiv_4(); break;
+            case 593: jtt_optimize_BC_lmul_16(); break;
+            case 594: jtt_optimize_BC_lmul_4(); break;
+            case 595: jtt_optimize_BC_lshr_C16(); break;
+            case 596: jtt_optimize_BC_lshr_C24(); break;
+            case 597: jtt_optimize_BC_lshr_C32(); break;
+            case 598: jtt_optimize_BlockSkip01(); break;
+            case 599: jtt_optimize_Cmov01(); break;
+            case 600: jtt_optimize_Cmov02(); break;
+            case 601: jtt_optimize_Conditional01(); break;
+            case 602: jtt_optimize_DeadCode01(); break;
+            case 603: jtt_optimize_DeadCode02(); break;
+            case 604: jtt_optimize_EA_01(); break;
+            case 605: jtt_optimize_EA_02(); break;
+            case 606: jtt_optimize_EA_03(); break;
+            case 607: jtt_optimize_Fold_Cast01(); break;
+            case 608: jtt_optimize_Fold_Convert01(); break;
+            case 609: jtt_optimize_Fold_Convert02(); break;
+            case 610: jtt_optimize_Fold_Convert03(); break;
+            case 611: jtt_optimize_Fold_Convert04(); break;
+            case 612: jtt_optimize_Fold_Double01(); break;
+            case 613: jtt_optimize_Fold_Double02(); break;
+            case 614: jtt_optimize_Fold_Double03(); break;
+            case 615: jtt_optimize_Fold_Float01(); break;
+            case 616: jtt_optimize_Fold_Float02(); break;
+            case 617: jtt_optimize_Fold_InstanceOf01(); break;
+            case 618: jtt_optimize_Fold_Int01(); break;
+            case 619: jtt_optimize_Fold_Int02(); break;
+            case 620: jtt_optimize_Fold_Long01(); break;
+            case 621: jtt_optimize_Fold_Long02(); break;
+            case 622: jtt_optimize_Fold_Math01(); break;
+            case 623: jtt_optimize_Inline01(); break;
+            case 624: jtt_optimize_Inline02(); break;
+            case 625: jtt_optimize_Intrinsic_String01(); break;
+            case 626: jtt_optimize_Intrinsic_String02(); break;
+            case 627: jtt_optimize_Intrinsic_String03(); break;
+            case 628: jtt_optimize_Intrinsic_bitCount01(); break;
+            case 629: jtt_optimize_Intrinsic_hashCode01(); break;
+            case 630: jtt_optimize_LICM_01(); break;
+            case 631: jtt_optimize_LLE_01(); break;
+            case 632: jtt_optimize_List_reorder_bug(); break;
+            case 633: jtt_optimize_NCE_01(); break;
+            case 634: jtt_optimize_NCE_02(); break;
+            case 635: jtt_optimize_NCE_03(); break;
+            case 636: jtt_optimize_NCE_04(); break;
+            case 637: jtt_optimize_NCE_FlowSensitive01(); break;
+            case 638: jtt_optimize_NCE_FlowSensitive02(); break;
+            case 639: jtt_optimize_NCE_FlowSensitive03(); break;
+            case 640: jtt_optimize_NCE_FlowSensitive04(); break;
+            case 641: jtt_optimize_NCE_FlowSensitive05(); break;
+            case 642: jtt_optimize_Narrow_byte01(); break;
+            case 643: jtt_optimize_Narrow_byte02(); break;
+            case 644: jtt_optimize_Narrow_byte03(); break;
+            case 645: jtt_optimize_Narrow_char01(); break;
+            case 646: jtt_optimize_Narrow_char02(); break;
+            case 647: jtt_optimize_Narrow_char03(); break;
+            case 648: jtt_optimize_Narrow_short01(); break;
+            case 649: jtt_optimize_Narrow_short02(); break;
+            case 650: jtt_optimize_Narrow_short03(); break;
+            case 651: jtt_optimize_Phi01(); break;
+            case 652: jtt_optimize_Phi02(); break;
+            case 653: jtt_optimize_Phi03(); break;
+            case 654: jtt_optimize_Reduce_Convert01(); break;
+            case 655: jtt_optimize_Reduce_Double01(); break;
+            case 656: jtt_optimize_Reduce_Float01(); break;
+            case 657: jtt_optimize_Reduce_Int01(); break;
+            case 658: jtt_optimize_Reduce_Int02(); break;
+            case 659: jtt_optimize_Reduce_Int03(); break;
+            case 660: jtt_optimize_Reduce_Int04(); break;
+            case 661: jtt_optimize_Reduce_IntShift01(); break;
+            case 662: jtt_optimize_Reduce_IntShift02(); break;
+            case 663: jtt_optimize_Reduce_Long01(); break;
+            case 664: jtt_optimize_Reduce_Long02(); break;
+            case 665: jtt_optimize_Reduce_Long03(); break;
+            case 666: jtt_optimize_Reduce_Long04(); break;
+            case 667: jtt_optimize_Reduce_LongShift01(); break;
+            case 668: jtt_optimize_Reduce_LongShift02(); break;
+            case 669: jtt_optimize_Switch01(); break;
+            case 670: jtt_optimize_Switch02(); break;
+            case 671: jtt_optimize_TypeCastElem(); break;
+            case 672: jtt_optimize_VN_Cast01(); break;
+            case 673: jtt_optimize_VN_Cast02(); break;
+            case 674: jtt_optimize_VN_Convert01(); break;
+            case 675: jtt_optimize_VN_Convert02(); break;
+            case 676: jtt_optimize_VN_Double01(); break;
+            case 677: jtt_optimize_VN_Double02(); break;
+            case 678: jtt_optimize_VN_Field01(); break;
+            case 679: jtt_optimize_VN_Field02(); break;
+            case 680: jtt_optimize_VN_Float01(); break;
+            case 681: jtt_optimize_VN_Float02(); break;
+            case 682: jtt_optimize_VN_InstanceOf01(); break;
+            case 683: jtt_optimize_VN_InstanceOf02(); break;
+            case 684: jtt_optimize_VN_InstanceOf03(); break;
+            case 685: jtt_optimize_VN_Int01(); break;
+            case 686: jtt_optimize_VN_Int02(); break;
+            case 687: jtt_optimize_VN_Int03(); break;
+            case 688: jtt_optimize_VN_Long01(); break;
+            case 689: jtt_optimize_VN_Long02(); break;
+            case 690: jtt_optimize_VN_Long03(); break;
+            case 691: jtt_optimize_VN_Loop01(); break;
+            case 692: jtt_reflect_Array_get01(); break;
+            case 693: jtt_reflect_Array_get02(); break;
+            case 694: jtt_reflect_Array_get03(); break;
+            case 695: jtt_reflect_Array_getBoolean01(); break;
+            case 696: jtt_reflect_Array_getByte01(); break;
+            case 697: jtt_reflect_Array_getChar01(); break;
+            case 698: jtt_reflect_Array_getDouble01(); break;
+            case 699: jtt_reflect_Array_getFloat01(); break;
+            case 700: jtt_reflect_Array_getInt01(); break;
+            case 701: jtt_reflect_Array_getLength01(); break;
+            case 702: jtt_reflect_Array_getLong01(); break;
+            case 703: jtt_reflect_Array_getShort01(); break;
+            case 704: jtt_reflect_Array_newInstance01(); break;
+            case 705: jtt_reflect_Array_newInstance02(); break;
+            case 706: jtt_reflect_Array_newInstance03(); break;
+            case 707: jtt_reflect_Array_newInstance04(); break;
+            case 708: jtt_reflect_Array_newInstance05(); break;
+            case 709: jtt_reflect_Array_newInstance06(); break;
+            case 710: jtt_reflect_Array_set01(); break;
+            case 711: jtt_reflect_Array_set02(); break;
+            case 712: jtt_reflect_Array_set03(); break;
+            case 713: jtt_reflect_Array_setBoolean01(); break;
+            case 714: jtt_reflect_Array_setByte01(); break;
+            case 715: jtt_reflect_Array_setChar01(); break;
+            case 716: jtt_reflect_Array_setDouble01(); break;
+            case 717: jtt_reflect_Array_setFloat01(); break;
+            case 718: jtt_reflect_Array_setInt01(); break;
+            case 719: jtt_reflect_Array_setLong01(); break;
+            case 720: jtt_reflect_Array_setShort01(); break;
+            case 721: jtt_reflect_Class_getDeclaredField01(); break;
+            case 722: jtt_reflect_Class_getDeclaredMethod01(); break;
+            case 723: jtt_reflect_Class_getField01(); break;
+            case 724: jtt_reflect_Class_getField02(); break;
+            case 725: jtt_reflect_Class_getMethod01(); break;
+            case 726: jtt_reflect_Class_getMethod02(); break;
+            case 727: jtt_reflect_Class_newInstance01(); break;
+            case 728: jtt_reflect_Class_newInstance02(); break;
+            case 729: jtt_reflect_Class_newInstance03(); break;
+            case 730: jtt_reflect_Class_newInstance06(); break;
+            case 731: jtt_reflect_Class_newInstance07(); break;
+            case 732: jtt_reflect_Field_get01(); break;
+            case 733: jtt_reflect_Field_get02(); break;
+            case 734: jtt_reflect_Field_get03(); break;
+            case 735: jtt_reflect_Field_get04(); break;
+            case 736: jtt_reflect_Field_getType01(); break;
+            case 737: jtt_reflect_Field_set01(); break;
+            case 738: jtt_reflect_Field_set02(); break;
+            case 739: jtt_reflect_Field_set03(); break;
+            case 740: jtt_reflect_Invoke_except01(); break;
+            case 741: jtt_reflect_Invoke_main01(); break;
+            case 742: jtt_reflect_Invoke_main02(); break;
+            case 743: jtt_reflect_Invoke_main03(); break;
+            case 744: jtt_reflect_Invoke_virtual01(); break;
+            case 745: jtt_reflect_Method_getParameterTypes01(); break;
+            case 746: jtt_reflect_Method_getReturnType01(); break;
+            case 747: jtt_reflect_Reflection_getCallerClass01(); break;
+            case 748: jtt_reflect_Reflection_getCallerClass02(); break;
+            case 749: jtt_threads_Monitor_bias01(); break;
+            case 750: jtt_threads_Monitor_contended01(); break;
+            case 751: jtt_threads_Monitor_contended02(); break;
+            case 752: jtt_threads_Monitor_notowner01(); break;
+            case 753: jtt_threads_Monitor_pool01(); break;
+            case 754: jtt_threads_Monitorenter01(); break;
+            case 755: jtt_threads_Monitorenter02(); break;
+            case 756: jtt_threads_Object_wait01(); break;
+            case 757: jtt_threads_Object_wait02(); break;
+            case 758: jtt_threads_Object_wait03(); break;
+            case 759: jtt_threads_Object_wait04(); break;
+            case 760: jtt_threads_ThreadLocal01(); break;
+            case 761: jtt_threads_ThreadLocal02(); break;
+            case 762: jtt_threads_ThreadLocal03(); break;
+            case 763: jtt_threads_Thread_currentThread01(); break;
+            case 764: jtt_threads_Thread_getStackTrace01(); break;
+            case 765: jtt_threads_Thread_getState01(); break;
+            case 766: jtt_threads_Thread_getState02(); break;
+            case 767: jtt_threads_Thread_holdsLock01(); break;
+            case 768: jtt_threads_Thread_isAlive01(); break;
+            case 769: jtt_threads_Thread_isInterrupted01(); break;
+            case 770: jtt_threads_Thread_isInterrupted02(); break;
+            case 771: jtt_threads_Thread_isInterrupted03(); break;
+            case 772: jtt_threads_Thread_isInterrupted04(); break;
+            case 773: jtt_threads_Thread_isInterrupted05(); break;
+            case 774: jtt_threads_Thread_join01(); break;
+            case 775: jtt_threads_Thread_join02(); break;
+            case 776: jtt_threads_Thread_join03(); break;
+            case 777: jtt_threads_Thread_new01(); break;
+            case 778: jtt_threads_Thread_new02(); break;
+            case 779: jtt_threads_Thread_setPriority01(); break;
+            case 780: jtt_threads_Thread_sleep01(); break;
+            case 781: jtt_threads_Thread_yield01(); break;
         }
         return true;
     }
@@ -7347,6 +7375,76 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_bytecode_BC_multianewarray05() {
+            begin("jtt.bytecode.BC_multianewarray05");
+            String runString = null;
+            try {
+            // (0) == 0
+                runString = "(0)";
+                if (0 != jtt.bytecode.BC_multianewarray05.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 3
+                runString = "(1)";
+                if (3 != jtt.bytecode.BC_multianewarray05.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 24
+                runString = "(2)";
+                if (24 != jtt.bytecode.BC_multianewarray05.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 24
+                runString = "(3)";
+                if (24 != jtt.bytecode.BC_multianewarray05.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == !java.lang.NegativeArraySizeException
+                try {
+                    runString = "(4)";
+                    jtt.bytecode.BC_multianewarray05.test(4);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NegativeArraySizeException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (5) == !java.lang.NegativeArraySizeException
+                try {
+                    runString = "(5)";
+                    jtt.bytecode.BC_multianewarray05.test(5);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NegativeArraySizeException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (6) == 0
+                runString = "(6)";
+                if (0 != jtt.bytecode.BC_multianewarray05.test(6)) {
+                    fail(runString);
+                    return;
+                }
+            // (7) == 1000
+                runString = "(7)";
+                if (1000 != jtt.bytecode.BC_multianewarray05.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_bytecode_BC_new() {
             begin("jtt.bytecode.BC_new");
             String runString = null;
@@ -7385,6 +7483,100 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_bytecode_BC_newarray02() {
+            begin("jtt.bytecode.BC_newarray02");
+            String runString = null;
+            try {
+            // (0) == 262100
+                runString = "(0)";
+                if (262100 != jtt.bytecode.BC_newarray02.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 262144
+                runString = "(1)";
+                if (262144 != jtt.bytecode.BC_newarray02.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 262145
+                runString = "(2)";
+                if (262145 != jtt.bytecode.BC_newarray02.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 1048577
+                runString = "(3)";
+                if (1048577 != jtt.bytecode.BC_newarray02.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == 131073
+                runString = "(4)";
+                if (131073 != jtt.bytecode.BC_newarray02.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == 262145
+                runString = "(5)";
+                if (262145 != jtt.bytecode.BC_newarray02.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == !java.lang.NegativeArraySizeException
+                try {
+                    runString = "(6)";
+                    jtt.bytecode.BC_newarray02.test(6);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NegativeArraySizeException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (7) == !java.lang.NegativeArraySizeException
+                try {
+                    runString = "(7)";
+                    jtt.bytecode.BC_newarray02.test(7);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NegativeArraySizeException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (8) == !java.lang.OutOfMemoryError
+                try {
+                    runString = "(8)";
+                    jtt.bytecode.BC_newarray02.test(8);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.OutOfMemoryError.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (9) == !java.lang.OutOfMemoryError
+                try {
+                    runString = "(9)";
+                    jtt.bytecode.BC_newarray02.test(9);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.OutOfMemoryError.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_bytecode_BC_putfield() {
             begin("jtt.bytecode.BC_putfield");
             String runString = null;
@@ -18621,6 +18813,34 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_max_BootHeapImmutable01() {
+            begin("jtt.max.BootHeapImmutable01");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.max.BootHeapImmutable01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.BootHeapImmutable01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.max.BootHeapImmutable01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_max_CodePointer01() {
             begin("jtt.max.CodePointer01");
             String runString = null;
@@ -18689,6 +18909,72 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_max_CodeRegions01() {
+            begin("jtt.max.CodeRegions01");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.max.CodeRegions01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.CodeRegions01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.max.CodeRegions01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_ConcurrentMarking01() {
+            begin("jtt.max.ConcurrentMarking01");
+            String runString = null;
+            try {
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.ConcurrentMarking01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (20) == true
+                runString = "(20)";
+                if (true != jtt.max.ConcurrentMarking01.test(20)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_ConcurrentMarking02() {
+            begin("jtt.max.ConcurrentMarking02");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.max.ConcurrentMarking02.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_max_Fold01() {
             begin("jtt.max.Fold01");
             String runString = null;
@@ -18737,6 +19023,28 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_max_FragmentedRegions01() {
+            begin("jtt.max.FragmentedRegions01");
+            String runString = null;
+            try {
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.FragmentedRegions01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == true
+                runString = "(3)";
+                if (true != jtt.max.FragmentedRegions01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_max_Hub_Subtype01() {
             begin("jtt.max.Hub_Subtype01");
             String runString = null;
@@ -18965,19 +19273,19 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_max_Prototyping01() {
-            begin("jtt.max.Prototyping01");
+        static void jtt_max_LazySweep01() {
+            begin("jtt.max.LazySweep01");
             String runString = null;
             try {
-            // (0) == 1
-                runString = "(0)";
-                if (1 != jtt.max.Prototyping01.test(0)) {
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.LazySweep01.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 2
-                runString = "(1)";
-                if (2 != jtt.max.Prototyping01.test(1)) {
+            // (8) == true
+                runString = "(8)";
+                if (true != jtt.max.LazySweep01.test(8)) {
                     fail(runString);
                     return;
                 }
@@ -18987,25 +19295,19 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_max_Unsigned_idiv01() {
-            begin("jtt.max.Unsigned_idiv01");
+        static void jtt_max_NUMAAllocation01() {
+            begin("jtt.max.NUMAAllocation01");
             String runString = null;
             try {
-            // (-1,4) == 1073741823
-                runString = "(-1,4)";
-                if (1073741823 != jtt.max.Unsigned_idiv01.test(-1, 4)) {
-                    fail(runString);
-                    return;
-                }
-            // (6,3) == 2
-                runString = "(6,3)";
-                if (2 != jtt.max.Unsigned_idiv01.test(6, 3)) {
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.max.NUMAAllocation01.test(2)) {
                     fail(runString);
                     return;
                 }
-            // (65535,16) == 4095
-                runString = "(65535,16)";
-                if (4095 != jtt.max.Unsigned_idiv01.test(65535, 16)) {
+            // (4) == true
+                runString = "(4)";
+                if (true != jtt.max.NUMAAllocation01.test(4)) {
                     fail(runString);
                     return;
                 }
@@ -19015,18 +19317,106 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_max_Unsigned_irem01() {
-            begin("jtt.max.Unsigned_irem01");
+        static void jtt_max_ParallelEvacuation01() {
+            begin("jtt.max.ParallelEvacuation01");
             String runString = null;
             try {
-            // (-1,8) == 7
-                runString = "(-1,8)";
-                if (7 != jtt.max.Unsigned_irem01.test(-1, 8)) {
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.max.ParallelEvacuation01.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (6,3) == 0
-                runString = "(6,3)";
+            // (4) == true
+                runString = "(4)";
+                if (true != jtt.max.ParallelEvacuation01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_ParallelEvacuation02() {
+            begin("jtt.max.ParallelEvacuation02");
+            String runString = null;
+            try {
+            // (4) == true
+                runString = "(4)";
+                if (true != jtt.max.ParallelEvacuation02.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_Prototyping01() {
+            begin("jtt.max.Prototyping01");
+            String runString = null;
+            try {
+            // (0) == 1
+                runString = "(0)";
+                if (1 != jtt.max.Prototyping01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 2
+                runString = "(1)";
+                if (2 != jtt.max.Prototyping01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_Unsigned_idiv01() {
+            begin("jtt.max.Unsigned_idiv01");
+            String runString = null;
+            try {
+            // (-1,4) == 1073741823
+                runString = "(-1,4)";
+                if (1073741823 != jtt.max.Unsigned_idiv01.test(-1, 4)) {
+                    fail(runString);
+                    return;
+                }
+            // (6,3) == 2
+                runString = "(6,3)";
+                if (2 != jtt.max.Unsigned_idiv01.test(6, 3)) {
+                    fail(runString);
+                    return;
+                }
+            // (65535,16) == 4095
+                runString = "(65535,16)";
+                if (4095 != jtt.max.Unsigned_idiv01.test(65535, 16)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_max_Unsigned_irem01() {
+            begin("jtt.max.Unsigned_irem01");
+            String runString = null;
+            try {
+            // (-1,8) == 7
+                runString = "(-1,8)";
+                if (7 != jtt.max.Unsigned_irem01.test(-1, 8)) {
+                    fail(runString);
+                    return;
+                }
+            // (6,3) == 0
+                runString = "(6,3)";
                 if (0 != jtt.max.Unsigned_irem01.test(6, 3)) {
                     fail(runString);
                     return;
@@ -20807,131 +21197,153 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_ArrayCopy01() {
-            begin("jtt.optimize.ArrayCopy01");
+        static void jtt_optimize_ABCE_04() {
+            begin("jtt.optimize.ABCE_04");
             String runString = null;
             try {
-            // (0,0,0) == 0
-                runString = "(0,0,0)";
-                if (0 != jtt.optimize.ArrayCopy01.test(0, 0, 0)) {
+            // (0) == 55
+                runString = "(0)";
+                if (55 != jtt.optimize.ABCE_04.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (0,0,-1) == !java.lang.IndexOutOfBoundsException
-                try {
-                    runString = "(0,0,-1)";
-                    jtt.optimize.ArrayCopy01.test(0, 0, -1);
+            // (1) == 55
+                runString = "(1)";
+                if (55 != jtt.optimize.ABCE_04.test(1)) {
                     fail(runString);
                     return;
-                } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
-                        fail(runString, e);
-                        return;
-                    }
                 }
-            // (-1,0,0) == !java.lang.IndexOutOfBoundsException
+            // (2) == !java.lang.ArrayIndexOutOfBoundsException
                 try {
-                    runString = "(-1,0,0)";
-                    jtt.optimize.ArrayCopy01.test(-1, 0, 0);
+                    runString = "(2)";
+                    jtt.optimize.ABCE_04.test(2);
                     fail(runString);
                     return;
                 } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
                         fail(runString, e);
                         return;
                     }
                 }
-            // (0,-1,0) == !java.lang.IndexOutOfBoundsException
+            // (3) == !java.lang.ArrayIndexOutOfBoundsException
                 try {
-                    runString = "(0,-1,0)";
-                    jtt.optimize.ArrayCopy01.test(0, -1, 0);
+                    runString = "(3)";
+                    jtt.optimize.ABCE_04.test(3);
                     fail(runString);
                     return;
                 } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
                         fail(runString, e);
                         return;
                     }
                 }
-            // (0,0,2) == 0
-                runString = "(0,0,2)";
-                if (0 != jtt.optimize.ArrayCopy01.test(0, 0, 2)) {
-                    fail(runString);
-                    return;
-                }
-            // (0,1,2) == !java.lang.IndexOutOfBoundsException
+            // (4) == !java.lang.ArrayIndexOutOfBoundsException
                 try {
-                    runString = "(0,1,2)";
-                    jtt.optimize.ArrayCopy01.test(0, 1, 2);
+                    runString = "(4)";
+                    jtt.optimize.ABCE_04.test(4);
                     fail(runString);
                     return;
                 } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
                         fail(runString, e);
                         return;
                     }
                 }
-            // (1,0,2) == !java.lang.IndexOutOfBoundsException
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_ABCE_05() {
+            begin("jtt.optimize.ABCE_05");
+            String runString = null;
+            try {
+            // (0) == !java.lang.ArrayIndexOutOfBoundsException
                 try {
-                    runString = "(1,0,2)";
-                    jtt.optimize.ArrayCopy01.test(1, 0, 2);
+                    runString = "(0)";
+                    jtt.optimize.ABCE_05.test(0);
                     fail(runString);
                     return;
                 } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
                         fail(runString, e);
                         return;
                     }
                 }
-            // (1,1,-1) == !java.lang.IndexOutOfBoundsException
+            // (1) == !java.lang.ArrayIndexOutOfBoundsException
                 try {
-                    runString = "(1,1,-1)";
-                    jtt.optimize.ArrayCopy01.test(1, 1, -1);
+                    runString = "(1)";
+                    jtt.optimize.ABCE_05.test(1);
                     fail(runString);
                     return;
                 } catch (Throwable e) {
-                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
                         fail(runString, e);
                         return;
                     }
                 }
+            // (2) == 55
+                runString = "(2)";
+                if (55 != jtt.optimize.ABCE_05.test(2)) {
+                    fail(runString);
+                    return;
+                }
             } catch (Throwable t) {
                 fail(runString, t);
                 return;
             }
             pass();
         }
-        static void jtt_optimize_ArrayLength01() {
-            begin("jtt.optimize.ArrayLength01");
+        static void jtt_optimize_ABCE_06() {
+            begin("jtt.optimize.ABCE_06");
             String runString = null;
             try {
-            // (0) == 5
-                runString = "(0)";
-                if (5 != jtt.optimize.ArrayLength01.test(0)) {
+            // (0) == !java.lang.ArrayIndexOutOfBoundsException
+                try {
+                    runString = "(0)";
+                    jtt.optimize.ABCE_06.test(0);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
-            // (1) == 6
-                runString = "(1)";
-                if (6 != jtt.optimize.ArrayLength01.test(1)) {
+            // (1) == !java.lang.ArrayIndexOutOfBoundsException
+                try {
+                    runString = "(1)";
+                    jtt.optimize.ABCE_06.test(1);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
-            // (2) == 7
+            // (2) == 0
                 runString = "(2)";
-                if (7 != jtt.optimize.ArrayLength01.test(2)) {
+                if (0 != jtt.optimize.ABCE_06.test(2)) {
                     fail(runString);
                     return;
                 }
-            // (3) == 8
-                runString = "(3)";
-                if (8 != jtt.optimize.ArrayLength01.test(3)) {
+            // (3) == !java.lang.ArrayIndexOutOfBoundsException
+                try {
+                    runString = "(3)";
+                    jtt.optimize.ABCE_06.test(3);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.ArrayIndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
-            // (4) == 4
+            // (4) == 54
                 runString = "(4)";
-                if (4 != jtt.optimize.ArrayLength01.test(4)) {
+                if (54 != jtt.optimize.ABCE_06.test(4)) {
                     fail(runString);
                     return;
                 }
@@ -20941,54 +21353,240 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_BC_idiv_16() {
-            begin("jtt.optimize.BC_idiv_16");
+        static void jtt_optimize_ABCE_07() {
+            begin("jtt.optimize.ABCE_07");
             String runString = null;
             try {
-            // (0,0) == 0
-                runString = "(0,0)";
-                if (0 != jtt.optimize.BC_idiv_16.test(0, 0)) {
+            // (0) == !java.lang.NullPointerException
+                try {
+                    runString = "(0)";
+                    jtt.optimize.ABCE_07.test(0);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NullPointerException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
-            // (0,16) == 1
-                runString = "(0,16)";
-                if (1 != jtt.optimize.BC_idiv_16.test(0, 16)) {
+            // (1) == 0
+                runString = "(1)";
+                if (0 != jtt.optimize.ABCE_07.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (0,17) == 1
-                runString = "(0,17)";
-                if (1 != jtt.optimize.BC_idiv_16.test(0, 17)) {
+            // (2) == !java.lang.NullPointerException
+                try {
+                    runString = "(2)";
+                    jtt.optimize.ABCE_07.test(2);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NullPointerException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
-            // (0,-1) == 0
-                runString = "(0,-1)";
-                if (0 != jtt.optimize.BC_idiv_16.test(0, -1)) {
+            // (3) == 0
+                runString = "(3)";
+                if (0 != jtt.optimize.ABCE_07.test(3)) {
                     fail(runString);
                     return;
                 }
-            // (0,-16) == -1
-                runString = "(0,-16)";
-                if (-1 != jtt.optimize.BC_idiv_16.test(0, -16)) {
+            // (4) == 20
+                runString = "(4)";
+                if (20 != jtt.optimize.ABCE_07.test(4)) {
                     fail(runString);
                     return;
                 }
-            // (0,-17) == -1
-                runString = "(0,-17)";
-                if (-1 != jtt.optimize.BC_idiv_16.test(0, -17)) {
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_ArrayCopy01() {
+            begin("jtt.optimize.ArrayCopy01");
+            String runString = null;
+            try {
+            // (0,0,0) == 0
+                runString = "(0,0,0)";
+                if (0 != jtt.optimize.ArrayCopy01.test(0, 0, 0)) {
                     fail(runString);
                     return;
                 }
-            // (0,-1024) == -64
-                runString = "(0,-1024)";
-                if (-64 != jtt.optimize.BC_idiv_16.test(0, -1024)) {
+            // (0,0,-1) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(0,0,-1)";
+                    jtt.optimize.ArrayCopy01.test(0, 0, -1);
                     fail(runString);
                     return;
-                }
-            // (1,0) == 0
-                runString = "(1,0)";
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (-1,0,0) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(-1,0,0)";
+                    jtt.optimize.ArrayCopy01.test(-1, 0, 0);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (0,-1,0) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(0,-1,0)";
+                    jtt.optimize.ArrayCopy01.test(0, -1, 0);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (0,0,2) == 0
+                runString = "(0,0,2)";
+                if (0 != jtt.optimize.ArrayCopy01.test(0, 0, 2)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,1,2) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(0,1,2)";
+                    jtt.optimize.ArrayCopy01.test(0, 1, 2);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (1,0,2) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(1,0,2)";
+                    jtt.optimize.ArrayCopy01.test(1, 0, 2);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (1,1,-1) == !java.lang.IndexOutOfBoundsException
+                try {
+                    runString = "(1,1,-1)";
+                    jtt.optimize.ArrayCopy01.test(1, 1, -1);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.IndexOutOfBoundsException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_ArrayLength01() {
+            begin("jtt.optimize.ArrayLength01");
+            String runString = null;
+            try {
+            // (0) == 5
+                runString = "(0)";
+                if (5 != jtt.optimize.ArrayLength01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 6
+                runString = "(1)";
+                if (6 != jtt.optimize.ArrayLength01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 7
+                runString = "(2)";
+                if (7 != jtt.optimize.ArrayLength01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 8
+                runString = "(3)";
+                if (8 != jtt.optimize.ArrayLength01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == 4
+                runString = "(4)";
+                if (4 != jtt.optimize.ArrayLength01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_BC_idiv_16() {
+            begin("jtt.optimize.BC_idiv_16");
+            String runString = null;
+            try {
+            // (0,0) == 0
+                runString = "(0,0)";
+                if (0 != jtt.optimize.BC_idiv_16.test(0, 0)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,16) == 1
+                runString = "(0,16)";
+                if (1 != jtt.optimize.BC_idiv_16.test(0, 16)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,17) == 1
+                runString = "(0,17)";
+                if (1 != jtt.optimize.BC_idiv_16.test(0, 17)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,-1) == 0
+                runString = "(0,-1)";
+                if (0 != jtt.optimize.BC_idiv_16.test(0, -1)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,-16) == -1
+                runString = "(0,-16)";
+                if (-1 != jtt.optimize.BC_idiv_16.test(0, -16)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,-17) == -1
+                runString = "(0,-17)";
+                if (-1 != jtt.optimize.BC_idiv_16.test(0, -17)) {
+                    fail(runString);
+                    return;
+                }
+            // (0,-1024) == -64
+                runString = "(0,-1024)";
+                if (-64 != jtt.optimize.BC_idiv_16.test(0, -1024)) {
+                    fail(runString);
+                    return;
+                }
+            // (1,0) == 0
+                runString = "(1,0)";
                 if (0 != jtt.optimize.BC_idiv_16.test(1, 0)) {
                     fail(runString);
                     return;
@@ -21693,33 +22291,39 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Cast01() {
-            begin("jtt.optimize.Fold_Cast01");
+        static void jtt_optimize_EA_01() {
+            begin("jtt.optimize.EA_01");
             String runString = null;
             try {
-            // (0) == 9
+            // (0) == 110
                 runString = "(0)";
-                if (9 != jtt.optimize.Fold_Cast01.test(0)) {
+                if (110 != jtt.optimize.EA_01.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 9
+            // (1) == 0
                 runString = "(1)";
-                if (9 != jtt.optimize.Fold_Cast01.test(1)) {
+                if (0 != jtt.optimize.EA_01.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == !java.lang.NullPointerException
-                try {
-                    runString = "(2)";
-                    jtt.optimize.Fold_Cast01.test(2);
+            // (2) == 42
+                runString = "(2)";
+                if (42 != jtt.optimize.EA_01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 12
+                runString = "(3)";
+                if (12 != jtt.optimize.EA_01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == 3
+                runString = "(4)";
+                if (3 != jtt.optimize.EA_01.test(4)) {
                     fail(runString);
                     return;
-                } catch (Throwable e) {
-                    if (e.getClass() != java.lang.NullPointerException.class) {
-                        fail(runString, e);
-                        return;
-                    }
                 }
             } catch (Throwable t) {
                 fail(runString, t);
@@ -21727,53 +22331,49 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Convert01() {
-            begin("jtt.optimize.Fold_Convert01");
+        static void jtt_optimize_EA_02() {
+            begin("jtt.optimize.EA_02");
             String runString = null;
             try {
-            // (0) == -128
+            // (0) == 1
                 runString = "(0)";
-                if (-128 != jtt.optimize.Fold_Convert01.test(0)) {
+                if (1 != jtt.optimize.EA_02.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == -32768
+            // (1) == 2
                 runString = "(1)";
-                if (-32768 != jtt.optimize.Fold_Convert01.test(1)) {
+                if (2 != jtt.optimize.EA_02.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == 65535
+            // (2) == 7
                 runString = "(2)";
-                if (65535 != jtt.optimize.Fold_Convert01.test(2)) {
+                if (7 != jtt.optimize.EA_02.test(2)) {
                     fail(runString);
                     return;
                 }
-            } catch (Throwable t) {
-                fail(runString, t);
-                return;
-            }
-            pass();
-        }
-        static void jtt_optimize_Fold_Convert02() {
-            begin("jtt.optimize.Fold_Convert02");
-            String runString = null;
-            try {
-            // (0) == -2147483648
-                runString = "(0)";
-                if (-2147483648L != jtt.optimize.Fold_Convert02.test(0)) {
+            // (3) == 8
+                runString = "(3)";
+                if (8 != jtt.optimize.EA_02.test(3)) {
                     fail(runString);
                     return;
                 }
-            // (1) == -33
-                runString = "(1)";
-                if (-33L != jtt.optimize.Fold_Convert02.test(1)) {
+            // (4) == 4
+                runString = "(4)";
+                if (4 != jtt.optimize.EA_02.test(4)) {
                     fail(runString);
                     return;
                 }
-            // (2) == -78
-                runString = "(2)";
-                if (-78L != jtt.optimize.Fold_Convert02.test(2)) {
+            // (5) == 5
+                runString = "(5)";
+                if (5 != jtt.optimize.EA_02.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == 9
+                runString = "(6)";
+                if (9 != jtt.optimize.EA_02.test(6)) {
                     fail(runString);
                     return;
                 }
@@ -21783,25 +22383,31 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Convert03() {
-            begin("jtt.optimize.Fold_Convert03");
+        static void jtt_optimize_EA_03() {
+            begin("jtt.optimize.EA_03");
             String runString = null;
             try {
-            // (0) == 1024.0
+            // (0) == true
                 runString = "(0)";
-                if (1024.0f != jtt.optimize.Fold_Convert03.test(0)) {
+                if (true != jtt.optimize.EA_03.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == -33.0
+            // (1) == true
                 runString = "(1)";
-                if (-33.0f != jtt.optimize.Fold_Convert03.test(1)) {
+                if (true != jtt.optimize.EA_03.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == -78.1
+            // (2) == true
                 runString = "(2)";
-                if (-78.1f != jtt.optimize.Fold_Convert03.test(2)) {
+                if (true != jtt.optimize.EA_03.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == true
+                runString = "(3)";
+                if (true != jtt.optimize.EA_03.test(3)) {
                     fail(runString);
                     return;
                 }
@@ -21811,11 +22417,129 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Convert04() {
-            begin("jtt.optimize.Fold_Convert04");
+        static void jtt_optimize_Fold_Cast01() {
+            begin("jtt.optimize.Fold_Cast01");
             String runString = null;
             try {
-            // (0) == 1024.0
+            // (0) == 9
+                runString = "(0)";
+                if (9 != jtt.optimize.Fold_Cast01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 9
+                runString = "(1)";
+                if (9 != jtt.optimize.Fold_Cast01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == !java.lang.NullPointerException
+                try {
+                    runString = "(2)";
+                    jtt.optimize.Fold_Cast01.test(2);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NullPointerException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Convert01() {
+            begin("jtt.optimize.Fold_Convert01");
+            String runString = null;
+            try {
+            // (0) == -128
+                runString = "(0)";
+                if (-128 != jtt.optimize.Fold_Convert01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == -32768
+                runString = "(1)";
+                if (-32768 != jtt.optimize.Fold_Convert01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 65535
+                runString = "(2)";
+                if (65535 != jtt.optimize.Fold_Convert01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Convert02() {
+            begin("jtt.optimize.Fold_Convert02");
+            String runString = null;
+            try {
+            // (0) == -2147483648
+                runString = "(0)";
+                if (-2147483648L != jtt.optimize.Fold_Convert02.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == -33
+                runString = "(1)";
+                if (-33L != jtt.optimize.Fold_Convert02.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == -78
+                runString = "(2)";
+                if (-78L != jtt.optimize.Fold_Convert02.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Convert03() {
+            begin("jtt.optimize.Fold_Convert03");
+            String runString = null;
+            try {
+            // (0) == 1024.0
+                runString = "(0)";
+                if (1024.0f != jtt.optimize.Fold_Convert03.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == -33.0
+                runString = "(1)";
+                if (-33.0f != jtt.optimize.Fold_Convert03.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == -78.1
+                runString = "(2)";
+                if (-78.1f != jtt.optimize.Fold_Convert03.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Convert04() {
+            begin("jtt.optimize.Fold_Convert04");
+            String runString = null;
+            try {
+            // (0) == 1024.0
                 runString = "(0)";
                 if (1024.0 != jtt.optimize.Fold_Convert04.test(0)) {
                     fail(runString);
@@ -22171,57 +22895,399 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Long01() {
-            begin("jtt.optimize.Fold_Long01");
+        static void jtt_optimize_Fold_Long01() {
+            begin("jtt.optimize.Fold_Long01");
+            String runString = null;
+            try {
+            // (0) == 10
+                runString = "(0)";
+                if (10L != jtt.optimize.Fold_Long01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 11
+                runString = "(1)";
+                if (11L != jtt.optimize.Fold_Long01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 12
+                runString = "(2)";
+                if (12L != jtt.optimize.Fold_Long01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 13
+                runString = "(3)";
+                if (13L != jtt.optimize.Fold_Long01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == 14
+                runString = "(4)";
+                if (14L != jtt.optimize.Fold_Long01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == 15
+                runString = "(5)";
+                if (15L != jtt.optimize.Fold_Long01.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == 16
+                runString = "(6)";
+                if (16L != jtt.optimize.Fold_Long01.test(6)) {
+                    fail(runString);
+                    return;
+                }
+            // (7) == 17
+                runString = "(7)";
+                if (17L != jtt.optimize.Fold_Long01.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Long02() {
+            begin("jtt.optimize.Fold_Long02");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.optimize.Fold_Long02.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.optimize.Fold_Long02.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.optimize.Fold_Long02.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == false
+                runString = "(3)";
+                if (false != jtt.optimize.Fold_Long02.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == false
+                runString = "(4)";
+                if (false != jtt.optimize.Fold_Long02.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == false
+                runString = "(5)";
+                if (false != jtt.optimize.Fold_Long02.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Fold_Math01() {
+            begin("jtt.optimize.Fold_Math01");
+            String runString = null;
+            try {
+            // (0) == 10.0
+                runString = "(0)";
+                if (10.0 != jtt.optimize.Fold_Math01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 0.14943813247359922
+                runString = "(1)";
+                if (0.14943813247359922 != jtt.optimize.Fold_Math01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 0.9887710779360422
+                runString = "(2)";
+                if (0.9887710779360422 != jtt.optimize.Fold_Math01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 0.15113521805829508
+                runString = "(3)";
+                if (0.15113521805829508 != jtt.optimize.Fold_Math01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == 0.04834938665190287
+                runString = "(4)";
+                if (0.04834938665190287 != jtt.optimize.Fold_Math01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == 12.0
+                runString = "(5)";
+                if (12.0 != jtt.optimize.Fold_Math01.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == 1.1474024528375417
+                runString = "(6)";
+                if (1.1474024528375417 != jtt.optimize.Fold_Math01.test(6)) {
+                    fail(runString);
+                    return;
+                }
+            // (7) == -0.8239087409443188
+                runString = "(7)";
+                if (-0.8239087409443188 != jtt.optimize.Fold_Math01.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            // (8) == 106.62882057436371
+                runString = "(8)";
+                if (106.62882057436371 != jtt.optimize.Fold_Math01.test(8)) {
+                    fail(runString);
+                    return;
+                }
+            // (9) == 1.1474024528375417
+                runString = "(9)";
+                if (1.1474024528375417 != jtt.optimize.Fold_Math01.test(9)) {
+                    fail(runString);
+                    return;
+                }
+            // (10) == -1.0
+                runString = "(10)";
+                if (-1.0 != jtt.optimize.Fold_Math01.test(10)) {
+                    fail(runString);
+                    return;
+                }
+            // (11) == 2.0
+                runString = "(11)";
+                if (2.0 != jtt.optimize.Fold_Math01.test(11)) {
+                    fail(runString);
+                    return;
+                }
+            // (12) == 42.0
+                runString = "(12)";
+                if (42.0 != jtt.optimize.Fold_Math01.test(12)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Inline01() {
+            begin("jtt.optimize.Inline01");
+            String runString = null;
+            try {
+            // (0) == 2
+                runString = "(0)";
+                if (2 != jtt.optimize.Inline01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 3
+                runString = "(1)";
+                if (3 != jtt.optimize.Inline01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Inline02() {
+            begin("jtt.optimize.Inline02");
+            String runString = null;
+            try {
+            // (0) == 2
+                runString = "(0)";
+                if (2 != jtt.optimize.Inline02.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == 5
+                runString = "(1)";
+                if (5 != jtt.optimize.Inline02.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == 8
+                runString = "(2)";
+                if (8 != jtt.optimize.Inline02.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Intrinsic_String01() {
+            begin("jtt.optimize.Intrinsic_String01");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.optimize.Intrinsic_String01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == false
+                runString = "(1)";
+                if (false != jtt.optimize.Intrinsic_String01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.optimize.Intrinsic_String01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == false
+                runString = "(3)";
+                if (false != jtt.optimize.Intrinsic_String01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == false
+                runString = "(4)";
+                if (false != jtt.optimize.Intrinsic_String01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == false
+                runString = "(5)";
+                if (false != jtt.optimize.Intrinsic_String01.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == false
+                runString = "(6)";
+                if (false != jtt.optimize.Intrinsic_String01.test(6)) {
+                    fail(runString);
+                    return;
+                }
+            // (7) == true
+                runString = "(7)";
+                if (true != jtt.optimize.Intrinsic_String01.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            // (8) == false
+                runString = "(8)";
+                if (false != jtt.optimize.Intrinsic_String01.test(8)) {
+                    fail(runString);
+                    return;
+                }
+            // (9) == false
+                runString = "(9)";
+                if (false != jtt.optimize.Intrinsic_String01.test(9)) {
+                    fail(runString);
+                    return;
+                }
+            // (10) == false
+                runString = "(10)";
+                if (false != jtt.optimize.Intrinsic_String01.test(10)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
+        static void jtt_optimize_Intrinsic_String02() {
+            begin("jtt.optimize.Intrinsic_String02");
             String runString = null;
             try {
-            // (0) == 10
+            // (0) == 0
                 runString = "(0)";
-                if (10L != jtt.optimize.Fold_Long01.test(0)) {
+                if (0 != jtt.optimize.Intrinsic_String02.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 11
+            // (1) == -1
                 runString = "(1)";
-                if (11L != jtt.optimize.Fold_Long01.test(1)) {
+                if (-1 != jtt.optimize.Intrinsic_String02.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == 12
+            // (2) == 1
                 runString = "(2)";
-                if (12L != jtt.optimize.Fold_Long01.test(2)) {
+                if (1 != jtt.optimize.Intrinsic_String02.test(2)) {
                     fail(runString);
                     return;
                 }
-            // (3) == 13
+            // (3) == 0
                 runString = "(3)";
-                if (13L != jtt.optimize.Fold_Long01.test(3)) {
+                if (0 != jtt.optimize.Intrinsic_String02.test(3)) {
                     fail(runString);
                     return;
                 }
-            // (4) == 14
+            // (4) == -23
                 runString = "(4)";
-                if (14L != jtt.optimize.Fold_Long01.test(4)) {
+                if (-23 != jtt.optimize.Intrinsic_String02.test(4)) {
                     fail(runString);
                     return;
                 }
-            // (5) == 15
+            // (5) == 23
                 runString = "(5)";
-                if (15L != jtt.optimize.Fold_Long01.test(5)) {
+                if (23 != jtt.optimize.Intrinsic_String02.test(5)) {
                     fail(runString);
                     return;
                 }
-            // (6) == 16
+            // (6) == -1
                 runString = "(6)";
-                if (16L != jtt.optimize.Fold_Long01.test(6)) {
+                if (-1 != jtt.optimize.Intrinsic_String02.test(6)) {
                     fail(runString);
                     return;
                 }
-            // (7) == 17
+            // (7) == 1
                 runString = "(7)";
-                if (17L != jtt.optimize.Fold_Long01.test(7)) {
+                if (1 != jtt.optimize.Intrinsic_String02.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            // (8) == -4
+                runString = "(8)";
+                if (-4 != jtt.optimize.Intrinsic_String02.test(8)) {
+                    fail(runString);
+                    return;
+                }
+            // (9) == 4369
+                runString = "(9)";
+                if (4369 != jtt.optimize.Intrinsic_String02.test(9)) {
+                    fail(runString);
+                    return;
+                }
+            // (10) == !java.lang.NullPointerException
+                try {
+                    runString = "(10)";
+                    jtt.optimize.Intrinsic_String02.test(10);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NullPointerException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
             } catch (Throwable t) {
                 fail(runString, t);
@@ -22229,45 +23295,81 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Long02() {
-            begin("jtt.optimize.Fold_Long02");
+        static void jtt_optimize_Intrinsic_String03() {
+            begin("jtt.optimize.Intrinsic_String03");
             String runString = null;
             try {
-            // (0) == true
+            // (0) == 0
                 runString = "(0)";
-                if (true != jtt.optimize.Fold_Long02.test(0)) {
+                if (0 != jtt.optimize.Intrinsic_String03.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == true
+            // (1) == 0
                 runString = "(1)";
-                if (true != jtt.optimize.Fold_Long02.test(1)) {
+                if (0 != jtt.optimize.Intrinsic_String03.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == true
+            // (2) == -1
                 runString = "(2)";
-                if (true != jtt.optimize.Fold_Long02.test(2)) {
+                if (-1 != jtt.optimize.Intrinsic_String03.test(2)) {
                     fail(runString);
                     return;
                 }
-            // (3) == false
+            // (3) == 0
                 runString = "(3)";
-                if (false != jtt.optimize.Fold_Long02.test(3)) {
+                if (0 != jtt.optimize.Intrinsic_String03.test(3)) {
                     fail(runString);
                     return;
                 }
-            // (4) == false
+            // (4) == 8
                 runString = "(4)";
-                if (false != jtt.optimize.Fold_Long02.test(4)) {
+                if (8 != jtt.optimize.Intrinsic_String03.test(4)) {
                     fail(runString);
                     return;
                 }
-            // (5) == false
+            // (5) == 3
                 runString = "(5)";
-                if (false != jtt.optimize.Fold_Long02.test(5)) {
+                if (3 != jtt.optimize.Intrinsic_String03.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == -1
+                runString = "(6)";
+                if (-1 != jtt.optimize.Intrinsic_String03.test(6)) {
+                    fail(runString);
+                    return;
+                }
+            // (7) == -1
+                runString = "(7)";
+                if (-1 != jtt.optimize.Intrinsic_String03.test(7)) {
+                    fail(runString);
+                    return;
+                }
+            // (8) == 5
+                runString = "(8)";
+                if (5 != jtt.optimize.Intrinsic_String03.test(8)) {
+                    fail(runString);
+                    return;
+                }
+            // (9) == 2
+                runString = "(9)";
+                if (2 != jtt.optimize.Intrinsic_String03.test(9)) {
+                    fail(runString);
+                    return;
+                }
+            // (10) == !java.lang.NullPointerException
+                try {
+                    runString = "(10)";
+                    jtt.optimize.Intrinsic_String03.test(10);
                     fail(runString);
                     return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.NullPointerException.class) {
+                        fail(runString, e);
+                        return;
+                    }
                 }
             } catch (Throwable t) {
                 fail(runString, t);
@@ -22275,85 +23377,67 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Fold_Math01() {
-            begin("jtt.optimize.Fold_Math01");
+        static void jtt_optimize_Intrinsic_bitCount01() {
+            begin("jtt.optimize.Intrinsic_bitCount01");
             String runString = null;
             try {
-            // (0) == 10.0
+            // (0) == 0
                 runString = "(0)";
-                if (10.0 != jtt.optimize.Fold_Math01.test(0)) {
+                if (0 != jtt.optimize.Intrinsic_bitCount01.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 0.14943813247359922
+            // (1) == 1
                 runString = "(1)";
-                if (0.14943813247359922 != jtt.optimize.Fold_Math01.test(1)) {
+                if (1 != jtt.optimize.Intrinsic_bitCount01.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == 0.9887710779360422
+            // (2) == 32
                 runString = "(2)";
-                if (0.9887710779360422 != jtt.optimize.Fold_Math01.test(2)) {
+                if (32 != jtt.optimize.Intrinsic_bitCount01.test(2)) {
                     fail(runString);
                     return;
                 }
-            // (3) == 0.15113521805829508
+            // (3) == 1
                 runString = "(3)";
-                if (0.15113521805829508 != jtt.optimize.Fold_Math01.test(3)) {
+                if (1 != jtt.optimize.Intrinsic_bitCount01.test(3)) {
                     fail(runString);
                     return;
                 }
-            // (4) == 0.04834938665190287
+            // (4) == 16
                 runString = "(4)";
-                if (0.04834938665190287 != jtt.optimize.Fold_Math01.test(4)) {
+                if (16 != jtt.optimize.Intrinsic_bitCount01.test(4)) {
                     fail(runString);
                     return;
                 }
-            // (5) == 12.0
+            // (5) == 0
                 runString = "(5)";
-                if (12.0 != jtt.optimize.Fold_Math01.test(5)) {
+                if (0 != jtt.optimize.Intrinsic_bitCount01.test(5)) {
                     fail(runString);
                     return;
                 }
-            // (6) == 1.1474024528375417
+            // (6) == 64
                 runString = "(6)";
-                if (1.1474024528375417 != jtt.optimize.Fold_Math01.test(6)) {
+                if (64 != jtt.optimize.Intrinsic_bitCount01.test(6)) {
                     fail(runString);
                     return;
                 }
-            // (7) == -0.8239087409443188
+            // (7) == 1
                 runString = "(7)";
-                if (-0.8239087409443188 != jtt.optimize.Fold_Math01.test(7)) {
+                if (1 != jtt.optimize.Intrinsic_bitCount01.test(7)) {
                     fail(runString);
                     return;
                 }
-            // (8) == 106.62882057436371
+            // (8) == 32
                 runString = "(8)";
-                if (106.62882057436371 != jtt.optimize.Fold_Math01.test(8)) {
+                if (32 != jtt.optimize.Intrinsic_bitCount01.test(8)) {
                     fail(runString);
                     return;
                 }
-            // (9) == 1.1474024528375417
+            // (9) == 33
                 runString = "(9)";
-                if (1.1474024528375417 != jtt.optimize.Fold_Math01.test(9)) {
-                    fail(runString);
-                    return;
-                }
-            // (10) == -1.0
-                runString = "(10)";
-                if (-1.0 != jtt.optimize.Fold_Math01.test(10)) {
-                    fail(runString);
-                    return;
-                }
-            // (11) == 2.0
-                runString = "(11)";
-                if (2.0 != jtt.optimize.Fold_Math01.test(11)) {
-                    fail(runString);
-                    return;
-                }
-            // (12) == 42.0
-                runString = "(12)";
-                if (42.0 != jtt.optimize.Fold_Math01.test(12)) {
+                if (33 != jtt.optimize.Intrinsic_bitCount01.test(9)) {
                     fail(runString);
                     return;
                 }
@@ -22363,19 +23447,49 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Inline01() {
-            begin("jtt.optimize.Inline01");
+        static void jtt_optimize_Intrinsic_hashCode01() {
+            begin("jtt.optimize.Intrinsic_hashCode01");
             String runString = null;
             try {
-            // (0) == 2
+            // (0) == true
                 runString = "(0)";
-                if (2 != jtt.optimize.Inline01.test(0)) {
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 3
+            // (1) == true
                 runString = "(1)";
-                if (3 != jtt.optimize.Inline01.test(1)) {
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == true
+                runString = "(3)";
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == true
+                runString = "(4)";
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            // (5) == true
+                runString = "(5)";
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(5)) {
+                    fail(runString);
+                    return;
+                }
+            // (6) == true
+                runString = "(6)";
+                if (true != jtt.optimize.Intrinsic_hashCode01.test(6)) {
                     fail(runString);
                     return;
                 }
@@ -22385,25 +23499,49 @@ public class JTRuns {
             }
             pass();
         }
-        static void jtt_optimize_Inline02() {
-            begin("jtt.optimize.Inline02");
+        static void jtt_optimize_LICM_01() {
+            begin("jtt.optimize.LICM_01");
             String runString = null;
             try {
-            // (0) == 2
+            // (0) == 36
                 runString = "(0)";
-                if (2 != jtt.optimize.Inline02.test(0)) {
+                if (36 != jtt.optimize.LICM_01.test(0)) {
                     fail(runString);
                     return;
                 }
-            // (1) == 5
+            // (1) == 36
                 runString = "(1)";
-                if (5 != jtt.optimize.Inline02.test(1)) {
+                if (36 != jtt.optimize.LICM_01.test(1)) {
                     fail(runString);
                     return;
                 }
-            // (2) == 8
+            // (2) == 36
                 runString = "(2)";
-                if (8 != jtt.optimize.Inline02.test(2)) {
+                if (36 != jtt.optimize.LICM_01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (3) == 0
+                runString = "(3)";
+                if (0 != jtt.optimize.LICM_01.test(3)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == !java.lang.ArithmeticException
+                try {
+                    runString = "(4)";
+                    jtt.optimize.LICM_01.test(4);
+                    fail(runString);
+                    return;
+                } catch (Throwable e) {
+                    if (e.getClass() != java.lang.ArithmeticException.class) {
+                        fail(runString, e);
+                        return;
+                    }
+                }
+            // (5) == 150
+                runString = "(5)";
+                if (150 != jtt.optimize.LICM_01.test(5)) {
                     fail(runString);
                     return;
                 }
@@ -26923,6 +28061,22 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_threads_Monitor_bias01() {
+            begin("jtt.threads.Monitor_bias01");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.threads.Monitor_bias01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_threads_Monitor_contended01() {
             begin("jtt.threads.Monitor_contended01");
             String runString = null;
@@ -26939,6 +28093,28 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_threads_Monitor_contended02() {
+            begin("jtt.threads.Monitor_contended02");
+            String runString = null;
+            try {
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.threads.Monitor_contended02.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (4) == true
+                runString = "(4)";
+                if (true != jtt.threads.Monitor_contended02.test(4)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_threads_Monitor_notowner01() {
             begin("jtt.threads.Monitor_notowner01");
             String runString = null;
@@ -26955,6 +28131,28 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_threads_Monitor_pool01() {
+            begin("jtt.threads.Monitor_pool01");
+            String runString = null;
+            try {
+            // (2) == true
+                runString = "(2)";
+                if (true != jtt.threads.Monitor_pool01.test(2)) {
+                    fail(runString);
+                    return;
+                }
+            // (8) == true
+                runString = "(8)";
+                if (true != jtt.threads.Monitor_pool01.test(8)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_threads_Monitorenter01() {
             begin("jtt.threads.Monitorenter01");
             String runString = null;
@@ -27229,6 +28427,28 @@ public class JTRuns {
             }
             pass();
         }
+        static void jtt_threads_Thread_getStackTrace01() {
+            begin("jtt.threads.Thread_getStackTrace01");
+            String runString = null;
+            try {
+            // (0) == true
+                runString = "(0)";
+                if (true != jtt.threads.Thread_getStackTrace01.test(0)) {
+                    fail(runString);
+                    return;
+                }
+            // (1) == true
+                runString = "(1)";
+                if (true != jtt.threads.Thread_getStackTrace01.test(1)) {
+                    fail(runString);
+                    return;
+                }
+            } catch (Throwable t) {
+                fail(runString, t);
+                return;
+            }
+            pass();
+        }
         static void jtt_threads_Thread_getState01() {
             begin("jtt.threads.Thread_getState01");
             String runString = null;
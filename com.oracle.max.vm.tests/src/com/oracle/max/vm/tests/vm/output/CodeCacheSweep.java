@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.oracle.max.vm.tests.vm.output;
+
+import com.sun.max.lang.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.code.*;
+import com.sun.max.vm.compiler.RuntimeCompiler.Nature;
+import com.sun.max.vm.compiler.target.*;
+
+/**
+ * Runs code cache sweeps from an optimized method and checks that an optimized method that is never called is made
+ * not entrant, then swept, and that its space is reused by a later compilation, whereas the method executing
+ * during the sweeps is kept.
+ */
+public class CodeCacheSweep {
+
+    /**
+     * Upper bound on the number of sweeps needed to make a method that isn't called not entrant.
+     */
+    private static final int MAX_SWEEPS = 16;
+
+    private static TargetMethod coldMethod;
+
+    /**
+     * The allocation mark of the opt code region before the sweep that released the cold method.
+     */
+    private static Address markBeforeRelease;
+
+    public static void main(String[] args) {
+        boolean isMaxine = System.getProperty("java.vm.name").startsWith("Maxine");
+        String result = "swept.";
+        if (isMaxine) {
+            result = sweep();
+        }
+        System.out.println(result);
+    }
+
+    private static TargetMethod compile(String name) {
+        ClassMethodActor cma = ClassMethodActor.fromJava(Classes.getDeclaredMethod(CodeCacheSweep.class, name, int.class));
+        return cma.makeTargetMethod(Nature.OPT);
+    }
+
+    private static String sweep() {
+        final CodeRegion region = Code.getCodeManager().getRuntimeOptCodeRegion();
+        coldMethod = compile("cold");
+        if (!region.contains(coldMethod.codeStart().toAddress())) {
+            return "not compiled in the opt code region: " + coldMethod;
+        }
+        final TargetMethod activeMethod = compile("active");
+        // The first call links to the optimized code of the method, which runs the sweeps.
+        final String failure = active(0);
+        if (failure != null) {
+            return failure;
+        }
+        if (activeMethod.invalidated() != null || activeMethod.isWiped() || activeMethod.sweepAge() != 0) {
+            return "active method swept: " + activeMethod;
+        }
+        if (!coldMethod.isWiped()) {
+            return "cold method not released: " + coldMethod;
+        }
+        final TargetMethod reuseMethod = compile("reuse");
+        if (!reuseMethod.start().lessThan(markBeforeRelease)) {
+            return "released space not reused: " + reuseMethod;
+        }
+        return reuse(1) == 2 ? "swept." : "reused method failed";
+    }
+
+    static String active(int arg) {
+        int sweeps = 0;
+        while (coldMethod.invalidated() == null) {
+            if (++sweeps > MAX_SWEEPS) {
+                return "cold method not made not entrant: " + coldMethod;
+            }
+            CodeCacheSweeper.run(true);
+        }
+        markBeforeRelease = Code.getCodeManager().getRuntimeOptCodeRegion().getAllocationMark();
+        CodeCacheSweeper.run(false);
+        return null;
+    }
+
+    static int cold(int arg) {
+        return arg + 1;
+    }
+
+    static int reuse(int arg) {
+        return arg + 1;
+    }
+}
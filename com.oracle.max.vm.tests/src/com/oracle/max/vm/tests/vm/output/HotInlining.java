@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.oracle.max.vm.tests.vm.output;
+
+import com.sun.c1x.*;
+import com.sun.max.lang.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.compiler.RuntimeCompiler.Nature;
+import com.sun.max.vm.compiler.target.*;
+
+/**
+ * Checks that the optimizing compiler raises the maximum inline size for callees that the baseline profile shows to
+ * be hot. Two callees with the same bytecode, too large to be inlined by default, are called from one method: only
+ * the callee that was invoked often enough in baseline code is inlined.
+ */
+public class HotInlining {
+
+    public static void main(String[] args) {
+        boolean isMaxine = System.getProperty("java.vm.name").startsWith("Maxine");
+        String result = "inlined.";
+        if (isMaxine) {
+            result = check();
+        }
+        System.out.println(result);
+    }
+
+    private static ClassMethodActor methodActor(String name) {
+        return ClassMethodActor.fromJava(Classes.getDeclaredMethod(HotInlining.class, name, int.class));
+    }
+
+    private static String check() {
+        ClassMethodActor hot = methodActor("hotCallee");
+        ClassMethodActor cold = methodActor("coldCallee");
+        if (hot.codeAttribute().code().length <= C1XOptions.MaximumInlineSize ||
+            hot.codeAttribute().code().length > C1XOptions.MaximumInlineSize * C1XOptions.HotInlineSizeRatio) {
+            return "callee size " + hot.codeAttribute().code().length + " does not test the hot inline size";
+        }
+
+        int sum = 0;
+        for (int i = 0; i < C1XOptions.HotInvocationCount * 2; i++) {
+            sum += hotCallee(i);
+        }
+        if (sum == 0 || hot.invocationCount() < C1XOptions.HotInvocationCount) {
+            return "hot callee not counted as hot: " + hot.invocationCount();
+        }
+        if (cold.invocationCount() >= C1XOptions.HotInvocationCount) {
+            return "cold callee counted as hot: " + cold.invocationCount();
+        }
+
+        TargetMethod caller = methodActor("caller").makeTargetMethod(Nature.OPT);
+        boolean callsHot = false;
+        boolean callsCold = false;
+        for (Object callee : caller.directCallees()) {
+            callsHot |= callee == hot;
+            callsCold |= callee == cold;
+        }
+        if (callsHot) {
+            return "hot callee not inlined";
+        }
+        if (!callsCold) {
+            return "cold callee inlined";
+        }
+        if (caller(3) != hotCallee(3) + coldCallee(3)) {
+            return "wrong result";
+        }
+        return "inlined.";
+    }
+
+    static int caller(int x) {
+        return hotCallee(x) + coldCallee(x);
+    }
+
+    static int hotCallee(int x) {
+        int a = x * 31 + 7;
+        int b = (a ^ (a >>> 3)) + x * 17;
+        int c = (b << 2) - (a >> 1) + 11;
+        int d = c % 1000 + b / 3;
+        int e = (d & 0xff) | (c & 0xff00);
+        return a + b + c + d + e;
+    }
+
+    static int coldCallee(int x) {
+        int a = x * 31 + 7;
+        int b = (a ^ (a >>> 3)) + x * 17;
+        int c = (b << 2) - (a >> 1) + 11;
+        int d = c % 1000 + b / 3;
+        int e = (d & 0xff) | (c & 0xff00);
+        return a + b + c + d + e;
+    }
+}
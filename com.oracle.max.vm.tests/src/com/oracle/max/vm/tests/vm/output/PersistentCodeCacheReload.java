@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.oracle.max.vm.tests.vm.output;
+
+import static com.sun.max.vm.MaxineVM.*;
+
+import java.io.*;
+import java.util.*;
+
+import com.oracle.max.vm.ext.maxri.*;
+import com.sun.max.lang.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.compiler.RuntimeCompiler.Nature;
+import com.sun.max.vm.compiler.target.*;
+
+/**
+ * Saves the persistent code cache, loads it back and recompiles methods, checking that a persisted method is
+ * installed and runs, that an entry whose dependencies changed is rejected and the method compiled again, and that a
+ * file written by another boot image is ignored.
+ */
+public class PersistentCodeCacheReload {
+
+    public static void main(String[] args) throws IOException {
+        boolean isMaxine = System.getProperty("java.vm.name").startsWith("Maxine");
+        String result = "reloaded.";
+        if (isMaxine) {
+            File file = File.createTempFile("maxine-code-cache", ".bin");
+            try {
+                result = roundTrip(file);
+                if (result == null) {
+                    result = rejectChangedClass(file);
+                }
+                if (result == null) {
+                    result = rejectOtherImage(file);
+                }
+                if (result == null) {
+                    result = "reloaded.";
+                }
+            } finally {
+                file.delete();
+            }
+        }
+        System.out.println(result);
+    }
+
+    private static final int[] VALUES = {1, 2, 3, 4, 5};
+
+    private static ClassMethodActor methodActor(String name) {
+        return ClassMethodActor.fromJava(Classes.getDeclaredMethod(PersistentCodeCacheReload.class, name, int[].class));
+    }
+
+    private static String keySuffix(String name) {
+        return PersistentCodeCacheReload.class.getName().replace('.', '/') + ";." + name + "([I)I";
+    }
+
+    /**
+     * Saves the optimized code of {@link #sum}, reloads it and checks that recompiling {@code sum} installs the
+     * persisted code, which is then linked to and run by the first call.
+     */
+    private static String roundTrip(File file) {
+        ClassMethodActor cma = methodActor("sum");
+        TargetMethod saved = cma.makeTargetMethod(Nature.OPT);
+        if (PersistentCodeCache.save(file.getPath()) < 1) {
+            return "no method saved";
+        }
+        if (PersistentCodeCache.load(file.getPath()) < 1) {
+            return "no method loaded";
+        }
+        int installed = PersistentCodeCache.installedCount();
+        TargetMethod tm = vm().compilationBroker.compile(cma, Nature.OPT);
+        if (PersistentCodeCache.installedCount() != installed + 1) {
+            return "persisted code not installed: " + tm;
+        }
+        if (tm == saved || tm.codeLength() != saved.codeLength()) {
+            return "installed code differs from saved code: " + tm;
+        }
+        if (cma.currentTargetMethod() != tm) {
+            return "installed code is not current: " + cma.currentTargetMethod();
+        }
+        if (sum(VALUES) != 15) {
+            return "installed code computed a wrong result";
+        }
+        return null;
+    }
+
+    /**
+     * Saves the optimized code of {@link #product}, alters the fingerprint of the first class its entry depends on
+     * and checks that recompiling {@code product} rejects the entry and compiles the method afresh.
+     */
+    private static String rejectChangedClass(File file) throws IOException {
+        ClassMethodActor cma = methodActor("product");
+        cma.makeTargetMethod(Nature.OPT);
+        if (PersistentCodeCache.save(file.getPath()) < 1) {
+            return "no method saved";
+        }
+        final String suffix = keySuffix("product");
+        boolean found = rewrite(file, 0L, new EntryEditor() {
+            public boolean edit(String key, byte[] entry) {
+                if (!key.endsWith(suffix)) {
+                    return false;
+                }
+                // int dependency count, byte loader kind, UTF class name, boolean initialized, long fingerprint
+                int nameLength = ((entry[5] & 0xff) << 8) | (entry[6] & 0xff);
+                entry[4 + 1 + 2 + nameLength + 1] ^= 1;
+                return true;
+            }
+        });
+        if (!found) {
+            return "method not saved";
+        }
+        PersistentCodeCache.load(file.getPath());
+        int installed = PersistentCodeCache.installedCount();
+        int rejected = PersistentCodeCache.rejectedCount();
+        TargetMethod tm = vm().compilationBroker.compile(cma, Nature.OPT);
+        if (PersistentCodeCache.rejectedCount() != rejected + 1 || PersistentCodeCache.installedCount() != installed) {
+            return "entry of changed class not rejected";
+        }
+        if (tm == null || tm.isBaseline() || cma.currentTargetMethod() != tm) {
+            return "method not recompiled: " + tm;
+        }
+        if (product(VALUES) != 120) {
+            return "recompiled code computed a wrong result";
+        }
+        return null;
+    }
+
+    /**
+     * Checks that no entry is read from a file that claims to be written by another boot image.
+     */
+    private static String rejectOtherImage(File file) throws IOException {
+        if (PersistentCodeCache.save(file.getPath()) < 1) {
+            return "no method saved";
+        }
+        rewrite(file, 1L, null);
+        if (PersistentCodeCache.load(file.getPath()) != 0) {
+            return "entries of another boot image loaded";
+        }
+        return null;
+    }
+
+    interface EntryEditor {
+        /**
+         * Modifies a persisted entry in place.
+         *
+         * @return {@code true} if the entry was modified
+         */
+        boolean edit(String key, byte[] entry);
+    }
+
+    /**
+     * Rewrites a persistent code cache file, adding {@code identityDelta} to the image identity in its header and
+     * passing each entry to {@code editor}, if not {@code null}.
+     *
+     * @return {@code true} if {@code editor} modified an entry
+     */
+    private static boolean rewrite(File file, long identityDelta, EntryEditor editor) throws IOException {
+        LinkedHashMap<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        int magic;
+        int version;
+        long identity;
+        try {
+            magic = in.readInt();
+            version = in.readInt();
+            identity = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                byte[] entry = new byte[in.readInt()];
+                in.readFully(entry);
+                entries.put(key, entry);
+            }
+        } finally {
+            in.close();
+        }
+        boolean edited = false;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeLong(identity + identityDelta);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, byte[]> e : entries.entrySet()) {
+                if (editor != null) {
+                    edited |= editor.edit(e.getKey(), e.getValue());
+                }
+                out.writeUTF(e.getKey());
+                out.writeInt(e.getValue().length);
+                out.write(e.getValue());
+            }
+        } finally {
+            out.close();
+        }
+        return edited;
+    }
+
+    static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    static int product(int[] values) {
+        int product = 1;
+        for (int value : values) {
+            product *= value;
+        }
+        return product;
+    }
+}
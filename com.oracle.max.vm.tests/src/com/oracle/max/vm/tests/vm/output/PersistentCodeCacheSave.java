@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.oracle.max.vm.tests.vm.output;
+
+import java.io.*;
+
+import com.oracle.max.vm.ext.maxri.*;
+import com.sun.max.lang.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.code.*;
+import com.sun.max.vm.compiler.RuntimeCompiler.Nature;
+import com.sun.max.vm.compiler.target.*;
+
+/**
+ * Compiles a method with the optimizing compiler and saves the persistent code cache to a file, checking that the
+ * method was encoded and that the file was written completely.
+ */
+public class PersistentCodeCacheSave {
+
+    public static void main(String[] args) throws IOException {
+        boolean isMaxine = System.getProperty("java.vm.name").startsWith("Maxine");
+        String result = "saved.";
+        if (isMaxine) {
+            result = save();
+        }
+        System.out.println(result);
+    }
+
+    private static String save() throws IOException {
+        ClassMethodActor cma = ClassMethodActor.fromJava(Classes.getDeclaredMethod(PersistentCodeCacheSave.class, "sum", int[].class));
+        TargetMethod tm = cma.makeTargetMethod(Nature.OPT);
+        if (!Code.getCodeManager().getRuntimeOptCodeRegion().contains(tm.codeStart().toAddress())) {
+            return "not compiled in the opt code region: " + tm;
+        }
+        File file = File.createTempFile("maxine-code-cache", ".bin");
+        try {
+            int count = PersistentCodeCache.save(file.getPath());
+            if (count < 1) {
+                return "no method saved";
+            }
+            if (new File(file.getPath() + ".tmp").exists()) {
+                return "temporary file left behind";
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != 0x4d585043 || in.readInt() != 1) {
+                    return "bad header";
+                }
+                in.readLong();
+                if (in.readInt() != count) {
+                    return "bad entry count";
+                }
+                boolean found = false;
+                for (int i = 0; i < count; i++) {
+                    String key = in.readUTF();
+                    byte[] entry = new byte[in.readInt()];
+                    in.readFully(entry);
+                    found |= key.endsWith(PersistentCodeCacheSave.class.getName().replace('.', '/') + ";.sum([I)I");
+                }
+                if (in.read() != -1) {
+                    return "trailing data";
+                }
+                return found ? "saved." : "method not saved";
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -39,6 +39,7 @@ public class C1XMetrics {
     public static int MethodsFolded;
     public static int InlineForcedMethods;
     public static int InlineForbiddenMethods;
+    public static int InlineProfiledCallSites;
     public static int InlinedJsrs;
     public static int NullCheckIterations;
     public static int NullCheckEliminations;
@@ -48,6 +49,9 @@ public class C1XMetrics {
     public static int DivideSpecialChecksRedundant;
     public static int StoreCheckEliminations;
     public static int BoundsChecksElminations;
+    public static int LoopInvariantsHoisted;
+    public static int ScalarReplacedAllocations;
+    public static int LocksElided;
     public static int ConditionalEliminations;
     public static int BlocksMerged;
     public static int BlocksSkipped;
@@ -46,8 +46,16 @@ public final class C1XOptions {
     public static int     MaximumDesiredSize                 = 8000;
     public static int     MaximumShortLoopSize               = 5;
 
+    // profile-guided inlining settings
+    public static boolean OptProfileGuidedInlining           = ____;
+    public static float   ProfileTypeMinProbability          = 0.95f;
+    public static int     ProfileTypeMinCount                = 100;
+    public static int     HotInvocationCount                 = 1000;
+    public static float   HotInlineSizeRatio                 = 3.0f;
+
     // intrinsification settings
     public static boolean OptIntrinsify                      = ____;
+    public static boolean UsePopCountInstruction             = false;
 
     // debugging settings
     public static boolean VerifyPointerMaps                  = ____;
@@ -108,6 +116,9 @@ public final class C1XOptions {
     public static boolean OptLocalValueNumbering;
     public static boolean OptLocalLoadElimination;
     public static boolean OptGlobalValueNumbering;
+    public static boolean OptLoopInvariantCodeMotion;
+    public static boolean OptRangeCheckElimination;
+    public static boolean OptEscapeAnalysis;
     public static boolean OptDiamondElimination;
     public static boolean OptCEElimination;
     public static boolean OptBlockMerging;
@@ -220,6 +231,7 @@ public final class C1XOptions {
         OptIntrinsify                   = lll;
         OptInlineExcept                 = lll;
         OptInlineSynchronized           = lll;
+        OptProfileGuidedInlining        = lll;
         UseStackMapTableLiveness        = lll;
         UseAssumptions                  = lll;
         OptIterativeNCE                 = lll;
@@ -227,6 +239,9 @@ public final class C1XOptions {
         OptDeadCodeElimination1         = lll;
         OptDeadCodeElimination2         = lll;
         OptGlobalValueNumbering         = lll;
+        OptLoopInvariantCodeMotion      = lll;
+        OptRangeCheckElimination        = lll;
+        OptEscapeAnalysis               = lll;
         OptDiamondElimination           = lll;
         OptCEElimination                = lll;
         OptBlockSkipping                = lll;
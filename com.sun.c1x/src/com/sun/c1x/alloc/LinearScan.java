@@ -2136,20 +2136,42 @@ public final class LinearScan {
         }
     }
 
+    /**
+     * Gets the debug info value for a value of a frame state, describing a {@linkplain NewInstance#isVirtual() scalar
+     * replaced} allocation by a {@link CiVirtualObject} holding its field values at the innermost frame state.
+     */
+    CiValue toCiValue(int opId, Value value, FrameState innermostState) {
+        if (value instanceof NewInstance && ((NewInstance) value).isVirtual()) {
+            NewInstance newInstance = (NewInstance) value;
+            Value[] fieldValues = newInstance.virtualValuesAt(innermostState);
+            CiValue[] values = new CiValue[fieldValues.length];
+            for (int i = 0; i < fieldValues.length; i++) {
+                Value fieldValue = fieldValues[i];
+                values[i] = fieldValue instanceof Constant ? fieldValue.asConstant() : toCiValue(opId, fieldValue);
+            }
+            return CiVirtualObject.get(newInstance.instanceClass(), values, newInstance.id());
+        }
+        return toCiValue(opId, value);
+    }
+
     CiFrame computeFrameForState(int opId, FrameState state, CiBitMap frameRefMap) {
+        return computeFrameForState(opId, state, state, frameRefMap);
+    }
+
+    private CiFrame computeFrameForState(int opId, FrameState state, FrameState innermostState, CiBitMap frameRefMap) {
         CiFrame callerFrame = null;
 
         FrameState callerState = state.callerState();
         if (callerState != null) {
             // process recursively to compute outermost scope first
-            callerFrame = computeFrameForState(opId, callerState, frameRefMap);
+            callerFrame = computeFrameForState(opId, callerState, innermostState, frameRefMap);
         }
 
         CiValue[] values = new CiValue[state.valuesSize() + state.locksSize()];
         int valueIndex = 0;
 
         for (int i = 0; i < state.valuesSize(); i++) {
-            values[valueIndex++] = toCiValue(opId, state.valueAt(i));
+            values[valueIndex++] = toCiValue(opId, state.valueAt(i), innermostState);
         }
 
         for (int i = 0; i < state.locksSize(); i++) {
@@ -2165,7 +2187,7 @@ public final class LinearScan {
                     // lock on class for synchronized static method
                     values[valueIndex++] = lock.asConstant();
                 } else {
-                    values[valueIndex++] = toCiValue(opId, lock);
+                    values[valueIndex++] = toCiValue(opId, lock, innermostState);
                 }
             }
         }
@@ -315,6 +315,13 @@ public abstract class LIRGenerator extends ValueVisitor {
         emitXir(snippet, x, stateFor(x), null, true);
     }
 
+    @Override
+    public void visitTypeGuard(TypeGuard x) {
+        XirArgument obj = toXirArgument(x.object());
+        XirSnippet snippet = xir.genTypeCheck(site(x), obj, toXirArgument(x.hub()), x.exactType());
+        emitXir(snippet, x, stateFor(x), null, false);
+    }
+
     @Override
     public void visitInstanceOf(InstanceOf x) {
         XirArgument obj = toXirArgument(x.object());
@@ -433,9 +440,10 @@ public abstract class LIRGenerator extends ValueVisitor {
         setNoResult(x);
 
         if (currentBlock.next() instanceof OsrEntry) {
-            // need to free up storage used for OSR entry point
+            // need to free up storage used for OSR entry point; the locals have all been
+            // loaded from the buffer at this point, so the state after the goto describes the frame
             CiValue osrBuffer = currentBlock.next().operand();
-            callRuntime(CiRuntimeCall.OSRMigrationEnd, null, osrBuffer);
+            callRuntime(CiRuntimeCall.OSRMigrationEnd, stateFor(x, x.stateAfter()), osrBuffer);
             emitXir(xir.genSafepointPoll(site(x)), x, stateFor(x, x.stateAfter()), null, false);
         } else if (x.isSafepointPoll()) {
             emitXir(xir.genSafepointPoll(site(x)), x, stateFor(x, x.stateAfter()), null, false);
@@ -518,6 +526,25 @@ public abstract class LIRGenerator extends ValueVisitor {
                 genMathIntrinsic(x);
                 return;
 
+            case java_lang_Math$exp:
+                setResult(x, callRuntimeWithResult(CiRuntimeCall.ArithmeticExp, null, load(x.argumentAt(0))));
+                return;
+            case java_lang_Math$pow:
+                setResult(x, callRuntimeWithResult(CiRuntimeCall.ArithmeticPow, null, load(x.argumentAt(0)), load(x.argumentAt(2))));
+                return;
+            case java_lang_Math$atan2:
+                setResult(x, callRuntimeWithResult(CiRuntimeCall.ArithmeticAtan2, null, load(x.argumentAt(0)), load(x.argumentAt(2))));
+                return;
+
+            case java_lang_Integer$bitCount:     // fall through
+            case java_lang_Long$bitCount:        // fall through
+            case java_lang_Integer$reverseBytes: // fall through
+            case java_lang_Long$reverseBytes:
+                if (genBitIntrinsic(x)) {
+                    return;
+                }
+                break;
+
             case sun_misc_Unsafe$compareAndSwapObject:
                 genCompareAndSwap(x, CiKind.Object);
                 return;
@@ -565,19 +592,22 @@ public abstract class LIRGenerator extends ValueVisitor {
 
         XirSnippet snippet = null;
 
-        // First try to intrinsify the invocation
-        XirArgument[] args = new XirArgument[x.arguments().length];
-        for (int i = 0; i < x.arguments().length; i++) {
-            args[i] = toXirArgument(x.arguments()[i]);
-        }
-        snippet = xir.genIntrinsic(site(x), args, x.target());
-        if (snippet != null) {
-            emitXir(snippet, x, x.stateBefore() == null ? null : stateFor(x), null, true);
-            return;
+        // First try to intrinsify the invocation. An intrinsic implements the target method itself, not any
+        // override of it, so only statically bound invocations can be intrinsified.
+        int opcode = x.opcode();
+        if (opcode == INVOKESTATIC || opcode == INVOKESPECIAL) {
+            XirArgument[] args = new XirArgument[x.arguments().length];
+            for (int i = 0; i < x.arguments().length; i++) {
+                args[i] = toXirArgument(x.arguments()[i]);
+            }
+            snippet = xir.genIntrinsic(site(x), args, x.target());
+            if (snippet != null) {
+                emitXir(snippet, x, x.stateBefore() == null ? null : stateFor(x), null, true);
+                return;
+            }
         }
 
         // Invocation was not intrinsified -> generate a normal call
-        int opcode = x.opcode();
         XirArgument receiver;
         switch (opcode) {
             case INVOKESTATIC:
@@ -1996,7 +2026,7 @@ public abstract class LIRGenerator extends ValueVisitor {
             return;
         }
         for (int index = 0; index < state.stackSize(); index++) {
-            walkStateValue(state.stackAt(index));
+            walkStateValue(state.stackAt(index), state);
         }
         FrameState s = state;
         int bci = x.bci();
@@ -2014,17 +2044,37 @@ public abstract class LIRGenerator extends ValueVisitor {
                 final Value value = s.localAt(index);
                 if (value != null) {
                     if (!value.isIllegal()) {
-                        walkStateValue(value);
+                        walkStateValue(value, state);
                     }
                 }
             }
+            for (int index = 0; index < s.locksSize(); index++) {
+                final Value lock = s.lockAt(index);
+                if (isVirtual(lock)) {
+                    walkStateValue(lock, state);
+                }
+            }
             bci = scope.callerBCI();
             s = s.callerState();
         }
     }
 
-    private void walkStateValue(Value value) {
-        if (value != null) {
+    private static boolean isVirtual(Value value) {
+        return value instanceof NewInstance && ((NewInstance) value).isVirtual();
+    }
+
+    /**
+     * Ensures a value of a frame state has an operand.
+     *
+     * @param value the value
+     * @param state the innermost frame state, which determines the field values describing a scalar replaced allocation
+     */
+    private void walkStateValue(Value value, FrameState state) {
+        if (isVirtual(value)) {
+            for (Value fieldValue : ((NewInstance) value).virtualValuesAt(state)) {
+                walkStateValue(fieldValue, state);
+            }
+        } else if (value != null) {
             assert !value.hasSubst() : "missed substitution";
             assert value.isLive() : "value must be marked live in frame state";
             if (value instanceof Phi && !value.isIllegal()) {
@@ -2163,6 +2213,16 @@ public abstract class LIRGenerator extends ValueVisitor {
 
     protected abstract void genMathIntrinsic(Intrinsic x);
 
+    /**
+     * Generates target instructions for {@code Integer/Long.bitCount} or {@code Integer/Long.reverseBytes}.
+     *
+     * @return {@code false} if the target has no suitable instruction, in which case the intrinsic is
+     *         lowered to a call of the Java implementation
+     */
+    protected boolean genBitIntrinsic(Intrinsic x) {
+        return false;
+    }
+
     /**
      * Implements site-specific information for the XIR interface.
      */
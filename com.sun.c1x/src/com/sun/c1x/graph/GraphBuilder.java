@@ -123,7 +123,14 @@ public final class GraphBuilder {
         // 2. compute the block map and get the entrypoint(s)
         BlockMap blockMap = compilation.getBlockMap(scope.method, compilation.osrBCI);
         BlockBegin stdEntry = blockMap.get(0);
-        BlockBegin osrEntry = compilation.osrBCI < 0 ? null : blockMap.get(compilation.osrBCI);
+        BlockBegin osrEntry = null;
+        if (compilation.isOsrCompilation()) {
+            // the OSR entry is a separate block that loads the locals from the OSR buffer
+            // and then jumps to the block at the OSR bci (see setupOsrEntryBlock)
+            osrEntry = new BlockBegin(compilation.osrBCI, ir.nextBlockNumber());
+            osrEntry.setOsrEntry(true);
+            ir.osrEntryBlock = osrEntry;
+        }
         pushRootScope(scope, blockMap, startBlock);
         MutableFrameState initialState = stateAtEntry(rootMethod);
         startBlock.mergeOrClone(initialState);
@@ -241,6 +248,9 @@ public final class GraphBuilder {
         startBlock.setEnd(base);
         assert stdEntry.stateBefore() == null;
         stdEntry.mergeOrClone(stateAfter);
+        if (osrEntry != null) {
+            osrEntry.mergeOrClone(stateAfter);
+        }
     }
 
     void pushRootScope(IRScope scope, BlockMap blockMap, BlockBegin start) {
@@ -1098,12 +1108,74 @@ public final class GraphBuilder {
                 assert result : "Inlining must succeed";
                 return;
             }
+            // 4. speculate on the dominant receiver type recorded in the profile
+            if (C1XOptions.OptProfileGuidedInlining && tryInlineProfiledReceiver(resolvedTarget, args)) {
+                return;
+            }
         }
 
         // devirtualization failed, produce an actual invokevirtual
         appendInvoke(opcode, target, args, false, cpi, constantPool);
     }
 
+    /**
+     * Attempts to inline the target of a virtual or interface call for the receiver type that dominates the
+     * {@linkplain RiResolvedMethod#typeProfile(int) type profile} of the call site. The receiver is checked
+     * against that type by a {@link TypeGuard} that deoptimizes and re-executes the call if it fails. Since
+     * a deoptimizing guard cannot dispatch to a second inlined body, a bimorphic site is only inlined when
+     * one of its receiver types alone reaches {@link C1XOptions#ProfileTypeMinProbability}.
+     *
+     * @return {@code true} if the call was inlined
+     */
+    private boolean tryInlineProfiledReceiver(RiResolvedMethod target, Value[] args) {
+        RiTypeProfile profile = scope().method.typeProfile(bci());
+        if (profile == null || profile.types == null || profile.count < C1XOptions.ProfileTypeMinCount) {
+            return false;
+        }
+        RiResolvedType dominant = null;
+        float probability = 0;
+        for (int i = 0; i < profile.types.length; i++) {
+            if (profile.probabilities[i] > probability) {
+                dominant = profile.types[i];
+                probability = profile.probabilities[i];
+            }
+        }
+        if (dominant == null || probability < C1XOptions.ProfileTypeMinProbability) {
+            return false;
+        }
+        if (!dominant.isInstanceClass() || !dominant.isSubtypeOf(target.holder())) {
+            return false;
+        }
+        RiResolvedMethod impl = dominant.resolveMethodImpl(target);
+        if (impl == null || isAbstract(impl.accessFlags()) || !checkInliningConditions(impl)) {
+            return false;
+        }
+
+        Value receiver = args[0];
+        if (!receiver.isNonNull()) {
+            args[0] = append(new NullCheck(receiver, null));
+        }
+
+        // the guard re-executes the invoke after deoptimization, so its state includes the arguments
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i] != null) {
+                curState.push(args[i].kind.stackKind(), args[i]);
+            }
+        }
+        FrameState stateBefore = curState.immutableCopy(bci());
+        curState.popArguments(args.length);
+
+        Value hub = appendConstant(dominant.getEncoding(Representation.ObjectHub));
+        append(new TypeGuard(args[0], hub, dominant, stateBefore));
+        if (C1XOptions.PrintAssumptions) {
+            TTY.println("Speculative invoke direct because of profiled receiver type " + dominant + " (p=" + probability + ") to " + impl);
+        }
+        C1XMetrics.InlineProfiledCallSites++;
+        boolean result = tryInline(impl, args);
+        assert result : "inlining conditions were already checked";
+        return true;
+    }
+
     private CiKind returnKind(RiMethod target) {
         return target.signature().returnKind(false);
     }
@@ -1622,22 +1694,21 @@ public final class GraphBuilder {
                 break;
             case java_lang_Thread$currentThread:
                 break;
-            case java_util_Arrays$copyOf: // fall through
-            case java_lang_System$arraycopy: // fall through
-            case java_lang_Object$init: // fall through
             case java_lang_String$equals: // fall through
             case java_lang_String$compareTo: // fall through
-            case java_lang_String$indexOf: // fall through
-            case java_lang_Math$max: // fall through
-            case java_lang_Math$min: // fall through
-            case java_lang_Math$atan2: // fall through
-            case java_lang_Math$pow: // fall through
-            case java_lang_Math$exp: // fall through
-            case java_nio_Buffer$checkIndex: // fall through
-            case java_lang_System$identityHashCode: // fall through
-            case java_lang_System$currentTimeMillis: // fall through
-            case java_lang_System$nanoTime: // fall through
-            case java_lang_Object$hashCode: // fall through
+            case java_lang_String$indexOf:
+                // the receiver and the string argument are dereferenced by the intrinsic
+                canTrap = true;
+                break;
+            case java_lang_Object$hashCode: {
+                // only intrinsify if the receiver is known not to override Object.hashCode()
+                RiResolvedType exact = getExactType(target.holder(), args[0]);
+                if (exact == null || exact.resolveMethodImpl(target) != target) {
+                    return false;
+                }
+                canTrap = true;
+                break;
+            }
             case java_lang_Class$isAssignableFrom: // fall through
             case java_lang_Class$isInstance: // fall through
             case java_lang_Class$getModifiers: // fall through
@@ -1645,20 +1716,20 @@ public final class GraphBuilder {
             case java_lang_Class$isArray: // fall through
             case java_lang_Class$isPrimitive: // fall through
             case java_lang_Class$getSuperclass: // fall through
-            case java_lang_Class$getComponentType: // fall through
+            case java_lang_Class$getComponentType:
+                // only worthwhile if the canonicalizer can fold the query for a known class
+                if (!args[0].isConstant() || args[0].asConstant().isNull()) {
+                    return false;
+                }
+                break;
+            case java_util_Arrays$copyOf: // fall through
+            case java_lang_System$arraycopy: // fall through
+            case java_lang_Object$init: // fall through
+            case java_nio_Buffer$checkIndex: // fall through
             case java_lang_reflect_Array$getLength: // fall through
             case java_lang_reflect_Array$newArray: // fall through
             case java_lang_Double$doubleToLongBits: // fall through
             case java_lang_Float$floatToIntBits: // fall through
-            case java_lang_Math$sin: // fall through
-            case java_lang_Math$cos: // fall through
-            case java_lang_Math$tan: // fall through
-            case java_lang_Math$log: // fall through
-            case java_lang_Math$log10: // fall through
-            case java_lang_Integer$bitCount: // fall through
-            case java_lang_Integer$reverseBytes: // fall through
-            case java_lang_Long$bitCount: // fall through
-            case java_lang_Long$reverseBytes: // fall through
             case java_lang_Object$clone:
                 return false;
             // TODO: preservesState and canTrap for complex intrinsics
@@ -1685,6 +1756,10 @@ public final class GraphBuilder {
             result = genArrayCopy(target, args);
         } else if (intrinsic == C1XIntrinsic.java_util_Arrays$copyOf) {
             result = genArrayClone(target, args);
+        } else if (intrinsic == C1XIntrinsic.java_lang_Math$min) {
+            result = new IfOp(args[0], Condition.LE, args[1], args[0], args[1]);
+        } else if (intrinsic == C1XIntrinsic.java_lang_Math$max) {
+            result = new IfOp(args[0], Condition.GE, args[1], args[0], args[1]);
         } else {
             result = new Intrinsic(resultType.stackKind(), intrinsic, target, args, isStatic, curState.immutableCopy(bci()), preservesState, canTrap);
         }
@@ -1856,7 +1931,7 @@ public final class GraphBuilder {
         if (recursiveInlineLevel(target) > C1XOptions.MaximumRecursiveInlineLevel) {
             return cannotInline(target, "recursive inlining too deep");
         }
-        if (target.code().length > scopeData.maxInlineSize()) {
+        if (target.code().length > maxInlineSize(target)) {
             return cannotInline(target, "inlinee too large for this level");
         }
         if (scopeData.scope.level + 1 > C1XOptions.MaximumInlineLevel) {
@@ -1896,6 +1971,18 @@ public final class GraphBuilder {
         return true;
     }
 
+    /**
+     * Gets the maximum bytecode size of a method that may be inlined into the current scope. The limit is raised
+     * for methods that the {@linkplain RiResolvedMethod#invocationCount() profile} shows to be hot.
+     */
+    private int maxInlineSize(RiResolvedMethod target) {
+        int maxInlineSize = scopeData.maxInlineSize();
+        if (C1XOptions.OptProfileGuidedInlining && target.invocationCount() >= C1XOptions.HotInvocationCount) {
+            maxInlineSize = (int) (maxInlineSize * C1XOptions.HotInlineSizeRatio);
+        }
+        return maxInlineSize;
+    }
+
     private boolean cannotInline(RiMethod target, String reason) {
         if (C1XOptions.PrintInliningFailures) {
             TTY.println("Cannot inline " + target.toString() + " into " + compilation.method.toString() + " because of " + reason);
@@ -2102,8 +2189,9 @@ public final class GraphBuilder {
         while ((b = scopeData.removeFromWorkList()) != null) {
             if (!b.wasVisited()) {
                 if (b.isOsrEntry()) {
-                    // OSR not yet supported
-                    Util.shouldNotReachHere();
+                    setupOsrEntryBlock(b);
+                    // this is no longer the OSR entry block
+                    b.setOsrEntry(false);
                 }
                 b.setWasVisited(true);
                 // now parse the block
@@ -2118,6 +2206,56 @@ public final class GraphBuilder {
         }
     }
 
+    /**
+     * Fills in the {@linkplain IR#osrEntryBlock OSR entry block} once the state at the OSR bci is known. The OSR
+     * buffer passed to the OSR entry contains one word per local variable of the method: the word at offset
+     * {@code i * wordSize} holds local {@code i}, or the first slot of a {@code long} or {@code double} local.
+     * Each local that is live in the state of {@code target} is loaded from the buffer before jumping to {@code target}.
+     *
+     * @param target the block at the OSR bci
+     */
+    private void setupOsrEntryBlock(BlockBegin target) {
+        assert compilation.isOsrCompilation() && target.bci() == compilation.osrBCI;
+        FrameState targetState = target.stateBefore();
+        if (!targetState.stackEmpty()) {
+            throw new CiBailout("cannot OSR with non-empty stack");
+        }
+        if (targetState.locksSize() != 0) {
+            throw new CiBailout("cannot OSR with locked monitors");
+        }
+
+        BlockBegin osrEntry = ir.osrEntryBlock;
+        killMemoryMap();
+        curBlock = osrEntry;
+        curState = targetState.copy();
+        lastInstr = osrEntry;
+        osrEntry.setNext(null, -1);
+
+        int bci = compilation.osrBCI;
+        int wordSize = compilation.target.wordSize;
+        Value buffer = appendWithoutOptimization(new OsrEntry(compilation.target.wordKind), bci);
+        buffer.setFlag(Value.Flag.NonNull);
+        for (int i = 0; i < curState.localsSize(); i++) {
+            Value local = curState.localAt(i);
+            if (local != null) {
+                if (local.kind == CiKind.Jsr) {
+                    throw new CiBailout("cannot OSR with a return address in a local variable");
+                }
+                Value offset = appendWithoutOptimization(Constant.forInt(i * wordSize), bci);
+                RiType dataType = compilation.runtime.asRiType(local.kind);
+                curState.storeLocal(i, appendWithoutOptimization(new LoadPointer(dataType, buffer, null, offset, null, false), bci));
+            }
+        }
+
+        // the storage for the OSR buffer is freed by the runtime call emitted for this goto
+        Goto end = new Goto(target, null, false);
+        appendWithoutOptimization(end, bci);
+        FrameState stateAfter = curState.immutableCopy(bci);
+        end.setStateAfter(stateAfter);
+        osrEntry.setEnd(end);
+        target.mergeOrClone(stateAfter);
+    }
+
     private void popScope() {
         int maxLocks = scope().maxLocks();
         scopeData = scopeData.parent;
@@ -158,11 +158,20 @@ public class IR {
 
     private void optimize2() {
         // do more advanced, dominator-based optimizations
+        if (C1XOptions.OptLoopInvariantCodeMotion || C1XOptions.OptRangeCheckElimination) {
+            makeLinearScanOrder();
+            new LoopOptimizer(this);
+            observeCompilationEvent("After loop optimization");
+        }
         if (C1XOptions.OptGlobalValueNumbering) {
             makeLinearScanOrder();
             new GlobalValueNumberer(this);
             observeCompilationEvent("After global value numbering");
         }
+        if (C1XOptions.OptEscapeAnalysis) {
+            new EscapeAnalyzer(this);
+            observeCompilationEvent("After escape analysis");
+        }
         if (C1XOptions.OptDeadCodeElimination2) {
             new LivenessMarker(this).removeDeadCode();
             observeCompilationEvent("After dead code elimination 2");
@@ -22,7 +22,10 @@
  */
 package com.sun.c1x.ir;
 
+import java.util.*;
+
 import com.oracle.max.criutils.*;
+import com.sun.c1x.opt.*;
 import com.sun.c1x.value.*;
 import com.sun.cri.ci.*;
 import com.sun.cri.ri.*;
@@ -36,6 +39,24 @@ public final class NewInstance extends StateSplit {
     public final int cpi;
     public final RiConstantPool constantPool;
 
+    /**
+     * The instance fields of the allocated object if this allocation has been scalar replaced by
+     * {@link EscapeAnalyzer}, otherwise {@code null}. The fields are ordered by class, from {@link Object}
+     * down, and by offset within a class (i.e. in the order expected for the values of a {@link CiVirtualObject}).
+     */
+    private RiResolvedField[] virtualFields;
+
+    /**
+     * The values of {@link #virtualFields} once all stores to the scalar replaced object have been performed.
+     */
+    private Value[] virtualValues;
+
+    /**
+     * The values of {@link #virtualFields} at the frame states recorded before all stores to the scalar replaced
+     * object have been performed, keyed by the innermost frame state.
+     */
+    private Map<FrameState, Value[]> virtualValuesByState;
+
     /**
      * Constructs a NewInstance instruction.
      * @param type the class being allocated
@@ -59,6 +80,44 @@ public final class NewInstance extends StateSplit {
         return instanceClass;
     }
 
+    /**
+     * Marks this allocation as scalar replaced. The allocation is no longer part of any block and is described in
+     * the frame states that refer to it by the values of its fields.
+     *
+     * @param fields the instance fields of the allocated object
+     * @param values the field values after all stores to the object
+     * @param valuesByState the field values at frame states preceding the last store to the object
+     */
+    public void setVirtual(RiResolvedField[] fields, Value[] values, Map<FrameState, Value[]> valuesByState) {
+        this.virtualFields = fields;
+        this.virtualValues = values;
+        this.virtualValuesByState = valuesByState;
+    }
+
+    /**
+     * Checks whether this allocation has been scalar replaced.
+     */
+    public boolean isVirtual() {
+        return virtualFields != null;
+    }
+
+    /**
+     * Gets the instance fields of a scalar replaced allocation.
+     */
+    public RiResolvedField[] virtualFields() {
+        return virtualFields;
+    }
+
+    /**
+     * Gets the values of the fields of a scalar replaced allocation as they are at a given frame state.
+     *
+     * @param state the innermost frame state of the position at which the object is described
+     */
+    public Value[] virtualValuesAt(FrameState state) {
+        Value[] values = virtualValuesByState.get(state);
+        return values != null ? values : virtualValues;
+    }
+
     /**
      * Checks whether this instruction can trap.
      * @return {@code true}, assuming that allocation can cause OutOfMemory or other exceptions
@@ -78,6 +137,23 @@ public final class NewInstance extends StateSplit {
         return (instanceClass instanceof RiResolvedType) ? (RiResolvedType) instanceClass : null;
     }
 
+    @Override
+    public void inputValuesDo(ValueClosure closure) {
+        if (virtualFields != null) {
+            // the field values of a scalar replaced allocation are needed wherever the allocation is
+            applyToValues(virtualValues, closure);
+            for (Value[] values : virtualValuesByState.values()) {
+                applyToValues(values, closure);
+            }
+        }
+    }
+
+    private static void applyToValues(Value[] values, ValueClosure closure) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = closure.apply(values[i]);
+        }
+    }
+
     @Override
     public void accept(ValueVisitor v) {
         v.visitNewInstance(this);
@@ -85,6 +161,6 @@ public final class NewInstance extends StateSplit {
 
     @Override
     public void print(LogStream out) {
-        out.print("new instance ").print(CiUtil.toJavaName(instanceClass()));
+        out.print(isVirtual() ? "virtual instance " : "new instance ").print(CiUtil.toJavaName(instanceClass()));
     }
 }
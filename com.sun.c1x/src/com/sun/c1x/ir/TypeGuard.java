@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.c1x.ir;
+
+import static com.sun.c1x.util.Util.*;
+
+import com.oracle.max.criutils.*;
+import com.sun.c1x.value.*;
+import com.sun.cri.ci.*;
+import com.sun.cri.ri.*;
+
+/**
+ * Checks that an object is exactly of a type speculated from profile information and deoptimizes if it is not.
+ * The state before this instruction is the state of the bytecode that depends on the speculation such that
+ * the bytecode is re-executed after deoptimization.
+ */
+public final class TypeGuard extends StateSplit {
+
+    Value object;
+    Value hub;
+    final RiResolvedType exactType;
+
+    /**
+     * Creates a new TypeGuard instruction.
+     * @param object the instruction producing the object whose type is checked (must be non-null)
+     * @param hub the constant hub of {@code exactType}
+     * @param exactType the speculated exact type of {@code object}
+     * @param stateBefore the state before the guarded bytecode
+     */
+    public TypeGuard(Value object, Value hub, RiResolvedType exactType, FrameState stateBefore) {
+        super(CiKind.Illegal, stateBefore);
+        this.object = object;
+        this.hub = hub;
+        this.exactType = exactType;
+        assert object.kind == CiKind.Object;
+        assert object.isNonNull();
+    }
+
+    public Value object() {
+        return object;
+    }
+
+    public Value hub() {
+        return hub;
+    }
+
+    public RiResolvedType exactType() {
+        return exactType;
+    }
+
+    @Override
+    public void inputValuesDo(ValueClosure closure) {
+        object = closure.apply(object);
+        hub = closure.apply(hub);
+    }
+
+    @Override
+    public void accept(ValueVisitor v) {
+        v.visitTypeGuard(this);
+    }
+
+    @Override
+    public void print(LogStream out) {
+        out.print("typeGuard ").print(valueString(object)).print(" ").print(CiUtil.toJavaName(exactType));
+    }
+}
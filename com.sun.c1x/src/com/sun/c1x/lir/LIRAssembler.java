@@ -290,6 +290,10 @@ public abstract class LIRAssembler {
             case Msb:
                 emitSignificantBitOp(true,  op.operand(), op.result());
                 break;
+            case Popcnt:
+            case Bswap:
+                emitBitOp(op.code, op.operand(), op.result());
+                break;
             default:
                 throw Util.shouldNotReachHere();
         }
@@ -508,6 +512,14 @@ public abstract class LIRAssembler {
 
     protected abstract void emitSignificantBitOp(boolean most, CiValue inOpr1, CiValue dst);
 
+    /**
+     * Emits a population count ({@link LIROpcode#Popcnt}) or byte swap ({@link LIROpcode#Bswap}) of {@code src}.
+     * Only targets whose LIR generator creates these instructions need to override this method.
+     */
+    protected void emitBitOp(LIROpcode code, CiValue src, CiValue dst) {
+        throw Util.shouldNotReachHere();
+    }
+
     protected abstract void emitConditionalMove(Condition condition, CiValue inOpr1, CiValue inOpr2, CiValue dst);
 
     protected abstract void emitCompare2Int(LIROpcode code, CiValue inOpr1, CiValue inOpr2, CiValue dst, LIROp2 op);
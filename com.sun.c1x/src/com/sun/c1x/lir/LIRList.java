@@ -366,6 +366,14 @@ public final class LIRList {
         append(new LIRSignificantBit(LIROpcode.Msb, src, dst));
     }
 
+    public void popcnt(CiValue src, CiValue dst) {
+        append(new LIROp1(LIROpcode.Popcnt, src, dst));
+    }
+
+    public void bswap(CiValue src, CiValue dst) {
+        append(new LIROp1(LIROpcode.Bswap, src, dst));
+    }
+
     public void cmpMemInt(Condition condition, CiValue base, int disp, int c, LIRDebugInfo info) {
         append(new LIROp2(LIROpcode.Cmp, condition, new CiAddress(CiKind.Int, base, disp), CiConstant.forInt(c), info));
     }
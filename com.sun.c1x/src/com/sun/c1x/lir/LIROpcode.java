@@ -53,6 +53,8 @@ public enum LIROpcode {
         Convert,
         Lsb,
         Msb,
+        Popcnt,
+        Bswap,
         MonitorAddress,
         DebugMethodID,
     EndOp1,
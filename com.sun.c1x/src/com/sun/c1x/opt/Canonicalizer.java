@@ -805,6 +805,13 @@ public class Canonicalizer extends DefaultValueVisitor {
     @Override
     public void visitIfOp(IfOp i) {
         moveConstantToRight(i);
+        if (i.x().isConstant() && i.y().isConstant()) {
+            // fold conditional expressions over constants (e.g. intrinsified Math.min and Math.max)
+            Boolean result = i.condition().foldCondition(i.x().asConstant(), i.y().asConstant(), runtime);
+            if (result != null) {
+                setCanonical(result ? i.trueValue() : i.falseValue());
+            }
+        }
     }
 
     @Override
@@ -1513,6 +1520,13 @@ public class Canonicalizer extends DefaultValueVisitor {
         }
     }
 
+    @Override
+    public void visitTypeGuard(TypeGuard i) {
+        if (i.object().exactType() == i.exactType()) {
+            setCanonical(null);
+        }
+    }
+
     @Override
     public void visitBoundsCheck(BoundsCheck b) {
         Value index = b.index();
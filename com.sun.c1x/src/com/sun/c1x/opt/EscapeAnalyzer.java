@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.c1x.opt;
+
+import java.util.*;
+
+import com.sun.c1x.*;
+import com.sun.c1x.graph.*;
+import com.sun.c1x.ir.*;
+import com.sun.c1x.value.*;
+import com.sun.c1x.value.FrameState.PhiProcedure;
+import com.sun.cri.ci.*;
+import com.sun.cri.ri.*;
+
+/**
+ * Performs an intra-procedural escape analysis over the HIR (after inlining) and scalar replaces the
+ * {@link NewInstance} allocations that do not escape the compiled method. An allocation does not escape if its
+ * only uses are loads of its fields, stores to its fields in the block of the allocation, monitor operations and
+ * frame states. The allocation and the stores to it are removed, loads are replaced by the value last stored
+ * to the field (or the field's default value) and monitor operations on the object are elided.
+ * <p>
+ * Frame states that refer to a scalar replaced allocation continue to do so. The allocation is then
+ * {@linkplain NewInstance#isVirtual() virtual} and is described in debug info by a {@link CiVirtualObject}
+ * holding the field values at the frame state, which the runtime uses to materialize the object when the
+ * method is deoptimized.
+ * <p>
+ * As stores are only replaced in the allocating block, no phis are needed for field values. For the same
+ * reason, allocations in blocks with exception handlers are not considered: the handler's frame state would
+ * otherwise have to describe the object as it was at the throwing instruction.
+ */
+public class EscapeAnalyzer {
+
+    /**
+     * The maximum number of instance fields of a class whose allocations are scalar replaced.
+     */
+    static final int MAX_FIELDS = 32;
+
+    /**
+     * An allocation that does not escape unless proven otherwise.
+     */
+    static final class Candidate {
+        final NewInstance allocation;
+        final BlockBegin block;
+        final RiResolvedField[] fields;
+        final List<LoadField> loads = new ArrayList<LoadField>();
+        final List<AccessMonitor> monitors = new ArrayList<AccessMonitor>();
+        final List<BlockBegin> monitorBlocks = new ArrayList<BlockBegin>();
+        int stores;
+        boolean escapes;
+
+        Candidate(NewInstance allocation, BlockBegin block, RiResolvedField[] fields) {
+            this.allocation = allocation;
+            this.block = block;
+            this.fields = fields;
+        }
+
+        int fieldIndex(RiField field) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(field)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    final IR ir;
+    final List<BlockBegin> blocks = new ArrayList<BlockBegin>();
+    final IdentityHashMap<Value, Candidate> candidates = new IdentityHashMap<Value, Candidate>();
+
+    /**
+     * Marks every candidate it is applied to as escaping.
+     */
+    final ValueClosure escapeMarker = new ValueClosure() {
+        public Value apply(Value value) {
+            Candidate candidate = candidates.get(value);
+            if (candidate != null) {
+                candidate.escapes = true;
+            }
+            return value;
+        }
+    };
+
+    /**
+     * Creates a new escape analyzer and performs it on the IR.
+     *
+     * @param ir the IR to optimize
+     */
+    public EscapeAnalyzer(IR ir) {
+        this.ir = ir;
+        ir.startBlock.iteratePreOrder(new BlockClosure() {
+            public void apply(BlockBegin block) {
+                blocks.add(block);
+            }
+        });
+
+        findCandidates();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        for (BlockBegin block : blocks) {
+            for (Instruction i = block.next(); i != null; i = i.next()) {
+                checkUses(block, i);
+            }
+            block.stateBefore().forEachPhi(block, new PhiProcedure() {
+                public boolean doPhi(Phi phi) {
+                    for (int j = 0; j < phi.inputCount(); j++) {
+                        Value input = phi.inputAt(j);
+                        if (input != null) {
+                            escapeMarker.apply(input);
+                        }
+                    }
+                    return true;
+                }
+            });
+        }
+
+        List<NewInstance> replaced = new ArrayList<NewInstance>();
+        InstructionSubstituter substituter = new InstructionSubstituter(ir);
+        for (Candidate candidate : candidates.values()) {
+            if (!candidate.escapes) {
+                scalarReplace(candidate, substituter);
+                replaced.add(candidate.allocation);
+            }
+        }
+        substituter.finish();
+        for (NewInstance allocation : replaced) {
+            // field values may be loads from other replaced allocations
+            allocation.inputValuesDo(substituter);
+        }
+    }
+
+    private void findCandidates() {
+        for (BlockBegin block : blocks) {
+            if (!block.exceptionHandlerBlocks().isEmpty()) {
+                continue;
+            }
+            for (Instruction i = block.next(); i != null; i = i.next()) {
+                if (i instanceof NewInstance) {
+                    NewInstance allocation = (NewInstance) i;
+                    RiResolvedField[] fields = fieldsOf(allocation.exactType());
+                    if (fields != null) {
+                        candidates.put(allocation, new Candidate(allocation, block, fields));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the instance fields of a class whose allocations can be scalar replaced.
+     *
+     * @return the fields of {@code type} in {@link CiVirtualObject} order or {@code null} if {@code type} is not
+     *         resolved and initialized, has a finalizer, or has too many fields or fields of a machine word kind
+     */
+    private static RiResolvedField[] fieldsOf(RiResolvedType type) {
+        if (type == null || !type.isInstanceClass() || !type.isInitialized() || type.hasFinalizer()) {
+            return null;
+        }
+        ArrayList<RiResolvedField> fields = new ArrayList<RiResolvedField>();
+        for (RiResolvedType t = type; t != null; t = t.superType()) {
+            fields.addAll(0, Arrays.asList(t.declaredFields()));
+        }
+        if (fields.size() > MAX_FIELDS) {
+            return null;
+        }
+        for (RiResolvedField field : fields) {
+            if (field.kind(true) != field.kind(false)) {
+                return null;
+            }
+        }
+        return fields.toArray(new RiResolvedField[fields.size()]);
+    }
+
+    private void checkUses(BlockBegin block, Instruction i) {
+        if (i instanceof LoadField) {
+            LoadField load = (LoadField) i;
+            Candidate candidate = candidates.get(load.object());
+            if (candidate != null) {
+                if (isReplaceable(candidate, load)) {
+                    candidate.loads.add(load);
+                } else {
+                    candidate.escapes = true;
+                }
+            }
+        } else if (i instanceof StoreField) {
+            StoreField store = (StoreField) i;
+            escapeMarker.apply(store.value());
+            Candidate candidate = candidates.get(store.object());
+            if (candidate != null) {
+                if (block == candidate.block && isReplaceable(candidate, store)) {
+                    candidate.stores++;
+                } else {
+                    candidate.escapes = true;
+                }
+            }
+        } else if (i instanceof AccessMonitor) {
+            AccessMonitor monitor = (AccessMonitor) i;
+            Candidate candidate = candidates.get(monitor.object());
+            if (candidate != null) {
+                if (monitor.lockAddress() == null) {
+                    candidate.monitors.add(monitor);
+                    candidate.monitorBlocks.add(block);
+                } else {
+                    candidate.escapes = true;
+                }
+            }
+        } else {
+            i.inputValuesDo(escapeMarker);
+        }
+    }
+
+    private static boolean isReplaceable(Candidate candidate, AccessField access) {
+        return !access.isStatic() && access.isLoaded() && !access.isVolatile() && candidate.fieldIndex(access.field()) >= 0;
+    }
+
+    private void scalarReplace(Candidate candidate, InstructionSubstituter substituter) {
+        NewInstance allocation = candidate.allocation;
+        BlockBegin block = candidate.block;
+        RiResolvedField[] fields = candidate.fields;
+        Value[] values = new Value[fields.length];
+        Map<FrameState, Value[]> valuesByState = new IdentityHashMap<FrameState, Value[]>();
+
+        // replace the allocation by the default values of its fields
+        Instruction last = allocation.prev(block);
+        Instruction next = allocation.next();
+        int bci = allocation.bci();
+        Map<CiKind, Constant> defaults = new EnumMap<CiKind, Constant>(CiKind.class);
+        for (int f = 0; f < fields.length; f++) {
+            CiKind kind = fields[f].kind(false).stackKind();
+            Constant defaultValue = defaults.get(kind);
+            if (defaultValue == null) {
+                defaultValue = new Constant(CiConstant.defaultValue(kind));
+                last = last.setNext(defaultValue, bci);
+                defaults.put(kind, defaultValue);
+            }
+            values[f] = defaultValue;
+        }
+        last.resetNext(next);
+
+        // forward the stored values to the loads, recording the field values at each frame
+        // state until the last store as the debug info for those positions needs them
+        int stores = candidate.stores;
+        Instruction i = next;
+        while (i != null) {
+            Instruction following = i.next();
+            if (stores > 0) {
+                recordValues(i.stateBefore(), values, valuesByState);
+            }
+            if (i instanceof StoreField && ((StoreField) i).object() == allocation) {
+                StoreField store = (StoreField) i;
+                int index = candidate.fieldIndex(store.field());
+                Value value = narrow(store.value(), fields[index].kind(false));
+                if (value != store.value()) {
+                    // the narrowed value takes the place of the store
+                    last = last.setNext((Instruction) value, store.bci());
+                }
+                last.resetNext(following);
+                values[index] = value;
+                stores--;
+            } else {
+                if (i instanceof LoadField && ((LoadField) i).object() == allocation) {
+                    substituter.setSubst(i, values[candidate.fieldIndex(((LoadField) i).field())]);
+                }
+                if (stores > 0) {
+                    recordValues(i.stateAfter(), values, valuesByState);
+                }
+                last = i;
+            }
+            i = following;
+        }
+
+        for (LoadField load : candidate.loads) {
+            if (!load.hasSubst()) {
+                // a load outside the allocating block sees the final field values
+                substituter.setSubst(load, values[candidate.fieldIndex(load.field())]);
+            }
+        }
+        for (int m = 0; m < candidate.monitors.size(); m++) {
+            AccessMonitor monitor = candidate.monitors.get(m);
+            Instruction prev = monitor.prev(candidate.monitorBlocks.get(m));
+            prev.resetNext(monitor.next());
+        }
+        C1XMetrics.LocksElided += candidate.monitors.size();
+
+        allocation.setVirtual(fields, values, valuesByState);
+        C1XMetrics.ScalarReplacedAllocations++;
+    }
+
+    private static void recordValues(FrameState state, Value[] values, Map<FrameState, Value[]> valuesByState) {
+        if (state != null && !valuesByState.containsKey(state)) {
+            valuesByState.put(state, values.clone());
+        }
+    }
+
+    /**
+     * Gets the value a load of a field of a given kind yields after {@code value} has been stored to it.
+     *
+     * @return {@code value} or a new, not yet appended instruction truncating it to the field's kind
+     */
+    private static Value narrow(Value value, CiKind fieldKind) {
+        Convert.Op op;
+        switch (fieldKind) {
+            case Boolean:
+            case Byte:
+                op = Convert.Op.I2B;
+                break;
+            case Short:
+                op = Convert.Op.I2S;
+                break;
+            case Char:
+                op = Convert.Op.I2C;
+                break;
+            default:
+                return value;
+        }
+        if (value.isConstant()) {
+            int v = value.asConstant().asInt();
+            int narrowed = op == Convert.Op.I2B ? (byte) v : op == Convert.Op.I2S ? (short) v : (char) v;
+            return narrowed == v ? value : Constant.forInt(narrowed);
+        }
+        return new Convert(op, value, CiKind.Int);
+    }
+}
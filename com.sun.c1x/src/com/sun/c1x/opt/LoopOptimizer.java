@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.c1x.opt;
+
+import static com.sun.cri.bytecode.Bytecodes.*;
+
+import java.util.*;
+
+import com.sun.c1x.*;
+import com.sun.c1x.graph.*;
+import com.sun.c1x.ir.*;
+import com.sun.cri.ci.*;
+
+/**
+ * Optimizes the natural loops of the HIR. The loops are found from the back edges of the dominator tree,
+ * which requires the {@linkplain IR#linearScanOrder() linear scan order} to have been computed. Loops are
+ * processed innermost first and each loop is subjected to:
+ * <ul>
+ * <li>loop invariant code motion, which moves instructions that cannot trap and whose inputs are all
+ * defined outside the loop to the end of the loop's pre-header, and</li>
+ * <li>range check elimination, which removes the bounds checks of array accesses indexed by a basic
+ * induction variable whose range is known to lie within the bounds of the accessed array.</li>
+ * </ul>
+ * Loops that contain exception handlers or that have no unique pre-header ending in a {@link Goto} are left alone.
+ * <p>
+ * TODO: unroll small counted loops. This is the remaining loop optimization listed in {@code doc/performance.txt}.
+ * It requires cloning the blocks of a loop together with their instructions and frame states, which the HIR does
+ * not support yet. The counted loops it applies to are those whose induction variables are recognized by the
+ * range check elimination above.
+ */
+public class LoopOptimizer {
+
+    /**
+     * A natural loop, i.e. the header and all blocks that reach one of the header's back edges without
+     * passing through the header.
+     */
+    static final class Loop {
+        final BlockBegin header;
+        final CiBitMap blocks;
+        int size;
+
+        Loop(BlockBegin header, int maxBlockId) {
+            this.header = header;
+            this.blocks = new CiBitMap(maxBlockId);
+        }
+
+        boolean contains(BlockBegin block) {
+            return blocks.get(block.blockID);
+        }
+    }
+
+    /**
+     * Determines if any of the input values it is applied to is defined in a given loop.
+     */
+    static final class VarianceCheck implements ValueClosure {
+        final Loop loop;
+        final HashSet<Value> loopValues;
+        boolean variant;
+
+        VarianceCheck(Loop loop, HashSet<Value> loopValues) {
+            this.loop = loop;
+            this.loopValues = loopValues;
+        }
+
+        public Value apply(Value input) {
+            if (loopValues.contains(input) || (input instanceof Phi && loop.contains(input.block()))) {
+                variant = true;
+            }
+            return input;
+        }
+    }
+
+    final IR ir;
+    final List<BlockBegin> blocks;
+
+    /**
+     * Creates a new loop optimizer and performs it on the IR.
+     *
+     * @param ir the IR to optimize
+     */
+    public LoopOptimizer(IR ir) {
+        this.ir = ir;
+        this.blocks = ir.linearScanOrder();
+        for (Loop loop : findLoops()) {
+            BlockBegin preHeader = preHeader(loop);
+            if (preHeader == null || hasExceptionEdges(loop)) {
+                continue;
+            }
+            if (C1XOptions.OptLoopInvariantCodeMotion) {
+                hoistInvariants(loop, preHeader);
+            }
+            if (C1XOptions.OptRangeCheckElimination) {
+                eliminateRangeChecks(loop);
+            }
+        }
+    }
+
+    /**
+     * Finds the natural loops of the IR, merging loops that share a header.
+     *
+     * @return the loops sorted so that every loop precedes the loops enclosing it
+     */
+    List<Loop> findLoops() {
+        Map<BlockBegin, Loop> loops = new LinkedHashMap<BlockBegin, Loop>();
+        for (BlockBegin block : blocks) {
+            for (BlockBegin sux : block.end().successors()) {
+                if (dominates(sux, block)) {
+                    Loop loop = loops.get(sux);
+                    if (loop == null) {
+                        loop = new Loop(sux, ir.numberOfBlocks());
+                        loop.blocks.set(sux.blockID);
+                        loop.size = 1;
+                        loops.put(sux, loop);
+                    }
+                    addLoopBlocks(loop, block);
+                }
+            }
+        }
+        List<Loop> result = new ArrayList<Loop>(loops.values());
+        Collections.sort(result, new Comparator<Loop>() {
+            public int compare(Loop a, Loop b) {
+                return a.size - b.size;
+            }
+        });
+        return result;
+    }
+
+    private static void addLoopBlocks(Loop loop, BlockBegin backEdgeSource) {
+        ArrayList<BlockBegin> workList = new ArrayList<BlockBegin>();
+        workList.add(backEdgeSource);
+        while (!workList.isEmpty()) {
+            BlockBegin block = workList.remove(workList.size() - 1);
+            if (!loop.contains(block)) {
+                loop.blocks.set(block.blockID);
+                loop.size++;
+                workList.addAll(block.predecessors());
+            }
+        }
+    }
+
+    static boolean dominates(BlockBegin dominator, BlockBegin block) {
+        for (BlockBegin b = block; b != null; b = b.dominator()) {
+            if (b == dominator) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the unique block outside of the loop that branches to the loop header.
+     *
+     * @return the pre-header or {@code null} if the header has more than one such predecessor or the
+     *         predecessor does not end with a {@link Goto}
+     */
+    BlockBegin preHeader(Loop loop) {
+        BlockBegin preHeader = null;
+        for (BlockBegin pred : loop.header.predecessors()) {
+            if (!loop.contains(pred)) {
+                if (preHeader != null && preHeader != pred) {
+                    return null;
+                }
+                preHeader = pred;
+            }
+        }
+        if (preHeader == null || !(preHeader.end() instanceof Goto) || preHeader.end().successors().size() != 1) {
+            return null;
+        }
+        return preHeader;
+    }
+
+    /**
+     * Exception handler entries have no predecessors, so a loop reached through an exception edge may be
+     * missing blocks. Such loops are not optimized.
+     */
+    boolean hasExceptionEdges(Loop loop) {
+        for (BlockBegin block : blocks) {
+            if (loop.contains(block) && (block.isExceptionEntry() || block.numberOfExceptionHandlers() > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Loop invariant code motion
+
+    /**
+     * Moves the invariant instructions of a loop to the end of its pre-header. The blocks of the loop are
+     * visited in linear scan order so that an instruction is visited after the instructions it depends on,
+     * allowing chains of invariant computations to be hoisted in one pass.
+     */
+    void hoistInvariants(Loop loop, BlockBegin preHeader) {
+        HashSet<Value> loopValues = new HashSet<Value>();
+        boolean mayWriteMemory = false;
+        for (BlockBegin block : blocks) {
+            if (loop.contains(block)) {
+                for (Instruction instr = block.next(); instr != null; instr = instr.next()) {
+                    loopValues.add(instr);
+                    mayWriteMemory |= mayWriteMemory(instr);
+                }
+            }
+        }
+
+        VarianceCheck check = new VarianceCheck(loop, loopValues);
+        BlockEnd preHeaderEnd = preHeader.end();
+        for (BlockBegin block : blocks) {
+            if (!loop.contains(block)) {
+                continue;
+            }
+            Instruction prev = block;
+            Instruction instr = block.next();
+            while (instr != null && !(instr instanceof BlockEnd)) {
+                Instruction next = instr.next();
+                if (isHoistable(instr, mayWriteMemory)) {
+                    check.variant = false;
+                    instr.inputValuesDo(check);
+                    if (!check.variant) {
+                        // unlink from the loop block and insert before the end of the pre-header
+                        prev.resetNext(next);
+                        preHeaderEnd.prev(preHeader).resetNext(instr);
+                        instr.resetNext(preHeaderEnd);
+                        loopValues.remove(instr);
+                        C1XMetrics.LoopInvariantsHoisted++;
+                        instr = next;
+                        continue;
+                    }
+                }
+                prev = instr;
+                instr = next;
+            }
+        }
+    }
+
+    /**
+     * Determines if an instruction can be executed speculatively in the pre-header of a loop, assuming its inputs
+     * are invariant. Instructions that can trap or that record a frame state are never moved, as their exception
+     * or deoptimization state belongs to the loop.
+     */
+    private static boolean isHoistable(Instruction instr, boolean mayWriteMemory) {
+        if (instr.canTrap() || instr.stateBefore() != null || !instr.exceptionHandlers().isEmpty()) {
+            return false;
+        }
+        if (instr instanceof Op2 || instr instanceof Convert || instr instanceof NegateOp) {
+            return true;
+        }
+        if (instr instanceof ArrayLength) {
+            // array lengths are immutable, but a dominating null check may be inside the loop
+            return ((ArrayLength) instr).array().isNonNull();
+        }
+        if (instr instanceof LoadField) {
+            LoadField load = (LoadField) instr;
+            return !mayWriteMemory && !load.isVolatile() && (load.isStatic() || load.object().isNonNull());
+        }
+        return false;
+    }
+
+    /**
+     * Conservatively determines if an instruction may write a field read by another instruction in the same loop,
+     * or orders memory accesses such that loads cannot be moved above it.
+     */
+    private static boolean mayWriteMemory(Instruction instr) {
+        if (instr instanceof AccessField) {
+            AccessField access = (AccessField) instr;
+            return access instanceof StoreField || access.isVolatile() || access.needsPatching();
+        }
+        if (instr instanceof StateSplit) {
+            return !(instr instanceof AccessArray || instr instanceof NullCheck || instr instanceof Guard ||
+                     instr instanceof TypeCheck || instr instanceof NewTypeArray);
+        }
+        return instr instanceof UnsafePutRaw || instr instanceof UnsafePutObject || instr instanceof MemoryBarrier ||
+               instr instanceof StoreRegister || instr instanceof BreakpointTrap;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Range check elimination
+
+    /**
+     * Removes the bounds checks of array accesses whose index is a basic induction variable {@code i} of the loop
+     * when the loop test guarantees that {@code 0 <= i < a.length} for the accessed array {@code a}. Two loop
+     * shapes are recognized:
+     * <pre>
+     *     for (int i = c; i < a.length; i++)            // c >= 0, or i <= a.length - k with k >= 1
+     *     for (int i = a.length - k; i >= 0; i -= s)    // k >= 1, s >= 1, or i > c with c >= -1
+     * </pre>
+     * Only accesses in loop blocks dominated by the successor of the loop test that stays in the loop are
+     * considered, as the test holds for the current value of {@code i} in exactly those blocks.
+     */
+    void eliminateRangeChecks(Loop loop) {
+        BlockBegin header = loop.header;
+        if (!(header.end() instanceof If)) {
+            return;
+        }
+        If test = (If) header.end();
+        BlockBegin body;
+        Condition cond;
+        if (loop.contains(test.trueSuccessor()) && !loop.contains(test.falseSuccessor())) {
+            body = test.trueSuccessor();
+            cond = test.condition();
+        } else if (loop.contains(test.falseSuccessor()) && !loop.contains(test.trueSuccessor())) {
+            body = test.falseSuccessor();
+            cond = test.condition().negate();
+        } else {
+            return;
+        }
+
+        Phi phi;
+        Value bound;
+        if (isInductionCandidate(test.x(), header)) {
+            phi = (Phi) test.x();
+            bound = test.y();
+        } else if (isInductionCandidate(test.y(), header)) {
+            phi = (Phi) test.y();
+            bound = test.x();
+            cond = cond.mirror();
+        } else {
+            return;
+        }
+
+        // determine the initial value and the stride of the induction variable
+        Value init = null;
+        int stride = 0;
+        for (int i = 0; i < phi.inputCount(); i++) {
+            BlockBegin pred = header.predAt(i);
+            Value input = phi.inputAt(i);
+            if (loop.contains(pred)) {
+                int s = strideOf(phi, input);
+                if (s == 0 || (stride != 0 && s != stride)) {
+                    return;
+                }
+                stride = s;
+            } else {
+                init = input;
+            }
+        }
+
+        Value array;
+        if (stride == 1) {
+            // counting up: the loop test bounds i from above, the initial value from below
+            if (cond == Condition.LT && bound instanceof ArrayLength) {
+                array = ((ArrayLength) bound).array();
+            } else if (cond == Condition.LE) {
+                array = arrayOfLengthMinus(bound);
+            } else {
+                array = null;
+            }
+            if (array == null || intConstant(init, 0) == null) {
+                return;
+            }
+        } else if (stride < 0) {
+            // counting down: the initial value bounds i from above, the loop test from below
+            array = arrayOfLengthMinus(init);
+            boolean nonNegative = (cond == Condition.GE && intConstant(bound, 0) != null) ||
+                                  (cond == Condition.GT && intConstant(bound, -1) != null);
+            if (array == null || !nonNegative) {
+                return;
+            }
+        } else {
+            return;
+        }
+
+        for (BlockBegin block : blocks) {
+            if (loop.contains(block) && dominates(body, block)) {
+                for (Instruction instr = block.next(); instr != null; instr = instr.next()) {
+                    if (instr instanceof AccessIndexed) {
+                        AccessIndexed access = (AccessIndexed) instr;
+                        if (access.index() == phi && access.array() == array && access.needsBoundsCheck()) {
+                            access.eliminateBoundsCheck();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isInductionCandidate(Value value, BlockBegin header) {
+        return value instanceof Phi && value.kind == CiKind.Int && value.block() == header && !value.isIllegal();
+    }
+
+    /**
+     * Gets the constant by which {@code value} increments {@code phi}.
+     *
+     * @return the stride or {@code 0} if {@code value} is not {@code phi} plus or minus a constant
+     */
+    private static int strideOf(Phi phi, Value value) {
+        if (value instanceof ArithmeticOp) {
+            ArithmeticOp op = (ArithmeticOp) value;
+            if (op.opcode == IADD) {
+                if (op.x() == phi && op.y().isConstant()) {
+                    return op.y().asConstant().asInt();
+                }
+                if (op.y() == phi && op.x().isConstant()) {
+                    return op.x().asConstant().asInt();
+                }
+            } else if (op.opcode == ISUB && op.x() == phi && op.y().isConstant()) {
+                int c = op.y().asConstant().asInt();
+                return c == Integer.MIN_VALUE ? 0 : -c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the integer constant represented by {@code value} if it is not less than {@code min}.
+     */
+    private static Integer intConstant(Value value, int min) {
+        if (value != null && value.isConstant() && value.kind == CiKind.Int) {
+            int c = value.asConstant().asInt();
+            if (c >= min) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the array {@code a} if {@code value} computes {@code a.length - k} for some constant {@code k >= 1}.
+     */
+    private static Value arrayOfLengthMinus(Value value) {
+        if (value instanceof ArithmeticOp) {
+            ArithmeticOp op = (ArithmeticOp) value;
+            if (op.opcode == ISUB && op.x() instanceof ArrayLength && intConstant(op.y(), 1) != null) {
+                return ((ArrayLength) op.x()).array();
+            }
+            if (op.opcode == IADD) {
+                Value c = op.x() instanceof ArrayLength ? op.y() : op.x();
+                Value length = op.x() instanceof ArrayLength ? op.x() : op.y();
+                if (length instanceof ArrayLength && c.isConstant() && c.kind == CiKind.Int &&
+                                c.asConstant().asInt() <= -1 && c.asConstant().asInt() != Integer.MIN_VALUE) {
+                    return ((ArrayLength) length).array();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -76,7 +76,22 @@ public final class AMD64LIRAssembler extends LIRAssembler {
 
     @Override
     protected void emitOsrEntry() {
-        throw Util.unimplemented();
+        // On entry, RSP points at the return address exactly as if the method had just been called.
+        // The frame is built here as the prologue would, with the OSR buffer in RAX.
+        tasm.targetMethod.setOsrEntryOffset(masm.codeBuffer.position());
+        int frameSize = initialFrameSizeInBytes();
+        int lastFramePage = frameSize / target.pageSize;
+        for (int i = 0; i <= lastFramePage; i++) {
+            int offset = (i + C1XOptions.StackShadowPages) * target.pageSize;
+            bangStackWithOffset(offset - frameSize);
+        }
+        masm.decrementq(AMD64.rsp, frameSize);
+        CiCalleeSaveLayout csl = compilation.registerConfig.getCalleeSaveLayout();
+        if (csl != null && csl.size != 0) {
+            int frameToCSA = frameMap.offsetToCalleeSaveAreaStart();
+            assert frameToCSA >= 0;
+            masm.save(csl, frameToCSA);
+        }
     }
 
     @Override
@@ -1588,6 +1603,28 @@ public final class AMD64LIRAssembler extends LIRAssembler {
         }
     }
 
+    @Override
+    protected void emitBitOp(LIROpcode code, CiValue src, CiValue dst) {
+        assert src.isRegister() && dst.isRegister();
+        CiRegister value = src.asRegister();
+        CiRegister result = dst.asRegister();
+        if (code == LIROpcode.Popcnt) {
+            if (src.kind.isLong()) {
+                masm.popcntq(result, value);
+            } else {
+                masm.popcntl(result, value);
+            }
+        } else {
+            assert code == LIROpcode.Bswap;
+            moveRegs(value, result);
+            if (dst.kind.isLong()) {
+                masm.bswapq(result);
+            } else {
+                masm.bswapl(result);
+            }
+        }
+    }
+
     @Override
     protected void emitAlignment() {
         masm.align(target.wordSize);
@@ -552,6 +552,25 @@ public class AMD64LIRGenerator extends LIRGenerator {
         }
     }
 
+    @Override
+    protected boolean genBitIntrinsic(Intrinsic x) {
+        switch (x.intrinsic()) {
+            case java_lang_Integer$bitCount:
+            case java_lang_Long$bitCount:
+                if (!C1XOptions.UsePopCountInstruction) {
+                    return false;
+                }
+                lir.popcnt(load(x.argumentAt(0)), createResultVariable(x));
+                return true;
+            case java_lang_Integer$reverseBytes:
+            case java_lang_Long$reverseBytes:
+                lir.bswap(load(x.argumentAt(0)), createResultVariable(x));
+                return true;
+            default:
+                throw Util.shouldNotReachHere("Unknown bit intrinsic");
+        }
+    }
+
     @Override
     public void visitConvert(Convert x) {
         CiValue input = load(x.value());
@@ -692,7 +711,8 @@ public class AMD64LIRGenerator extends LIRGenerator {
 
     @Override
     protected CiValue osrBufferPointer() {
-        return Util.nonFatalUnimplemented(null);
+        // the runtime jumps to the OSR entry with the buffer in the return register
+        return compilation.registerConfig.getReturnRegister(CiKind.Long).asValue(compilation.target.wordKind);
     }
 
     @Override
@@ -559,7 +559,7 @@ public abstract class FrameState {
             for (int i = 0; i < max; i++) {
                 Value value = state.values[i];
                 if (value != null && value.isLive()) {
-                    proc.doValue(value);
+                    doLiveStateValue(value, proc);
                 }
             }
             if (state.locks != null) {
@@ -567,7 +567,7 @@ public abstract class FrameState {
                     Value instr = state.locks.get(i);
                     if (instr != null) {
                         assert instr.isLive();
-                        proc.doValue(instr);
+                        doLiveStateValue(instr, proc);
                     }
                 }
             }
@@ -575,6 +575,23 @@ public abstract class FrameState {
         }
     }
 
+    /**
+     * Passes a live value of this frame state or one of its callers to {@code proc}. A
+     * {@linkplain NewInstance#isVirtual() scalar replaced} allocation is described by the values
+     * of its fields at this (innermost) frame state, so those are passed instead.
+     */
+    private void doLiveStateValue(Value value, ValueProcedure proc) {
+        if (value instanceof NewInstance && ((NewInstance) value).isVirtual()) {
+            for (Value fieldValue : ((NewInstance) value).virtualValuesAt(this)) {
+                if (fieldValue.isLive()) {
+                    proc.doValue(fieldValue);
+                }
+            }
+        } else {
+            proc.doValue(value);
+        }
+    }
+
     public static String toString(FrameState fs) {
         StringBuilder sb = new StringBuilder();
         String nl = CiUtil.NEW_LINE;
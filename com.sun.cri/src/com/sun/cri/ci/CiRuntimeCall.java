@@ -38,12 +38,13 @@ public enum CiRuntimeCall {
     arithmeticludiv(Long, Long, Long),
     UnwindException(Void, Object),
     Deoptimize(Void),
+    TypeGuardMiss(Void),
     RegisterFinalizer(Void, Object),
     HandleException(Void, Object),
     SetDeoptInfo(Void, Object),
     CreateNullPointerException(Object),
     CreateOutOfBoundsException(Object, Int),
-    OSRMigrationEnd(Void),
+    OSRMigrationEnd(Void, Long),
     JavaTimeMillis(Long),
     JavaTimeNanos(Long),
     Debug(Void),
@@ -56,6 +57,9 @@ public enum CiRuntimeCall {
     ArithmeticLog(Double, Double),
     ArithmeticLog10(Double, Double),
     ArithmeticSin(Double, Double),
+    ArithmeticExp(Double, Double),
+    ArithmeticPow(Double, Double, Double),
+    ArithmeticAtan2(Double, Double, Double),
     GenericCallback(Object, Object, Object);
 
     public final CiKind resultKind;
@@ -360,6 +360,7 @@ public class CiTargetMethod implements Serializable {
     private int frameSize = -1;
     private int customStackAreaOffset = -1;
     private int registerRestoreEpilogueOffset = -1;
+    private int osrEntryOffset = -1;
     private int deoptReturnAddressOffset;
 
     /**
@@ -500,6 +501,16 @@ public class CiTargetMethod implements Serializable {
         this.registerRestoreEpilogueOffset = registerRestoreEpilogueOffset;
     }
 
+    /**
+     * Sets the offset of the on-stack replacement entry point.
+     *
+     * @param osrEntryOffset the offset in the machine code of the OSR entry point
+     */
+    public void setOsrEntryOffset(int osrEntryOffset) {
+        assert this.osrEntryOffset == -1;
+        this.osrEntryOffset = osrEntryOffset;
+    }
+
     /**
      * The frame size of the method in bytes.
      *
@@ -518,6 +529,14 @@ public class CiTargetMethod implements Serializable {
         return registerRestoreEpilogueOffset;
     }
 
+    /**
+     * @return the code offset of the entry point used for on-stack replacement, or -1 if this method was not compiled
+     *         for on-stack replacement
+     */
+    public int osrEntryOffset() {
+        return osrEntryOffset;
+    }
+
     /**
      * Offset in bytes for the custom stack area (relative to sp).
      * @return the offset in bytes
@@ -116,10 +116,13 @@ public interface RiXirGenerator {
      * an object is identical to a given hub constant. In pseudo code:
      * <pre>
      *     if (object.getHub() != hub) {
-     *         uncommonTrap();
+     *         typeGuardMiss();
      *     }
      * </pre>
      * This snippet should only be used when the object is guaranteed not to be null.
+     * It is specific to speculative type guards on profiled call sites: a miss always calls the
+     * {@link com.sun.cri.ci.CiRuntimeCall#TypeGuardMiss} runtime entry, which records the miss in the
+     * profile of the guarded call site before deoptimizing. Other type checks must not use it.
      */
     XirSnippet genTypeCheck(XirSite site, XirArgument object, XirArgument hub, RiType type);
 
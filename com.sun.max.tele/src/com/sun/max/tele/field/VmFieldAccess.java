@@ -153,7 +153,8 @@ public class VmFieldAccess extends AbstractVmHolder {
     public final TeleInstanceReferenceFieldAccess CodeAttribute_code = new TeleInstanceReferenceFieldAccess(CodeAttribute.class, "code", byte[].class);
     public final TeleInstanceReferenceFieldAccess CodeAttribute_cp = new TeleInstanceReferenceFieldAccess(CodeAttribute.class, "cp", ConstantPool.class);
     public final TeleStaticReferenceFieldAccess CodeManager_runtimeBaselineCodeRegion = new TeleStaticReferenceFieldAccess(CodeManager.class, "runtimeBaselineCodeRegion", SemiSpaceCodeRegion.class);
-    public final TeleStaticReferenceFieldAccess CodeManager_runtimeOptCodeRegion = new TeleStaticReferenceFieldAccess(CodeManager.class, "runtimeOptCodeRegion", CodeRegion.class);
+    public final TeleStaticReferenceFieldAccess CodeManager_runtimeOptCodeRegion = new TeleStaticReferenceFieldAccess(CodeManager.class, "runtimeOptCodeRegion", FreeListCodeRegion.class);
+    public final TeleStaticReferenceFieldAccess CodeManager_runtimeStubCodeRegion = new TeleStaticReferenceFieldAccess(CodeManager.class, "runtimeStubCodeRegion", CodeRegion.class);
     public final TeleInstanceIntFieldAccess CodeRegion_additionCompletedCount = new TeleInstanceIntFieldAccess(CodeRegion.class, "additionCompletedCount");
     public final TeleInstanceIntFieldAccess CodeRegion_additionStartedCount = new TeleInstanceIntFieldAccess(CodeRegion.class, "additionStartedCount");
     public final TeleInstanceLongFieldAccess CodeRegion_evictionCompletedCount = new TeleInstanceLongFieldAccess(CodeRegion.class, "evictionCompletedCount");
@@ -90,9 +90,10 @@ public final class VmCodeCacheAccess extends AbstractVmHolder implements MaxCode
 
     private final String bootCodeCacheRegionName;
 
-    // The three code cache regions known to be allocated by the VM
+    // The four code cache regions known to be allocated by the VM
     private VmCodeCacheRegion bootCodeCacheRegion = null;
     private VmSemiSpaceCodeCacheRegion dynamicBaselineCodeCacheRegion = null;
+    private VmCodeCacheRegion dynamicStubCodeCacheRegion = null;
     private VmCodeCacheRegion dynamicOptCodeCacheRegion = null;
 
     /**
@@ -140,10 +141,12 @@ public final class VmCodeCacheAccess extends AbstractVmHolder implements MaxCode
         vm().addressSpace().add(bootCodeCacheRegion.memoryRegion());
         dynamicBaselineCodeCacheRegion = new VmSemiSpaceCodeCacheRegion(vm(), teleCodeManager.teleRuntimeBaselineCodeRegion(), this);
         vm().addressSpace().add(dynamicBaselineCodeCacheRegion.memoryRegion());
+        dynamicStubCodeCacheRegion = new VmUnmanagedCodeCacheRegion(vm(), teleCodeManager.teleRuntimeStubCodeRegion(), this);
+        vm().addressSpace().add(dynamicStubCodeCacheRegion.memoryRegion());
         dynamicOptCodeCacheRegion = new VmUnmanagedCodeCacheRegion(vm(), teleCodeManager.teleRuntimeOptCodeRegion(), this);
         vm().addressSpace().add(dynamicOptCodeCacheRegion.memoryRegion());
 
-        vmCodeCacheRegions = Arrays.asList(bootCodeCacheRegion, dynamicBaselineCodeCacheRegion, dynamicOptCodeCacheRegion);
+        vmCodeCacheRegions = Arrays.asList(bootCodeCacheRegion, dynamicBaselineCodeCacheRegion, dynamicStubCodeCacheRegion, dynamicOptCodeCacheRegion);
         maxCodeCacheRegions = Collections.unmodifiableList(new ArrayList<MaxCodeCacheRegion>(vmCodeCacheRegions));
 
         for (VmCodeCacheRegion codeCacheRegion : vmCodeCacheRegions) {
@@ -243,6 +246,7 @@ public final class VmCodeCacheAccess extends AbstractVmHolder implements MaxCode
         codeCacheInspectableObjects.add(teleCodeManager);
         codeCacheInspectableObjects.addAll(bootCodeCacheRegion.inspectableObjects());
         codeCacheInspectableObjects.addAll(dynamicBaselineCodeCacheRegion.inspectableObjects());
+        codeCacheInspectableObjects.addAll(dynamicStubCodeCacheRegion.inspectableObjects());
         codeCacheInspectableObjects.addAll(dynamicOptCodeCacheRegion.inspectableObjects());
         return codeCacheInspectableObjects;
     }
@@ -48,6 +48,14 @@ public final class TeleCodeManager extends TeleTupleObject {
      */
     private TeleSemiSpaceCodeRegion teleRuntimeBaselineCodeRegion = null;
 
+    /**
+     * Access to the runtime (dynamic) code region holding the stubs and adapters created by the {@link CodeManager} in the VM.
+     * <p>
+     * Assume that the region is created at startup, and that its identity doesn't change, just the
+     * address when memory is allocated for it.  Assume further that it is unmanaged.
+     */
+    private TeleCodeRegion teleRuntimeStubCodeRegion = null;
+
     /**
      * Access to one of the runtime (dynamic) code region created by the {@link CodeManager} in the VM.
      * <p>
@@ -75,6 +83,9 @@ public final class TeleCodeManager extends TeleTupleObject {
             final RemoteReference runtimeBaselineCodeRegionReference = fields().CodeManager_runtimeBaselineCodeRegion.readRemoteReference(vm());
             teleRuntimeBaselineCodeRegion = (TeleSemiSpaceCodeRegion) objects().makeTeleObject(runtimeBaselineCodeRegionReference);
 
+            final RemoteReference runtimeStubCodeRegionReference = fields().CodeManager_runtimeStubCodeRegion.readRemoteReference(vm());
+            teleRuntimeStubCodeRegion = (TeleCodeRegion) objects().makeTeleObject(runtimeStubCodeRegionReference);
+
             final RemoteReference runtimeOptCodeRegionReference = fields().CodeManager_runtimeOptCodeRegion.readRemoteReference(vm());
             teleRuntimeOptCodeRegion = (TeleCodeRegion) objects().makeTeleObject(runtimeOptCodeRegionReference);
 
@@ -98,6 +109,11 @@ public final class TeleCodeManager extends TeleTupleObject {
         return teleRuntimeBaselineCodeRegion;
     }
 
+    public TeleCodeRegion teleRuntimeStubCodeRegion() {
+        initialize();
+        return teleRuntimeStubCodeRegion;
+    }
+
     public TeleCodeRegion teleRuntimeOptCodeRegion() {
         initialize();
         return teleRuntimeOptCodeRegion;
@@ -160,6 +160,12 @@ public final class VirtualMemory {
     @C_FUNCTION
     private static native Pointer virtualMemory_deallocate(Address start, Size size, int type);
 
+    @C_FUNCTION
+    private static native boolean virtualMemory_releaseMemory(Address address, Size size, int type);
+
+    @C_FUNCTION
+    private static native boolean virtualMemory_adviseHugePages(Address address, Size size, int type);
+
 
     private static final TimerMetric allocateAtFixedAddressTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
     private static final TimerMetric allocateMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
@@ -167,12 +173,14 @@ public final class VirtualMemory {
     private static final TimerMetric reserveMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
     private static final TimerMetric commitMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
     private static final TimerMetric uncommitMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
+    private static final TimerMetric releaseMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
     private static final TimerMetric deallocateMemoryTime = new TimerMetric(new SingleUseTimer(Clock.SYSTEM_MILLISECONDS));
 
     public static void reportMetrics() {
         reserveMemoryTime.report("VirtualMemory.reserveMemory", Log.out);
         commitMemoryTime.report("VirtualMemory.commitMemory", Log.out);
         uncommitMemoryTime.report("VirtualMemory.uncommitMemory", Log.out);
+        releaseMemoryTime.report("VirtualMemory.releaseMemory", Log.out);
         deallocateMemoryTime.report("VirtualMemory.deallocate", Log.out);
         allocateMemoryTime.report("VirtualMemory.allocate", Log.out);
         allocateAtFixedAddressTime.report("VirtualMemory.allocateAtFixedAddress", Log.out);
@@ -226,6 +234,47 @@ public final class VirtualMemory {
         return !uncommitted.isZero();
     }
 
+    /**
+     * Give back to the OS the physical pages backing a range of committed virtual memory, without unmapping it (e.g., with madvise(MADV_DONTNEED)).
+     * The range remains accessible: its pages are lazily re-populated with zeros on next access.
+     *
+     * @param address page-aligned start of the range
+     * @param size page-aligned size of the range
+     * @param type of memory
+     * @return true if the pages were released, false if the platform doesn't support it or the operation failed
+     */
+    public static boolean releaseMemory(Address address, Size size, Type type) {
+        if (address.isZero()) {
+            return false;
+        }
+        if (TraceAnonOperations) {
+            traceRange("releaseMemory", address, size);
+        }
+        releaseMemoryTime.start();
+        final boolean released = virtualMemory_releaseMemory(address, size, type.ordinal());
+        releaseMemoryTime.stop();
+        return released;
+    }
+
+    /**
+     * Ask the OS to back a range of virtual memory with huge pages where possible (e.g., with madvise(MADV_HUGEPAGE)).
+     * This is only a hint: the range stays usable whether or not the request is honored.
+     *
+     * @param address page-aligned start of the range
+     * @param size page-aligned size of the range
+     * @param type of memory
+     * @return true if the advice was accepted, false if the platform doesn't support it or the operation failed
+     */
+    public static boolean adviseHugePages(Address address, Size size, Type type) {
+        if (address.isZero()) {
+            return false;
+        }
+        if (TraceAnonOperations) {
+            traceRange("adviseHugePages", address, size);
+        }
+        return virtualMemory_adviseHugePages(address, size, type.ordinal());
+    }
+
     /**
      * Return the amount of physical memory (in bytes) of the underlying platform.
      * @return amount of physical memory in bytes
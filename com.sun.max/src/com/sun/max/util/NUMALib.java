@@ -71,4 +71,18 @@ public class NUMALib {
 
     @C_FUNCTION
     public static native int numaPageSize();
+
+    @C_FUNCTION
+    public static native int numaConfiguredNodes();
+
+    /**
+     * Bind the physical pages backing a range of virtual memory to a NUMA node.
+     *
+     * @param address start of the range (page aligned)
+     * @param size size of the range in bytes
+     * @param node the NUMA node the pages must be allocated from
+     * @return 0 on success, -1 otherwise
+     */
+    @C_FUNCTION
+    public static native int numaBind(long address, long size, int node);
 }
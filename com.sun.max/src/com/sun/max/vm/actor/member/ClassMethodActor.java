@@ -41,6 +41,7 @@ import com.sun.max.vm.compiler.RuntimeCompiler.*;
 import com.sun.max.vm.compiler.target.*;
 import com.sun.max.vm.jni.*;
 import com.sun.max.vm.object.ObjectAccess;
+import com.sun.max.vm.profile.*;
 import com.sun.max.vm.runtime.FatalError;
 import com.sun.max.vm.type.*;
 import com.sun.max.vm.verifier.*;
@@ -405,6 +406,128 @@ public abstract class ClassMethodActor extends MethodActor {
         return Compilations.currentTargetMethod(compiledState, null);
     }
 
+    /**
+     * Gets the profile gathered by the current baseline version of this method.
+     *
+     * @return {@code null} if there is no baseline version of this method or it does not gather a profile
+     */
+    public final MethodProfile baselineProfile() {
+        TargetMethod tm = Compilations.currentTargetMethod(compiledState, Nature.BASELINE);
+        if (tm != null) {
+            MethodProfile mpo = tm.profile();
+            if (mpo != null && mpo.rawData() != null) {
+                return mpo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of invocations of the current baseline version of this method, derived from the
+     * {@linkplain MethodProfile#entryBackedgeCount counter} that its profiling code decrements from
+     * {@link MethodInstrumentation#initialEntryBackedgeCount}. As that counter also counts backward branches, this is
+     * an upper bound that saturates at the initial count.
+     *
+     * @return {@code -1} if there is no baseline version of this method with a profile or its counter was disabled
+     */
+    @Override
+    public int invocationCount() {
+        TargetMethod tm = Compilations.currentTargetMethod(compiledState, Nature.BASELINE);
+        if (tm != null) {
+            MethodProfile mpo = tm.profile();
+            if (mpo != null) {
+                final int initial = MethodInstrumentation.initialEntryBackedgeCount;
+                final int count = mpo.entryBackedgeCount;
+                if (count <= 0) {
+                    return initial;
+                }
+                if (count <= initial) {
+                    return initial - count;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int exceptionProbability(int bci) {
+        MethodProfile mpo = baselineProfile();
+        if (mpo != null) {
+            int seen = mpo.getExceptionSeenCount(bci);
+            if (seen != MethodProfile.UNDEFINED_EXECUTION_COUNT) {
+                int executed = mpo.getExecutionCount(bci);
+                if (executed > 0) {
+                    return (int) Math.min(100L, seen * 100L / executed);
+                }
+                return seen > 0 ? 100 : 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the receiver type profile recorded by the baseline version of this method at a given bytecode index.
+     * The anonymous remainder of the profile (i.e. types that did not fit in the profile) contributes to
+     * {@link RiTypeProfile#count} and {@link RiTypeProfile#morphism} but has no entry in {@link RiTypeProfile#types}.
+     * No profile is returned for a method whose speculative type guards have {@linkplain MethodProfile#isTypeSpeculationAllowed() failed} too often.
+     */
+    @Override
+    public RiTypeProfile typeProfile(int bci) {
+        MethodProfile mpo = baselineProfile();
+        if (mpo == null || !mpo.isTypeSpeculationAllowed()) {
+            return null;
+        }
+        Integer[] typeProfile = mpo.getTypeProfile(bci);
+        if (typeProfile == null) {
+            return null;
+        }
+        int pairs = typeProfile.length / 2;
+        long total = 0;
+        int recorded = 0;
+        for (int i = 0; i < pairs; i++) {
+            total += typeProfile[i * 2 + 1];
+            if (typeProfile[i * 2] != MethodProfile.UNDEFINED_TYPE_ID) {
+                recorded++;
+            }
+        }
+        if (total <= 0) {
+            return null;
+        }
+        RiTypeProfile result = new RiTypeProfile();
+        result.count = (int) Math.min(total, Integer.MAX_VALUE);
+        result.morphism = pairs;
+        result.types = new RiResolvedType[recorded];
+        result.probabilities = new float[recorded];
+        int j = 0;
+        for (int i = 0; i < pairs; i++) {
+            int typeId = typeProfile[i * 2];
+            if (typeId != MethodProfile.UNDEFINED_TYPE_ID) {
+                result.types[j] = ClassIDManager.toClassActor(typeId);
+                result.probabilities[j] = (float) (typeProfile[i * 2 + 1] / (double) total);
+                j++;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public double branchProbability(int bci) {
+        MethodProfile mpo = baselineProfile();
+        if (mpo != null) {
+            return mpo.getBranchTakenProbability(bci);
+        }
+        return -1;
+    }
+
+    @Override
+    public double[] switchProbability(int bci) {
+        MethodProfile mpo = baselineProfile();
+        if (mpo != null) {
+            return mpo.getSwitchProbabilities(bci);
+        }
+        return null;
+    }
+
     /**
      * Records if this object returned {@code true} for a call to {@link #canBePermanentlyLinked()} during
      * boot image building.
@@ -153,7 +153,7 @@ public final class Code {
     }
 
     public static Size getRuntimeCodeRegionSize() {
-        return codeManager.getRuntimeBaselineCodeRegionSize().plus(codeManager.getRuntimeOptCodeRegionSize());
+        return codeManager.getRuntimeBaselineCodeRegionSize().plus(codeManager.getRuntimeStubCodeRegionSize()).plus(codeManager.getRuntimeOptCodeRegionSize());
     }
 
     public static MemoryManagerMXBean getMemoryManagerMXBean() {
@@ -174,6 +174,7 @@ public final class Code {
             super(name);
             add(new CodeMemoryPoolMXBean(bootCodeRegion(), this));
             add(new CodeMemoryPoolMXBean(codeManager.getRuntimeBaselineCodeRegion(), this));
+            add(new CodeMemoryPoolMXBean(codeManager.getRuntimeStubCodeRegion(), this));
             add(new CodeMemoryPoolMXBean(codeManager.getRuntimeOptCodeRegion(), this));
         }
     }
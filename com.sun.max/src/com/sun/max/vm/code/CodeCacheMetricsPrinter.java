@@ -84,8 +84,34 @@ public final class CodeCacheMetricsPrinter {
 
     public void printTo(PrintStream out) {
         final CodeManager codeManager = Code.getCodeManager();
-        printRegionTo(codeManager.getRuntimeBaselineCodeRegion(), out);
-        printRegionTo(codeManager.getRuntimeOptCodeRegion(), out);
+        final CodeRegion[] segments = {codeManager.getRuntimeBaselineCodeRegion(), codeManager.getRuntimeStubCodeRegion(), codeManager.getRuntimeOptCodeRegion()};
+        printOccupancyTo(segments, out);
+        for (CodeRegion cr : segments) {
+            printRegionTo(cr, out);
+        }
+    }
+
+    /**
+     * Prints the occupancy of each segment of the code cache. The capacity of the semi-space baseline segment
+     * is that of its to-space; the used bytes of the optimized segment exclude the blocks freed by the sweeper.
+     */
+    void printOccupancyTo(CodeRegion[] segments, PrintStream out) {
+        out.println("========== Occupancy per code cache segment ==========");
+        CodeCacheMetricsPrinter.Table table = new Table("Segment", "Methods", "Capacity", "Used", "Free");
+        table.addRow("------");
+        for (CodeRegion cr : segments) {
+            long capacity = cr.size().toLong();
+            if (cr instanceof SemiSpaceCodeRegion) {
+                capacity /= 2;
+            }
+            long used = cr.getAllocationMark().minus(cr.gcstart()).toLong();
+            if (cr instanceof FreeListCodeRegion) {
+                used = ((FreeListCodeRegion) cr).occupancy().toLong();
+            }
+            table.addRow(cr.regionName(), cr.numTargetMethods(), capacity, pct(used, capacity), pct(capacity - used, capacity));
+        }
+        out.println(CiUtil.tabulate(table.cells.toArray(), table.cols, 1, 1));
+        out.println();
     }
 
     void printRegionTo(CodeRegion cr, PrintStream out) {
@@ -162,6 +188,10 @@ public final class CodeCacheMetricsPrinter {
         return a + "(" + ((a * 100) / b) + "%)";
     }
 
+    private static String pct(long a, long b) {
+        return a + "(" + (b == 0 ? 0 : (a * 100) / b) + "%)";
+    }
+
     private static String x(int a, int b) {
         if (a == 0 || b == 0) {
             return "";
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.code;
+
+import static com.sun.max.platform.Platform.*;
+import static com.sun.max.vm.compiler.target.Stub.Type.*;
+
+import java.util.*;
+
+import com.sun.max.lang.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.compiler.deopt.*;
+import com.sun.max.vm.compiler.target.*;
+import com.sun.max.vm.compiler.target.aarch64.*;
+import com.sun.max.vm.compiler.target.amd64.*;
+import com.sun.max.vm.compiler.target.arm.*;
+import com.sun.max.vm.compiler.target.riscv64.*;
+import com.sun.max.vm.profile.*;
+import com.sun.max.vm.runtime.*;
+import com.sun.max.vm.stack.*;
+import com.sun.max.vm.thread.*;
+import com.sun.max.vm.ti.*;
+
+/**
+ * Sweeps cold optimized methods out of the runtime opt code region, complementing {@link CodeEviction} which
+ * only evicts baseline code.
+ * <p>
+ * A sweep is requested when an allocation would take the occupancy of the region above
+ * {@link CodeManager#optCodeCacheCeiling}. Each sweep is a VM operation that
+ * <ol>
+ * <li>resets the sweep age of all optimized methods found executing on a thread stack and of their direct callees,</li>
+ * <li>releases the space of invalidated methods that no frame references anymore, after resetting all direct calls
+ * to them, unless some thread is still in the middle of a deoptimization,</li>
+ * <li>increments the sweep age of all other optimized methods, and</li>
+ * <li>decays the invocation counters of the baseline methods' {@linkplain MethodProfile profiles}.</li>
+ * </ol>
+ * Once the VM operation has completed, the methods whose sweep age reached {@link #CodeCacheSweepColdAge} are made
+ * not entrant by {@linkplain Deoptimization deoptimizing} them, and their space is reclaimed by a subsequent sweep.
+ * Optimized code is not instrumented, so its hotness is approximated by how recently it was seen active.
+ */
+public final class CodeCacheSweeper extends VmOperation {
+
+    /**
+     * Enables sweeping of the opt code region.
+     */
+    static boolean UseCodeCacheSweeper = true;
+
+    /**
+     * Number of sweeps after which an optimized method that was not seen active is made not entrant.
+     */
+    static int CodeCacheSweepColdAge = 4;
+
+    static boolean TraceCodeCacheSweeps;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "UseCodeCacheSweeper", CodeCacheSweeper.class,
+            "Sweep cold optimized methods when the opt code cache grows above its ceiling.", MaxineVM.Phase.STARTING);
+        VMOptions.addFieldOption("-XX:", "CodeCacheSweepColdAge", CodeCacheSweeper.class,
+            "Number of code cache sweeps after which an inactive optimized method is made not entrant (default: 4).",
+            MaxineVM.Phase.STARTING);
+        VMOptions.addFieldOption("-XX:", "TraceCodeCacheSweeps", CodeCacheSweeper.class, "Trace code cache sweeps.");
+    }
+
+    /**
+     * The fraction of the ceiling that must be allocated after a sweep before the next sweep is started.
+     */
+    private static final int SWEEP_INTERVAL_FRACTION = 16;
+
+    private static final CodeCacheSweeper sweeper = new CodeCacheSweeper();
+
+    private static int sweepCount;
+
+    /**
+     * The occupancy of the opt code region that must be exceeded before the next sweep is started.
+     */
+    private static long nextSweepOccupancy;
+
+    private final FreeListCodeRegion region = CodeManager.runtimeOptCodeRegion;
+
+    /**
+     * Set when a thread is executing a deoptimization stub, which may still refer to invalidated code.
+     */
+    private boolean pendingDeoptimization;
+
+    private int nReleased;
+    private long releasedBytes;
+    private int nAged;
+
+    private CodeCacheSweeper() {
+        super("code cache sweeper", null, Mode.Safepoint);
+    }
+
+    public static int sweepCount() {
+        return sweepCount;
+    }
+
+    /**
+     * Gets the occupancy of the opt code region above which cold methods are swept.
+     */
+    static Size ceiling() {
+        final Size ceiling = CodeManager.optCodeCacheCeiling.getValue();
+        final Size reserved = CodeManager.runtimeOptCodeRegionSize.getValue();
+        if (ceiling.isZero() || ceiling.greaterThan(reserved)) {
+            return reserved.dividedBy(4).times(3);
+        }
+        return ceiling;
+    }
+
+    /**
+     * Starts a sweep if allocating {@code size} bytes would take the opt code region above its
+     * {@linkplain #ceiling() ceiling} and enough has been allocated since the previous sweep.
+     * This must be called with heap allocation enabled.
+     */
+    static void sweepIfNeeded(Size size) {
+        if (!UseCodeCacheSweeper) {
+            return;
+        }
+        final long occupancy = sweeper.region.occupancy().plus(size).toLong();
+        final long ceiling = ceiling().toLong();
+        if (occupancy > ceiling && occupancy > nextSweepOccupancy) {
+            run(true);
+            nextSweepOccupancy = sweeper.region.occupancy().toLong() + ceiling / SWEEP_INTERVAL_FRACTION;
+        }
+    }
+
+    /**
+     * Runs a sweep.
+     *
+     * @param makeColdMethodsNotEntrant specifies if the methods that became cold are to be deoptimized after the
+     *            sweep. This requires heap allocation to be enabled for the current thread.
+     */
+    public static void run(boolean makeColdMethodsNotEntrant) {
+        sweeper.submit();
+        if (makeColdMethodsNotEntrant && Deoptimization.UseDeopt) {
+            final ArrayList<TargetMethod> coldMethods = new ArrayList<TargetMethod>();
+            sweeper.region.doAllTargetMethods(new TargetMethod.Closure() {
+                @Override
+                public boolean doTargetMethod(TargetMethod tm) {
+                    if (isSweepable(tm) && tm.invalidated() == null && tm.sweepAge() >= CodeCacheSweepColdAge) {
+                        coldMethods.add(tm);
+                    }
+                    return true;
+                }
+            });
+            if (!coldMethods.isEmpty()) {
+                if (TraceCodeCacheSweeps) {
+                    Log.print("Code cache sweep ");
+                    Log.print(sweepCount);
+                    Log.print(": making ");
+                    Log.print(coldMethods.size());
+                    Log.println(" cold methods not entrant");
+                }
+                new Deoptimization(coldMethods).go();
+            }
+        }
+    }
+
+    /**
+     * Determines if a given method in the opt code region may be swept. Adapters, stubs and methods that cannot
+     * be deoptimized stay in the code cache.
+     */
+    static boolean isSweepable(TargetMethod tm) {
+        final ClassMethodActor cma = tm.classMethodActor;
+        return cma != null && !(tm instanceof Adapter) && tm.stubType() == null && !tm.isBaseline() && !cma.isNative() && !cma.isUnsafe();
+    }
+
+    /**
+     * Determines if the space of a given method can be released in the current sweep.
+     */
+    private boolean isReleasable(TargetMethod tm) {
+        return tm.invalidated() != null && !tm.isMarked() && !tm.isWiped() && region.contains(tm.start()) && isSweepable(tm);
+    }
+
+    private static boolean isDeoptimizationStub(TargetMethod tm) {
+        return tm.is(DeoptStub) || tm.is(DeoptStubFromCompilerStub) || tm.is(DeoptStubFromSafepoint) || tm.is(UncommonTrapStub) || tm.is(UnrollStub);
+    }
+
+    @Override
+    protected void doIt() {
+        ++sweepCount;
+        pendingDeoptimization = false;
+        nReleased = 0;
+        releasedBytes = 0;
+        nAged = 0;
+
+        doAllThreads();
+
+        if (!pendingDeoptimization) {
+            CodeManager.Inspect.notifyEvictionStarted(region);
+            region.doAllTargetMethods(directCallResetter);
+            CodeManager.runtimeStubCodeRegion.doAllTargetMethods(directCallResetter);
+            CodeManager.runtimeBaselineCodeRegion.doNewTargetMethods(directCallResetter);
+            CodeManager.bootToBaselineDo(directCallResetter);
+            region.doAllTargetMethods(releaser);
+            region.removeWipedMethods();
+            CodeManager.Inspect.notifyEvictionCompleted(region);
+        }
+
+        region.doAllTargetMethods(ager);
+        CodeManager.runtimeBaselineCodeRegion.doNewTargetMethods(profileDecayer);
+
+        if (TraceCodeCacheSweeps) {
+            final boolean lockDisabledSafepoints = Log.lock();
+            Log.print("Code cache sweep ");
+            Log.print(sweepCount);
+            Log.print(": released ");
+            Log.print(nReleased);
+            Log.print(" methods (");
+            Log.print(releasedBytes);
+            Log.print(" bytes), aged ");
+            Log.print(nAged);
+            Log.print(" methods, occupancy ");
+            Log.print(region.occupancy().toLong());
+            Log.print(" bytes, free ");
+            Log.print(region.freeBytes().toLong());
+            Log.print(" bytes");
+            if (pendingDeoptimization) {
+                Log.print(", release postponed by pending deoptimization");
+            }
+            Log.println();
+            Log.unlock(lockDisabledSafepoints);
+        }
+    }
+
+    @Override
+    protected void doThread(VmThread vmThread, Pointer ip, Pointer sp, Pointer fp) {
+        // bail out if the thread was stopped in native code before invoking any Java method
+        if (ip.isZero() && sp.isZero() && fp.isZero()) {
+            return;
+        }
+        walker.setTLA(vmThread.tla());
+        walker.inspect(ip, sp, fp, activeMethodsMarker);
+    }
+
+    private final VmStackFrameWalker walker = new VmStackFrameWalker(Pointer.zero());
+
+    /**
+     * Marks the optimized methods executing on a stack and resets the sweep age of those and of their direct callees.
+     */
+    final class ActiveMethodsMarker extends RawStackFrameVisitor {
+        @Override
+        public boolean visitFrame(StackFrameCursor current, StackFrameCursor callee) {
+            final TargetMethod tm = current.targetMethod();
+            if (tm == null) {
+                return true;
+            }
+            if (isDeoptimizationStub(tm)) {
+                pendingDeoptimization = true;
+            } else if (region.contains(tm.start())) {
+                tm.mark();
+                tm.resetSweepAge();
+                final Safepoints sps = tm.safepoints();
+                for (int i = sps.nextDirectCall(0); i >= 0; i = sps.nextDirectCall(i + 1)) {
+                    final TargetMethod directCallee = readCallTarget(tm, sps.causePosAt(i)).toTargetMethod();
+                    if (directCallee != null && region.contains(directCallee.start())) {
+                        directCallee.resetSweepAge();
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private final ActiveMethodsMarker activeMethodsMarker = new ActiveMethodsMarker();
+
+    /**
+     * Resets the direct calls to methods whose space is about to be released so that they are re-linked by the
+     * static trampoline the next time they are executed.
+     */
+    final class DirectCallResetter implements TargetMethod.Closure {
+        @Override
+        public boolean doTargetMethod(TargetMethod tm) {
+            if (tm.isWiped()) {
+                return true;
+            }
+            final Safepoints sps = tm.safepoints();
+            int dcIndex = 0;
+            for (int i = 0; i < sps.size(); i++) {
+                if (sps.isSetAt(Safepoints.DIRECT_CALL, i)) {
+                    final TargetMethod callee = readCallTarget(tm, sps.causePosAt(i)).toTargetMethod();
+                    if (callee != null && callee != tm && isReleasable(callee)) {
+                        tm.resetDirectCall(i, dcIndex);
+                    }
+                    dcIndex++;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final DirectCallResetter directCallResetter = new DirectCallResetter();
+
+    /**
+     * Releases the space of the methods that are neither executing nor called anymore.
+     */
+    final class Releaser implements TargetMethod.Closure {
+        @Override
+        public boolean doTargetMethod(TargetMethod tm) {
+            if (isReleasable(tm)) {
+                nReleased++;
+                releasedBytes += tm.size().toLong();
+                VMTI.handler().methodUnloaded(tm.classMethodActor, tm.codeStart().toPointer());
+                tm.wipe();
+                region.release(tm);
+            }
+            return true;
+        }
+    }
+
+    private final Releaser releaser = new Releaser();
+
+    /**
+     * Increments the sweep age of the methods that were not seen active and unmarks the others.
+     */
+    final class Ager implements TargetMethod.Closure {
+        @Override
+        public boolean doTargetMethod(TargetMethod tm) {
+            if (tm.isMarked()) {
+                tm.unmark();
+            } else if (isSweepable(tm) && tm.invalidated() == null) {
+                nAged++;
+                tm.incrementSweepAge();
+            }
+            return true;
+        }
+    }
+
+    private final Ager ager = new Ager();
+
+    final class ProfileDecayer implements TargetMethod.Closure {
+        @Override
+        public boolean doTargetMethod(TargetMethod tm) {
+            final MethodProfile profile = tm.profile();
+            if (profile != null) {
+                profile.decayEntryBackedgeCount();
+            }
+            return true;
+        }
+    }
+
+    private final ProfileDecayer profileDecayer = new ProfileDecayer();
+
+    private static CodePointer readCallTarget(TargetMethod tm, int callPos) {
+        if (platform().isa == ISA.AMD64) {
+            return AMD64TargetMethodUtil.readCall32Target(tm, callPos);
+        } else if (platform().isa == ISA.ARM) {
+            return ARMTargetMethodUtil.readCall32Target(tm, callPos);
+        } else if (platform().isa == ISA.Aarch64) {
+            return Aarch64TargetMethodUtil.readCall32Target(tm, callPos);
+        } else if (platform().isa == ISA.RISCV64) {
+            return RISCV64TargetMethodUtil.readCall32Target(tm, callPos);
+        }
+        throw FatalError.unimplemented("com.sun.max.vm.code.CodeCacheSweeper.readCallTarget");
+    }
+}
@@ -191,6 +191,7 @@ public final class CodeCacheValidation extends VmOperation {
     private void validateDirectCalls() {
         CodeManager.runtimeBaselineCodeRegion.doNewTargetMethods(directCallValidator);
         CodeManager.runtimeOptCodeRegion.doAllTargetMethods(directCallValidator);
+        CodeManager.runtimeStubCodeRegion.doAllTargetMethods(directCallValidator);
         Code.bootCodeRegion().doAllTargetMethods(directCallValidator);
     }
 
@@ -825,6 +825,7 @@ public final class CodeEviction extends VmOperation {
 
         timerStart();
         CodeManager.runtimeOptCodeRegion.doAllTargetMethods(invalidateOptDirectCalls);
+        CodeManager.runtimeStubCodeRegion.doAllTargetMethods(invalidateOptDirectCalls);
         tInvalidateCallsOpt = timerEnd();
 
         timerStart();
@@ -939,6 +940,7 @@ public final class CodeEviction extends VmOperation {
         timerStart();
         optFixCalls.fixed = 0;
         CodeManager.runtimeOptCodeRegion.doAllTargetMethods(optFixCalls);
+        CodeManager.runtimeStubCodeRegion.doAllTargetMethods(optFixCalls);
         nCallOpt = optFixCalls.fixed;
         tFixCallsOpt = timerEnd();
 
@@ -1213,6 +1215,7 @@ public final class CodeEviction extends VmOperation {
         s2 = "@";
         CodeManager.runtimeBaselineCodeRegion.doNewTargetMethods(dumpDirectCalls);
         CodeManager.runtimeOptCodeRegion.doAllTargetMethods(dumpDirectCalls);
+        CodeManager.runtimeStubCodeRegion.doAllTargetMethods(dumpDirectCalls);
         Code.bootCodeRegion().doAllTargetMethods(dumpDirectCalls);
     }
 
@@ -26,6 +26,7 @@ import static com.sun.max.vm.VMOptions.*;
 import java.util.*;
 
 import com.sun.max.annotate.*;
+import com.sun.max.memory.*;
 import com.sun.max.unsafe.*;
 import com.sun.max.vm.*;
 import com.sun.max.vm.actor.holder.*;
@@ -66,6 +67,38 @@ public abstract class CodeManager {
         register(new VMSizeOption("-XX:ReservedOptCodeCacheSize=", Size.M.times(16),
             "Memory allocated for runtime code region cache."), MaxineVM.Phase.PRISTINE);
 
+    /**
+     * VM option for specifying the amount of memory to be reserved for the runtime stub code region cache.
+     * Stubs and adapters are small and generated once per signature or call site kind, so this region is small.
+     */
+    public static final VMSizeOption runtimeStubCodeRegionSize =
+        register(new VMSizeOption("-XX:ReservedStubCodeCacheSize=", Size.M.times(8),
+            "Memory allocated for runtime stub and adapter code region cache."), MaxineVM.Phase.PRISTINE);
+
+    /**
+     * Request huge pages for the runtime opt code region to reduce the iTLB misses of hot optimized code.
+     */
+    static boolean OptCodeCacheHugePages;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "OptCodeCacheHugePages", CodeManager.class,
+            "Back the runtime opt code region with huge pages where the platform supports it.", MaxineVM.Phase.PRISTINE);
+    }
+
+    /**
+     * Alignment of the runtime opt code region when it is backed by huge pages.
+     */
+    protected static final Size HUGE_PAGE_ALIGNMENT = Size.M.times(2);
+
+    /**
+     * VM option for specifying the occupancy of the runtime opt code region above which cold methods are
+     * {@linkplain CodeCacheSweeper swept}.
+     */
+    public static final VMSizeOption optCodeCacheCeiling =
+        register(new VMSizeOption("-XX:OptCodeCacheCeiling=", Size.zero(),
+            "Occupancy of the runtime opt code region above which cold methods are swept " +
+            "(default: 3/4 of the reserved opt code cache size)."), MaxineVM.Phase.PRISTINE);
+
     private int nAllocations = 0;
 
     private int lastSurvivorSize;
@@ -114,7 +147,11 @@ public abstract class CodeManager {
         /**
          * Methods that stay (e.g., compiled by an optimizing compiler).
          */
-        LONG;
+        LONG,
+        /**
+         * Code that is never evicted nor swept (e.g., stubs and adapters).
+         */
+        PERMANENT;
     }
 
     /**
@@ -124,10 +161,18 @@ public abstract class CodeManager {
     protected static final SemiSpaceCodeRegion runtimeBaselineCodeRegion = new SemiSpaceCodeRegion("Code-Runtime-Baseline");
 
     /**
-     * The opt code region contains machine code generated by the optimising compiler as well as adapters and trampolines.
+     * The stub code region contains the stubs, trampolines and adapters generated at runtime. Keeping them apart from
+     * optimized code leaves the opt code region densely packed with hot code.
      */
     @INSPECTED
-    protected static final CodeRegion runtimeOptCodeRegion = new CodeRegion("Code-Runtime-Opt");
+    protected static final CodeRegion runtimeStubCodeRegion = new CodeRegion("Code-Runtime-Stubs");
+
+    /**
+     * The opt code region contains machine code generated by the optimising compiler.
+     * The space of methods {@linkplain CodeCacheSweeper swept} from it is reused for subsequent allocations.
+     */
+    @INSPECTED
+    protected static final FreeListCodeRegion runtimeOptCodeRegion = new FreeListCodeRegion("Code-Runtime-Opt");
 
     /**
      * Get the runtime baseline code region.
@@ -137,9 +182,17 @@ public abstract class CodeManager {
         return runtimeBaselineCodeRegion;
     }
 
+    /**
+     * Get the runtime stub code region.
+     * @return the runtime stub code region
+     */
+    public CodeRegion getRuntimeStubCodeRegion() {
+        return runtimeStubCodeRegion;
+    }
+
     /**
      * Get the runtime opt code region.
-     * @return the runtime baseline code region
+     * @return the runtime opt code region
      */
     public CodeRegion getRuntimeOptCodeRegion() {
         return runtimeOptCodeRegion;
@@ -151,10 +204,25 @@ public abstract class CodeManager {
     void initialize() {
     }
 
+    /**
+     * Advises the OS to back the runtime opt code region with huge pages if {@code -XX:+OptCodeCacheHugePages} is set.
+     * This must be called once the region is bound.
+     */
+    protected void adviseHugePages() {
+        if (OptCodeCacheHugePages) {
+            final Address start = runtimeOptCodeRegion.start().alignUp(HUGE_PAGE_ALIGNMENT.toInt());
+            final Address end = runtimeOptCodeRegion.end().alignDown(HUGE_PAGE_ALIGNMENT.toInt());
+            if (end.greaterThan(start) && !VirtualMemory.adviseHugePages(start, end.minus(start).asSize(), VirtualMemory.Type.CODE)) {
+                Log.print("Warning: huge pages are not available for ");
+                Log.println(runtimeOptCodeRegion.regionName());
+            }
+        }
+    }
+
     private static int BOOT_TO_BASELINE_INITIAL_SIZE = 10;
 
     /**
-     * Records all direct call links from the boot code region to the baseline code region.
+     * Records all direct call links from the boot code region to the runtime baseline and opt code regions.
      */
     private static TargetMethod[] bootToBaseline = new TargetMethod[BOOT_TO_BASELINE_INITIAL_SIZE];
 
@@ -208,6 +276,11 @@ public abstract class CodeManager {
         allocationSize = bundleSize;
         Object allocationTraceDescription = Code.TraceCodeAllocation ? (targetMethod.classMethodActor() == null ? targetMethod.regionName() : targetMethod.classMethodActor()) : null;
 
+        if (!inHeap && !isHosted() && lifespan == Lifespan.LONG) {
+            // Sweeping may deoptimize cold methods, which requires heap allocation.
+            CodeCacheSweeper.sweepIfNeeded(allocationSize);
+        }
+
         Pointer start;
         boolean mustReenableSafepoints = false;
         if (inHeap) {
@@ -224,7 +297,9 @@ public abstract class CodeManager {
                 // The allocation and initialization of objects in a code region must be atomic with respect to garbage collection.
                 mustReenableSafepoints = !SafepointPoll.disable();
                 Heap.disableAllocationForCurrentThread();
-                if (lifespan == Lifespan.LONG) {
+                if (lifespan == Lifespan.PERMANENT) {
+                    currentCodeRegion = runtimeStubCodeRegion;
+                } else if (lifespan == Lifespan.LONG) {
                     currentCodeRegion = runtimeOptCodeRegion;
                 } else {
                     currentCodeRegion = runtimeBaselineCodeRegion;
@@ -248,6 +323,12 @@ public abstract class CodeManager {
                     CodeEviction.codeEvictionLogger.logStats_Surviving(lastSurvivorSize, largestSurvivorSize);
                 }
             }
+
+            // Allocation in the opt code region may take another attempt once the space of swept methods is released.
+            if (start.isZero() && currentCodeRegion == runtimeOptCodeRegion && CodeCacheSweeper.UseCodeCacheSweeper) {
+                CodeCacheSweeper.run(false);
+                start = currentCodeRegion.allocate(allocationSize, false);
+            }
         }
 
         traceChunkAllocation(allocationTraceDescription, allocationSize, start, inHeap);
@@ -261,6 +342,8 @@ public abstract class CodeManager {
                 Log.println(" - try larger value for " + runtimeBaselineCodeRegionSize.toString() + "<n>");
             } else if (currentCodeRegion == runtimeOptCodeRegion) {
                 Log.println(" - try larger value for " + runtimeOptCodeRegionSize.toString() + "<n>");
+            } else if (currentCodeRegion == runtimeStubCodeRegion) {
+                Log.println(" - try larger value for " + runtimeStubCodeRegionSize.toString() + "<n>");
             }
             MaxineVM.exit(11);
         }
@@ -403,6 +486,9 @@ public abstract class CodeManager {
         if (runtimeOptCodeRegion.contains(codePointer)) {
             return runtimeOptCodeRegion;
         }
+        if (runtimeStubCodeRegion.contains(codePointer)) {
+            return runtimeStubCodeRegion;
+        }
         return null;
     }
 
@@ -434,6 +520,7 @@ public abstract class CodeManager {
             visitAllIn(cellVisitor, Code.bootCodeRegion());
         }
         visitAllIn(cellVisitor, runtimeBaselineCodeRegion);
+        visitAllIn(cellVisitor, runtimeStubCodeRegion);
         visitAllIn(cellVisitor, runtimeOptCodeRegion);
     }
 
@@ -459,6 +546,14 @@ public abstract class CodeManager {
         return runtimeBaselineCodeRegionSize.getValue();
     }
 
+    /**
+     * Return size of runtime stub code region.
+     * @return size of runtime stub code region
+     */
+    public Size getRuntimeStubCodeRegionSize() {
+        return runtimeStubCodeRegionSize.getValue();
+    }
+
     /**
      * Return size of runtime opt code region.
      * @return size of runtime opt code region
@@ -467,6 +562,14 @@ public abstract class CodeManager {
         return runtimeOptCodeRegionSize.getValue();
     }
 
+    /**
+     * Determines if a given code address lies in one of the runtime code regions, whose methods may be
+     * {@linkplain CodeEviction evicted} or {@linkplain CodeCacheSweeper swept}.
+     */
+    public static boolean isRuntimeCode(Address address) {
+        return runtimeBaselineCodeRegion.contains(address) || runtimeOptCodeRegion.contains(address);
+    }
+
     /**
      * By definition, short-lived methods go to the baseline code region.
      */
@@ -192,6 +192,11 @@ public class CodeRegion extends LinearAllocatorRegion {
         additionCompletedCount++;       // The array becomes once again inspectable
 
         assert start().alignUp(FIND_INDEX_ALIGN).equals(start());
+        if (insertionPoint != length - 1) {
+            // the indexes of all methods following the insertion point have shifted
+            rebuildFindIndex();
+            return;
+        }
         int startIdx = targetMethod.start().plus(FIND_INDEX_ALIGN - 1).minus(start()).unsignedShiftedRight(FIND_INDEX_ALIGN_SHIFT).toInt();
         int endIdx = targetMethod.end().minus(1).minus(start()).unsignedShiftedRight(FIND_INDEX_ALIGN_SHIFT).toInt();
         if (endIdx >= findIndex.length) {
@@ -203,6 +208,29 @@ public class CodeRegion extends LinearAllocatorRegion {
         }
     }
 
+    /**
+     * Recomputes {@link #findIndex} from the sorted list of target methods. Each page is mapped to the first
+     * method that ends after the beginning of the page, which is the method covering the page start if there is one.
+     */
+    protected void rebuildFindIndex() {
+        int pages = 0;
+        if (length > 0) {
+            pages = targetMethods[length - 1].end().minus(1).minus(start()).unsignedShiftedRight(FIND_INDEX_ALIGN_SHIFT).toInt() + 1;
+        }
+        if (pages > findIndex.length) {
+            findIndex = Arrays.copyOf(findIndex, (pages * 3) / 2 + 1);
+        }
+        int methodIdx = 0;
+        for (int i = 0; i < pages; i++) {
+            final Address pageStart = start().plus((long) i << FIND_INDEX_ALIGN_SHIFT);
+            while (targetMethods[methodIdx].end().lessEqual(pageStart)) {
+                methodIdx++;
+            }
+            findIndex[i] = methodIdx;
+        }
+        Arrays.fill(findIndex, pages, findIndex.length, 0);
+    }
+
     /**
      * Looks up the target method containing a particular address, using the index.
      *
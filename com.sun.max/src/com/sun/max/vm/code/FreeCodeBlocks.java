@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.code;
+
+import com.sun.max.unsafe.*;
+
+/**
+ * The free blocks of a {@link FreeListCodeRegion}: a fixed-size table of disjoint address ranges sorted in increasing
+ * order, in which adjacent ranges are coalesced. The table only does the bookkeeping; formatting the blocks as dead
+ * objects is left to the region.
+ */
+final class FreeCodeBlocks {
+
+    /**
+     * Start addresses of the free blocks, sorted in increasing order.
+     */
+    private final long[] starts;
+
+    /**
+     * End addresses of the free blocks, in the same order as {@link #starts}.
+     */
+    private final long[] ends;
+
+    private int numBlocks;
+
+    /**
+     * Number of bytes in the free blocks.
+     */
+    private long freeBytes;
+
+    /**
+     * Number of bytes released while the table was full.
+     */
+    private long lostBytes;
+
+    FreeCodeBlocks(int capacity) {
+        starts = new long[capacity];
+        ends = new long[capacity];
+    }
+
+    int numBlocks() {
+        return numBlocks;
+    }
+
+    long freeBytes() {
+        return freeBytes;
+    }
+
+    long lostBytes() {
+        return lostBytes;
+    }
+
+    Address blockStart(int i) {
+        return Address.fromLong(starts[i]);
+    }
+
+    Address blockEnd(int i) {
+        return Address.fromLong(ends[i]);
+    }
+
+    /**
+     * Finds the first block that can hold a given number of bytes, either exactly or leaving a remainder of at least
+     * {@code minRemainder} bytes.
+     *
+     * @return the index of the block, or -1 if there is none
+     */
+    int firstFit(Size size, Size minRemainder) {
+        for (int i = 0; i < numBlocks; i++) {
+            final long blockSize = ends[i] - starts[i];
+            if (blockSize == size.toLong() || blockSize >= size.toLong() + minRemainder.toLong()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes a number of bytes from the start of a block, removing the block if nothing is left of it.
+     *
+     * @return the start of the bytes taken
+     */
+    Address take(int i, Size size) {
+        final long start = starts[i];
+        if (start + size.toLong() == ends[i]) {
+            remove(i);
+        } else {
+            starts[i] = start + size.toLong();
+        }
+        freeBytes -= size.toLong();
+        return Address.fromLong(start);
+    }
+
+    /**
+     * Adds a range to the free blocks, coalescing it with the blocks it is adjacent to.
+     *
+     * @return false if the range is lost because the table is full
+     */
+    boolean add(Address start, Address end) {
+        int i = 0;
+        while (i < numBlocks && starts[i] < start.toLong()) {
+            i++;
+        }
+        final boolean mergePrevious = i > 0 && ends[i - 1] == start.toLong();
+        final boolean mergeNext = i < numBlocks && starts[i] == end.toLong();
+        if (mergePrevious && mergeNext) {
+            ends[i - 1] = ends[i];
+            remove(i);
+        } else if (mergePrevious) {
+            ends[i - 1] = end.toLong();
+        } else if (mergeNext) {
+            starts[i] = start.toLong();
+        } else if (numBlocks < starts.length) {
+            System.arraycopy(starts, i, starts, i + 1, numBlocks - i);
+            System.arraycopy(ends, i, ends, i + 1, numBlocks - i);
+            starts[i] = start.toLong();
+            ends[i] = end.toLong();
+            numBlocks++;
+        } else {
+            lostBytes += end.minus(start).toLong();
+            return false;
+        }
+        freeBytes += end.minus(start).toLong();
+        return true;
+    }
+
+    /**
+     * Removes the last block if it ends at the allocation mark of the region.
+     *
+     * @param mark the allocation mark of the region
+     * @return the start of the removed block, i.e., the retracted allocation mark, or {@code mark} if no block ends there
+     */
+    Address retractMark(Address mark) {
+        final int last = numBlocks - 1;
+        if (last >= 0 && ends[last] == mark.toLong()) {
+            final long start = starts[last];
+            freeBytes -= ends[last] - start;
+            numBlocks--;
+            return Address.fromLong(start);
+        }
+        return mark;
+    }
+
+    private void remove(int i) {
+        System.arraycopy(starts, i + 1, starts, i, numBlocks - i - 1);
+        System.arraycopy(ends, i + 1, ends, i, numBlocks - i - 1);
+        numBlocks--;
+    }
+}
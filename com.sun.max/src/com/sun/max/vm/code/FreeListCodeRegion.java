@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.code;
+
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.compiler.target.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.debug.*;
+
+/**
+ * A linearly allocated code region whose {@linkplain CodeCacheSweeper swept} methods are given back to a list of free
+ * blocks that subsequent allocations are satisfied from. Adjacent free blocks are coalesced, and a free block
+ * reaching the allocation mark is handed back to the linear allocator by retracting the mark.
+ * <p>
+ * Free blocks are formatted as dead objects so that the region remains parsable by the GC. The free list is
+ * a fixed-size table so that it can be updated during a safepoint without allocating; space released while the
+ * table is full stays unusable until a neighbouring block is freed.
+ */
+public final class FreeListCodeRegion extends CodeRegion {
+
+    /**
+     * Maximum number of distinct free blocks that are tracked.
+     */
+    private static final int MAX_FREE_BLOCKS = 1024;
+
+    private final FreeCodeBlocks freeBlocks = new FreeCodeBlocks(MAX_FREE_BLOCKS);
+
+    public FreeListCodeRegion(String description) {
+        super(description);
+    }
+
+    /**
+     * Gets the number of bytes occupied by live code, i.e., the allocated part of this region minus the free blocks.
+     */
+    public Size occupancy() {
+        return getAllocationMark().minus(start()).asSize().minus(freeBlocks.freeBytes());
+    }
+
+    /**
+     * Gets the number of bytes in the free blocks of this region.
+     */
+    public Size freeBytes() {
+        return Size.fromLong(freeBlocks.freeBytes());
+    }
+
+    /**
+     * Gets the number of bytes that were released while the free block table was full.
+     */
+    public Size lostBytes() {
+        return Size.fromLong(freeBlocks.lostBytes());
+    }
+
+    /**
+     * Allocates from the first free block that fits, and otherwise from the linear allocator.
+     * Any remainder of a free block that is split must be large enough to be formatted as a dead object.
+     */
+    @Override
+    public Pointer allocate(Size size, boolean adjustForDebugTag) {
+        if (!adjustForDebugTag) {
+            final Size minRemainder = DebugHeap.adjustForDebugTag(Pointer.zero()).plus(HeapSchemeAdaptor.minObjectSize()).asSize();
+            final int i = freeBlocks.firstFit(size, minRemainder);
+            if (i >= 0) {
+                final Address blockEnd = freeBlocks.blockEnd(i);
+                final Address cell = freeBlocks.take(i, size);
+                final Address end = cell.plus(size);
+                if (!end.equals(blockEnd)) {
+                    HeapSchemeAdaptor.fillWithDeadObject(end, blockEnd);
+                }
+                return cell.asPointer();
+            }
+        }
+        return super.allocate(size, adjustForDebugTag);
+    }
+
+    /**
+     * Gives the space of a swept method back to this region. The caller must have removed every reference
+     * to the code of the method and must be executing at a safepoint.
+     *
+     * @param tm a method allocated in this region that is neither executing nor called anymore
+     */
+    void release(TargetMethod tm) {
+        HeapSchemeAdaptor.fillWithDeadObject(tm.start(), tm.end());
+        if (freeBlocks.add(tm.start(), tm.end())) {
+            // Hand a free block at the top of the region back to the linear allocator.
+            setMark(freeBlocks.retractMark(getAllocationMark()));
+        }
+    }
+
+    /**
+     * Removes all {@linkplain TargetMethod#isWiped() wiped} methods from the sorted list of target methods
+     * and rebuilds the lookup index.
+     *
+     * @return the number of methods removed
+     */
+    int removeWipedMethods() {
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            final TargetMethod tm = targetMethods[i];
+            if (!tm.isWiped()) {
+                targetMethods[n++] = tm;
+            }
+        }
+        final int removed = length - n;
+        for (int i = n; i < length; i++) {
+            targetMethods[i] = null;
+        }
+        length = n;
+        if (removed != 0) {
+            rebuildFindIndex();
+        }
+        return removed;
+    }
+}
@@ -29,8 +29,8 @@ import com.sun.max.vm.heap.*;
 
 /**
  * A code manager that reserves and allocates virtual memory immediately after the boot region.
- * Specifically, the code manager allocates two page-aligned contiguous ranges of virtual memory immediately (one for each of the baseline and optimized code regions) after the
- * first virtual memory page next to the boot heap region highest address.
+ * Specifically, the code manager allocates three page-aligned contiguous ranges of virtual memory immediately (one for each of the baseline, stub and optimized code regions) after the
+ * first virtual memory page next to the boot heap region highest address. The optimized code region comes last so that it ends the code cache.
  * It relies on cooperation with the HeapScheme to reserve up to 1 G of space next to the boot heap region.
  * This guarantees that (1) virtual memory can be allocated at that address, and (2) all code allocated from the code manager will be within a 32-bit displacement from
  * any code in the boot code region.
@@ -45,8 +45,12 @@ public class NearBootRegionCodeManager extends CodeManager {
     void initialize() {
         final Address baselineAddress = Code.bootCodeRegion().end().alignUp(Platform.platform().pageSize);
         tryAllocate(runtimeBaselineCodeRegionSize, runtimeBaselineCodeRegion, baselineAddress);
-        final Address optAddress = runtimeBaselineCodeRegion.end().alignUp(Platform.platform().pageSize);
+        final Address stubAddress = runtimeBaselineCodeRegion.end().alignUp(Platform.platform().pageSize);
+        tryAllocate(runtimeStubCodeRegionSize, runtimeStubCodeRegion, stubAddress);
+        final int optAlignment = OptCodeCacheHugePages ? HUGE_PAGE_ALIGNMENT.toInt() : Platform.platform().pageSize;
+        final Address optAddress = runtimeStubCodeRegion.end().alignUp(optAlignment);
         tryAllocate(runtimeOptCodeRegionSize, runtimeOptCodeRegion, optAddress);
+        adviseHugePages();
     }
 
     private void tryAllocate(VMSizeOption s, CodeRegion cr, Address address) {
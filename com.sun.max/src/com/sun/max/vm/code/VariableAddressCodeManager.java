@@ -46,7 +46,9 @@ public class VariableAddressCodeManager extends CodeManager {
     @Override
     void initialize() {
         tryAllocate(runtimeBaselineCodeRegionSize, runtimeBaselineCodeRegion);
+        tryAllocate(runtimeStubCodeRegionSize, runtimeStubCodeRegion);
         tryAllocate(runtimeOptCodeRegionSize, runtimeOptCodeRegion);
+        adviseHugePages();
     }
 
     private void tryAllocate(VMSizeOption s, CodeRegion cr) {
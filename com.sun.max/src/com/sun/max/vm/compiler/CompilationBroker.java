@@ -45,6 +45,7 @@ import com.sun.max.vm.actor.*;
 import com.sun.max.vm.actor.holder.*;
 import com.sun.max.vm.actor.member.*;
 import com.sun.max.vm.code.*;
+import com.sun.max.vm.compiler.deopt.*;
 import com.sun.max.vm.compiler.target.*;
 import com.sun.max.vm.compiler.target.aarch64.Aarch64TargetMethodUtil;
 import com.sun.max.vm.compiler.target.amd64.*;
@@ -737,6 +738,36 @@ public class CompilationBroker {
         }
     }
 
+    /**
+     * Handles a backward branch counter overflow in a profiled method by attempting to
+     * {@linkplain OnStackReplacement on-stack replace} the baseline frame executing the loop.
+     * This method must be called on the thread that overflowed the counter and does not return
+     * if the frame is replaced.
+     *
+     * @param mpo profiling object (including the method itself)
+     * @param bci the bytecode index of the loop header targeted by the backward branch
+     */
+    public static void backedgeCounterOverflow(MethodProfile mpo, int bci) {
+        if (mpo.compilationDisabled) {
+            mpo.entryBackedgeCount = Integer.MAX_VALUE;
+            return;
+        }
+        if (Heap.isAllocationDisabledForCurrentThread()) {
+            logCounterOverflow(mpo, "Stopped on-stack replacement because allocation is currently disabled");
+            mpo.rearmOSR();
+            return;
+        }
+        if (Compilation.isCompilationRunningInCurrentThread()) {
+            logCounterOverflow(mpo, "Stopped on-stack replacement because compilation is running in current thread");
+            mpo.rearmOSR();
+            return;
+        }
+        logCounterOverflow(mpo, "on-stack replacement");
+        OnStackReplacement.migrate(mpo, bci);
+        // Still executing the baseline frame: try again later
+        mpo.rearmOSR();
+    }
+
     public static void logCounterOverflow(MethodProfile mpo, String msg) {
         if (VMOptions.verboseOption.verboseCompilation) {
             boolean lockDisabledSafepoints = Log.lock();
@@ -128,6 +128,22 @@ public interface RuntimeCompiler {
      */
     String name(ClassMethodActor classMethodActor);
 
+    /**
+     * Implemented by an {@link Nature#OPT optimizing} compiler that can compile a method for on-stack replacement.
+     */
+    interface OSR {
+        /**
+         * Compiles a method with an {@linkplain TargetMethod#osrEntryPosition() entry point} at the loop header denoted
+         * by {@code osrBCI}. The entry point expects a buffer holding the values of the method's local variables.
+         * The resulting target method is installed in the code cache but does not become the compiled state of the method.
+         *
+         * @param classMethodActor the method to compile
+         * @param osrBCI the bytecode index of a loop header
+         * @return the compiled method or {@code null} if the method cannot be compiled for on-stack replacement at {@code osrBCI}
+         */
+        TargetMethod compileOSR(ClassMethodActor classMethodActor, int osrBCI);
+    }
+
     abstract class DefaultNameAdapter implements RuntimeCompiler {
         public String name(ClassMethodActor classMethodActor) {
             return getClass().getSimpleName();
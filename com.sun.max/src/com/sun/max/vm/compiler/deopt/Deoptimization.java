@@ -22,6 +22,7 @@
 package com.sun.max.vm.compiler.deopt;
 
 import com.sun.cri.ci.*;
+import com.sun.cri.ri.*;
 import com.sun.max.Utils;
 import com.sun.max.annotate.*;
 import com.sun.max.lang.ISA;
@@ -34,8 +35,11 @@ import com.sun.max.vm.compiler.WordUtil;
 import com.sun.max.vm.compiler.target.*;
 import com.sun.max.vm.compiler.target.TargetMethod.FrameAccess;
 import com.sun.max.vm.compiler.target.amd64.AMD64TargetMethodUtil;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.intrinsics.*;
 import com.sun.max.vm.log.VMLog.Record;
 import com.sun.max.vm.log.hosted.*;
+import com.sun.max.vm.monitor.*;
 import com.sun.max.vm.profile.MethodProfile;
 import com.sun.max.vm.reference.*;
 import com.sun.max.vm.runtime.*;
@@ -43,6 +47,7 @@ import com.sun.max.vm.stack.*;
 import com.sun.max.vm.thread.VmThread;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import static com.sun.max.platform.Platform.platform;
 import static com.sun.max.platform.Platform.target;
@@ -117,6 +122,11 @@ public class Deoptimization extends VmOperation {
      */
     private static StaticMethodActor MaxMiscLoweringsDeoptimizeMethodActor;
 
+    /**
+     * Method actor of the runtime entry called by optimized code when a speculative type guard fails.
+     */
+    private static ClassMethodActor typeGuardMissMethodActor;
+
     /**
      * The set of target methods to be deoptimized.
      */
@@ -155,6 +165,11 @@ public class Deoptimization extends VmOperation {
         MaxMiscLoweringsDeoptimizeMethodActor = methodActor;
     }
 
+    @HOSTED_ONLY
+    public static void initializeTypeGuardMissMethodActor(ClassMethodActor methodActor) {
+        typeGuardMissMethodActor = methodActor;
+    }
+
     /**
      * Mark methods for deoptimization.
      */
@@ -794,6 +809,7 @@ public class Deoptimization extends VmOperation {
             topFrame = handleFrame;
         }
 
+        materializeVirtualObjects(topFrame);
 
         if (deoptLogger.enabled()) {
             CiFrame locationsFrame = (pendingException == null) ?
@@ -822,7 +838,7 @@ public class Deoptimization extends VmOperation {
                 if (Safepoints.isDirectCall(safepoints.safepointAt(safepointIndex))) {
                     final int callPos = safepoints.causePosAt(safepointIndex);
                     ClassMethodActor callee = tm.callPosToCallee(callPos);
-                    if (callee == MaxMiscLoweringsDeoptimizeMethodActor) {
+                    if (callee == MaxMiscLoweringsDeoptimizeMethodActor || callee == typeGuardMissMethodActor) {
                         reexecute = true;
                     }
                 }
@@ -905,6 +921,93 @@ public class Deoptimization extends VmOperation {
         return null;
     }
 
+    /**
+     * Replaces the {@linkplain CiVirtualObject virtual objects} in the values of a chain of frames with objects
+     * allocated and initialized from the field values recorded for them by the compiler. All occurrences of a
+     * virtual object (as identified by its {@linkplain CiVirtualObject#id() id}) are replaced by the same object.
+     * A virtual object in a lock slot of a frame was locked by the optimized code without a monitor operation
+     * being emitted, so the materialized object is locked on behalf of the deoptimized frame. Frames are
+     * processed from the outermost caller inwards so that such objects are locked in the order the
+     * deoptimized code would have locked them.
+     *
+     * @param topFrame the top most frame of the chain
+     */
+    private static void materializeVirtualObjects(CiFrame topFrame) {
+        ArrayList<CiFrame> frames = new ArrayList<CiFrame>();
+        for (CiFrame frame = topFrame; frame != null; frame = frame.caller()) {
+            frames.add(frame);
+        }
+        HashMap<Integer, Object> objects = null;
+        for (int f = frames.size() - 1; f >= 0; f--) {
+            CiFrame frame = frames.get(f);
+            CiValue[] values = frame.values;
+            int firstLock = frame.numLocals + frame.numStack;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof CiVirtualObject) {
+                    if (objects == null) {
+                        objects = new HashMap<Integer, Object>();
+                    }
+                    Object object = materialize((CiVirtualObject) values[i], objects);
+                    values[i] = CiConstant.forObject(object);
+                    if (i >= firstLock) {
+                        Monitor.enter(object);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the object materialized for a given virtual object, allocating and initializing it first if necessary.
+     */
+    private static Object materialize(CiVirtualObject virtualObject, HashMap<Integer, Object> objects) {
+        Object object = objects.get(virtualObject.id());
+        if (object == null) {
+            ClassActor classActor = (ClassActor) virtualObject.type();
+            object = Heap.createTuple(classActor.dynamicHub());
+            objects.put(virtualObject.id(), object);
+            int count = initializeFields(object, classActor, virtualObject.values(), 0, objects);
+            FatalError.check(count == virtualObject.values().length, "virtual object field count mismatch");
+        }
+        return object;
+    }
+
+    /**
+     * Initializes the instance fields of {@code object} declared by {@code classActor} and its super classes.
+     * The values of a virtual object are ordered by class, from {@link Object} down, and by field offset within a class.
+     *
+     * @return the index of the first value in {@code values} not consumed by this call
+     */
+    private static int initializeFields(Object object, ClassActor classActor, CiValue[] values, int index, HashMap<Integer, Object> objects) {
+        int next = index;
+        if (classActor.superClassActor != null) {
+            next = initializeFields(object, classActor.superClassActor, values, next, objects);
+        }
+        for (RiResolvedField field : classActor.declaredFields()) {
+            FieldActor fieldActor = (FieldActor) field;
+            CiValue value = values[next++];
+            if (value instanceof CiVirtualObject) {
+                value = CiConstant.forObject(materialize((CiVirtualObject) value, objects));
+            }
+            CiConstant c = (CiConstant) value;
+            // Checkstyle: stop
+            switch (fieldActor.kind.asEnum) {
+                case BOOLEAN: fieldActor.setBoolean(object, c.asPrimitive() != 0); break;
+                case BYTE:    fieldActor.setByte(object, (byte) c.asPrimitive()); break;
+                case CHAR:    fieldActor.setChar(object, (char) c.asPrimitive()); break;
+                case SHORT:   fieldActor.setShort(object, (short) c.asPrimitive()); break;
+                case INT:     fieldActor.setInt(object, (int) c.asPrimitive()); break;
+                case FLOAT:   fieldActor.setFloat(object, Float.intBitsToFloat((int) c.asPrimitive())); break;
+                case LONG:    fieldActor.setLong(object, c.asPrimitive()); break;
+                case DOUBLE:  fieldActor.setDouble(object, Double.longBitsToDouble(c.asPrimitive())); break;
+                case REFERENCE: fieldActor.setObject(object, c.kind.isObject() ? c.asObject() : null); break;
+                default:      throw FatalError.unexpected("cannot materialize field " + fieldActor);
+            }
+            // Checkstyle: resume
+        }
+        return next;
+    }
+
     /**
      * Finds the frame containing a handler for an exception thrown at the current BCI of the frame and empties its stack.
      *
@@ -949,6 +1052,49 @@ public class Deoptimization extends VmOperation {
         deoptimize(CodePointer.from(ip), sp, fp, csa, vm().registerConfigs.uncommonTrapStub.getCalleeSaveLayout(), null);
     }
 
+    /**
+     * Handles the failure of a speculative type guard in optimized code. The guard calls the
+     * {@linkplain #typeGuardMissMethodActor type guard miss} runtime entry which in turn calls this method.
+     * The miss is recorded in the profile of the method containing the guarded bytecode (which may have been
+     * inlined) so that it is not speculated on forever, and the optimized method is invalidated. The return
+     * address of the runtime entry is thereby patched so that the frame of the optimized method is deoptimized
+     * and the guarded bytecode re-executed by the baseline code as soon as the runtime entry returns.
+     */
+    @NEVER_INLINE
+    public static void typeGuardMiss() {
+        final TargetMethod[] caller = new TargetMethod[1];
+        final CodePointer[] callerIP = new CodePointer[1];
+        RawStackFrameVisitor visitor = new RawStackFrameVisitor() {
+            @Override
+            public boolean visitFrame(StackFrameCursor current, StackFrameCursor callee) {
+                TargetMethod calleeTM = callee.targetMethod();
+                if (calleeTM != null && calleeTM.classMethodActor == typeGuardMissMethodActor) {
+                    caller[0] = current.targetMethod();
+                    callerIP[0] = current.vmIP();
+                    return false;
+                }
+                return true;
+            }
+        };
+        new VmStackFrameWalker(VmThread.current().tla()).inspect(Pointer.fromLong(Infopoints.here()),
+                        VMRegister.getCpuStackPointer(), VMRegister.getCpuFramePointer(), visitor);
+        TargetMethod tm = caller[0];
+        FatalError.check(tm != null, "could not find the caller of the type guard miss runtime entry");
+
+        int safepointIndex = tm.findSafepointIndex(callerIP[0]);
+        FatalError.check(safepointIndex >= 0, "no safepoint at the type guard miss call");
+        CiFrame frame = tm.debugInfoAt(safepointIndex, null).frame();
+        MethodProfile mpo = ((ClassMethodActor) frame.method).baselineProfile();
+        if (mpo != null) {
+            mpo.incrementTypeGuardMissCount();
+        }
+
+        ArrayList<TargetMethod> methods = new ArrayList<TargetMethod>(1);
+        methods.add(tm);
+        new Deoptimization(methods).go();
+        // the frame of 'tm' is deoptimized on return from the runtime entry
+    }
+
     @NEVER_INLINE // makes inspecting easier
     static void logPatchITable(ClassActor classActor, int iIndex) {
         if (deoptLogger.enabled()) {
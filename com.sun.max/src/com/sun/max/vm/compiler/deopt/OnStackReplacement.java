@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.compiler.deopt;
+
+import static com.sun.max.platform.Platform.*;
+import static com.sun.max.vm.MaxineVM.*;
+import static com.sun.max.vm.intrinsics.Infopoints.*;
+
+import com.sun.max.annotate.*;
+import com.sun.max.lang.*;
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.actor.member.*;
+import com.sun.max.vm.compiler.*;
+import com.sun.max.vm.compiler.RuntimeCompiler.Nature;
+import com.sun.max.vm.compiler.target.*;
+import com.sun.max.vm.profile.*;
+import com.sun.max.vm.runtime.*;
+import com.sun.max.vm.stack.*;
+import com.sun.max.vm.thread.*;
+
+/**
+ * On-stack replacement (OSR) of a baseline frame executing a hot loop. This is deoptimization in reverse:
+ * when the backward branch counter of a {@linkplain TargetMethod#isBaseline() baseline} method reaches zero,
+ * the method is compiled by the optimizing compiler with an {@linkplain TargetMethod#osrEntryPosition() entry point}
+ * at the loop header, the local variables of the baseline frame are copied into a native buffer and the baseline
+ * frame is replaced by a frame for the optimized code which continues execution at the loop header.
+ * <p>
+ * The OSR entry point expects the stack pointer to denote the return address of the replaced frame, exactly as
+ * if the optimized method had just been called, and the buffer in the return register. The buffer holds one word
+ * per local variable and is freed by the optimized code once it has loaded the locals (by the
+ * {@code OSRMigrationEnd} runtime call).
+ * <p>
+ * A baseline frame pops its own parameters on return whereas an optimized frame does not. The return address
+ * is therefore moved up the stack over the parameters of the replaced frame so that the optimized frame returns
+ * to the caller with the same stack pointer as the baseline frame would have. As a baseline caller expects the
+ * frame pointer to be preserved by its callee, frames called from baseline code are not replaced.
+ */
+public final class OnStackReplacement {
+
+    /**
+     * Option for enabling on-stack replacement of baseline frames executing hot loops.
+     */
+    public static boolean UseOSR = true;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "UseOSR", OnStackReplacement.class, "Enable on-stack replacement of hot loops in baseline code.");
+    }
+
+    private OnStackReplacement() {
+    }
+
+    /**
+     * Finds the frame executing a given baseline method and its caller.
+     */
+    static final class FrameFinder extends RawStackFrameVisitor {
+        final TargetMethod tm;
+        Pointer fp;
+        Pointer returnAddressPointer;
+        TargetMethod callerTM;
+        Pointer callerFP;
+
+        FrameFinder(TargetMethod tm) {
+            this.tm = tm;
+        }
+
+        @Override
+        public boolean visitFrame(StackFrameCursor current, StackFrameCursor callee) {
+            if (fp == null) {
+                if (current.targetMethod() == tm) {
+                    fp = current.fp();
+                    returnAddressPointer = tm.returnAddressPointer(current);
+                }
+                return true;
+            }
+            callerTM = current.targetMethod();
+            callerFP = current.fp();
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the frame of the current thread executing the baseline method profiled by {@code mpo} with a frame
+     * executing an optimized version of the method that continues at {@code bci}. This method does not return if
+     * the frame is replaced.
+     *
+     * @param mpo the profile of the baseline method executing the loop
+     * @param bci the bytecode index of the loop header
+     */
+    @NEVER_INLINE
+    public static void migrate(MethodProfile mpo, int bci) {
+        final TargetMethod baselineMethod = mpo.method;
+        if (!UseOSR || platform().isa != ISA.AMD64 || !(vm().compilationBroker.optimizingCompiler instanceof RuntimeCompiler.OSR)) {
+            return;
+        }
+        final ClassMethodActor cma = baselineMethod.classMethodActor;
+        if (!baselineMethod.isBaseline() || cma.isSynchronized() || !(baselineMethod.frameLayout() instanceof JVMSFrameLayout)) {
+            return;
+        }
+
+        final FrameFinder finder = new FrameFinder(baselineMethod);
+        new VmStackFrameWalker(VmThread.current().tla()).inspect(Pointer.fromLong(here()), VMRegister.getCpuStackPointer(), VMRegister.getCpuFramePointer(), finder);
+        if (finder.fp == null || finder.callerTM == null || finder.callerTM.isBaseline()) {
+            return;
+        }
+
+        final TargetMethod osrMethod = osrMethod(mpo, cma, bci);
+        if (osrMethod == null) {
+            return;
+        }
+
+        final JVMSFrameLayout layout = (JVMSFrameLayout) baselineMethod.frameLayout();
+        final int numberOfLocals = layout.numberOfLocalSlots();
+        final Pointer buffer = Memory.allocate(Size.fromInt(Math.max(numberOfLocals, 1) * Word.size()));
+        if (buffer.isZero()) {
+            return;
+        }
+
+        // No safepoint may occur from here until the optimized code has loaded the locals from the buffer,
+        // as the buffer is not scanned by the GC
+        SafepointPoll.disable();
+        for (int i = 0; i < numberOfLocals; i++) {
+            buffer.writeWord(i * Word.size(), finder.fp.readWord(layout.localVariableOffset(i)));
+        }
+        final Pointer entrySP = finder.returnAddressPointer.plus(layout.sizeOfParameters());
+        entrySP.writeWord(0, finder.returnAddressPointer.readWord(0));
+        final Address entryIP = osrMethod.codeAt(osrMethod.osrEntryPosition()).toAddress();
+
+        // Checkstyle: stop
+        SafepointPoll.enable();
+        Stubs.unwindLong(entryIP, entrySP, finder.callerFP, buffer.toLong());
+        // Checkstyle: resume
+    }
+
+    /**
+     * Gets a valid method compiled for on-stack replacement at a given loop header, compiling one if necessary.
+     *
+     * @return {@code null} if the method could not be compiled for on-stack replacement at {@code bci}
+     */
+    private static TargetMethod osrMethod(MethodProfile mpo, ClassMethodActor cma, int bci) {
+        TargetMethod osrMethod = mpo.osrMethod;
+        if (osrMethod != null && mpo.osrBCI == bci && osrMethod.invalidated() == null) {
+            return osrMethod;
+        }
+        final RuntimeCompiler compiler = vm().compilationBroker.optimizingCompiler;
+        final Compilation compilation = new Compilation(compiler, cma, Compilations.EMPTY, Thread.currentThread(), Nature.OPT, false);
+        try {
+            osrMethod = ((RuntimeCompiler.OSR) compiler).compileOSR(cma, bci);
+        } catch (InternalError e) {
+            if (VMOptions.verboseOption.verboseCompilation) {
+                e.printStackTrace(Log.out);
+            }
+            osrMethod = null;
+        } finally {
+            compilation.relinquishOwnership();
+        }
+        if (osrMethod == null || osrMethod.osrEntryPosition() < 0) {
+            return null;
+        }
+        mpo.osrMethod = osrMethod;
+        mpo.osrBCI = bci;
+        return osrMethod;
+    }
+}
@@ -128,7 +128,7 @@ public abstract class Adapter extends TargetMethod {
 
     @Override
     public Lifespan lifespan() {
-        return Lifespan.LONG;
+        return Lifespan.PERMANENT;
     }
 
     @Override
@@ -383,8 +383,8 @@ public class Stubs {
 
         CodePointer adjustedEntryPoint = adjustEntryPointForCaller(vtableEntryPoint, caller);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(adjustedEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(adjustedEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
 
@@ -414,8 +414,8 @@ public class Stubs {
 
         CodePointer adjustedEntryPoint = adjustEntryPointForCaller(itableEntryPoint, caller);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(adjustedEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(adjustedEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
 
@@ -886,8 +886,8 @@ public class Stubs {
         final CodePointer calleeEntryPoint = callee.makeTargetMethod(caller).getEntryPoint(caller.callEntryPoint);
         ARMTargetMethodUtil.mtSafePatchCallDisplacement(caller, cpCallSite, calleeEntryPoint);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(calleeEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(calleeEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
     }
@@ -901,8 +901,8 @@ public class Stubs {
 
         AMD64TargetMethodUtil.mtSafePatchCallDisplacement(caller, cpCallSite, calleeEntryPoint);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(calleeEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(calleeEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
     }
@@ -917,8 +917,8 @@ public class Stubs {
         final CodePointer calleeEntryPoint = callee.makeTargetMethod(caller).getEntryPoint(caller.callEntryPoint);
         Aarch64TargetMethodUtil.mtSafePatchCallDisplacement(caller, cpCallSite, calleeEntryPoint);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(calleeEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(calleeEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
     }
@@ -933,8 +933,8 @@ public class Stubs {
         final CodePointer calleeEntryPoint = callee.makeTargetMethod(caller).getEntryPoint(caller.callEntryPoint);
         RISCV64TargetMethodUtil.mtSafePatchCallDisplacement(caller, cpCallSite, calleeEntryPoint);
 
-        // remember calls from boot code region to baseline code cache
-        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && Code.getCodeManager().getRuntimeBaselineCodeRegion().contains(calleeEntryPoint.toAddress())) {
+        // remember calls from boot code region to the runtime code caches
+        if (Code.bootCodeRegion().contains(cpCallSite.toAddress()) && CodeManager.isRuntimeCode(calleeEntryPoint.toAddress())) {
             CodeManager.recordBootToBaselineCaller(caller);
         }
     }
@@ -183,6 +183,11 @@ public abstract class TargetMethod extends MemoryRegion {
      */
     private InvalidationMarker invalidated;
 
+    /**
+     * The number of {@linkplain CodeCacheSweeper code cache sweeps} since this method was last seen active.
+     */
+    private int sweepAge;
+
     /**
      * The frame size (in bytes) of an activation of this target method. This does not include the space occupied by a
      * return address (if the arch uses one).
@@ -586,7 +591,7 @@ public abstract class TargetMethod extends MemoryRegion {
         setData(literals.scalars, literals.objects, ciTargetMethod.targetCode(), ciTargetMethod.trampolines());
 
         // Patch relative instructions in the code buffer
-        assert lifespan() == Lifespan.LONG : "code may move: must protect direct code pointers";
+        assert lifespan() == Lifespan.LONG || lifespan() == Lifespan.PERMANENT : "code may move: must protect direct code pointers";
         patchInstructions(targetBundleLayout, ciTargetMethod, literals);
     }
 
@@ -1331,6 +1336,15 @@ public abstract class TargetMethod extends MemoryRegion {
         return false;
     }
 
+    /**
+     * Gets the position of the on-stack replacement entry point in this method's code.
+     *
+     * @return -1 if this method was not compiled for on-stack replacement
+     */
+    public int osrEntryPosition() {
+        return -1;
+    }
+
     /**
      * Determines if this method has been instrumented by a {@link VMTIHandler tooling interface}.
      */
@@ -1455,6 +1469,32 @@ public abstract class TargetMethod extends MemoryRegion {
         oldStart = Address.zero();
     }
 
+    /**
+     * Records that another {@linkplain CodeCacheSweeper code cache sweep} passed without this method being seen active.
+     *
+     * @return the number of sweeps since this method was last seen active
+     */
+    public final int incrementSweepAge() {
+        if (sweepAge < Integer.MAX_VALUE) {
+            sweepAge++;
+        }
+        return sweepAge;
+    }
+
+    /**
+     * Gets the number of {@linkplain CodeCacheSweeper code cache sweeps} since this method was last seen active.
+     */
+    public final int sweepAge() {
+        return sweepAge;
+    }
+
+    /**
+     * Records that this method was seen active by a {@linkplain CodeCacheSweeper code cache sweep}.
+     */
+    public final void resetSweepAge() {
+        sweepAge = 0;
+    }
+
     /**
      * Query the UseSystemMembarrier runtime option.
      * @return
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap;
+
+import static com.sun.max.vm.VMOptions.*;
+
+import com.sun.max.annotate.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+
+/**
+ * A TLAB refill policy that sizes each thread's TLAB from the thread's recent allocation behavior.
+ *
+ * The policy counts the bytes the thread allocated in TLABs, the number of refills, and the space wasted in retired TLABs since the last GC.
+ * At each GC, these are folded into exponentially decaying averages, from which the size of the thread's next TLAB is computed so that the thread
+ * would refill its TLAB about {@link #TLABRefillTarget} times between two GCs. Threads allocating heavily thus get large TLABs and refill less often,
+ * whereas idle threads see their TLAB shrink and pin less space they would waste at the next GC.
+ * The size is further reduced if the average fraction of TLAB space wasted exceeds {@link #TLABWasteTargetPercent}.
+ */
+public class AdaptiveTLABRefillPolicy extends SimpleTLABRefillPolicy {
+    /**
+     * Number of TLAB refills per thread between two GCs the sizing aims at.
+     */
+    static int TLABRefillTarget = 50;
+
+    /**
+     * Percentage of TLAB space wasted above which the TLAB size is reduced.
+     */
+    static int TLABWasteTargetPercent = 1;
+
+    /**
+     * Weight, in percent, of the last GC cycle in the decaying averages.
+     */
+    static int TLABAllocationWeight = 35;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "TLABRefillTarget", AdaptiveTLABRefillPolicy.class,
+            "Number of TLAB refills per thread between GCs the resizing of TLABs aims at", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "TLABWasteTargetPercent", AdaptiveTLABRefillPolicy.class,
+            "Percentage of TLAB space wasted above which TLABs are shrunk", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "TLABAllocationWeight", AdaptiveTLABRefillPolicy.class,
+            "Weight (in percent) of the last GC cycle in the averages TLAB sizes are computed from", Phase.PRISTINE);
+    }
+
+    private static final VMSizeOption minTLABSizeOption = register(new VMSizeOption("-XX:MinTLABSize=", Size.K.times(4),
+        "Minimum size of a resized thread-local allocation buffer."), Phase.PRISTINE);
+
+    private static final VMSizeOption maxTLABSizeOption = register(new VMSizeOption("-XX:MaxTLABSize=", Size.M,
+        "Maximum size of a resized thread-local allocation buffer."), Phase.PRISTINE);
+
+    /**
+     * Size of the current TLAB.
+     */
+    private Size tlabSize;
+
+    /**
+     * Number of TLAB refills since the last GC.
+     */
+    private int numRefills;
+
+    /**
+     * Bytes allocated in TLABs retired since the last GC.
+     */
+    private long usedBytes;
+
+    /**
+     * Bytes left unused in TLABs retired since the last GC.
+     */
+    private long wastedBytes;
+
+    /**
+     * Decaying average of the bytes allocated in TLABs between two GCs.
+     */
+    private double avgUsedBytes;
+
+    /**
+     * Decaying average of the fraction of TLAB space wasted between two GCs.
+     */
+    private double avgWasteFraction;
+
+    public AdaptiveTLABRefillPolicy(Size initialTLABSize) {
+        super(initialTLABSize);
+        tlabSize = initialTLABSize;
+        numRefills = 1;
+        avgUsedBytes = initialTLABSize.toLong() * TLABRefillTarget;
+    }
+
+    private void retireTLAB(Size leftover) {
+        final long used = tlabSize.toLong() - leftover.toLong();
+        if (used > 0L) {
+            usedBytes += used;
+        }
+        wastedBytes += leftover.toLong();
+    }
+
+    @Override
+    @NO_SAFEPOINT_POLLS("called when refilling TLAB")
+    public void notifyRefill(Size newTLABSize, Size leftover) {
+        retireTLAB(leftover);
+        tlabSize = newTLABSize;
+        numRefills++;
+    }
+
+    @Override
+    @NO_SAFEPOINT_POLLS("called when refilling TLAB")
+    public void notifyChunkRefill(Size chunkSize, Size leftover) {
+        retireTLAB(leftover);
+        tlabSize = chunkSize;
+    }
+
+    @Override
+    public void notifyReset(Pointer etla, Size leftover) {
+        retireTLAB(leftover);
+        tlabSize = Size.zero();
+
+        final double weight = TLABAllocationWeight / 100.0;
+        final long allocatedBytes = usedBytes + wastedBytes;
+        final double wasteFraction = allocatedBytes == 0L ? 0.0 : (double) wastedBytes / allocatedBytes;
+        avgUsedBytes = (1.0 - weight) * avgUsedBytes + weight * usedBytes;
+        avgWasteFraction = (1.0 - weight) * avgWasteFraction + weight * wasteFraction;
+
+        double desiredSize = avgUsedBytes / TLABRefillTarget;
+        final double wasteTarget = TLABWasteTargetPercent / 100.0;
+        if (avgWasteFraction > wasteTarget) {
+            desiredSize = desiredSize * wasteTarget / avgWasteFraction;
+        }
+        final Size minSize = minTLABSizeOption.getValue();
+        final Size maxSize = maxTLABSizeOption.getValue();
+        Size nextSize = Size.fromLong((long) desiredSize).wordAligned();
+        if (nextSize.lessThan(minSize)) {
+            nextSize = minSize;
+        } else if (nextSize.greaterThan(maxSize)) {
+            nextSize = maxSize;
+        }
+        resize(nextSize);
+        if (TLABLog.TraceTLABSizing) {
+            TLABLog.logTLABStats(etla, numRefills, usedBytes, wastedBytes, nextSize);
+        }
+        numRefills = 0;
+        usedBytes = 0L;
+        wastedBytes = 0L;
+    }
+}
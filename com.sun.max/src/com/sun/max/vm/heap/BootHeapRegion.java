@@ -40,6 +40,11 @@ public final class BootHeapRegion extends LinearAllocatorRegion {
 
     private java.lang.ref.Reference[] specialReferences = {};
 
+    /**
+     * Offset of the page-aligned segment at the end of this region that holds the objects never written at runtime.
+     */
+    private int immutableSegmentOffset;
+
     public BootHeapRegion(Address start, Size size, String description) {
         super(start, size, description);
     }
@@ -51,6 +56,19 @@ public final class BootHeapRegion extends LinearAllocatorRegion {
         this.specialReferences = specialRefs;
     }
 
+    @HOSTED_ONLY
+    public void setImmutableSegmentOffset(int offset) {
+        this.immutableSegmentOffset = offset;
+    }
+
+    /**
+     * Gets the start of the immutable segment of this region, which extends to the {@linkplain #end() end} of the
+     * region. The objects in this segment are never written once in the boot image, except for their misc word.
+     */
+    public Address immutableSegmentStart() {
+        return start().plus(immutableSegmentOffset);
+    }
+
     @INLINE
     public void discoverSpecialReference() {
         for (java.lang.ref.Reference specialReference : specialReferences) {
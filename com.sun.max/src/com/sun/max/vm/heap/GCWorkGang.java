@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap;
+
+import com.sun.max.annotate.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+import com.sun.max.vm.monitor.modal.sync.*;
+import com.sun.max.vm.runtime.*;
+import com.sun.max.vm.thread.*;
+
+/**
+ * A gang of GC worker threads that parallel GC phases can be dispatched to.
+ * <p>
+ * The gang is made of the {@linkplain VmOperationThread VM operation thread}, which always acts as worker 0 and
+ * coordinates the gang, and of up to {@link #MAX_PARALLEL_GC_THREADS} - 1 {@link GCWorkerThread}s created at VM startup.
+ * The number of threads used is set with the {@code -XX:ParallelGCThreads} option.
+ * A value of 0 (the default) disables the gang, in which case heap schemes fall back to their sequential algorithms.
+ * <p>
+ * A {@link Task} submitted with {@link #runTask(Task)} is run by every thread of the gang. The call returns once all of them
+ * have completed the task and are parked again. Worker threads park on a VM lock, with their stack reference map
+ * prepared so that they can be scanned like any frozen thread while a GC is in progress.
+ */
+public final class GCWorkGang {
+
+    /**
+     * Maximum number of threads of the gang, including the VM operation thread.
+     */
+    public static final int MAX_PARALLEL_GC_THREADS = 16;
+
+    static int ParallelGCThreads = 0;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "ParallelGCThreads", GCWorkGang.class,
+            "Number of threads (including the VM operation thread) used for parallel GC phases; 0 disables parallel GC phases", Phase.PRISTINE);
+    }
+
+    /**
+     * Work that is run by every thread of the gang.
+     */
+    public abstract static class Task {
+        /**
+         * Run the task on the current thread.
+         *
+         * @param workerIndex index of the current thread in the gang (0 for the VM operation thread)
+         * @param numWorkers number of threads running the task
+         */
+        public abstract void run(int workerIndex, int numWorkers);
+    }
+
+    private static final Object LOCK = JavaMonitorManager.newVmLock("GC_WORK_GANG_LOCK");
+
+    /**
+     * Number of threads of the gang, including the VM operation thread. Zero if parallel GC phases are disabled.
+     */
+    private static int numWorkers;
+
+    /**
+     * The worker threads of the gang, excluding the VM operation thread. Null if parallel GC phases are disabled.
+     */
+    private static VmThread[] workerThreads;
+
+    /**
+     * Task the worker threads are currently running.
+     */
+    private static volatile Task currentTask;
+
+    /**
+     * Incremented each time a task is submitted to the gang. Worker threads wait for this to change.
+     */
+    private static int generation;
+
+    /**
+     * Number of worker threads that haven't parked since the last task was submitted (or since they were started).
+     */
+    private static volatile int pendingWorkers;
+
+    private GCWorkGang() {
+    }
+
+    /**
+     * Number of threads that run the parallel GC phases, including the VM operation thread.
+     *
+     * @return 0 if parallel GC phases are disabled, the number of threads of the gang otherwise
+     */
+    @INLINE
+    public static int numWorkers() {
+        return numWorkers;
+    }
+
+    /**
+     * Number of threads of the gang requested on the command line, capped to {@link #MAX_PARALLEL_GC_THREADS}.
+     * Heap schemes can use this to size per-worker data structures before the gang is started.
+     */
+    public static int requestedNumWorkers() {
+        if (ParallelGCThreads <= 0) {
+            return 0;
+        }
+        return ParallelGCThreads > MAX_PARALLEL_GC_THREADS ? MAX_PARALLEL_GC_THREADS : ParallelGCThreads;
+    }
+
+    /**
+     * Create and start the worker threads requested with the {@code -XX:ParallelGCThreads} option. Blocks until all of them
+     * are parked. Called once the VM operation thread is started.
+     * <p>
+     * The thread objects are allocated in immortal memory, so that they never move, even when the worker threads run
+     * a parallel phase of a moving collector.
+     */
+    public static void startWorkers() {
+        final int n = requestedNumWorkers();
+        if (n == 0) {
+            return;
+        }
+        if (n < ParallelGCThreads) {
+            Log.print("Warning: -XX:ParallelGCThreads capped to ");
+            Log.println(MAX_PARALLEL_GC_THREADS);
+        }
+        Heap.enableImmortalMemoryAllocation();
+        try {
+            workerThreads = new VmThread[n - 1];
+            for (int i = 1; i < n; i++) {
+                // worker index 0 is the VM operation thread
+                workerThreads[i - 1] = VmThread.createGCWorkerThread(new GCWorkerThread(VmThread.systemThreadGroup, i));
+            }
+        } finally {
+            Heap.disableImmortalMemoryAllocation();
+        }
+        synchronized (LOCK) {
+            pendingWorkers = n - 1;
+            for (VmThread workerThread : workerThreads) {
+                workerThread.startVmSystemThread();
+            }
+            while (pendingWorkers > 0) {
+                try {
+                    LOCK.wait();
+                } catch (InterruptedException e) {
+                    Log.println("Caught InterruptedException while waiting for GC worker threads to start");
+                }
+            }
+        }
+        numWorkers = n;
+    }
+
+    /**
+     * Run a task on all the threads of the gang and returns when they have all completed it.
+     * Must be called by the VM operation thread, with parallel GC phases enabled.
+     *
+     * @param task the task to run
+     */
+    public static void runTask(Task task) {
+        FatalError.check(VmThread.current().isVmOperationThread() && numWorkers > 0, "Only the VM operation thread can run a GC work gang task");
+        currentTask = task;
+        if (numWorkers > 1) {
+            synchronized (LOCK) {
+                pendingWorkers = numWorkers - 1;
+                generation++;
+                LOCK.notifyAll();
+            }
+        }
+        task.run(0, numWorkers);
+        while (pendingWorkers > 0) {
+            Intrinsics.pause();
+        }
+        synchronized (LOCK) {
+            // The last worker to complete the task releases the lock only when parked. Acquiring the lock here
+            // guarantees that no worker is still running by the time this method returns.
+        }
+        currentTask = null;
+    }
+
+    /**
+     * Main loop of the GC worker threads.
+     *
+     * @param workerIndex the index of the current worker thread in the gang
+     */
+    static void workerLoop(int workerIndex) {
+        Heap.disableAllocationForCurrentThread();
+        int lastGeneration = 0;
+        while (true) {
+            // GC operations do not freeze worker threads, so they must prepare their own stack reference map
+            // before parking. The next 2 statements *must* be adjacent as the reference map for this frame must
+            // be the same at both calls.
+            VmThreadLocal.prepareCurrentStackReferenceMap();
+            lastGeneration = park(lastGeneration);
+            currentTask.run(workerIndex, numWorkers);
+        }
+    }
+
+    private static int park(int lastGeneration) {
+        synchronized (LOCK) {
+            pendingWorkers--;
+            if (pendingWorkers == 0) {
+                LOCK.notifyAll();
+            }
+            while (generation == lastGeneration) {
+                try {
+                    LOCK.wait();
+                } catch (InterruptedException e) {
+                    Log.println("Caught InterruptedException while GC worker thread parked");
+                }
+            }
+            return generation;
+        }
+    }
+}
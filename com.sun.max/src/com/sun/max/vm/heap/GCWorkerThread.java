@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap;
+
+import java.lang.Thread.*;
+
+import com.sun.max.vm.runtime.*;
+
+/**
+ * A thread of the {@linkplain GCWorkGang GC work gang}. GC worker threads are created at VM startup, in immortal memory
+ * so that their thread objects never move, and only as many as requested by {@link GCWorkGang#ParallelGCThreads}.
+ * <p>
+ * GC worker threads never allocate and are never frozen by {@linkplain GCOperation GC operations}: they are parked
+ * on the gang's lock between parallel GC phases and only execute GC code while the VM operation thread runs a GC.
+ */
+public final class GCWorkerThread extends Thread implements UncaughtExceptionHandler {
+
+    /**
+     * Index of this worker in the gang. Index 0 is reserved for the VM operation thread.
+     */
+    final int workerIndex;
+
+    public GCWorkerThread(ThreadGroup group, int workerIndex) {
+        super(group, "GC Worker " + workerIndex);
+        this.workerIndex = workerIndex;
+        setDaemon(true);
+        setUncaughtExceptionHandler(this);
+    }
+
+    @Override
+    public void run() {
+        GCWorkGang.workerLoop(workerIndex);
+    }
+
+    @Override
+    public void uncaughtException(Thread thread, Throwable e) {
+        FatalError.unexpected("Uncaught exception on GC worker thread", e);
+    }
+}
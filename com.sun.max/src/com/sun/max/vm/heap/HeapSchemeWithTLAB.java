@@ -102,6 +102,15 @@ public abstract class HeapSchemeWithTLAB extends HeapSchemeAdaptor {
         VMOptions.addFieldOption("-XX:", "UseTLAB", HeapSchemeWithTLAB.class, "Use thread-local object allocation", MaxineVM.Phase.PRISTINE);
     }
 
+    /**
+     * A VM option for enabling the resizing of each thread's TLAB according to its allocation behavior.
+     * @see AdaptiveTLABRefillPolicy
+     */
+    public static boolean ResizeTLAB = true;
+    static {
+        VMOptions.addFieldOption("-XX:", "ResizeTLAB", HeapSchemeWithTLAB.class, "Dynamically resize each thread's TLAB from its allocation rate", MaxineVM.Phase.PRISTINE);
+    }
+
     /**
      * A VM option for specifying the size of a TLAB. Default is 64 K.
      */
@@ -181,6 +190,10 @@ public abstract class HeapSchemeWithTLAB extends HeapSchemeAdaptor {
                     refillPolicy.saveTlabTop(Address.zero());
                 }
             }
+            final TLABRefillPolicy refillPolicy = TLABRefillPolicy.getForCurrentThread(etla);
+            if (refillPolicy != null) {
+                refillPolicy.notifyReset(etla, tlabTop.minus(tlabMark).asSize());
+            }
             doBeforeReset(etla, tlabMark, tlabTop);
             TLAB_TOP.store(etla, Address.zero());
             TLAB_MARK.store(etla, Address.zero());
@@ -361,6 +374,18 @@ public abstract class HeapSchemeWithTLAB extends HeapSchemeAdaptor {
         initialTlabSize = size;
     }
 
+    /**
+     * Creates the refill policy of a thread's TLAB.
+     *
+     * @param tlabSize size of the thread's first TLAB
+     */
+    protected TLABRefillPolicy createTLABRefillPolicy(Size tlabSize) {
+        if (ResizeTLAB) {
+            return new AdaptiveTLABRefillPolicy(tlabSize);
+        }
+        return new SimpleTLABRefillPolicy(tlabSize);
+    }
+
     public void refillTLAB(Pointer tlab, Size size) {
         final Pointer etla = ETLA.load(currentTLA());
         refillTLAB(etla, tlab, size);
@@ -382,11 +407,20 @@ public abstract class HeapSchemeWithTLAB extends HeapSchemeAdaptor {
         if (!allocationMark.isZero()) {
             final Pointer oldTop = TLAB_TOP.load(etla);
             globalTlabStats.leftover += oldTop.minus(allocationMark).toLong();
+            final TLABRefillPolicy refillPolicy = TLABRefillPolicy.getForCurrentThread(etla);
+            if (refillPolicy != null) {
+                refillPolicy.notifyRefill(size, oldTop.minus(allocationMark).asSize());
+            }
             // It is a refill, not an initial fill. So invoke handler.
             doBeforeTLABRefill(allocationMark, oldTop);
         } else {
             ProgramError.check(CUSTOM_ALLOCATION_ENABLED.load(etla).isZero(),
                 "Must not refill TLAB when in custom allocator is set");
+            // Initial fill, or first refill after the TLAB was reset (e.g., by a GC). There's no policy yet for the former.
+            final TLABRefillPolicy refillPolicy = TLABRefillPolicy.getForCurrentThread(etla);
+            if (refillPolicy != null) {
+                refillPolicy.notifyRefill(size, Size.zero());
+            }
         }
 
         TLAB_TOP.store(etla, tlabTop);
@@ -397,8 +431,20 @@ public abstract class HeapSchemeWithTLAB extends HeapSchemeAdaptor {
         }
     }
 
+    /**
+     * Moves the TLAB to the next chunk of space of the current refill, without invoking the refill handler.
+     *
+     * @param etla the thread whose TLAB is changed
+     * @param tlab start of the next chunk (zero if none)
+     * @param size size of the next chunk
+     * @param leftover space left unused in the chunk being replaced
+     */
     @INLINE
-    protected final void fastRefillTLAB(Pointer etla, Pointer tlab, Size size) {
+    protected final void fastRefillTLAB(Pointer etla, Pointer tlab, Size size, Size leftover) {
+        final TLABRefillPolicy refillPolicy = TLABRefillPolicy.getForCurrentThread(etla);
+        if (refillPolicy != null) {
+            refillPolicy.notifyChunkRefill(size, leftover);
+        }
         TLAB_TOP.store(etla, tlab.plus(size));
         TLAB_MARK.store(etla, tlab);
     }
@@ -67,8 +67,15 @@ public class SimpleTLABRefillPolicy extends TLABRefillPolicy {
     public SimpleTLABRefillPolicy(Size initialTLABSize) {
         lastMark = Pointer.zero();
         allocationFailures = 0;
-        nextSize = initialTLABSize;
-        refillThreshold = initialTLABSize.dividedBy(TLAB_REFILL_RATIO);
+        resize(initialTLABSize);
+    }
+
+    /**
+     * Change the size of the TLAB on next refill, and the refill threshold accordingly.
+     */
+    protected void resize(Size tlabSize) {
+        nextSize = tlabSize;
+        refillThreshold = tlabSize.dividedBy(TLAB_REFILL_RATIO);
     }
 
     @Override
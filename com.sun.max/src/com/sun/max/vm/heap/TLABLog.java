@@ -47,8 +47,11 @@ public final class TLABLog {
 
     public static boolean TraceTLABAllocation = false;
 
+    public static boolean TraceTLABSizing = false;
+
     static {
         VMOptions.addFieldOption("-XX:", "TraceTLABAllocation", TLABLog.class, "Trace every allocation from TLABs when in DEBUG mode", Phase.STARTING);
+        VMOptions.addFieldOption("-XX:", "TraceTLABSizing", TLABLog.class, "Report per-thread TLAB statistics and sizing decisions at every GC", Phase.STARTING);
     }
 
     /**
@@ -120,6 +123,30 @@ public final class TLABLog {
         }
     }
 
+    /**
+     * Report the TLAB statistics of a thread since the last GC, and the TLAB size resulting from them.
+     *
+     * @param etla the thread the statistics are for
+     * @param numRefills number of TLAB refills
+     * @param usedBytes number of bytes allocated in TLABs
+     * @param wastedBytes number of bytes left unused in retired TLABs
+     * @param nextTLABSize size of the thread's next TLAB
+     */
+    public static void logTLABStats(Pointer etla, int numRefills, long usedBytes, long wastedBytes, Size nextTLABSize) {
+        final boolean lockDisabledSafepoints = Log.lock();
+        Log.print("TLAB stats for ");
+        Log.printThread(VmThread.fromTLA(etla), false);
+        Log.print(": refills = ");
+        Log.print(numRefills);
+        Log.print(", used = ");
+        Log.print(usedBytes);
+        Log.print(", wasted = ");
+        Log.print(wastedBytes);
+        Log.print(", next TLAB size = ");
+        Log.println(nextTLABSize.toLong());
+        Log.unlock(lockDisabledSafepoints);
+    }
+
     private static Pointer logHead(Pointer logTail) {
         return logTail.and(LOG_BUFFER_TAIL_MASK);
     }
@@ -65,6 +65,36 @@ public abstract class TLABRefillPolicy {
      */
     public abstract Size nextTlabSize();
 
+    /**
+     * Notifies the policy that the thread's TLAB was refilled. This includes the first refill after a reset, in which case
+     * the leftover is zero. Default is to do nothing.
+     *
+     * @param tlabSize size of the new TLAB
+     * @param leftover space left unused in the TLAB being replaced
+     */
+    public void notifyRefill(Size tlabSize, Size leftover) {
+    }
+
+    /**
+     * Notifies the policy that the thread's TLAB moved to the next chunk of space of the current refill.
+     * Heap schemes that refill TLABs with a list of chunks notify the first chunk with {@link #notifyRefill(Size, Size)}
+     * and the following ones with this method. Default is to do nothing.
+     *
+     * @param chunkSize size of the new chunk
+     * @param leftover space left unused in the chunk being replaced
+     */
+    public void notifyChunkRefill(Size chunkSize, Size leftover) {
+    }
+
+    /**
+     * Notifies the policy that the thread's TLAB is being reset, typically before a garbage collection. Default is to do nothing.
+     *
+     * @param etla the thread whose TLAB is being reset
+     * @param leftover space left unused in the TLAB being reset
+     */
+    public void notifyReset(Pointer etla, Size leftover) {
+    }
+
     @INTRINSIC(UNSAFE_CAST)
     private static native TLABRefillPolicy asTLABRefillPolicy(Object object);
 
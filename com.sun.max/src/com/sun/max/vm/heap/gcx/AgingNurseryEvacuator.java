@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.rset.ctbl.*;
+import com.sun.max.vm.layout.*;
+import com.sun.max.vm.reference.*;
+
+/**
+ * Evacuator for an aging nursery made of an eden and of a pair of {@link SurvivorSpaces}.
+ * Survivors younger than the tenuring threshold are copied to the survivor to-space; the others, and those that don't fit in the survivor to-space,
+ * are promoted to the old generation.
+ * <p>
+ * Survivors remain young objects, so references to them from the old generation and the boot heap must be remembered across minor collections.
+ * The evacuator dirties the card of every such reference it updates. A tenuring threshold of zero disables aging, in which case the evacuator
+ * behaves exactly like a {@link NoAgingNurseryEvacuator}.
+ * <p>
+ * The parallel evacuation workers only promote, and don't remember references to survivors. Evacuations run with a non-zero
+ * tenuring threshold are therefore always sequential; parallel evacuation is only used once the tenuring threshold drops to zero.
+ */
+public final class AgingNurseryEvacuator extends NoAgingNurseryEvacuator {
+    private final SurvivorSpaces survivorSpaces;
+
+    /**
+     * Survivors with an age lower than the tenuring threshold are copied to the survivor to-space.
+     */
+    private int tenuringThreshold;
+
+    /**
+     * Mark of the scan of the survivor to-space for references to evacuatees.
+     */
+    private Pointer survivorScanMark = Pointer.zero();
+
+    /**
+     * Number of evacuations run.
+     */
+    private int evacuationCount;
+
+    /**
+     * Number of evacuations run with a non-zero tenuring threshold.
+     */
+    private int agingEvacuationCount;
+
+    public AgingNurseryEvacuator(EvacuatingSpace eden, SurvivorSpaces survivorSpaces, HeapSpace toSpace, EvacuationBufferProvider evacuationBufferProvider, CardTableRSet rset, String name) {
+        super(survivorSpaces.evacuatedArea(eden), toSpace, evacuationBufferProvider, rset, name);
+        this.survivorSpaces = survivorSpaces;
+    }
+
+    public void setTenuringThreshold(int tenuringThreshold) {
+        this.tenuringThreshold = tenuringThreshold;
+    }
+
+    public int tenuringThreshold() {
+        return tenuringThreshold;
+    }
+
+    public int evacuationCount() {
+        return evacuationCount;
+    }
+
+    public int agingEvacuationCount() {
+        return agingEvacuationCount;
+    }
+
+    @Override
+    boolean useParallelEvacuation() {
+        // Parallel evacuation workers only promote, and don't remember references to survivors.
+        return tenuringThreshold == 0 && super.useParallelEvacuation();
+    }
+
+    @Override
+    protected void doBeforeEvacuation() {
+        evacuationCount++;
+        if (tenuringThreshold > 0) {
+            agingEvacuationCount++;
+        }
+        survivorSpaces.flip();
+        survivorScanMark = survivorSpaces.top();
+        super.doBeforeEvacuation();
+    }
+
+    @Override
+    Pointer evacuate(Pointer fromOrigin) {
+        if (tenuringThreshold > 0) {
+            final Pointer fromCell = Layout.originToCell(fromOrigin);
+            final int age = survivorSpaces.inFromSpace(fromCell) ? survivorSpaces.age(fromCell) : 0;
+            if (age < tenuringThreshold) {
+                final Size size = Layout.size(fromOrigin);
+                final Pointer toCell = survivorSpaces.allocate(size, age + 1);
+                if (!toCell.isZero()) {
+                    Memory.copyBytes(fromCell, toCell, size);
+                    return toCell;
+                }
+                // The survivor to-space is full. Promote.
+            }
+        }
+        return super.evacuate(fromOrigin);
+    }
+
+    @Override
+    void updateRSet(Pointer refHolderOrigin, int wordIndex, Reference ref) {
+        if (survivorSpaces.inToSpace(ref.toOrigin()) && (toSpace.contains(refHolderOrigin) || Heap.bootHeapRegion.contains(refHolderOrigin))) {
+            rset.record(Reference.fromOrigin(refHolderOrigin), 0, wordIndex);
+        }
+    }
+
+    @Override
+    protected void evacuateReachables() {
+        while (true) {
+            super.evacuateReachables();
+            if (survivorScanMark.equals(survivorSpaces.top())) {
+                return;
+            }
+            // Scan the survivors copied since the last scan. This may promote objects, hence the loop back.
+            while (survivorScanMark.lessThan(survivorSpaces.top())) {
+                survivorScanMark = scanCellForEvacuatees(survivorScanMark);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+
+/**
+ * A heap resizing policy driven by a {@linkplain GCTimeStatistics#GCTimePercent GC-time goal} and a
+ * {@linkplain GCTimeStatistics#MaxGCPauseMillis pause goal} instead of fixed free space ratios.
+ *
+ * The interval between two GCs is roughly proportional to the free space left after GC. When the fraction of time spent in GC exceeds its goal,
+ * the heap is grown so as to scale the free space by the excess, and is never shrunk. Otherwise, the heap is shrunk if pauses exceed their goal,
+ * or if the time spent in GC is well under its goal, in which case the free space is reduced in proportion to the slack so that idle applications give
+ * memory back to the OS. The free space ratio below which the base policy expands the heap remains a lower bound in all cases.
+ *
+ * The policy behaves as the base policy unless {@link #ErgonomicHeapSizing} is set.
+ */
+public class ErgonomicHeapResizingPolicy extends HeapResizingPolicy {
+    /**
+     * Enables the ergonomic heap sizing.
+     */
+    public static boolean ErgonomicHeapSizing;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "ErgonomicHeapSizing", ErgonomicHeapResizingPolicy.class,
+            "Resize the heap from measured GC pauses and GC time rather than fixed free space ratios", Phase.PRISTINE);
+    }
+
+    final GCTimeStatistics gcTimes = new GCTimeStatistics();
+
+    @Override
+    public void notifyGCStart() {
+        gcTimes.notifyGCStart();
+    }
+
+    @Override
+    public void notifyGCEnd() {
+        gcTimes.notifyGCEnd();
+    }
+
+    private Size grow(Size growth, ResizableSpace heapSpace) {
+        final Size actualGrowth = heapSpace.increaseSize(growth);
+        if (MaxineVM.isDebug()) {
+            Log.print("Request to grow the heap: requested ");
+            Log.print(growth.toLong());
+            Log.print(" bytes, obtained ");
+            Log.print(actualGrowth.toLong());
+            Log.println(" bytes");
+        }
+        return actualGrowth;
+    }
+
+    @Override
+    public boolean resizeAfterCollection(Size spaceLeftAfterGC, ResizableSpace heapSpace) {
+        if (!ErgonomicHeapSizing || !gcTimes.hasSamples()) {
+            return super.resizeAfterCollection(spaceLeftAfterGC, heapSpace);
+        }
+        final Size totalSpace = heapSpace.totalSpace();
+        final Size spaceUsedAfterGC = totalSpace.minus(spaceLeftAfterGC);
+        final double gcTimeGoal = GCTimeStatistics.gcTimeGoal();
+        final double gcTimeFraction = gcTimes.averageGCTimeFraction();
+        // Free space below which the heap is always expanded.
+        final Size minFreeSpace = Size.fromLong((spaceUsedAfterGC.toLong() * minFreeSpaceRatioForExpansion) / (100 - minFreeSpaceRatioForExpansion));
+
+        if (gcTimes.exceedsGCTimeGoal() || spaceLeftAfterGC.lessThan(minFreeSpace)) {
+            if (totalSpace.greaterEqual(heapSpace.capacity())) {
+                return false;
+            }
+            Size desiredFreeSpace = minFreeSpace;
+            if (gcTimeFraction > gcTimeGoal) {
+                final Size scaledFreeSpace = Size.fromLong((long) (spaceLeftAfterGC.toLong() * (gcTimeFraction / gcTimeGoal)));
+                if (scaledFreeSpace.greaterThan(desiredFreeSpace)) {
+                    desiredFreeSpace = scaledFreeSpace;
+                }
+            }
+            if (desiredFreeSpace.lessEqual(spaceLeftAfterGC)) {
+                return false;
+            }
+            return !grow(desiredFreeSpace.minus(spaceLeftAfterGC), heapSpace).isZero();
+        }
+
+        Size desiredFreeSpace;
+        if (gcTimes.exceedsPauseGoal()) {
+            // Pauses grow with the heap: shrink the free space in proportion to the excess.
+            desiredFreeSpace = Size.fromLong((long) (spaceLeftAfterGC.toLong() * (GCTimeStatistics.MaxGCPauseMillis / gcTimes.averagePauseMillis())));
+        } else if (gcTimeFraction < gcTimeGoal / 2) {
+            // Throughput slack: shrink so that the time spent in GC raises to half its goal.
+            desiredFreeSpace = Size.fromLong((long) (spaceLeftAfterGC.toLong() * (2 * gcTimeFraction / gcTimeGoal)));
+        } else {
+            return false;
+        }
+        if (desiredFreeSpace.lessThan(minFreeSpace)) {
+            desiredFreeSpace = minFreeSpace;
+        }
+        if (desiredFreeSpace.greaterEqual(spaceLeftAfterGC)) {
+            return false;
+        }
+        final Size shrinkage = heapSpace.decreaseSize(spaceLeftAfterGC.minus(desiredFreeSpace));
+        if (MaxineVM.isDebug() && !shrinkage.isZero()) {
+            Log.print("Shrunk the heap by ");
+            Log.print(shrinkage.toLong());
+            Log.println(" bytes");
+        }
+        return !shrinkage.isZero();
+    }
+}
@@ -27,5 +27,10 @@ import com.sun.max.unsafe.*;
 
 public interface EvacuationBufferProvider {
     Address refillEvacuationBuffer();
+    /**
+     * Refill an evacuation buffer with space from regions bound to the specified NUMA node, if any is available.
+     * @see HeapRegionManager#homeNode(int)
+     */
+    Address refillEvacuationBuffer(int node);
     void retireEvacuationBuffer(Address startOfSpaceLeft, Address endOfSpaceLeft);
 }
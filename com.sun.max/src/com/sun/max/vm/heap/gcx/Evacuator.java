@@ -96,9 +96,19 @@ public abstract class Evacuator extends PointerIndexVisitor implements CellVisit
         return currentGCOperation;
     }
 
+    /**
+     * Record a special reference discovered during evacuation.
+     * The {@link SpecialReferenceManager} isn't thread-safe; evacuators running concurrently must serialize discovery.
+     *
+     * @param origin origin of a special reference object
+     */
+    protected void discoverSpecialReference(Pointer origin) {
+        SpecialReferenceManager.discoverSpecialReference(origin);
+    }
+
     private void updateSpecialReference(Pointer origin) {
         if (refDiscoveryEnabled) {
-            SpecialReferenceManager.discoverSpecialReference(origin);
+            discoverSpecialReference(origin);
         } else {
             // Treat referent as strong reference.
             if (traceEvacVisitedCell()) {
@@ -201,6 +211,32 @@ public abstract class Evacuator extends PointerIndexVisitor implements CellVisit
     }
 
 
+    /**
+     * Evacuate a cell of the evacuated area that hasn't been forwarded yet, and store the forward reference to its new location in its header.
+     * Evacuators running concurrently with other evacuators must override this to race for the forwarding of the cell.
+     * An evacuator may also decline to evacuate the cell for now, in which case it returns {@link Reference#zero()} and must
+     * be able to {@linkplain #deferEvacuatedRef(Pointer, int) defer} the update of the reference to the cell.
+     *
+     * @param origin origin of the cell in the evacuated area
+     * @return a reference to the evacuated cell's new location, or zero if the evacuation of the cell is deferred
+     */
+    Reference evacuateAndForward(Pointer origin) {
+        final Reference forwardRef = Reference.fromOrigin(evacuate(origin));
+        Layout.writeForwardRef(origin, forwardRef);
+        return forwardRef;
+    }
+
+    /**
+     * Record a reference to a cell of the evacuated area whose evacuation was deferred by {@link #evacuateAndForward(Pointer)}.
+     * Default is to fail, as evacuators don't defer evacuation unless they override this.
+     *
+     * @param refHolderOrigin origin of the reference holder
+     * @param wordIndex word index relative to the reference holder's origin where the reference to the cell is stored
+     */
+    void deferEvacuatedRef(Pointer refHolderOrigin, int wordIndex) {
+        FatalError.unexpected("evacuation cannot be deferred");
+    }
+
     /**
      * Evacuate a cell of the evacuated area if not already done, and return the reference to the evacuated cell new location.
      *
@@ -210,9 +246,7 @@ public abstract class Evacuator extends PointerIndexVisitor implements CellVisit
     protected final Reference getForwardRef(Pointer origin) {
         Reference forwardRef = Layout.readForwardRef(origin);
         if (forwardRef.isZero()) {
-            final Pointer toOrigin = evacuate(origin);
-            forwardRef = Reference.fromOrigin(toOrigin);
-            Layout.writeForwardRef(origin, forwardRef);
+            forwardRef = evacuateAndForward(origin);
         }
         return forwardRef;
     }
@@ -241,10 +275,9 @@ public abstract class Evacuator extends PointerIndexVisitor implements CellVisit
     protected final Reference getForwardRef(Pointer origin, Pointer at) {
         Reference forwardRef = Layout.readForwardRef(origin);
         if (forwardRef.isZero()) {
-            final Pointer toOrigin = evacuate(origin);
-            forwardRef = Reference.fromOrigin(toOrigin);
-            Layout.writeForwardRef(origin, forwardRef);
-            if (MaxineVM.isDebug()) {
+            forwardRef = evacuateAndForward(origin);
+            if (MaxineVM.isDebug() && !forwardRef.isZero()) {
+                final Pointer toOrigin = forwardRef.toOrigin();
                 Reference hubRef = Layout.readHubReference(forwardRef);
                 if (DarkMatter.isDarkMatterHub(hubRef.toOrigin())) {
                     reportDarkMatterForwarding(origin, at, forwardRef.toOrigin());
@@ -270,6 +303,10 @@ public abstract class Evacuator extends PointerIndexVisitor implements CellVisit
         final Pointer origin = ref.toOrigin();
         if (inEvacuatedArea(origin)) {
             final Reference forwardRef = MaxineVM.isDebug() ? getForwardRef(origin, refHolderOrigin.plusWords(wordIndex)) : getForwardRef(origin);
+            if (forwardRef.isZero()) {
+                deferEvacuatedRef(refHolderOrigin, wordIndex);
+                return;
+            }
             refHolderOrigin.setReference(wordIndex, forwardRef);
             updateRSet(refHolderOrigin, wordIndex, forwardRef);
         }
@@ -110,6 +110,18 @@ public class EvacuatorToCardSpace extends Evacuator {
      */
     private Address pnextChunk;
 
+    /**
+     * NUMA node the current evacuation buffer was requested for. Only meaningful if the heap is NUMA-aware.
+     */
+    private int bufferNode;
+
+    /**
+     * Evacuation buffers of the NUMA nodes other than {@link #bufferNode}, recorded as triplets of top, end and next chunk indexed by node.
+     * Evacuated cells are copied in the buffer of the node of the region they're evacuated from, so that evacuation keeps objects on their node.
+     * Null if the heap isn't NUMA-aware.
+     */
+    private long [] nodeBuffers;
+
     /**
      * Mark to keep track of survivor ranges.
      */
@@ -185,6 +197,9 @@ public class EvacuatorToCardSpace extends Evacuator {
         this.alwaysRefill = alwaysRefill;
         this.minRefillThreshold =  alwaysRefill ? Size.fromLong(Long.MAX_VALUE) : minRefillThreshold;
         this.retireAfterEvacuation = retireAfterEvacuation;
+        if (HeapRegionManager.isNUMAAware()) {
+            nodeBuffers = new long[3 * HeapRegionManager.numNUMANodes()];
+        }
     }
 
     /**
@@ -205,6 +220,63 @@ public class EvacuatorToCardSpace extends Evacuator {
         }
         ptop = Pointer.zero();
         pend = Pointer.zero();
+        if (nodeBuffers != null) {
+            for (int i = 0; i < nodeBuffers.length; i += 3) {
+                if (MaxineVM.isDebug() && nodeBuffers[i] != 0L) {
+                    final Pointer top = Pointer.fromLong(nodeBuffers[i]);
+                    FatalError.check(HeapFreeChunk.isTailFreeChunk(top, Pointer.fromLong(nodeBuffers[i + 1]).plus(evacuationBufferHeadroom())), "Evacuator's allocation buffer must be parseable");
+                }
+                nodeBuffers[i] = 0L;
+                nodeBuffers[i + 1] = 0L;
+                nodeBuffers[i + 2] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Request a new evacuation buffer from the provider, on the NUMA node of the current buffer if the heap is NUMA-aware.
+     */
+    private Address newEvacuationBuffer() {
+        if (nodeBuffers == null) {
+            return evacuationBufferProvider.refillEvacuationBuffer();
+        }
+        return evacuationBufferProvider.refillEvacuationBuffer(bufferNode);
+    }
+
+    private void saveNodeBuffer() {
+        final int i = 3 * bufferNode;
+        nodeBuffers[i] = ptop.toLong();
+        nodeBuffers[i + 1] = pend.toLong();
+        nodeBuffers[i + 2] = pnextChunk.toLong();
+    }
+
+    private void restoreNodeBuffer(int node) {
+        final int i = 3 * node;
+        bufferNode = node;
+        ptop = Pointer.fromLong(nodeBuffers[i]);
+        pend = Pointer.fromLong(nodeBuffers[i + 1]);
+        pnextChunk = Address.fromLong(nodeBuffers[i + 2]);
+    }
+
+    /**
+     * Switch allocation to the evacuation buffer of another NUMA node, refilling it if the node doesn't have one yet.
+     * Allocation in the current buffer is recorded as a survivor range before switching.
+     *
+     * @param node the NUMA node to evacuate to
+     */
+    private void switchEvacuationBuffer(int node) {
+        updateSurvivorRanges();
+        saveNodeBuffer();
+        restoreNodeBuffer(node);
+        if (ptop.isZero()) {
+            Address chunk = newEvacuationBuffer();
+            Size chunkSize = HeapFreeChunk.getFreechunkSize(chunk);
+            pnextChunk = HeapFreeChunk.getFreeChunkNext(chunk);
+            rset.notifyRefill(chunk, chunkSize);
+            ptop = chunk.asPointer();
+            pend = chunk.plus(chunkSize.minus(evacuationBufferHeadroom())).asPointer();
+        }
+        allocatedRangeStart = ptop;
     }
 
     @Override
@@ -215,7 +287,7 @@ public class EvacuatorToCardSpace extends Evacuator {
         lastOverflowAllocatedRangeEnd = Pointer.zero();
         debugRetired_ptop = Pointer.zero();
         if (ptop.isZero()) {
-            Address chunk = evacuationBufferProvider.refillEvacuationBuffer();
+            Address chunk = newEvacuationBuffer();
             Size chunkSize = HeapFreeChunk.getFreechunkSize(chunk);
             pnextChunk = HeapFreeChunk.getFreeChunkNext(chunk);
             rset.notifyRefill(chunk, chunkSize);
@@ -238,6 +310,24 @@ public class EvacuatorToCardSpace extends Evacuator {
         if (logger.enabled()) {
             logger.logEndEvacuation(limit);
         }
+        if (nodeBuffers != null) {
+            // Retire the buffers of the other nodes the same way as the current one.
+            final int currentNode = bufferNode;
+            saveNodeBuffer();
+            for (int node = 0; node < HeapRegionManager.numNUMANodes(); node++) {
+                if (node != currentNode && nodeBuffers[3 * node] != 0L) {
+                    restoreNodeBuffer(node);
+                    retireEvacuationBufferAfterEvacuation();
+                    saveNodeBuffer();
+                }
+            }
+            restoreNodeBuffer(currentNode);
+        }
+        retireEvacuationBufferAfterEvacuation();
+    }
+
+    private void retireEvacuationBufferAfterEvacuation() {
+        Pointer limit = pend.plus(evacuationBufferHeadroom());
         Size spaceLeft = limit.minus(ptop).asSize();
         if ((alwaysRefill && spaceLeft.greaterThan(minObjectSize())) || spaceLeft.greaterEqual(minRefillThreshold)) {
             // Leave remaining space in an iterable format.
@@ -308,6 +398,90 @@ public class EvacuatorToCardSpace extends Evacuator {
         }
     }
 
+    /**
+     * Prefill survivor ranges with a range of cells outside of both the evacuated space and the to-space whose references must be treated as roots.
+     * This must be done before evacuation start.
+     * Currently used for the survivors of an aging nursery when evacuating the old generation.
+     *
+     * @param start start of the range (inclusive)
+     * @param end end of the range (exclusive)
+     */
+    public void prefillRootRange(Address start, Address end) {
+        FatalError.check(!toSpace.contains(start) && !fromSpace.contains(start), "Range must be outside of the to-space and the evacuated space");
+        survivorRanges.add(start, end);
+        if (logger.enabled()) {
+            logger.logPrefillSurvivorRanges(start, end);
+        }
+    }
+
+    /*
+     * Support for parallel evacuation. See ParallelEvacuation.
+     */
+
+    EvacuationBufferProvider evacuationBufferProvider() {
+        return evacuationBufferProvider;
+    }
+
+    Size minRefillThreshold() {
+        return minRefillThreshold;
+    }
+
+    EvacuatingSpace.SpaceBounds evacuatedAreaBounds() {
+        return evacuatedAreaBounds;
+    }
+
+    /**
+     * Queue of survivor ranges left to process, including those allocated since the last update.
+     */
+    SurvivorRangesQueue survivorRanges() {
+        updateSurvivorRanges();
+        return survivorRanges;
+    }
+
+    void addEvacuatedBytes(Size size) {
+        evacuatedBytes = evacuatedBytes.plus(size);
+    }
+
+    /**
+     * Hand over the space left in the evacuation buffer to a parallel evacuation.
+     * The space left is formatted as a heap free chunk linked to the next chunks of the buffer.
+     * The evacuator must not allocate until {@link #resumeEvacuationBuffer(Pointer, Pointer, Address)} is called.
+     *
+     * @return the first free chunk of the evacuation buffer, or zero if there's none left
+     */
+    Address handOverEvacuationBuffer() {
+        updateSurvivorRanges();
+        final Pointer limit = pend.plus(evacuationBufferHeadroom());
+        final Size spaceLeft = limit.minus(ptop).asSize();
+        Address chunk = pnextChunk;
+        if (spaceLeft.greaterEqual(HeapFreeChunk.heapFreeChunkHeaderSize().plus(minObjectSize()))) {
+            HeapFreeChunk.format(ptop, spaceLeft, chunk);
+            rset.notifyRetireFreeSpace(ptop, spaceLeft);
+            chunk = ptop;
+        } else if (!spaceLeft.isZero()) {
+            DarkMatter.format(ptop, spaceLeft);
+            rset.notifyRetireDeadSpace(ptop, spaceLeft);
+        }
+        ptop = Pointer.zero();
+        pend = Pointer.zero();
+        pnextChunk = Address.zero();
+        return chunk;
+    }
+
+    /**
+     * Resume allocation in the evacuation buffer after a parallel evacuation.
+     *
+     * @param top first free byte of the evacuation buffer
+     * @param limit end of the evacuation buffer
+     * @param nextChunk next free chunk of the evacuation buffer
+     */
+    void resumeEvacuationBuffer(Pointer top, Pointer limit, Address nextChunk) {
+        ptop = top;
+        pend = limit.minus(evacuationBufferHeadroom());
+        pnextChunk = nextChunk;
+        allocatedRangeStart = top;
+    }
+
     private Address debugRetired_ptop = Address.zero(); // FIXME: just for debugging for now
 
     protected Pointer refillOrAllocate(Size size) {
@@ -335,7 +509,7 @@ public class EvacuatorToCardSpace extends Evacuator {
             // Check if there is another chunk in the lab.
             Address chunk = pnextChunk;
             if (chunk.isZero()) {
-                chunk = evacuationBufferProvider.refillEvacuationBuffer();
+                chunk = newEvacuationBuffer();
                 FatalError.check(!chunk.isZero() && (alwaysRefill || HeapFreeChunk.getFreechunkSize(chunk).greaterEqual(minRefillThreshold)), "refill request should always succeed");
             }
             pnextChunk = HeapFreeChunk.getFreeChunkNext(chunk);
@@ -396,10 +570,16 @@ public class EvacuatorToCardSpace extends Evacuator {
     }
 
     @Override
-    final Pointer evacuate(Pointer fromOrigin) {
+    Pointer evacuate(Pointer fromOrigin) {
         if (MaxineVM.isDebug() && checkDarkMatterRefs) {
             DarkMatter.scanCellForDarkMatter(fromOrigin);
         }
+        if (nodeBuffers != null) {
+            final int node = HeapRegionManager.homeNode(fromOrigin);
+            if (node != bufferNode) {
+                switchEvacuationBuffer(node);
+            }
+        }
         final Pointer fromCell = Layout.originToCell(fromOrigin);
         final Size size = Layout.size(fromOrigin);
         final Pointer toCell = allocate(size);
@@ -413,7 +593,7 @@ public class EvacuatorToCardSpace extends Evacuator {
     }
 
     @Override
-    final protected void evacuateReachables() {
+    protected void evacuateReachables() {
         updateSurvivorRanges();
         while (!survivorRanges.isEmpty()) {
             final Pointer start = survivorRanges.start();
@@ -94,6 +94,18 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
      */
     private int maxRegionsInSpace;
 
+    /**
+     * Minimum number of regions the space keeps committed when {@linkplain #decreaseSize(Size) shrinking}.
+     */
+    private int minRegionsInSpace;
+
+    /**
+     * Number of regions {@linkplain #uncommitIdleRegions(long) uncommitted for having been empty for too long}.
+     * Unlike regions uncommitted by {@link #decreaseSize(Size)}, these are re-committed on demand by allocators
+     * running out of regions, without waiting for the next collection.
+     */
+    private int numIdleUncommittedRegions;
+
     /**
      * Total free space in allocation regions (i.e., regions in both {@link #allocationRegions} and {@link #tlabAllocationRegions} lists).
      * This doesn't count space in regions assigned to allocators (i.e., {@link #tlabAllocator} and {@link #overflowAllocator}).
@@ -101,6 +113,33 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
      */
     private Size allocationRegionsFreeSpace;
 
+    /**
+     * Heap marker whose mark bitmap is used to lazily sweep the regions left in the {@link #sweepList}.
+     * Null if there is no pending lazy sweep.
+     */
+    private TricolorHeapMarker lazySweepMarker;
+
+    /**
+     * Whether the pending lazy sweep is imprecise.
+     */
+    private boolean lazySweepImprecise;
+
+    /**
+     * Space in regions waiting to be lazily swept. Until swept, this space is accounted neither as free nor as reclaimed:
+     * an unswept region may well be fully live.
+     */
+    private Size unsweptRegionsSpace = Size.zero();
+
+    /**
+     * Free space reclaimed by the last lazy sweep, including free space in regions that were handed to allocators while the sweep was in progress.
+     */
+    private Size lazySweptFreeSpace = Size.zero();
+
+    /**
+     * Indicates whether a lazy sweep was completed since the last call to {@link #completeLazySweep()}.
+     */
+    private boolean lazySweepCompleted;
+
     final private SpaceBounds bounds;
     /**
      * TLAB refill allocator. Can supplies TLAB refill either as a single contiguous chunk,
@@ -108,6 +147,13 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
      */
     final ChunkListAllocator<RegionChunkListRefillManager> tlabAllocator;
 
+    /**
+     * TLAB refill allocators indexed by NUMA node, each refilled from regions bound to its node.
+     * The first one is the {@link #tlabAllocator}. Null if the heap isn't NUMA-aware.
+     * @see HeapRegionManager#NUMAAwareHeap
+     */
+    private ChunkListAllocator<RegionChunkListRefillManager>[] nodeTLABAllocators;
+
     /**
      * Overflow allocator. Handles direct allocation request and all small overflow of TLABs.
      */
@@ -197,6 +243,8 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         synchronized (refillLock()) {
             int gcCount = 0;
             do {
+                // Contiguous empty regions can only be found reliably once all regions are swept.
+                finishLazySweep();
                 regionInfoIterable.initialize(allocationRegions);
                 regionInfoIterable.reset();
                 if (numContiguousRegionNeeded == 1) {
@@ -391,6 +439,7 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         }
 
         numRegionsInSpace = initialNumberOfRegions;
+        minRegionsInSpace = initialNumberOfRegions;
         minReclaimableSpace = Size.fromInt(freeChunkMinSizeOption.getValue());
         overflowAllocator.refillManager().setMinRefillSize(minOverflowRefillSize);
         // Set the iterable to the list of committed regions. This is the default. Any exception to this should
@@ -407,9 +456,43 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         RegionChunkListRefillManager refillManager = tlabAllocator.refillManager();
         refillManager.setRefillPolicy(minReclaimableSpace);
         refillManager.setMinChunkSize(minReclaimableSpace);
+        if (HeapRegionManager.isNUMAAware()) {
+            refillManager.setHomeNode(0);
+        }
         // Initialize the tlab allocator with a first region.
         tlabAllocator.initialize(regionSize, regionSize);
         overflowAllocator.initialize(Address.zero(), Size.zero(), Size.zero());
+        if (HeapRegionManager.isNUMAAware()) {
+            initializeNodeTLABAllocators(regionSize);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void initializeNodeTLABAllocators(Size regionSize) {
+        final int numNodes = HeapRegionManager.numNUMANodes();
+        nodeTLABAllocators = new ChunkListAllocator[numNodes];
+        nodeTLABAllocators[0] = tlabAllocator;
+        for (int node = 1; node < numNodes; node++) {
+            final RegionChunkListRefillManager refillManager = new RegionChunkListRefillManager(deadSpaceListener);
+            refillManager.setRegionProvider(this);
+            refillManager.setHomeNode(node);
+            refillManager.setRefillPolicy(minReclaimableSpace);
+            refillManager.setMinChunkSize(minReclaimableSpace);
+            final ChunkListAllocator<RegionChunkListRefillManager> allocator = new ChunkListAllocator<RegionChunkListRefillManager>(refillManager);
+            allocator.initialize(regionSize, regionSize);
+            nodeTLABAllocators[node] = allocator;
+        }
+    }
+
+    /**
+     * Number of TLAB allocators of the space, i.e., one per NUMA node if the heap is NUMA-aware, one otherwise.
+     */
+    private int numTLABAllocators() {
+        return nodeTLABAllocators == null ? 1 : nodeTLABAllocators.length;
+    }
+
+    private ChunkListAllocator<RegionChunkListRefillManager> tlabAllocator(int node) {
+        return nodeTLABAllocators == null ? tlabAllocator : nodeTLABAllocators[node];
     }
 
     public Pointer allocate(Size size) {
@@ -420,12 +503,28 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
     }
 
     public Pointer allocateTLAB(Size size) {
+        if (nodeTLABAllocators != null) {
+            return nodeTLABAllocators[HeapRegionManager.currentNode()].allocateTLAB(size);
+        }
         return tlabAllocator.allocateTLAB(size);
     }
 
+    /**
+     * Allocate a TLAB from regions bound to the specified NUMA node, if any.
+     * Used by evacuators to keep evacuated objects on the node they were allocated on.
+     *
+     * @param size size of the TLAB
+     * @param node a NUMA node
+     */
+    public Pointer allocateTLAB(Size size, int node) {
+        return tlabAllocator(node).allocateTLAB(size);
+    }
+
     public void retireTLAB(Pointer start, Size size) {
-        if (tlabAllocator.retireTop(start, size)) {
-            return;
+        for (int node = 0; node < numTLABAllocators(); node++) {
+            if (tlabAllocator(node).retireTop(start, size)) {
+                return;
+            }
         }
         if (size.lessThan(minRetiredFreeChunkSize())) {
             DarkMatter.format(start, size);
@@ -456,18 +555,38 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         return Size.fromInt(maxRegionsInSpace).shiftedLeft(log2RegionSizeInBytes);
     }
 
+    /**
+     * Free space of the swept regions of the space. Regions left unswept by a lazy sweep aren't counted, see {@link #unsweptSpace()}.
+     */
     public Size freeSpace() {
-        return allocationRegionsFreeSpace.plus(tlabAllocator.refillManager.freeSpace().plus(tlabAllocator.freeSpace().plus(overflowAllocator.freeSpace())));
+        Size freeSpace = allocationRegionsFreeSpace.plus(overflowAllocator.freeSpace());
+        for (int node = 0; node < numTLABAllocators(); node++) {
+            final ChunkListAllocator<RegionChunkListRefillManager> allocator = tlabAllocator(node);
+            freeSpace = freeSpace.plus(allocator.refillManager.freeSpace().plus(allocator.freeSpace()));
+        }
+        return freeSpace;
     }
 
     public Size usedSpace() {
         return totalSpace().minus(freeSpace());
     }
 
+    /**
+     * Space in the regions left unswept by the last lazy sweep. This space is part of the {@linkplain #usedSpace() used space}
+     * until the regions are swept.
+     */
+    public Size unsweptSpace() {
+        return unsweptRegionsSpace;
+    }
+
     public void doBeforeGC() {
+        finishLazySweep();
         overflowAllocator.doBeforeGC();
-        tlabAllocator.doBeforeGC();
-        FatalError.check(tlabAllocator.refillManager.allocatingRegion() == INVALID_REGION_ID, "TLAB allocating region must have been retired");
+        for (int node = 0; node < numTLABAllocators(); node++) {
+            final ChunkListAllocator<RegionChunkListRefillManager> allocator = tlabAllocator(node);
+            allocator.doBeforeGC();
+            FatalError.check(allocator.refillManager.allocatingRegion() == INVALID_REGION_ID, "TLAB allocating region must have been retired");
+        }
         // Move all regions to the sweep list. This tracks all the regions used by the space.
         sweepList.appendAndClear(unavailableRegions);
         sweepList.appendAndClear(allocationRegions);
@@ -495,8 +614,120 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         FatalError.check(sweepList.isEmpty(), "Sweeping list must be empty");
     }
 
+    /**
+     * Leave the regions of the space unswept after marking. Regions are swept on demand when allocators need a refill,
+     * or by a call to {@link #sweepIncrement()} (e.g., from a background sweeper thread). Any pending sweeping is completed
+     * before the next collection of the space.
+     *
+     * @param heapMarker the heap marker that marked the space. Its mark bitmap must be left untouched until the sweep completes.
+     * @param doImprecise whether to sweep imprecisely
+     */
+    public void beginLazySweep(TricolorHeapMarker heapMarker, boolean doImprecise) {
+        if (MaxineVM.isDebug()) {
+            sweepList.checkIsAddressOrdered();
+        }
+        allocationRegionsFreeSpace = Size.zero();
+        lazySweptFreeSpace = Size.zero();
+        csrIsLiveMultiRegionObjectTail = false;
+        regionInfoIterable.initialize(sweepList);
+        regionInfoIterable.reset();
+        for (HeapRegionInfo rinfo : regionInfoIterable) {
+            toUnsweptState(rinfo);
+        }
+        unsweptRegionsSpace = Size.fromInt(sweepList.size()).shiftedLeft(log2RegionSizeInBytes);
+        lazySweepImprecise = doImprecise;
+        lazySweepMarker = heapMarker;
+    }
+
+    public boolean isLazySweepPending() {
+        return lazySweepMarker != null;
+    }
+
+    /**
+     * Sweep the next unswept region.
+     * Must be called with the refill lock held, or during GC.
+     * Safepoints are disabled while sweeping the region so that a GC cannot find the sweeper in an inconsistent state.
+     *
+     * @return true if there are regions left to sweep
+     */
+    private boolean lazySweepNextRegion() {
+        if (lazySweepMarker == null) {
+            return false;
+        }
+        final boolean wasDisabled = SafepointPoll.disable();
+        final Size freeSpaceBeforeSweep = allocationRegionsFreeSpace;
+        if (!lazySweepMarker.sweepNextRegion(this, lazySweepImprecise)) {
+            reachedRightmostLiveRegion();
+            FatalError.check(sweepList.isEmpty() && unsweptRegionsSpace.isZero(), "Sweeping list must be empty");
+            lazySweepMarker = null;
+            lazySweepCompleted = true;
+        }
+        lazySweptFreeSpace = lazySweptFreeSpace.plus(allocationRegionsFreeSpace.minus(freeSpaceBeforeSweep));
+        if (!wasDisabled) {
+            SafepointPoll.enable();
+        }
+        return lazySweepMarker != null;
+    }
+
+    private void finishLazySweep() {
+        while (lazySweepNextRegion()) {
+            // Sweep until done.
+        }
+    }
+
+    /**
+     * Sweep one of the regions left unswept by the last collection, if any.
+     *
+     * @return true if there are regions left to sweep
+     */
+    public boolean sweepIncrement() {
+        synchronized (refillLock()) {
+            return lazySweepNextRegion();
+        }
+    }
+
+    /**
+     * Sweep regions left unswept by the last collection until the free space of the space reaches the specified size,
+     * or until no region is left to sweep.
+     *
+     * @param size the free space to reach
+     * @return true if the free space of the space is at least {@code size}
+     */
+    public boolean sweepUntilFree(Size size) {
+        synchronized (refillLock()) {
+            while (freeSpace().lessThan(size) && lazySweepNextRegion()) {
+                // Sweep until enough space is free.
+            }
+            return freeSpace().greaterEqual(size);
+        }
+    }
+
+    /**
+     * Complete the pending lazy sweep, if any. Must be called during GC.
+     *
+     * @return true if a lazy sweep completed since the last call, in which case {@link #lazySweptFreeSpace()} returns the space it reclaimed
+     */
+    public boolean completeLazySweep() {
+        finishLazySweep();
+        final boolean result = lazySweepCompleted;
+        lazySweepCompleted = false;
+        return result;
+    }
+
+    /**
+     * Free space found by the last completed lazy sweep, i.e., the free space an eager sweep would have reported at the end of the collection.
+     */
+    public Size lazySweptFreeSpace() {
+        return lazySweptFreeSpace;
+    }
+
     private HeapRegionInfo nextRegionToSweep() {
-        return RegionTable.theRegionTable().regionInfo(sweepList.removeHead());
+        final HeapRegionInfo rinfo = RegionTable.theRegionTable().regionInfo(sweepList.removeHead());
+        if (rinfo.isUnswept()) {
+            toSweptState(rinfo);
+            unsweptRegionsSpace = unsweptRegionsSpace.minus(regionSizeInBytes);
+        }
+        return rinfo;
     }
 
     @Override
@@ -595,6 +826,7 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
             }
             csrIsMultiRegionObjectHead = false;
         } else {
+            csrInfo.setLiveBytes(csrLiveBytes);
             if (csrFreeBytes == 0) {
                 if (csrIsLiveMultiRegionObjectTail) {
                     // FIXME: is this true if the large object was already dead ?
@@ -663,14 +895,121 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         if (numRegions == 0) {
             numRegions = 1;
         }
-        int allocated = heapAccount.allocate(numRegions, allocationRegions, false, true, true, regionTag);
-        return Size.fromInt(allocated).shiftedLeft(log2RegionSizeInBytes);
+        if (numRegions > maxRegionsInSpace - numRegionsInSpace) {
+            numRegions = maxRegionsInSpace - numRegionsInSpace;
+        }
+        // Regions previously given back to the OS are re-committed first, as they still count against the account's reserve.
+        int added = recommitRegions(numRegions);
+        if (added < numRegions) {
+            final int allocated = heapAccount.allocate(numRegions - added, allocationRegions, false, true, true, regionTag);
+            numRegionsInSpace += allocated;
+            allocationRegionsFreeSpace = allocationRegionsFreeSpace.plus(Size.fromInt(allocated).shiftedLeft(log2RegionSizeInBytes));
+            added += allocated;
+        }
+        return Size.fromInt(added).shiftedLeft(log2RegionSizeInBytes);
+    }
+
+    /**
+     * Re-commit regions of this space that were previously uncommitted and make them available for allocation as empty regions.
+     *
+     * @param numRegions maximum number of regions to re-commit
+     * @return the number of regions re-committed
+     */
+    private int recommitRegions(int numRegions) {
+        final HeapRegionList uncommitted = heapAccount.uncommittedRegions();
+        int recommitted = 0;
+        int regionID = uncommitted.head();
+        while (recommitted < numRegions && regionID != INVALID_REGION_ID) {
+            final int nextRegionID = uncommitted.next(regionID);
+            final HeapRegionInfo rinfo = fromRegionID(regionID);
+            if (rinfo.tag == regionTag) {
+                heapAccount.commit(regionID);
+                HeapFreeChunk.format(rinfo.regionStart(), regionSizeInBytes);
+                rinfo.resetOccupancy();
+                allocationRegions.append(regionID);
+                recommitted++;
+            }
+            regionID = nextRegionID;
+        }
+        if (recommitted > 0) {
+            allocationRegions.sort();
+            numRegionsInSpace += recommitted;
+            allocationRegionsFreeSpace = allocationRegionsFreeSpace.plus(Size.fromInt(recommitted).shiftedLeft(log2RegionSizeInBytes));
+            numIdleUncommittedRegions = recommitted < numIdleUncommittedRegions ? numIdleUncommittedRegions - recommitted : 0;
+        }
+        return recommitted;
     }
 
+    /**
+     * Remove an empty region from the allocation regions of the space and uncommit it. The region stays in the space's heap account.
+     */
+    private void uncommitRegion(int regionID) {
+        allocationRegions.remove(regionID);
+        heapAccount.uncommit(regionID);
+        allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(regionSizeInBytes);
+        numRegionsInSpace--;
+    }
+
+    /**
+     * Shrink the space by uncommitting empty regions, starting from the highest addressed ones, so that their backing
+     * memory is returned to the OS. The regions remain in the space's heap account and are re-committed on demand by
+     * {@link #increaseSize(Size)}. The space never shrinks below its initial size.
+     * Must be called after the space was swept.
+     */
     @Override
     public Size decreaseSize(Size delta) {
-        // TODO
-        return Size.zero();
+        int numRegions = delta.unsignedShiftedRight(log2RegionSizeInBytes).toInt();
+        if (numRegions > numRegionsInSpace - minRegionsInSpace) {
+            numRegions = numRegionsInSpace - minRegionsInSpace;
+        }
+        int released = 0;
+        int regionID = allocationRegions.tail();
+        while (released < numRegions && regionID != INVALID_REGION_ID) {
+            final int prevRegionID = allocationRegions.prev(regionID);
+            if (fromRegionID(regionID).isEmpty()) {
+                uncommitRegion(regionID);
+                released++;
+            }
+            regionID = prevRegionID;
+        }
+        return Size.fromInt(released).shiftedLeft(log2RegionSizeInBytes);
+    }
+
+    /**
+     * Uncommit the regions of the space that have been empty for at least the specified delay, starting from the highest addressed ones,
+     * so that the memory of the heap follows its live data when the application goes idle. Regions seen empty for the first time are
+     * time-stamped and considered at subsequent calls. The space never shrinks below its initial size.
+     * Called periodically by a mutator thread. Safepoints are disabled while walking the allocation regions so that a GC cannot find
+     * the list being edited.
+     *
+     * @param delay time, in milliseconds, a region must have been empty for before being uncommitted
+     * @return the number of regions uncommitted
+     */
+    public int uncommitIdleRegions(long delay) {
+        synchronized (refillLock()) {
+            final long now = System.currentTimeMillis();
+            final boolean wasDisabled = SafepointPoll.disable();
+            int uncommitted = 0;
+            int regionID = allocationRegions.tail();
+            while (regionID != INVALID_REGION_ID && numRegionsInSpace > minRegionsInSpace) {
+                final int prevRegionID = allocationRegions.prev(regionID);
+                final HeapRegionInfo rinfo = fromRegionID(regionID);
+                if (rinfo.isEmpty()) {
+                    if (rinfo.idleSince == 0L) {
+                        rinfo.idleSince = now;
+                    } else if (now - rinfo.idleSince >= delay) {
+                        uncommitRegion(regionID);
+                        uncommitted++;
+                    }
+                }
+                regionID = prevRegionID;
+            }
+            numIdleUncommittedRegions += uncommitted;
+            if (!wasDisabled) {
+                SafepointPoll.enable();
+            }
+            return uncommitted;
+        }
     }
 
     private void iterateRegions(CellRangeVisitor visitor) {
@@ -692,8 +1031,12 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
 
     @Override
     public void visit(CellRangeVisitor visitor) {
+        // Unswept regions may hold dead objects referencing reclaimed space.
+        finishLazySweep();
         // Make allocating regions iterable first.
-        tlabAllocator.unsafeMakeParsable();
+        for (int node = 0; node < numTLABAllocators(); node++) {
+            tlabAllocator(node).unsafeMakeParsable();
+        }
         overflowAllocator.unsafeMakeParsable();
         regionsRangeIterable.addMatchingFlags(Flag.IS_ALLOCATING);
         iterateRegions(visitor);
@@ -703,7 +1046,9 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
 
     private void verifyHeapRegionsBalance() {
         int balance = 0;
-        balance += tlabAllocator.refillManager().allocatingRegion() == INVALID_REGION_ID ? 0 : 1;
+        for (int node = 0; node < numTLABAllocators(); node++) {
+            balance += tlabAllocator(node).refillManager().allocatingRegion() == INVALID_REGION_ID ? 0 : 1;
+        }
         // balance += currentOverflowAllocatingRegion == INVALID_REGION_ID ? 0 : 1;
         balance += overflowAllocator.refillManager().allocatingRegion() == INVALID_REGION_ID ? 0 : 1;
 
@@ -715,6 +1060,7 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
 
     @Override
     public void verify(AfterMarkSweepVerifier verifier) {
+        finishLazySweep();
         verifyHeapRegionsBalance();
         tlabAllocationRegions.checkIsAddressOrdered();
         allocationRegions.checkIsAddressOrdered();
@@ -734,7 +1080,15 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
     }
 
     public int getAllocatingRegion() {
-        final int regionID = tlabAllocationRegionList().removeHead();
+        int regionID = tlabAllocationRegionList().removeHead();
+        while (regionID == INVALID_REGION_ID && isLazySweepPending()) {
+            lazySweepNextRegion();
+            regionID = tlabAllocationRegionList().removeHead();
+        }
+        if (regionID == INVALID_REGION_ID && numIdleUncommittedRegions > 0 && recommitRegions(1) > 0) {
+            // Bring back a region uncommitted while idle rather than collecting.
+            regionID = tlabAllocationRegionList().removeHead();
+        }
         if (regionID != INVALID_REGION_ID) {
             final HeapRegionInfo regionInfo = fromRegionID(regionID);
             final int numFreeBytes = regionInfo.isEmpty() ?  regionSizeInBytes : regionInfo.freeBytesInChunks();
@@ -743,25 +1097,153 @@ public final class FirstFitMarkSweepSpace<T extends HeapAccountOwner> extends He
         return regionID;
     }
 
+    /**
+     * Removes from a list of allocation regions the first one bound to the specified NUMA node.
+     * @return the identifier of the removed region, or {@link HeapRegionConstants#INVALID_REGION_ID} if the list has no region on that node
+     */
+    private int removeFirstOnNode(HeapRegionList regionList, int node) {
+        regionInfoIterable.initialize(regionList);
+        regionInfoIterable.reset();
+        for (HeapRegionInfo regionInfo : regionInfoIterable) {
+            if (HeapRegionManager.homeNode(regionInfo.toRegionID()) == node) {
+                regionInfoIterable.remove();
+                return regionInfo.toRegionID();
+            }
+        }
+        return INVALID_REGION_ID;
+    }
+
+    public int getAllocatingRegion(int node) {
+        do {
+            int regionID = removeFirstOnNode(tlabAllocationRegions, node);
+            if (regionID == INVALID_REGION_ID) {
+                regionID = removeFirstOnNode(allocationRegions, node);
+            }
+            if (regionID != INVALID_REGION_ID) {
+                final HeapRegionInfo regionInfo = fromRegionID(regionID);
+                final int numFreeBytes = regionInfo.isEmpty() ?  regionSizeInBytes : regionInfo.freeBytesInChunks();
+                allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(numFreeBytes);
+                return regionID;
+            }
+        } while (lazySweepNextRegion());
+        // No free space left on the node. Better to allocate remotely than to collect.
+        return getAllocatingRegion();
+    }
+
     public int getAllocatingRegion(Size minFreeBytes, int maxFreeChunks) {
         final int minFreeSpace = minFreeBytes.toInt();
+        do {
+            regionInfoIterable.initialize(allocationRegions);
+            regionInfoIterable.reset();
+            for (HeapRegionInfo regionInfo : regionInfoIterable) {
+                if (regionInfo.isEmpty()) {
+                    allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(regionSizeInBytes);
+                } else if (regionInfo.freeBytesInChunks() >= minFreeSpace && regionInfo.numFreeChunks() == maxFreeChunks) {
+                    allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(regionInfo.freeBytesInChunks());
+                } else {
+                    continue;
+                }
+                // Found a refill.
+                regionInfoIterable.remove();
+                return  regionInfo.toRegionID();
+            }
+            // Nothing suitable among swept regions. Sweep more if there are regions left to sweep.
+        } while (lazySweepNextRegion());
+        return INVALID_REGION_ID;
+    }
+
+
+    /**
+     * Gather the regions of the space that may be evacuated to defragment it, i.e., regions that are neither empty nor part of a large object,
+     * and whose amount of live data, as recorded by the last sweep, doesn't exceed a threshold.
+     * Must be called during GC, after the space was swept.
+     *
+     * @param maxLiveBytes maximum number of live bytes of a candidate region
+     * @param candidates storage where to record the candidates, each as its live bytes in the high 32 bits and its region identifier in the low 32 bits
+     * @return the number of candidates recorded
+     */
+    int gatherEvacuationCandidates(int maxLiveBytes, long [] candidates) {
+        int numCandidates = gatherEvacuationCandidates(unavailableRegions, maxLiveBytes, candidates, 0);
+        numCandidates = gatherEvacuationCandidates(allocationRegions, maxLiveBytes, candidates, numCandidates);
+        return gatherEvacuationCandidates(tlabAllocationRegions, maxLiveBytes, candidates, numCandidates);
+    }
+
+    private int gatherEvacuationCandidates(HeapRegionList regionList, int maxLiveBytes, long [] candidates, int numCandidates) {
+        regionInfoIterable.initialize(regionList);
+        regionInfoIterable.reset();
+        for (HeapRegionInfo rinfo : regionInfoIterable) {
+            if (!rinfo.isEmpty() && !rinfo.isLarge() && rinfo.liveBytes() <= maxLiveBytes) {
+                candidates[numCandidates++] = ((long) rinfo.liveBytes() << 32) | rinfo.toRegionID();
+            }
+        }
+        return numCandidates;
+    }
+
+    /**
+     * Number of empty regions available for allocation.
+     */
+    int numEmptyRegions() {
+        int numEmptyRegions = 0;
         regionInfoIterable.initialize(allocationRegions);
         regionInfoIterable.reset();
-        for (HeapRegionInfo regionInfo : regionInfoIterable) {
-            if (regionInfo.isEmpty()) {
-                allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(regionSizeInBytes);
-            } else if (regionInfo.freeBytesInChunks() >= minFreeSpace && regionInfo.numFreeChunks() == maxFreeChunks) {
-                allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(regionInfo.freeBytesInChunks());
+        for (HeapRegionInfo rinfo : regionInfoIterable) {
+            if (rinfo.isEmpty()) {
+                numEmptyRegions++;
+            }
+        }
+        return numEmptyRegions;
+    }
+
+    /**
+     * Withdraw a region from the space so that its live objects can be evacuated to the rest of the space.
+     * The region is re-tagged so that it is no longer {@linkplain #contains(Address) contained} in the space, and therefore neither
+     * iterated over nor used for allocation until it is {@linkplain #addEvacuatedRegions(HeapRegionList) given back}.
+     * Must be called during GC, after the space was swept.
+     *
+     * @param regionID identifier of a region of the space
+     * @param evacuationTag the tag identifying regions being evacuated
+     */
+    void removeForEvacuation(int regionID, int evacuationTag) {
+        final HeapRegionInfo rinfo = fromRegionID(regionID);
+        if (unavailableRegions.contains(regionID)) {
+            unavailableRegions.remove(regionID);
+        } else {
+            if (allocationRegions.contains(regionID)) {
+                allocationRegions.remove(regionID);
             } else {
-                continue;
+                tlabAllocationRegions.remove(regionID);
             }
-            // Found a refill.
-            regionInfoIterable.remove();
-            return  regionInfo.toRegionID();
+            allocationRegionsFreeSpace = allocationRegionsFreeSpace.minus(rinfo.freeBytesInChunks());
         }
-        return INVALID_REGION_ID;
+        numRegionsInSpace--;
+        rinfo.setTag(evacuationTag);
     }
 
+    /**
+     * Give back to the space regions whose live objects were all evacuated. The regions are formatted as empty regions available for allocation.
+     *
+     * @param evacuatedRegions a list of evacuated regions. The list is empty on return.
+     */
+    void addEvacuatedRegions(HeapRegionList evacuatedRegions) {
+        final Size regionSize = Size.fromInt(regionSizeInBytes);
+        regionInfoIterable.initialize(evacuatedRegions);
+        regionInfoIterable.reset();
+        for (HeapRegionInfo rinfo : regionInfoIterable) {
+            final Address regionStart = rinfo.regionStart();
+            if (MaxineVM.isDebug()) {
+                Memory.setWords(regionStart.asPointer(), regionSizeInBytes >> Word.widthValue().log2numberOfBytes, Memory.zappedMarker());
+            }
+            HeapFreeChunk.format(regionStart, regionSize);
+            deadSpaceListener.notifyCoalescing(regionStart, regionSize);
+            rinfo.setTag(regionTag);
+            rinfo.resetOccupancy();
+            EMPTY_REGION.setState(rinfo);
+            allocationRegionsFreeSpace = allocationRegionsFreeSpace.plus(regionSize);
+            numRegionsInSpace++;
+        }
+        allocationRegions.appendAndClear(evacuatedRegions);
+        allocationRegions.sort();
+    }
 
     public Size minRetiredFreeChunkSize() {
         return minReclaimableSpace;
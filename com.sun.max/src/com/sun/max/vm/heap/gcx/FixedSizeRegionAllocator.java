@@ -220,6 +220,12 @@ class FixedSizeRegionAllocator {
      */
     private final RegionBitSet committed;
 
+    /**
+     * Set of uncommitted regions whose physical pages were given back to the OS but whose virtual memory is still mapped.
+     * Committing these only requires clearing their bit, the OS lazily re-populating their pages on first access.
+     */
+    private final RegionBitSet released;
+
     /**
      * Number of regions that are committed.
      */
@@ -244,6 +250,7 @@ class FixedSizeRegionAllocator {
         backingStorage = new MemoryRegion(name);
         allocated = new RegionBitSet();
         committed = new RegionBitSet();
+        released = new RegionBitSet();
         committedSize = 0;
         numFreeRegions = 0;
     }
@@ -268,6 +275,7 @@ class FixedSizeRegionAllocator {
 
         allocated.initialize(new long[numWordsPerBitSet]);
         committed.initialize(new long[numWordsPerBitSet]);
+        released.initialize(new long[numWordsPerBitSet]);
 
         highestAllocated = INVALID_REGION_ID;
         residentRegions = numPreCommitted;
@@ -407,29 +415,59 @@ class FixedSizeRegionAllocator {
         return true;
     }
 
+    private boolean isReleasedRange(int firstRegionId, int numRegions) {
+        for (int r = firstRegionId; r < firstRegionId + numRegions; r++) {
+            if (released.isClear(r)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     synchronized boolean commit(int firstRegionId, int numRegions) {
         if (!isValidAllocatedRange(firstRegionId, numRegions)) {
             // Cannot commit non-allocated regions.
             return false;
         }
+        final int end = firstRegionId + numRegions;
+        if (isReleasedRange(firstRegionId, numRegions)) {
+            // Still mapped, with their NUMA binding: the pages are brought back on demand.
+            released.clear(firstRegionId, end);
+            committed.set(firstRegionId, end);
+            committedSize += numRegions;
+            return true;
+        }
         // TODO (ld) should we try to avoid calling commitMemmory if the range is already committed ?
         // Should we try to commit only uncommitted sub-range ?
         final Size size = Size.fromInt(numRegions).shiftedLeft(log2RegionSizeInBytes);
         if (VirtualMemory.commitMemory(regionStart(firstRegionId), size, VirtualMemory.Type.HEAP)) {
-            committed.set(firstRegionId, firstRegionId + numRegions);
+            released.clear(firstRegionId, end);
+            committed.set(firstRegionId, end);
             committedSize += numRegions;
+            HeapRegionManager.theHeapRegionManager.bindToHomeNodes(firstRegionId, numRegions);
             return true;
         }
         return false;
     }
 
+    /**
+     * Uncommit a range of regions. Unless {@link HeapRegionManager#UnmapUncommittedRegions} is set, the physical pages of the regions
+     * are given back to the OS (e.g., with madvise) while their virtual memory stays mapped. Otherwise, or if the platform doesn't support
+     * releasing pages in place, the range is remapped without access rights.
+     */
     synchronized boolean uncommit(int firstRegionId, int numRegions) {
         if (isValidCommittedRange(firstRegionId, numRegions)) {
+            final int end = firstRegionId + numRegions;
+            final Address start = regionStart(firstRegionId);
             final Size size = Size.fromInt(numRegions).shiftedLeft(log2RegionSizeInBytes);
-            if (VirtualMemory.uncommitMemory(regionStart(firstRegionId), size, VirtualMemory.Type.HEAP)) {
-                committed.clear(firstRegionId, firstRegionId + numRegions);
-                return true;
+            if (!HeapRegionManager.UnmapUncommittedRegions && VirtualMemory.releaseMemory(start, size, VirtualMemory.Type.HEAP)) {
+                released.set(firstRegionId, end);
+            } else if (!VirtualMemory.uncommitMemory(start, size, VirtualMemory.Type.HEAP)) {
+                return false;
             }
+            committed.clear(firstRegionId, end);
+            committedSize -= numRegions;
+            return true;
         }
         return false;
     }
@@ -170,6 +170,31 @@ final class ForwardScanState extends ColorMapScanState implements SpecialReferen
         }
     }
 
+    /**
+     * Visit the grey objects whose mark is within a bounded number of words of the color map starting from the finger, then drain the marking stack.
+     * Before draining, the finger is moved to the first word of the color map past the visited range so that
+     * all white references to objects before it are pushed on the marking stack and processed during the drainage.
+     * The finger is left there so that the next increment resumes the scan from it.
+     *
+     * @param maxBitmapWords maximum number of words of the color map to scan
+     * @return true if there are no more grey objects to visit
+     */
+    boolean visitGreyObjectsIncrementally(int maxBitmapWords) {
+        final int rightmostBitmapWordIndex = rightmostBitmapWordIndex();
+        final int bitmapWordIndex = heapMarker.bitmapWordIndex(finger);
+        if (bitmapWordIndex > rightmostBitmapWordIndex) {
+            return true;
+        }
+        int lastBitmapWordIndex = bitmapWordIndex + maxBitmapWords - 1;
+        if (lastBitmapWordIndex > rightmostBitmapWordIndex) {
+            lastBitmapWordIndex = rightmostBitmapWordIndex;
+        }
+        visitGreyObjects(bitmapWordIndex, lastBitmapWordIndex);
+        finger = heapMarker.addressOf((lastBitmapWordIndex + 1) << Word.widthValue().log2numberOfBits);
+        heapMarker.markingStack.drain();
+        return heapMarker.bitmapWordIndex(finger) > rightmostBitmapWordIndex();
+    }
+
     public void visitGreyObjects() {
         int rightmostBitmapWordIndex = rightmostBitmapWordIndex();
         do {
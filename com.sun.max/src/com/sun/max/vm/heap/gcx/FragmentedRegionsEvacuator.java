@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import static com.sun.max.vm.heap.gcx.HeapRegionConstants.*;
+
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.rset.ctbl.*;
+import com.sun.max.vm.layout.*;
+import com.sun.max.vm.reference.*;
+
+/**
+ * Garbage-first evacuation of the regions of a {@link FirstFitMarkSweepSpace}, to defragment the space after it was swept.
+ *
+ * The live data recorded in each region by the sweeper is used to select a collection set made of the regions with the most garbage.
+ * Regions are added to the collection set in increasing order of live data for as long as the predicted time to evacuate them stays within
+ * a pause time target. The prediction uses an exponentially decaying average of the evacuation rate observed during previous evacuations.
+ *
+ * The space's card table holds the remembered set of the collection set. It is built right after the collection set is selected, by dirtying
+ * the cards of the space holding references to the collection set. Together with the roots, the boot heap, the code and immortal regions, the dirty cards
+ * provide all the references to the collection set. Live objects of the collection set are evacuated to the rest of the space, and the evacuated regions
+ * are given back to the space as empty regions.
+ */
+public final class FragmentedRegionsEvacuator extends EvacuatorToCardSpace {
+    static int EvacuationPauseTarget = 20;
+    static int EvacuationLiveThreshold = 75;
+    static {
+        VMOptions.addFieldOption("-XX:", "EvacuationPauseTarget", FragmentedRegionsEvacuator.class,
+                        "Pause time target (in ms) for the evacuation of fragmented regions", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "EvacuationLiveThreshold", FragmentedRegionsEvacuator.class,
+                        "Maximum percentage of live data of a region selected for evacuation", Phase.PRISTINE);
+    }
+
+    /**
+     * Evacuation rate (in bytes per milliseconds) assumed until the first evacuation takes place.
+     */
+    private static final double INITIAL_EVACUATION_RATE = 256 * 1024;
+
+    /**
+     * Weight of the last observed evacuation rate in the average evacuation rate.
+     */
+    private static final double EVACUATION_RATE_WEIGHT = 0.3;
+
+    /**
+     * The regions selected for evacuation. Regions of the collection set are tagged with a tag distinct from the tag of the space's regions.
+     */
+    static final class CollectionSet implements EvacuatingSpace {
+        final FirstFitMarkSweepSpace<?> space;
+        final int tag;
+        HeapRegionList regions;
+        private final SpaceBounds bounds;
+
+        CollectionSet(FirstFitMarkSweepSpace<?> space, int tag) {
+            this.space = space;
+            this.tag = tag;
+            bounds = new SpaceBounds() {
+                @Override
+                boolean isIn(Address address) {
+                    return contains(address);
+                }
+
+                @Override
+                boolean isContiguous() {
+                    return false;
+                }
+
+                @Override
+                Address lowestAddress() {
+                    return RegionTable.theRegionTable().regionAddress(regions.head());
+                }
+
+                @Override
+                Address highestAddress() {
+                    return RegionTable.theRegionTable().regionAddress(regions.tail()).plus(regionSizeInBytes);
+                }
+            };
+        }
+
+        @Override
+        public SpaceBounds bounds() {
+            return bounds;
+        }
+
+        @Override
+        public boolean contains(Address address) {
+            return HeapRegionInfo.fromAddress(address).tag == tag;
+        }
+
+        @Override
+        public void doBeforeGC() {
+        }
+
+        @Override
+        public void doAfterGC() {
+            space.addEvacuatedRegions(regions);
+        }
+    }
+
+    /**
+     * Dirty the cards of the space that hold references to the collection set.
+     */
+    final class RSetBuilder extends PointerIndexVisitor implements CellRangeVisitor {
+        @Override
+        public void visitCells(Address start, Address end) {
+            Pointer cell = start.asPointer();
+            while (cell.lessThan(end)) {
+                cell = visitCell(cell);
+            }
+        }
+
+        private Pointer visitCell(Pointer cell) {
+            final Pointer origin = Layout.cellToOrigin(cell);
+            visit(origin, Layout.hubIndex());
+            final Hub hub = Layout.getHub(origin);
+            if (hub == HeapFreeChunk.heapFreeChunkHub()) {
+                return cell.plus(HeapFreeChunk.toHeapFreeChunk(origin).size);
+            }
+            final SpecificLayout specificLayout = hub.specificLayout;
+            if (specificLayout.isTupleLayout()) {
+                TupleReferenceMap.visitReferences(hub, origin, this);
+                if (hub.isJLRReference) {
+                    visit(origin, SpecialReferenceManager.referentIndex());
+                }
+                return cell.plus(hub.tupleSize);
+            }
+            if (specificLayout.isHybridLayout()) {
+                TupleReferenceMap.visitReferences(hub, origin, this);
+            } else if (specificLayout.isReferenceArrayLayout()) {
+                final int length = Layout.readArrayLength(origin) + Layout.firstElementIndex();
+                for (int index = Layout.firstElementIndex(); index < length; index++) {
+                    visit(origin, index);
+                }
+            }
+            return cell.plus(Layout.size(origin));
+        }
+
+        @Override
+        public void visit(Pointer origin, int wordIndex) {
+            if (collectionSet.contains(origin.getReference(wordIndex).toOrigin())) {
+                rset.record(Reference.fromOrigin(origin), 0, wordIndex);
+            }
+        }
+    }
+
+    /**
+     * Closure for evacuating cells of the collection set referenced from dirty cards of the space.
+     * As for nursery evacuation, the area currently used for evacuation allocation is skipped.
+     */
+    final class DirtyCardEvacuationClosure implements OverlappingCellVisitor, CellRangeVisitor {
+        @Override
+        public Pointer visitCell(Pointer cell, Address start, Address end) {
+            if (cell.equals(ptop)) {
+                // Skip allocating area.
+                return pend;
+            }
+            return scanCellForEvacuatees(cell, start, end);
+        }
+
+        @Override
+        public void visitCells(Address start, Address end) {
+            rset.cleanAndVisitCards(start, end, this);
+        }
+    }
+
+    private final CollectionSet collectionSet;
+    private final RSetBuilder rsetBuilder = new RSetBuilder();
+    private final DirtyCardEvacuationClosure dirtyCardClosure = new DirtyCardEvacuationClosure();
+
+    /**
+     * Storage for sorting the candidates for evacuation. See {@link FirstFitMarkSweepSpace#gatherEvacuationCandidates(int, long[])}.
+     */
+    private long [] candidates;
+
+    /**
+     * Average evacuation rate, in bytes per milliseconds.
+     */
+    private double evacuationRate = INITIAL_EVACUATION_RATE;
+
+    /**
+     * Live bytes of the collection set, as recorded by the sweeper.
+     */
+    private long collectionSetLiveBytes;
+
+    /**
+     * Create an evacuator for a region-based mark-sweep space.
+     *
+     * @param space the space whose regions are evacuated
+     * @param evacuationBufferProvider provider of evacuation buffers allocated from the space
+     * @param rset the card table remembered set covering the space
+     * @param evacuationTag tag for regions of the collection set. Must differ from any other tag used by the heap.
+     */
+    public FragmentedRegionsEvacuator(FirstFitMarkSweepSpace<?> space, EvacuationBufferProvider evacuationBufferProvider, CardTableRSet rset, int evacuationTag) {
+        this(new CollectionSet(space, evacuationTag), space, evacuationBufferProvider, rset);
+    }
+
+    private FragmentedRegionsEvacuator(CollectionSet collectionSet, FirstFitMarkSweepSpace<?> space, EvacuationBufferProvider evacuationBufferProvider, CardTableRSet rset) {
+        super(collectionSet, space, evacuationBufferProvider, rset, "FragmentedRegions");
+        this.collectionSet = collectionSet;
+    }
+
+    /**
+     * Initialization of those elements that relies on parameters available at VM start only.
+     * @param maxRegions maximum number of regions of the evacuated space
+     */
+    public void initialize(int maxRegions) {
+        initialize(1000, false, collectionSet.space.minReclaimableSpace(), true);
+        collectionSet.regions = HeapRegionList.RegionListUse.OWNERSHIP.createList();
+        candidates = new long[maxRegions];
+    }
+
+    /**
+     * Sort the first candidates in increasing order of live bytes. Shell sort is used as it sorts in place.
+     */
+    private void sortCandidates(int numCandidates) {
+        int gap = 1;
+        while (gap < numCandidates / 3) {
+            gap = 3 * gap + 1;
+        }
+        while (gap > 0) {
+            for (int i = gap; i < numCandidates; i++) {
+                final long candidate = candidates[i];
+                int j = i;
+                while (j >= gap && candidates[j - gap] > candidate) {
+                    candidates[j] = candidates[j - gap];
+                    j -= gap;
+                }
+                candidates[j] = candidate;
+            }
+            gap /= 3;
+        }
+    }
+
+    /**
+     * Select the regions to evacuate and withdraw them from the space.
+     * Evacuated objects are copied to the rest of the space. To avoid running out of space during evacuation, the live data of the collection set
+     * must fit in the empty regions of the space, less one empty region kept in reserve for large overflow allocations.
+     *
+     * @return the number of regions selected
+     */
+    private int selectCollectionSet() {
+        final FirstFitMarkSweepSpace<?> space = collectionSet.space;
+        final int maxLiveBytes = (int) ((long) regionSizeInBytes * EvacuationLiveThreshold / 100);
+        final int numCandidates = space.gatherEvacuationCandidates(maxLiveBytes, candidates);
+        final long copyReserve = (long) (space.numEmptyRegions() - 1) << log2RegionSizeInBytes;
+        sortCandidates(numCandidates);
+        collectionSetLiveBytes = 0L;
+        int numSelected = 0;
+        for (int i = 0; i < numCandidates; i++) {
+            final long liveBytes = collectionSetLiveBytes + (candidates[i] >>> 32);
+            if (liveBytes > copyReserve || (numSelected > 0 && liveBytes / evacuationRate > EvacuationPauseTarget)) {
+                break;
+            }
+            final int regionID = (int) candidates[i];
+            space.removeForEvacuation(regionID, collectionSet.tag);
+            collectionSet.regions.append(regionID);
+            collectionSetLiveBytes = liveBytes;
+            numSelected++;
+        }
+        collectionSet.regions.sort();
+        return numSelected;
+    }
+
+    /**
+     * Evacuate the most fragmented regions of the space. Must be called during GC, after the space was swept.
+     *
+     * @param logPhases whether to log evacuation phases
+     * @return the number of regions reclaimed
+     */
+    public int evacuateFragmentedRegions(boolean logPhases) {
+        final int numRegions = selectCollectionSet();
+        if (numRegions == 0) {
+            return 0;
+        }
+        final long start = System.nanoTime();
+        collectionSet.space.visit(rsetBuilder);
+        evacuate(logPhases);
+        final long elapsed = System.nanoTime() - start;
+        final long numEvacuatedBytes = evacuatedBytes().toLong();
+        if (elapsed > 0L && numEvacuatedBytes > 0L) {
+            final double lastRate = numEvacuatedBytes * 1000000.0 / elapsed;
+            evacuationRate = EVACUATION_RATE_WEIGHT * lastRate + (1.0 - EVACUATION_RATE_WEIGHT) * evacuationRate;
+        }
+        return numRegions;
+    }
+
+    /**
+     * Live bytes of the regions evacuated by the last call to {@link #evacuateFragmentedRegions(boolean)}, as recorded by the sweeper.
+     */
+    public long collectionSetLiveBytes() {
+        return collectionSetLiveBytes;
+    }
+
+    @Override
+    protected void evacuateFromRSets() {
+        toSpace.visit(dirtyCardClosure);
+    }
+}
@@ -812,6 +812,33 @@ public final class FreeHeapSpaceManager extends Sweeper implements HeapSpace {
     public void doAfterGC() {
     }
 
+    /**
+     * Record the bounds of all the free chunks available for allocation, so that space allocated afterward can be found.
+     * The space left in the small object allocator is retired first so that all subsequent allocations are satisfied
+     * from the recorded chunks. Must be called while mutators are stopped.
+     *
+     * @param buffer storage for pairs of start and end addresses
+     * @param maxRanges maximum number of ranges the buffer can hold
+     * @return the number of ranges recorded, or -1 if the buffer is too small
+     */
+    public int recordFreeChunks(Pointer buffer, int maxRanges) {
+        smallObjectAllocator.doBeforeGC();
+        int numRanges = 0;
+        for (FreeSpaceList fsp : freeChunkBins) {
+            Address chunk = fsp.head;
+            while (!chunk.isZero()) {
+                if (numRanges == maxRanges) {
+                    return -1;
+                }
+                buffer.setWord(2 * numRanges, chunk);
+                buffer.setWord(2 * numRanges + 1, chunk.plus(HeapFreeChunk.getFreechunkSize(chunk)));
+                numRanges++;
+                chunk = HeapFreeChunk.getFreeChunkNext(chunk);
+            }
+        }
+        return numRanges;
+    }
+
     @INLINE
     private void checkBinFreeSpace() {
         if (MaxineVM.isDebug()) {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+
+/**
+ * Measures GC pauses and the fraction of elapsed time spent in GC, as exponentially decaying averages.
+ * Heap sizing policies use these to resize the heap against a {@linkplain #MaxGCPauseMillis pause goal}
+ * and a {@linkplain #GCTimePercent GC-time goal}.
+ */
+public final class GCTimeStatistics {
+    /**
+     * Target maximum GC pause, in milliseconds.
+     */
+    public static int MaxGCPauseMillis = 200;
+
+    /**
+     * Target percentage of elapsed time spent in GC.
+     */
+    public static int GCTimePercent = 5;
+
+    /**
+     * Weight, in percent, of the last GC in the decaying averages.
+     */
+    static int GCTimeStatisticsWeight = 30;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "MaxGCPauseMillis", GCTimeStatistics.class,
+            "Target maximum GC pause (in ms) ergonomic heap sizing aims at", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "GCTimePercent", GCTimeStatistics.class,
+            "Target percentage of elapsed time spent in GC ergonomic heap sizing aims at", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "GCTimeStatisticsWeight", GCTimeStatistics.class,
+            "Weight (in percent) of the last GC in the averages ergonomic heap sizing is driven by", Phase.PRISTINE);
+    }
+
+    /**
+     * Time (in ns) the current GC started at.
+     */
+    private long gcStartTime;
+
+    /**
+     * Time (in ns) the last GC ended at. Zero if no GC completed yet.
+     */
+    private long lastGCEndTime;
+
+    /**
+     * Decaying average of GC pauses, in milliseconds.
+     */
+    private double avgPauseMillis;
+
+    /**
+     * Decaying average of the fraction of time spent in GC, measured from the end of a GC to the end of the next one.
+     */
+    private double avgGCTimeFraction;
+
+    /**
+     * Number of GCs the fraction of time spent in GC was sampled for.
+     */
+    private int numGCTimeSamples;
+
+    public void notifyGCStart() {
+        gcStartTime = System.nanoTime();
+    }
+
+    public void notifyGCEnd() {
+        final long now = System.nanoTime();
+        final long pause = now - gcStartTime;
+        final double weight = GCTimeStatisticsWeight / 100.0;
+        final double pauseMillis = pause / 1000000.0;
+        if (lastGCEndTime == 0L) {
+            avgPauseMillis = pauseMillis;
+        } else {
+            avgPauseMillis = (1.0 - weight) * avgPauseMillis + weight * pauseMillis;
+            final long period = now - lastGCEndTime;
+            final double gcTimeFraction = period <= pause ? 1.0 : (double) pause / period;
+            avgGCTimeFraction = numGCTimeSamples == 0 ? gcTimeFraction : (1.0 - weight) * avgGCTimeFraction + weight * gcTimeFraction;
+            numGCTimeSamples++;
+        }
+        lastGCEndTime = now;
+    }
+
+    /**
+     * Indicates whether enough GCs were measured for the averages to be meaningful.
+     */
+    public boolean hasSamples() {
+        return numGCTimeSamples > 0;
+    }
+
+    public double averagePauseMillis() {
+        return avgPauseMillis;
+    }
+
+    public double averageGCTimeFraction() {
+        return avgGCTimeFraction;
+    }
+
+    /**
+     * Target fraction of elapsed time spent in GC.
+     */
+    public static double gcTimeGoal() {
+        return GCTimePercent / 100.0;
+    }
+
+    public boolean exceedsPauseGoal() {
+        return avgPauseMillis > MaxGCPauseMillis;
+    }
+
+    public boolean exceedsGCTimeGoal() {
+        return avgGCTimeFraction > gcTimeGoal();
+    }
+}
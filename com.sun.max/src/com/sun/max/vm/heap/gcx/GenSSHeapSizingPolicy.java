@@ -33,7 +33,7 @@ import com.sun.max.vm.log.hosted.*;
 import com.sun.max.vm.runtime.*;
 
 /**
- * Simple heap sizing policy for a generational heap with a old generation made of two semi-spaces and a non-aging nursery.
+ * Simple heap sizing policy for a generational heap with a old generation made of two semi-spaces and a nursery.
  *
  * The policy computes the maximum and initial size of the heap based on the maximum and initial heap memory specified via
  * the <code>-Xmx</code> and <code>-Xms</code> command line arguments. Note that the memory specified via these command line argument
@@ -50,6 +50,16 @@ import com.sun.max.vm.runtime.*;
  * and re-distribute this space to the old generation (equally among the semi-space). This is similar to Appel's generational collector.
  *
  * An out of memory situation occurs when the minimum size for a young generation is met.
+ *
+ * Unless the maximum tenuring threshold is zero, the nursery ages objects: a fixed percentage of the young generation is set aside
+ * for two survivor spaces, and the rest is used as the eden. The policy adapts the tenuring threshold after every minor collection so that
+ * survivors fill no more than a target percentage of a survivor space: the threshold is set to the lowest age at which the cumulated
+ * size of survivors of that age or younger exceeds the target.
+ *
+ * When {@linkplain ErgonomicHeapResizingPolicy#ErgonomicHeapSizing ergonomic heap sizing} is enabled, normal mode also takes into account measured GC pauses and time spent in GC:
+ * the young generation percentage is lowered when minor collection pauses exceed the {@linkplain GCTimeStatistics#MaxGCPauseMillis pause goal},
+ * and both the young generation percentage and the heap are increased, and the heap is never shrunk, when the fraction of time spent in GC exceeds
+ * the {@linkplain GCTimeStatistics#GCTimePercent GC-time goal}.
  */
 public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
     /**
@@ -62,9 +72,29 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
      */
     private static int YoungGenHeapPercent = 40;
 
+    /**
+     * Knob for specifying the maximum number of minor collections an object survives in the nursery before being promoted to the old generation.
+     * Zero disables aging: all survivors of a minor collection are promoted.
+     */
+    private static int MaxTenuringThreshold = 15;
+
+    /**
+     * Knob for specifying the percentage of the young generation used by each survivor space.
+     */
+    private static int SurvivorSpacePercent = 10;
+
+    /**
+     * Knob for specifying the percentage of a survivor space that survivors should occupy after a minor collection.
+     */
+    private static int TargetSurvivorRatio = 50;
+
     static {
         VMOptions.addFieldOption("-XX:", "DisableHeapShrink", GenSSHeapSizingPolicy.class, "Disable shrinking the heap when true", Phase.PRISTINE);
         VMOptions.addFieldOption("-XX:", "YoungGenHeapPercent", GenSSHeapSizingPolicy.class, "Percentage of heap size that must be used by young gen", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "MaxTenuringThreshold", GenSSHeapSizingPolicy.class, "Maximum number of minor collections an object survives before promotion (0 disables aging). " +
+            "Minor collections that age survivors evacuate sequentially, even when -XX:ParallelGCThreads is set", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "SurvivorSpacePercent", GenSSHeapSizingPolicy.class, "Percentage of young gen size used by each survivor space", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "TargetSurvivorRatio", GenSSHeapSizingPolicy.class, "Desired percentage of survivor space used after a minor collection", Phase.PRISTINE);
     }
 
      /**
@@ -159,6 +189,21 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
      */
     private Size heapSize;
 
+    /**
+     * Tenuring threshold computed after the last minor collection.
+     */
+    private int tenuringThreshold;
+
+    /**
+     * Measures of all GC pauses, used to size the heap against the GC-time goal.
+     */
+    private final GCTimeStatistics gcTimes = new GCTimeStatistics();
+
+    /**
+     * Measures of minor collection pauses, used to size the young generation against the pause goal.
+     */
+    private final GCTimeStatistics minorGCTimes = new GCTimeStatistics();
+
     private Size alignUp(Size size) {
         Size alignment = unitSize.minus(1);
         return size.plus(alignment).and(alignment.not());
@@ -216,6 +261,9 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         // Run validation of heap sizing parameters.
         FatalError.check(youngGenMaxHeapPercentage > 0 && youngGenMaxHeapPercentage < 100, "Not a valid percentage of heap size");
         FatalError.check(log2Alignment > 0 && log2Alignment < Word.widthValue().numberOfBits, "Not a valid log2 alignment");
+        FatalError.check(MaxTenuringThreshold >= 0 && MaxTenuringThreshold <= SurvivorSpaces.MAX_AGE, "Not a valid tenuring threshold");
+        FatalError.check(SurvivorSpacePercent > 0 && SurvivorSpacePercent < 50, "Not a valid percentage of young gen size");
+        FatalError.check(TargetSurvivorRatio > 0 && TargetSurvivorRatio <= 100, "Not a valid percentage of survivor space");
         this.youngGenMaxHeapPercentage = youngGenMaxHeapPercentage;
         this.log2Alignment = log2Alignment;
         this.unitSize = Size.fromInt(1).shiftedLeft(log2Alignment);
@@ -233,6 +281,7 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         }
         youngGenHeapPercentage = youngGenMaxHeapPercentage;
         heapSize = initHeapSize;
+        tenuringThreshold = MaxTenuringThreshold;
         maxHeapOldGenSize = maxHeapSize.minus(minYoungGenSize());
         if (logger.enabled()) {
             logger.logInitializeHeap(heapSize.toLong(), initialYoungGenSize().toLong(), initialOldGenSize().toLong(), maxHeapSize.toLong(), percent(maxHeapSize, youngGenMaxHeapPercentage).toLong(), maxHeapOldGenSize.toLong());
@@ -273,6 +322,73 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         return heapSize.minus(youngGenSize());
     }
 
+    /**
+     * Indicate whether the nursery ages objects.
+     */
+    public boolean agesNursery() {
+        return MaxTenuringThreshold > 0;
+    }
+
+    private Size survivorSpaceSize(Size youngGenSize) {
+        return agesNursery() ? alignDown(percent(youngGenSize, SurvivorSpacePercent)) : Size.zero();
+    }
+
+    public Size initialSurvivorSpaceSize() {
+        return survivorSpaceSize(initialYoungGenSize());
+    }
+
+    public Size maxSurvivorSpaceSize() {
+        return survivorSpaceSize(maxYoungGenSize());
+    }
+
+    /**
+     * Size of each survivor space of the young generation.
+     */
+    public Size survivorSpaceSize() {
+        return survivorSpaceSize(youngGenSize());
+    }
+
+    public Size initialEdenSize() {
+        return initialYoungGenSize().minus(initialSurvivorSpaceSize().times(2));
+    }
+
+    /**
+     * Size of the young generation's allocation space, i.e., the young generation minus its survivor spaces.
+     */
+    public Size edenSize() {
+        return youngGenSize().minus(survivorSpaceSize().times(2));
+    }
+
+    /**
+     * Age at which survivors of a minor collection are promoted to the old generation.
+     */
+    public int tenuringThreshold() {
+        return tenuringThreshold;
+    }
+
+    /**
+     * Adjust the tenuring threshold after a minor collection.
+     *
+     * @param survivorBytesByAge amount of bytes of survivors in the survivor space, indexed by age
+     * @param survivorSpaceSize size of the survivor space
+     */
+    public void updateTenuringThreshold(long[] survivorBytesByAge, Size survivorSpaceSize) {
+        if (!agesNursery()) {
+            return;
+        }
+        final long desiredSurvivorBytes = percent(survivorSpaceSize, TargetSurvivorRatio).toLong();
+        long survivorBytes = 0L;
+        int age = 1;
+        while (age < MaxTenuringThreshold) {
+            survivorBytes += survivorBytesByAge[age];
+            if (survivorBytes > desiredSurvivorBytes) {
+                break;
+            }
+            age++;
+        }
+        tenuringThreshold = age;
+    }
+
     public boolean shouldPerformFullGC(Size estimatedEvacuation, Size oldGenFreeSpace, boolean oldSpaceMutatorOverflow) {
         final boolean needsFullGC = minorEvacuationOverflow || oldSpaceMutatorOverflow || estimatedEvacuation.greaterThan(oldGenFreeSpace);
         if (logger.enabled()) {
@@ -372,8 +488,9 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         if (newHeapSize.minus(heapSize).lessThan(minHeapDeltaBytes)) {
             newHeapSize = heapSize.plus(minHeapDeltaBytes);
         }
-        if (newHeapSize.greaterThan(maxHeapSize)) {
-            newHeapSize = maxHeapSize;
+        final Size maxSize = maxHeapSize(youngGenHeapPercentage);
+        if (newHeapSize.greaterThan(maxSize)) {
+            newHeapSize = maxSize;
         }
         Size delta = targetGrowth.plus(newHeapSize.minus(heapSize)); // for logging only.
         heapSize = newHeapSize;
@@ -391,7 +508,7 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         final Size usedSpace = oldGenSize().minus(currentOldFreeSpace);
         if (normalMode) {
             Size freeHeapSpace = heapSize.minus(usedSpace);
-            if (heapSize.lessThan(maxHeapSize)) {
+            if (heapSize.lessThan(maxHeapSize(youngGenHeapPercentage))) {
                 FatalError.check(normalMode, "Heap sizing policy must be in normal mode");
                 Size minFreeHeapSpace = percent(heapSize, minFreePercent);
                 if (freeHeapSpace.greaterEqual(minFreeHeapSpace)) {
@@ -423,6 +540,103 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
         return false;
     }
 
+    public void notifyGCStart() {
+        gcTimes.notifyGCStart();
+        minorGCTimes.notifyGCStart();
+    }
+
+    public void notifyMinorGCEnd() {
+        minorGCTimes.notifyGCEnd();
+    }
+
+    public void notifyGCEnd() {
+        gcTimes.notifyGCEnd();
+    }
+
+    /**
+     * Maximum effective heap size for the specified young generation percentage, such that the memory used by the heap
+     * (i.e., two old generation semi-spaces and the young generation) stays within the maximum heap memory.
+     */
+    private Size maxHeapSize(int youngPercentage) {
+        return alignDown(maxHeapSize.times(200 - youngGenMaxHeapPercentage).dividedBy(200 - youngPercentage));
+    }
+
+    /**
+     * Change the percentage of the effective heap size used by the young generation while keeping the heap memory unchanged,
+     * unless the old generation would then be left with less free space than needed.
+     *
+     * @return true if the young generation percentage was changed
+     */
+    private boolean changeYoungGenPercentage(int newYoungGenHeapPercentage, Size usedSpace, Size oldFreeSpaceNeeded) {
+        if (newYoungGenHeapPercentage == youngGenHeapPercentage) {
+            return false;
+        }
+        final int previousYoungGenHeapPercentage = youngGenHeapPercentage;
+        final Size previousHeapSize = heapSize;
+        heapSize = alignDown(heapSize.times(200 - youngGenHeapPercentage).dividedBy(200 - newYoungGenHeapPercentage));
+        youngGenHeapPercentage = newYoungGenHeapPercentage;
+        if (oldGenSize().lessThan(usedSpace.plus(oldFreeSpaceNeeded))) {
+            youngGenHeapPercentage = previousYoungGenHeapPercentage;
+            heapSize = previousHeapSize;
+            return false;
+        }
+        if (logger.enabled()) {
+            logger.logChangeYoungPercent(heapSize.toLong(), youngGenSize().toLong(), oldGenSize().toLong(), youngGenHeapPercentage);
+        }
+        return true;
+    }
+
+    /**
+     * Lower the young generation percentage in proportion to the excess of minor collection pauses over the pause goal.
+     *
+     * @return true if the young generation percentage was changed
+     */
+    private boolean sizeYoungGenForPauseGoal(Size usedSpace, Size oldFreeSpaceNeeded) {
+        if (!minorGCTimes.exceedsPauseGoal() || youngGenHeapPercentage <= MinYoungGenPercent) {
+            return false;
+        }
+        int newYoungGenHeapPercentage = (int) (youngGenHeapPercentage * (GCTimeStatistics.MaxGCPauseMillis / minorGCTimes.averagePauseMillis()));
+        if (newYoungGenHeapPercentage < MinYoungGenPercent) {
+            newYoungGenHeapPercentage = MinYoungGenPercent;
+        }
+        return changeYoungGenPercentage(newYoungGenHeapPercentage, usedSpace, oldFreeSpaceNeeded);
+    }
+
+    /**
+     * Grow the young generation percentage, then the heap, in proportion to the excess of the fraction of time spent in GC over the GC-time goal.
+     * As collections occur when the young generation fills up, a larger young generation makes them less frequent.
+     *
+     * @return true if the heap or the young generation was resized
+     */
+    private boolean growForGCTimeGoal(Size usedSpace, Size oldFreeSpaceNeeded) {
+        final double excess = gcTimes.averageGCTimeFraction() / GCTimeStatistics.gcTimeGoal();
+        boolean resized = false;
+        if (youngGenHeapPercentage < youngGenMaxHeapPercentage) {
+            int newYoungGenHeapPercentage = (int) (youngGenHeapPercentage * excess) + 1;
+            if (newYoungGenHeapPercentage > youngGenMaxHeapPercentage) {
+                newYoungGenHeapPercentage = youngGenMaxHeapPercentage;
+            }
+            resized = changeYoungGenPercentage(newYoungGenHeapPercentage, usedSpace, oldFreeSpaceNeeded);
+        }
+        final Size maxSize = maxHeapSize(youngGenHeapPercentage);
+        if (heapSize.lessThan(maxSize)) {
+            Size newHeapSize = alignUp(usedSpace.plus(Size.fromLong((long) (heapSize.minus(usedSpace).toLong() * excess))));
+            if (newHeapSize.minus(heapSize).lessThan(minHeapDeltaBytes)) {
+                newHeapSize = heapSize.plus(minHeapDeltaBytes);
+            }
+            if (newHeapSize.greaterThan(maxSize)) {
+                newHeapSize = maxSize;
+            }
+            final Size delta = newHeapSize.minus(heapSize);
+            heapSize = newHeapSize;
+            if (logger.enabled()) {
+                logger.logGrowHeap(heapSize.toLong(), youngGenSize().toLong(), oldGenSize().toLong(), delta.toLong());
+            }
+            resized = true;
+        }
+        return resized;
+    }
+
     /**
      * Recompute heap and generation size based on information provided.
      * The new heap and generation sizes can be consulted using the methods {@link #heapSize()} {@link #youngGenSize()} {@link #oldGenSize()}.
@@ -436,16 +650,20 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
     public boolean resizeAfterFullGC(Size estimatedEvacuation, Size oldGenFreeSpace, boolean oldGenMutatorOverflow, Size oldSpaceRequestedBytes) {
         minorEvacuationOverflow = false;
         final Size usedSpace = oldGenSize().minus(oldGenFreeSpace);
+        final Size oldFreeSpaceNeeded = estimatedEvacuation.greaterThan(oldSpaceRequestedBytes) ? estimatedEvacuation : oldSpaceRequestedBytes;
+        final boolean ergonomic = ErgonomicHeapResizingPolicy.ErgonomicHeapSizing && normalMode && !outOfMemory && gcTimes.hasSamples();
+        final boolean overGCTimeGoal = ergonomic && gcTimes.exceedsGCTimeGoal();
+        final boolean youngGenResized = ergonomic && !overGCTimeGoal && sizeYoungGenForPauseGoal(usedSpace, oldFreeSpaceNeeded);
         Size freeHeapSpace = heapSize.minus(usedSpace);
         Size maxFreeHeapSpace = percent(heapSize, maxFreePercent);
         // Should we shrink ?
-        // Don't bother if the evacuator ended up out of memory.
+        // Don't bother if the evacuator ended up out of memory, or if the time spent in GC already exceeds its goal.
         // Also, for simplicity, we don't if the full GC was trigger because of a mutator overflow, otherwise we risk shrinking below what the mutator was requesting.
         // Trying to be smarter requires providing here the actual size requested by the mutator.
-        if (!(oldGenMutatorOverflow || outOfMemory) && freeHeapSpace.greaterThan(maxFreeHeapSpace) && maxFreeHeapSpace.greaterEqual(estimatedEvacuation)) {
+        if (!(oldGenMutatorOverflow || outOfMemory || overGCTimeGoal) && freeHeapSpace.greaterThan(maxFreeHeapSpace) && maxFreeHeapSpace.greaterEqual(estimatedEvacuation)) {
             if (normalMode) {
                 if (disableHeapShrink) {
-                    return false;
+                    return youngGenResized;
                 }
                 Size newHeapSize = alignUp(usedSpace.plus(maxFreeHeapSpace));
                 Size delta = newHeapSize.minus(heapSize);
@@ -459,8 +677,11 @@ public final class GenSSHeapSizingPolicy implements GenHeapSizingPolicy {
             return false;
         }
         // Should we grow ?
-        final Size oldFreeSpaceNeeded = estimatedEvacuation.greaterThan(oldSpaceRequestedBytes) ? estimatedEvacuation : oldSpaceRequestedBytes;
-        return canIncreaseSize(oldFreeSpaceNeeded, oldGenFreeSpace);
+        boolean resized = canIncreaseSize(oldFreeSpaceNeeded, oldGenFreeSpace);
+        if (overGCTimeGoal && normalMode) {
+            resized |= growForGCTimeGoal(usedSpace, oldFreeSpaceNeeded);
+        }
+        return resized || youngGenResized;
     }
 
     public boolean outOfMemory() {
@@ -24,6 +24,7 @@ package com.sun.max.vm.heap.gcx;
 
 import static com.sun.max.vm.heap.gcx.HeapRegionConstants.*;
 import static com.sun.max.vm.heap.gcx.HeapRegionManager.*;
+import static com.sun.max.vm.heap.gcx.HeapRegionState.*;
 
 import com.sun.max.annotate.*;
 import com.sun.max.unsafe.*;
@@ -266,6 +267,8 @@ public class HeapAccount<T extends HeapAccountOwner>{
             final int numAllocatedRegions = range.numRegions();
             if (commit) {
                 regionAllocator.commit(firstAllocatedRegion, numAllocatedRegions);
+            } else {
+                setState(firstAllocatedRegion, numAllocatedRegions, UNCOMMITTED_REGION);
             }
             recordAllocated(firstAllocatedRegion, numAllocatedRegions, accountingList, tag, recipient, prepend);
             numRegionsNeeded -= numAllocatedRegions;
@@ -282,6 +285,7 @@ public class HeapAccount<T extends HeapAccountOwner>{
     public synchronized void commit(int regionID) {
         FatalError.check(uncommitted.contains(regionID), "The region must be allocated to this account");
         theHeapRegionManager.regionAllocator().commit(regionID, 1);
+        EMPTY_REGION.setState(RegionTable.theRegionTable().regionInfo(regionID));
         uncommitted.remove(regionID);
         add(regionID, committed);
     }
@@ -295,10 +299,18 @@ public class HeapAccount<T extends HeapAccountOwner>{
     public synchronized void uncommit(int regionID) {
         FatalError.check(committed.contains(regionID), "The region must be allocated and committed to this account");
         theHeapRegionManager.regionAllocator().uncommit(regionID, 1);
+        UNCOMMITTED_REGION.setState(RegionTable.theRegionTable().regionInfo(regionID));
         committed.remove(regionID);
         add(regionID, uncommitted);
     }
 
+    private static void setState(int firstRegionID, int numRegions, HeapRegionState state) {
+        final RegionTable regionTable = RegionTable.theRegionTable();
+        for (int r = firstRegionID; r < firstRegionID + numRegions; r++) {
+            state.setState(regionTable.regionInfo(r));
+        }
+    }
+
     /**
      * Commit the memory of the specified contiguous range of regions in virtual space.
      *
@@ -314,6 +326,7 @@ public class HeapAccount<T extends HeapAccountOwner>{
         int rangeTail = rangeHead +  numRegions - 1;
         FatalError.check(uncommitted.containsRange(rangeHead, rangeTail), "The regions range must be allocated to this account");
         theHeapRegionManager.regionAllocator().commit(rangeHead, numRegions);
+        setState(rangeHead, numRegions, EMPTY_REGION);
         uncommitted.removeRange(rangeHead, rangeTail);
         addRange(rangeHead, rangeTail, committed);
     }
@@ -327,12 +340,13 @@ public class HeapAccount<T extends HeapAccountOwner>{
         int rangeHead = regionsRange.firstRegion();
         int numRegions = regionsRange.numRegions();
         if (numRegions == 1) {
-            commit(rangeHead);
+            uncommit(rangeHead);
             return;
         }
         int rangeTail = rangeHead +  numRegions - 1;
-        FatalError.check(uncommitted.containsRange(rangeHead, rangeTail), "The regions range must be allocated to this account");
+        FatalError.check(committed.containsRange(rangeHead, rangeTail), "The regions range must be allocated and committed to this account");
         theHeapRegionManager.regionAllocator().uncommit(regionsRange.firstRegion(), numRegions);
+        setState(rangeHead, numRegions, UNCOMMITTED_REGION);
         committed.removeRange(rangeHead, rangeTail);
         addRange(rangeHead, rangeTail, uncommitted);
     }
@@ -362,6 +376,8 @@ public class HeapAccount<T extends HeapAccountOwner>{
         if (commit) {
             accountingList = committed;
             theHeapRegionManager.regionAllocator().commit(regionID, numRegions);
+        } else {
+            setState(regionID, numRegions, UNCOMMITTED_REGION);
         }
         recordAllocated(regionID, numRegions, accountingList, tag, recipient, prepend);
         return true;
@@ -68,7 +68,19 @@ public class HeapRegionInfo {
         /**
          * Region is the last region of a multi-regions object. Space after the end of the large object may be used for allocation.
          */
-        IS_TAIL;
+        IS_TAIL,
+        /**
+         * Region holds live objects marked by the last collection but hasn't been swept yet. The region's other flags
+         * reflect its state before that collection. The region isn't available for allocation until swept.
+         * @see HeapRegionState#toUnsweptState(HeapRegionInfo)
+         */
+        IS_UNSWEPT,
+        /**
+         * The virtual memory of the region isn't committed, or its physical pages were given back to the OS.
+         * The region holds no data and must be committed before use.
+         * @see HeapRegionState#UNCOMMITTED_REGION
+         */
+        IS_UNCOMMITTED;
 
         private final int mask = 1 << ordinal();
 
@@ -172,10 +184,20 @@ public class HeapRegionInfo {
      */
     HeapAccountOwner owner;
 
+    /**
+     * Time (in ms) since which the region is known to be empty, or zero if the region was used since it was last seen empty.
+     * Set when first observed empty by {@link FirstFitMarkSweepSpace#uncommitIdleRegions(long)}, and cleared on any transition out of the empty state.
+     */
+    long idleSince;
+
     public final boolean isEmpty() {
         return flags == EMPTY_REGION.flags;
     }
 
+    public final boolean isCommitted() {
+        return !IS_UNCOMMITTED.isSet(flags);
+    }
+
     public final boolean isFull() {
         return IS_ITERABLE.only(flags & ~LARGE_REGION_FLAGS);
     }
@@ -204,6 +226,10 @@ public class HeapRegionInfo {
         return IS_TAIL.isSet(flags);
     }
 
+    public final boolean isUnswept() {
+        return IS_UNSWEPT.isSet(flags);
+    }
+
     HeapRegionInfo() {
         // Not a class one can allocate. Allocation is the responsibility of the region table.
     }
@@ -295,6 +321,14 @@ public class HeapRegionInfo {
         setFreeChunks(firstChunkAddress, numBytes.toInt(),  numChunks);
     }
 
+    /**
+     * Record the amount of live data found in the region by the last sweep.
+     * @param numBytes number of live bytes
+     */
+    final void setLiveBytes(int numBytes) {
+        liveData = numBytes >>> Word.widthValue().log2numberOfBytes;
+    }
+
     final void clearFreeChunks() {
         firstFreeChunkOffset = 0;
         numFreeChunks = 0;
@@ -27,10 +27,13 @@ import static com.sun.max.vm.heap.gcx.HeapRegionConstants.*;
 import com.sun.max.annotate.*;
 import com.sun.max.memory.*;
 import com.sun.max.unsafe.*;
+import com.sun.max.util.*;
 import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
 import com.sun.max.vm.actor.holder.*;
 import com.sun.max.vm.heap.*;
 import com.sun.max.vm.heap.gcx.rset.*;
+import com.sun.max.vm.intrinsics.*;
 import com.sun.max.vm.layout.*;
 import com.sun.max.vm.reference.*;
 import com.sun.max.vm.runtime.*;
@@ -45,6 +48,79 @@ import com.sun.max.vm.type.*;
  * regions.
  */
 public final class HeapRegionManager implements HeapAccountOwner {
+    /**
+     * Bind heap regions to NUMA nodes and have region-based heap spaces allocate from regions on the allocating thread's node.
+     */
+    public static boolean NUMAAwareHeap = false;
+    static {
+        VMOptions.addFieldOption("-XX:", "NUMAAwareHeap", HeapRegionManager.class,
+            "Bind heap regions to NUMA nodes and allocate from regions local to the allocating thread (Linux only)", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "UnmapUncommittedRegions", HeapRegionManager.class,
+            "Uncommit heap regions by remapping them inaccessible instead of releasing their pages in place", Phase.PRISTINE);
+    }
+
+    /**
+     * Uncommit heap regions by remapping their virtual memory without access rights and swap reservation, instead of only
+     * giving their physical pages back to the OS. Remapping catches stray accesses to uncommitted regions, but splits the heap's
+     * mapping and loses the regions' NUMA binding.
+     */
+    static boolean UnmapUncommittedRegions = false;
+
+    /**
+     * Number of NUMA nodes heap regions are spread over. Always one if the heap isn't NUMA-aware.
+     */
+    private static int numNUMANodes = 1;
+
+    @INLINE
+    public static boolean isNUMAAware() {
+        return numNUMANodes > 1;
+    }
+
+    @INLINE
+    public static int numNUMANodes() {
+        return numNUMANodes;
+    }
+
+    /**
+     * Returns the NUMA node a region is bound to. Regions are striped over the nodes in region identifier order, so that
+     * the lowest-address-first allocation of regions to heap accounts spreads each account evenly over the nodes.
+     *
+     * @param regionID a valid region identifier
+     * @return a NUMA node index
+     */
+    @INLINE
+    public static int homeNode(int regionID) {
+        return regionID % numNUMANodes;
+    }
+
+    /**
+     * Returns the NUMA node of the region holding the specified heap address.
+     */
+    @INLINE
+    public static int homeNode(Address address) {
+        return homeNode(RegionTable.theRegionTable().regionID(address));
+    }
+
+    /**
+     * Returns the NUMA node of the CPU the current thread runs on.
+     */
+    @INLINE
+    public static int currentNode() {
+        final int node = Intrinsics.getCpuID() >> MaxineIntrinsicIDs.NUMA_NODE_SHIFT;
+        return node < numNUMANodes ? node : 0;
+    }
+
+    private static void initializeNUMANodes() {
+        if (NUMALib.numalib_available() == -1) {
+            Log.println("NUMA not available on this machine: ignoring -XX:+NUMAAwareHeap");
+            return;
+        }
+        final int numNodes = NUMALib.numaConfiguredNodes();
+        // The native binding takes a single word node mask.
+        FatalError.check(numNodes <= Word.widthValue().numberOfBits, "Too many NUMA nodes");
+        numNUMANodes = numNodes;
+    }
+
     /**
      * The single instance of the heap region manager.
      */
@@ -206,6 +282,9 @@ public final class HeapRegionManager implements HeapAccountOwner {
         // The size of regions is computed from the requested heap size so as to keep the region table bounded and adapt region size to the heap size
         // (in particular, very large heap command large region size).
         HeapRegionConstants.initializeConstants(heapSpaceSize);
+        if (NUMAAwareHeap) {
+            initializeNUMANodes();
+        }
         // Adjust reserved space to region boundaries.
         final Address startOfManagedSpace = reservedSpace.alignUp(regionSizeInBytes);
         final Address endOfManagedSpace = startOfManagedSpace.plus(heapSpaceSize).alignUp(regionSizeInBytes);
@@ -332,6 +411,30 @@ public final class HeapRegionManager implements HeapAccountOwner {
         regionAllocator.commit(firstRegionId, numRegions);
     }
 
+    /**
+     * Bind the virtual memory of a range of freshly committed regions to the regions' home nodes.
+     * Does nothing if the heap isn't NUMA-aware.
+     *
+     * @param firstRegionId identifier of the first region of the range
+     * @param numRegions number of regions in the range
+     */
+    void bindToHomeNodes(int firstRegionId, int numRegions) {
+        if (!isNUMAAware()) {
+            return;
+        }
+        final int end = firstRegionId + numRegions;
+        for (int regionID = firstRegionId; regionID < end; regionID++) {
+            final Address start = regionAllocator.regionStart(regionID);
+            if (NUMALib.numaBind(start.toLong(), regionSizeInBytes, homeNode(regionID)) != 0 && MaxineVM.isDebug()) {
+                // Not fatal: the region is just left to the default placement policy.
+                Log.print("Failed to bind region #");
+                Log.print(regionID);
+                Log.print(" to NUMA node ");
+                Log.println(homeNode(regionID));
+            }
+        }
+    }
+
     void uncommit(int firstRegionId, int numRegions) {
         // TODO:(ld) error handling
         regionAllocator.uncommit(firstRegionId, numRegions);
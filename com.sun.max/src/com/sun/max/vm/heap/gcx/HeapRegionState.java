@@ -38,7 +38,8 @@ public enum HeapRegionState {
     LARGE_BODY(IS_ITERABLE.or(IS_LARGE.or(0))),
     LARGE_FULL_TAIL(IS_ITERABLE.or(IS_LARGE.or(IS_TAIL.or(0)))),
     LARGE_TAIL(IS_ITERABLE.or(IS_LARGE.or(IS_TAIL.or(HAS_FREE_CHUNK.or(0))))),
-    LARGE_ALLOCATING_TAIL(IS_ALLOCATING.or(IS_LARGE.or(IS_TAIL.or(0))));
+    LARGE_ALLOCATING_TAIL(IS_ALLOCATING.or(IS_LARGE.or(IS_TAIL.or(0)))),
+    UNCOMMITTED_REGION(IS_UNCOMMITTED.or(0));
 
     private static final boolean [][] validStateTransitions = new boolean[HeapRegionState.values().length][HeapRegionState.values().length];
     private static final IntHashMap<HeapRegionState> allValidStates = new IntHashMap<HeapRegionState>(values().length);
@@ -63,7 +64,7 @@ public enum HeapRegionState {
         // Initialize the valid state transitions.
         // FIXME: may want to introduce a special  "SWEPT" state to distinguish between valid empty->state transitions that correspond to sweeping transitions from the empty -> allocating
         // transitions.
-        initialize(EMPTY_REGION, new HeapRegionState [] {EMPTY_REGION, ALLOCATING_REGION, FULL_REGION, FREE_CHUNKS_REGION, LARGE_HEAD, LARGE_BODY, LARGE_FULL_TAIL, LARGE_TAIL});
+        initialize(EMPTY_REGION, new HeapRegionState [] {EMPTY_REGION, ALLOCATING_REGION, FULL_REGION, FREE_CHUNKS_REGION, LARGE_HEAD, LARGE_BODY, LARGE_FULL_TAIL, LARGE_TAIL, UNCOMMITTED_REGION});
         initialize(ALLOCATING_REGION, new HeapRegionState [] {FULL_REGION, FREE_CHUNKS_REGION});
         initialize(FULL_REGION, new HeapRegionState [] {EMPTY_REGION, FREE_CHUNKS_REGION});
         initialize(FREE_CHUNKS_REGION, new HeapRegionState [] {EMPTY_REGION, ALLOCATING_REGION, FREE_CHUNKS_REGION});
@@ -72,6 +73,8 @@ public enum HeapRegionState {
         initialize(LARGE_FULL_TAIL, new HeapRegionState [] {EMPTY_REGION, FREE_CHUNKS_REGION, LARGE_TAIL});
         initialize(LARGE_TAIL, new HeapRegionState [] {EMPTY_REGION, LARGE_ALLOCATING_TAIL});
         initialize(LARGE_ALLOCATING_TAIL, new HeapRegionState [] {LARGE_FULL_TAIL, LARGE_TAIL});
+        // Only empty regions can be uncommitted, and regions are empty once committed again.
+        initialize(UNCOMMITTED_REGION, new HeapRegionState [] {EMPTY_REGION, UNCOMMITTED_REGION});
     }
 
     static public boolean isValidTransition(HeapRegionState from, HeapRegionState to) {
@@ -97,7 +100,7 @@ public enum HeapRegionState {
     }
 
     private static void checkStateTransition(HeapRegionInfo rinfo, HeapRegionState to) {
-        HeapRegionState from = toHeapRegionState(rinfo.flags);
+        HeapRegionState from = toHeapRegionState(IS_UNSWEPT.clear(rinfo.flags));
         FatalError.check(from != null && to != null, "invalid heap state(s)");
         if (!validStateTransitions[from.ordinal()][to.ordinal()]) {
             Log.print("Region #");
@@ -113,6 +116,9 @@ public enum HeapRegionState {
             checkStateTransition(rinfo, this);
         }
         rinfo.flags = flags;
+        if (this != EMPTY_REGION) {
+            rinfo.idleSince = 0L;
+        }
     }
 
     public static void toAllocatingState(HeapRegionInfo rinfo) {
@@ -121,6 +127,7 @@ public enum HeapRegionState {
             checkStateTransition(rinfo, toHeapRegionState(flags));
         }
         rinfo.flags = flags;
+        rinfo.idleSince = 0L;
     }
 
     public static void toFullState(HeapRegionInfo rinfo) {
@@ -138,4 +145,22 @@ public enum HeapRegionState {
         }
         rinfo.flags = flags;
     }
+
+    /**
+     * Tag a region as waiting for lazy sweeping. The region's state is left unchanged, so that the sweeper can
+     * still tell what the region was used for when the last collection started.
+     */
+    public static void toUnsweptState(HeapRegionInfo rinfo) {
+        if (MaxineVM.isDebug()) {
+            FatalError.check(toHeapRegionState(rinfo.flags) != null && !rinfo.isAllocating(), "only regions in a valid, non-allocating state can be left unswept");
+        }
+        rinfo.flags = IS_UNSWEPT.or(rinfo.flags);
+    }
+
+    /**
+     * Remove the unswept tag of a region about to be swept.
+     */
+    public static void toSweptState(HeapRegionInfo rinfo) {
+        rinfo.flags = IS_UNSWEPT.clear(rinfo.flags);
+    }
 }
@@ -36,6 +36,18 @@ public class HeapResizingPolicy {
      */
     final int maxFreeSpaceRatioForShrinking = 70;
 
+    /**
+     * Notification that a GC is starting. Does nothing by default.
+     */
+    public void notifyGCStart() {
+    }
+
+    /**
+     * Notification that a GC has completed, before the heap is resized after it. Does nothing by default.
+     */
+    public void notifyGCEnd() {
+    }
+
     /**
      * Resize the heap according to policy.
      *
@@ -113,10 +113,38 @@ public class NoAgingNurseryEvacuator extends EvacuatorToCardSpace {
     private final DirtyCardEvacuationClosure heapSpaceDirtyCardClosure;
     private final BootRegionDirtyCardEvacuationClosure bootRegionDirtyCardClosure;
 
+    /**
+     * Parallel evacuation of the old generation's dirty cards and of survivors, used when GC worker threads are available.
+     */
+    private final ParallelEvacuation parallelEvacuation;
+
+    /**
+     * Number of evacuations that evacuated the old generation's dirty cards and the survivors in parallel.
+     */
+    private int parallelEvacuationCount;
+
     public NoAgingNurseryEvacuator(EvacuatingSpace fromSpace, HeapSpace toSpace, EvacuationBufferProvider evacuationBufferProvider, CardTableRSet rset, String name) {
         super(fromSpace, toSpace, evacuationBufferProvider, rset, name);
         this.heapSpaceDirtyCardClosure = new DirtyCardEvacuationClosure();
         this.bootRegionDirtyCardClosure = new BootRegionDirtyCardEvacuationClosure();
+        this.parallelEvacuation = new ParallelEvacuation(this);
+    }
+
+    @Override
+    public void initialize(int maxSurvivorRanges, boolean alwaysRefill, Size minRefillThreshold, boolean retireAfterEvacuation) {
+        super.initialize(maxSurvivorRanges, alwaysRefill, minRefillThreshold, retireAfterEvacuation);
+        parallelEvacuation.initialize();
+    }
+
+    /**
+     * Indicate whether the old generation's dirty cards and the survivors are evacuated in parallel.
+     */
+    boolean useParallelEvacuation() {
+        return parallelEvacuation.isEnabled();
+    }
+
+    public int parallelEvacuationCount() {
+        return parallelEvacuationCount;
     }
 
     @Override
@@ -143,7 +171,16 @@ public class NoAgingNurseryEvacuator extends EvacuatorToCardSpace {
         if (traceDirtyCardWalk()) {
             CardTableRSet.setTraceCardTableRSet(true);
         }
-        toSpace.visit(heapSpaceDirtyCardClosure);
+        if (useParallelEvacuation()) {
+            parallelEvacuationCount++;
+            parallelEvacuation.evacuate(heapSpaceDirtyCardClosure);
+            if (parallelEvacuation.hasRedirtiedCards()) {
+                // Some workers ran out of space to defer references to large objects and re-dirtied the cards holding them.
+                toSpace.visit(heapSpaceDirtyCardClosure);
+            }
+        } else {
+            toSpace.visit(heapSpaceDirtyCardClosure);
+        }
         if (traceDirtyCardWalk()) {
             CardTableRSet.setTraceCardTableRSet(traceRSet);
         }
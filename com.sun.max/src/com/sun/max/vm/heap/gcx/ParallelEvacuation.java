@@ -0,0 +1,798 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import static com.sun.max.vm.heap.HeapSchemeAdaptor.*;
+import static com.sun.max.vm.heap.gcx.HeapFreeChunk.*;
+
+import com.oracle.max.cri.intrinsics.*;
+import com.sun.max.annotate.*;
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
+import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.rset.ctbl.*;
+import com.sun.max.vm.layout.*;
+import com.sun.max.vm.reference.*;
+import com.sun.max.vm.runtime.*;
+
+/**
+ * Parallel evacuation of a young generation to a card-table covered old generation, run by the {@link GCWorkGang} on behalf of
+ * an {@link EvacuatorToCardSpace}.
+ * <p>
+ * The owner evacuator scans the roots, the boot heap, the code and the immortal heap sequentially as usual. The parallel evacuation then
+ * replaces the scan of the old generation's remembered set and the evacuation of reachable objects. The dirty cards of the old generation are
+ * recorded and cleaned by the VM operation thread, and split into work items together with the survivor ranges left by the owner's sequential scans.
+ * Workers claim work items, copy the young objects these refer to, and push the copies on their own {@link WorkStealingMarkingStack}.
+ * Workers that run out of work steal copies from others, and terminate when all stacks are empty.
+ * Workers race to forward a young object by installing a forward reference in its header with a compare-and-swap. The loser undoes its
+ * copy.
+ * <p>
+ * Workers allocate copies in private evacuation buffers carved out of free chunks obtained from the owner's {@link EvacuationBufferProvider}.
+ * The heap free chunk header of these chunks, and the dead object the card table may have formatted over their last card, are left intact until
+ * all workers are done. Walkers of dirty cards overlapping with the bounds of a chunk therefore always skip over it, and never see partially
+ * copied objects. Objects too large for evacuation buffers are allocated directly in the old generation, which offers no such guarantee.
+ * Their evacuation is deferred to a second parallel pass that starts after all the dirty cards have been visited.
+ * <p>
+ * Discovery of special references is serialized, as the {@link SpecialReferenceManager} isn't thread-safe. Processing of special references
+ * remains sequential.
+ */
+final class ParallelEvacuation extends GCWorkGang.Task {
+    /**
+     * Size of the evacuation buffers of workers.
+     */
+    static Size ParallelEvacuationLABSize = Size.K.times(8);
+
+    /**
+     * Maximum number of work items a parallel evacuation can be split in.
+     */
+    static int ParallelEvacuationMaxWorkItems = 8 * 1024;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "ParallelEvacuationLABSize", ParallelEvacuation.class, "Size of the evacuation buffers of parallel evacuation workers", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "ParallelEvacuationMaxWorkItems", ParallelEvacuation.class, "Maximum number of work items of a parallel evacuation", Phase.PRISTINE);
+    }
+
+    /**
+     * Number of cards of a work item made of dirty cards.
+     */
+    private static final int CARDS_PER_WORK_ITEM = 16;
+
+    /**
+     * Tag of the start of a work item made of dirty cards that isn't the first of a range of contiguous dirty cards.
+     */
+    private static final int CONTINUATION_TAG = 1;
+
+    /**
+     * Tag of the start of a work item made of a survivor range.
+     */
+    private static final int SURVIVOR_RANGE_TAG = 2;
+
+    private static final int TAG_MASK = CONTINUATION_TAG | SURVIVOR_RANGE_TAG;
+
+    /**
+     * Per-worker evacuation state.
+     */
+    static final class EvacuationWorker extends Evacuator {
+        private static final int LAB_ALLOCATION = 0;
+        private static final int POOL_ALLOCATION = 1;
+        private static final int OVERFLOW_ALLOCATION = 2;
+
+        final ParallelEvacuation parallelEvacuation;
+        final int workerIndex;
+        final WorkStealingMarkingStack evacueeStack = new WorkStealingMarkingStack();
+
+        /**
+         * Locations of references to objects whose evacuation was deferred to the second pass.
+         */
+        final WorkStealingMarkingStack deferredRefs = new WorkStealingMarkingStack();
+
+        final CardRangeEvacuationClosure cardRangeClosure = new CardRangeEvacuationClosure();
+
+        private EvacuatingSpace.SpaceBounds evacuatedAreaBounds;
+
+        /**
+         * Allocation hand of the worker's evacuation buffer.
+         */
+        private Pointer labTop;
+
+        /**
+         * End of the worker's evacuation buffer.
+         */
+        private Pointer labEnd;
+
+        private int lastAllocationKind;
+
+        /**
+         * Amount of bytes evacuated by this worker.
+         */
+        Size evacuatedBytes;
+
+        // Statistics
+        int numStolenCells;
+        int numDeferredRefs;
+
+        /**
+         * Closure for evacuating cells referenced from a work item made of dirty cards.
+         * A cell that starts before a work item that continues a range of dirty cards overlaps with the previous work item too.
+         * Unless it is a reference array, which is only scanned over the bounds of the work item, it was entirely scanned already
+         * by the worker of the previous work item, and is skipped.
+         */
+        final class CardRangeEvacuationClosure implements OverlappingCellVisitor {
+            boolean isContinuation;
+
+            public Pointer visitCell(Pointer cell, Address start, Address end) {
+                if (isContinuation && cell.lessThan(start)) {
+                    final Pointer origin = Layout.cellToOrigin(cell);
+                    final Hub hub = UnsafeCast.asHub(Layout.readHubReference(origin).toJava());
+                    if (hub.specificLayout != Layout.referenceArrayLayout() && hub != heapFreeChunkHub()) {
+                        return cell.plus(Layout.size(origin));
+                    }
+                }
+                return scanCellForEvacuatees(cell, start, end);
+            }
+        }
+
+        EvacuationWorker(ParallelEvacuation parallelEvacuation, int workerIndex) {
+            this.parallelEvacuation = parallelEvacuation;
+            this.workerIndex = workerIndex;
+        }
+
+        void reset(EvacuatorToCardSpace owner) {
+            evacueeStack.reset();
+            deferredRefs.reset();
+            evacuatedAreaBounds = owner.evacuatedAreaBounds();
+            setGCOperation(owner.getGCOperation());
+            setDetailLogger(owner.detailLogger);
+            labTop = Pointer.zero();
+            labEnd = Pointer.zero();
+            evacuatedBytes = Size.zero();
+            numStolenCells = 0;
+            numDeferredRefs = 0;
+        }
+
+        @INLINE
+        @Override
+        boolean inEvacuatedArea(Pointer origin) {
+            return evacuatedAreaBounds.isIn(origin);
+        }
+
+        @Override
+        Pointer evacuate(Pointer origin) {
+            // Workers evacuate with evacuateAndForward only.
+            throw FatalError.unexpected("must not be called");
+        }
+
+        @Override
+        protected void discoverSpecialReference(Pointer origin) {
+            parallelEvacuation.discoverSpecialReference(origin);
+        }
+
+        /**
+         * Retire the worker's evacuation buffer. The space left is formatted as dark matter.
+         */
+        void retireLAB() {
+            if (labTop.lessThan(labEnd)) {
+                final Size spaceLeft = labEnd.minus(labTop).asSize();
+                DarkMatter.format(labTop, spaceLeft);
+                parallelEvacuation.rset.notifyRetireDeadSpace(labTop, spaceLeft);
+            }
+            labTop = Pointer.zero();
+            labEnd = Pointer.zero();
+        }
+
+        /**
+         * Allocate space for a copy. The space left in the evacuation buffer is always either empty, or large enough to be formatted as dark matter.
+         */
+        private Pointer allocate(Size size) {
+            if (size.greaterEqual(parallelEvacuation.largeObjectSize)) {
+                lastAllocationKind = OVERFLOW_ALLOCATION;
+                return parallelEvacuation.allocateOverflow(size);
+            }
+            Pointer cell = labTop;
+            Pointer newTop = cell.plus(size);
+            if (newTop.equals(labEnd) || newTop.plus(minObjectSize()).lessEqual(labEnd)) {
+                labTop = newTop;
+                lastAllocationKind = LAB_ALLOCATION;
+                return cell;
+            }
+            if (size.greaterThan(ParallelEvacuationLABSize.dividedBy(4))) {
+                // Don't waste the space left in the buffer for a cell that wouldn't leave much space in a new buffer anyway.
+                lastAllocationKind = POOL_ALLOCATION;
+                return parallelEvacuation.allocateFromPool(size);
+            }
+            retireLAB();
+            parallelEvacuation.refillLAB(this, size.plus(minObjectSize()));
+            cell = labTop;
+            labTop = cell.plus(size);
+            lastAllocationKind = LAB_ALLOCATION;
+            return cell;
+        }
+
+        void setLAB(Pointer start, Pointer end) {
+            labTop = start;
+            labEnd = end;
+        }
+
+        /**
+         * Undo the allocation of the copy of a cell forwarded by another worker.
+         * The FOT is only updated for copies that win the race, so a copy undone in the evacuation buffer leaves nothing to fix.
+         * A copy allocated from the pool is retired as dead space. A copy overflow-allocated in the old generation is formatted as dark
+         * matter without further notification: the old generation's allocator already fired a split-live event that set the FOT
+         * entries of the cards the copy spans, and the dark matter has exactly the bounds of the copy.
+         */
+        private void undoAllocation(Pointer cell, Size size) {
+            if (lastAllocationKind == LAB_ALLOCATION) {
+                // Always the last allocation in the buffer.
+                labTop = cell;
+            } else {
+                DarkMatter.format(cell, size);
+                if (lastAllocationKind == POOL_ALLOCATION) {
+                    parallelEvacuation.rset.notifyRetireDeadSpace(cell, size);
+                }
+            }
+        }
+
+        private static Size cellSize(Pointer origin, Hub hub) {
+            final SpecificLayout specificLayout = hub.specificLayout;
+            if (specificLayout.isTupleLayout()) {
+                return hub.tupleSize;
+            }
+            final int length = Layout.readArrayLength(origin);
+            if (specificLayout.isHybridLayout()) {
+                return Layout.hybridLayout().getArraySize(length);
+            }
+            return Layout.getArraySize(hub.classActor.componentClassActor().kind, length);
+        }
+
+        /**
+         * Copy a cell to the old generation, then race with other workers to install the forward reference.
+         * The size of the cell is computed from the hub read before the race, as the hub word of the original
+         * cell is overwritten by the winner.
+         */
+        @Override
+        Reference evacuateAndForward(Pointer origin) {
+            final Reference hubRef = Layout.readHubReference(origin);
+            if (hubRef.isMarked()) {
+                // Forwarded by another worker in the meantime.
+                return hubRef.unmarked();
+            }
+            final Hub hub = UnsafeCast.asHub(hubRef.toJava());
+            final Size size = cellSize(origin, hub);
+            if (parallelEvacuation.deferLargeObjects && size.greaterEqual(parallelEvacuation.largeObjectSize)) {
+                return Reference.zero();
+            }
+            final Pointer fromCell = Layout.originToCell(origin);
+            final Pointer toCell = allocate(size);
+            Memory.copyBytes(fromCell, toCell, size);
+            final Reference forwardRef = Reference.fromOrigin(Layout.cellToOrigin(toCell));
+            MemoryBarriers.barrier(MemoryBarriers.STORE_STORE);
+            final Reference witness = Layout.compareAndSwapForwardRef(origin, hubRef, forwardRef);
+            if (!witness.equals(hubRef)) {
+                // Lost the race: see undoAllocation for how the FOT is kept consistent with the undone copy.
+                undoAllocation(toCell, size);
+                return witness.unmarked();
+            }
+            if (lastAllocationKind != OVERFLOW_ALLOCATION) {
+                // The old generation's allocator already updated the FOT for overflow allocations.
+                parallelEvacuation.cfoTable.set(toCell, toCell.plus(size));
+            }
+            evacuatedBytes = evacuatedBytes.plus(size);
+            if (!evacueeStack.push(toCell)) {
+                scanCellForEvacuatees(toCell);
+            }
+            return forwardRef;
+        }
+
+        @Override
+        void deferEvacuatedRef(Pointer refHolderOrigin, int wordIndex) {
+            numDeferredRefs++;
+            if (!deferredRefs.push(refHolderOrigin.plusWords(wordIndex))) {
+                // Leave it to the owner to find the reference with a sequential walk of the dirty cards.
+                parallelEvacuation.rset.record(Reference.fromOrigin(refHolderOrigin), 0, wordIndex);
+                parallelEvacuation.redirtiedCards = true;
+            }
+        }
+
+        void processDeferredRefs() {
+            Pointer ref = deferredRefs.pop();
+            while (!ref.isZero()) {
+                updateEvacuatedRef(ref, 0);
+                drain();
+                ref = deferredRefs.pop();
+            }
+        }
+
+        void processWorkItem(Address start, Address end, int tag) {
+            if ((tag & SURVIVOR_RANGE_TAG) != 0) {
+                evacuateRange(start.asPointer(), end.asPointer());
+            } else {
+                cardRangeClosure.isContinuation = (tag & CONTINUATION_TAG) != 0;
+                parallelEvacuation.rset.visitCards(start, end, cardRangeClosure);
+            }
+        }
+
+        @Override
+        protected void evacuateReachables() {
+            drain();
+        }
+
+        void drain() {
+            Pointer cell = evacueeStack.pop();
+            while (!cell.isZero()) {
+                scanCellForEvacuatees(cell);
+                cell = evacueeStack.pop();
+            }
+        }
+
+        /**
+         * Steal a copy from another worker and scan it.
+         *
+         * @return true if a cell was stolen, false if no cell could be stolen from any worker
+         */
+        boolean stealAndScan(int numWorkers) {
+            final EvacuationWorker[] workers = parallelEvacuation.workers;
+            for (int i = 1; i < numWorkers; i++) {
+                final Pointer cell = workers[(workerIndex + i) % numWorkers].evacueeStack.steal();
+                if (!cell.isZero()) {
+                    numStolenCells++;
+                    scanCellForEvacuatees(cell);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected void doBeforeEvacuation() {
+        }
+
+        @Override
+        protected void doAfterEvacuation() {
+        }
+    }
+
+    /**
+     * Records the dirty cards of the old generation in work items, cleaning them.
+     */
+    final class DirtyCardRecorder extends CardTableRSet.CardRangeVisitor implements CellRangeVisitor {
+        public void visitCells(Address start, Address end) {
+            rset.cleanAndVisitCards(start, end, this);
+        }
+
+        @Override
+        public void visitCards(Address start, Address end) {
+            final Size itemSize = Size.fromInt(CARDS_PER_WORK_ITEM << CardTableRSet.LOG2_CARD_SIZE);
+            int tag = 0;
+            Address itemStart = start;
+            while (itemStart.lessThan(end)) {
+                Address itemEnd = itemStart.plus(itemSize);
+                if (itemEnd.greaterThan(end)) {
+                    itemEnd = end;
+                }
+                if (!addWorkItem(itemStart, itemEnd, tag)) {
+                    // Out of work items. Visit the remaining cards sequentially.
+                    rset.visitCards(itemStart, end, sequentialCardVisitor);
+                    return;
+                }
+                itemStart = itemEnd;
+                tag = CONTINUATION_TAG;
+            }
+        }
+    }
+
+    final EvacuatorToCardSpace owner;
+    final CardTableRSet rset;
+    final CardFirstObjectTable cfoTable;
+    final EvacuationWorker[] workers;
+    private final DirtyCardRecorder dirtyCardRecorder = new DirtyCardRecorder();
+
+    /**
+     * Visitor the owner uses to scan dirty cards sequentially.
+     */
+    private OverlappingCellVisitor sequentialCardVisitor;
+
+    private Pointer workItems;
+    private int maxWorkItems;
+    private int numWorkItems;
+    private volatile int nextWorkItem;
+
+    /**
+     * Number of workers taking part in the current evacuation.
+     */
+    private int numWorkers;
+
+    /**
+     * Number of workers that may still push cells on their stack. A pass terminates when this drops to zero.
+     */
+    private volatile int activeWorkers;
+
+    /**
+     * Indicates whether the evacuation of cells as large as {@link #largeObjectSize} is deferred, i.e., during the first pass.
+     */
+    boolean deferLargeObjects;
+
+    /**
+     * Cells this large are allocated directly in the old generation instead of in evacuation buffers.
+     */
+    Size largeObjectSize;
+
+    /**
+     * Set when a reference had to be left to a sequential walk of the dirty cards.
+     */
+    boolean redirtiedCards;
+
+    /**
+     * Spin lock serializing allocations of evacuation buffers and cells directly in the old generation.
+     */
+    private volatile int allocationLock;
+
+    /**
+     * Spin lock serializing discovery of special references.
+     */
+    private volatile int specialReferenceLock;
+
+    /**
+     * Free chunk evacuation buffers are currently carved out of. Its heap free chunk header is preserved until the end of the parallel evacuation.
+     */
+    private Address poolChunk;
+    private Pointer poolTop;
+    private Pointer poolLimit;
+
+    /**
+     * Next free chunks obtained from the evacuation buffer provider.
+     */
+    private Address poolNextChunk;
+
+    /**
+     * List of free chunks fully used by the current evacuation, linked through their header.
+     */
+    private Address retiredPoolChunks;
+
+    @FOLD
+    private static int nextWorkItemOffset() {
+        return ClassActor.fromJava(ParallelEvacuation.class).findLocalInstanceFieldActor("nextWorkItem").offset();
+    }
+
+    @FOLD
+    private static int activeWorkersOffset() {
+        return ClassActor.fromJava(ParallelEvacuation.class).findLocalInstanceFieldActor("activeWorkers").offset();
+    }
+
+    @FOLD
+    private static int allocationLockOffset() {
+        return ClassActor.fromJava(ParallelEvacuation.class).findLocalInstanceFieldActor("allocationLock").offset();
+    }
+
+    @FOLD
+    private static int specialReferenceLockOffset() {
+        return ClassActor.fromJava(ParallelEvacuation.class).findLocalInstanceFieldActor("specialReferenceLock").offset();
+    }
+
+    @HOSTED_ONLY
+    ParallelEvacuation(EvacuatorToCardSpace owner) {
+        this.owner = owner;
+        this.rset = owner.rset;
+        this.cfoTable = owner.cfoTable;
+        workers = new EvacuationWorker[GCWorkGang.MAX_PARALLEL_GC_THREADS];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new EvacuationWorker(this, i);
+        }
+    }
+
+    /**
+     * Allocate the stacks of the workers requested on the command line, and the work items.
+     */
+    void initialize() {
+        final int n = GCWorkGang.requestedNumWorkers();
+        if (n == 0) {
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            workers[i].evacueeStack.initialize();
+            workers[i].deferredRefs.initialize();
+        }
+        maxWorkItems = ParallelEvacuationMaxWorkItems;
+        final Size size = Size.fromInt(maxWorkItems).shiftedLeft(1 + Word.widthValue().log2numberOfBytes);
+        workItems = Memory.allocate(size);
+        if (workItems.isZero()) {
+            MaxineVM.reportPristineMemoryFailure("parallel evacuation work items", "allocate", size);
+        }
+    }
+
+    boolean isEnabled() {
+        return GCWorkGang.numWorkers() > 0;
+    }
+
+    boolean hasRedirtiedCards() {
+        return redirtiedCards;
+    }
+
+    private boolean addWorkItem(Address start, Address end, int tag) {
+        if (numWorkItems == maxWorkItems) {
+            return false;
+        }
+        final int index = numWorkItems << 1;
+        workItems.setWord(index, start.or(tag));
+        workItems.setWord(index + 1, end);
+        numWorkItems++;
+        return true;
+    }
+
+    private int atomicIncrement(int offset) {
+        final Reference ref = Reference.fromJava(this);
+        int oldValue;
+        do {
+            oldValue = ref.readInt(offset);
+        } while (ref.compareAndSwapInt(offset, oldValue, oldValue + 1) != oldValue);
+        return oldValue;
+    }
+
+    private int atomicAddActiveWorkers(int delta) {
+        int oldValue;
+        do {
+            oldValue = activeWorkers;
+        } while (Reference.fromJava(this).compareAndSwapInt(activeWorkersOffset(), oldValue, oldValue + delta) != oldValue);
+        return oldValue + delta;
+    }
+
+    private void lock(int offset) {
+        while (Reference.fromJava(this).compareAndSwapInt(offset, 0, 1) != 0) {
+            Intrinsics.pause();
+        }
+    }
+
+    private void discoverSpecialReference(Pointer origin) {
+        lock(specialReferenceLockOffset());
+        SpecialReferenceManager.discoverSpecialReference(origin);
+        specialReferenceLock = 0;
+    }
+
+    /**
+     * End of the space of a free chunk that evacuation buffers can be carved out of.
+     * If the card table formatted a dead object over the last card of the chunk (see {@link CardTableRSet#notifyRetireFreeSpace(Address, Size)}),
+     * the FOT entry of the last card points to it, so it must be left intact.
+     */
+    private static Pointer usableLimit(Address chunk, Size chunkSize) {
+        final Address end = chunk.plus(chunkSize);
+        if (chunkSize.greaterEqual(1 << CardTableRSet.LOG2_CARD_SIZE)) {
+            final Address lastCardStart = CardTableRSet.alignDownToCard(end);
+            if (lastCardStart.minus(chunk).greaterThan(heapFreeChunkHeaderSize())) {
+                final Address deadObjectStart = end.minus(minObjectSize());
+                return (lastCardStart.lessThan(deadObjectStart) ? lastCardStart : deadObjectStart).asPointer();
+            }
+        }
+        return end.asPointer();
+    }
+
+    /**
+     * Retire the current pool chunk, if any, and replace it with the next usable free chunk from the evacuation buffer provider.
+     * Must be called with the allocation lock held, or before workers are started.
+     */
+    private void refillPool() {
+        if (!poolChunk.isZero()) {
+            if (poolTop.lessThan(poolLimit)) {
+                final Size spaceLeft = poolLimit.minus(poolTop).asSize();
+                DarkMatter.format(poolTop, spaceLeft);
+                rset.notifyRetireDeadSpace(poolTop, spaceLeft);
+            }
+            setFreeChunkNext(poolChunk, retiredPoolChunks);
+            retiredPoolChunks = poolChunk;
+            poolChunk = Address.zero();
+        }
+        do {
+            Address chunk = poolNextChunk;
+            if (chunk.isZero()) {
+                chunk = owner.evacuationBufferProvider().refillEvacuationBuffer();
+                FatalError.check(!chunk.isZero(), "refill request should always succeed");
+            }
+            poolNextChunk = getFreeChunkNext(chunk);
+            final Size chunkSize = getFreechunkSize(chunk);
+            rset.notifyRefill(chunk, chunkSize);
+            final Pointer top = chunk.plus(heapFreeChunkHeaderSize()).asPointer();
+            final Pointer limit = usableLimit(chunk, chunkSize);
+            if (limit.greaterEqual(top.plus(minObjectSize()))) {
+                poolChunk = chunk;
+                poolTop = top;
+                poolLimit = limit;
+            }
+            // Otherwise, too small to be carved out of while preserving its header. Leave it as is.
+        } while (poolChunk.isZero());
+    }
+
+    /**
+     * Carve space out of the pool.
+     * The space left in the pool is always either empty, or large enough to be formatted as dark matter.
+     *
+     * @param minSize minimum size of the space
+     * @param maxSize maximum size of the space
+     * @return the start of the space, which ends at {@link #poolTop}
+     */
+    private Pointer allocateFromPoolLocked(Size minSize, Size maxSize) {
+        while (true) {
+            final Size spaceLeft = poolLimit.minus(poolTop).asSize();
+            if (spaceLeft.equals(minSize) || spaceLeft.greaterEqual(minSize.plus(minObjectSize()))) {
+                final Pointer start = poolTop;
+                if (spaceLeft.equals(maxSize) || spaceLeft.greaterEqual(maxSize.plus(minObjectSize()))) {
+                    poolTop = start.plus(maxSize);
+                } else {
+                    poolTop = poolLimit;
+                }
+                return start;
+            }
+            refillPool();
+        }
+    }
+
+    Pointer allocateFromPool(Size size) {
+        lock(allocationLockOffset());
+        final Pointer cell = allocateFromPoolLocked(size, size);
+        allocationLock = 0;
+        return cell;
+    }
+
+    void refillLAB(EvacuationWorker worker, Size minSize) {
+        lock(allocationLockOffset());
+        final Size maxSize = ParallelEvacuationLABSize.greaterThan(minSize) ? ParallelEvacuationLABSize : minSize;
+        final Pointer start = allocateFromPoolLocked(minSize, maxSize);
+        worker.setLAB(start, poolTop);
+        allocationLock = 0;
+    }
+
+    Pointer allocateOverflow(Size size) {
+        lock(allocationLockOffset());
+        final Pointer cell = owner.toSpace.allocate(size);
+        allocationLock = 0;
+        return cell;
+    }
+
+    /**
+     * Format the header of a pool chunk, and its last card if it was left out of evacuation buffers, as dark matter.
+     */
+    private void retirePoolChunkHeader(Address chunk) {
+        final Size chunkSize = getFreechunkSize(chunk);
+        final Address end = chunk.plus(chunkSize);
+        final Pointer limit = usableLimit(chunk, chunkSize);
+        DarkMatter.format(chunk, heapFreeChunkHeaderSize());
+        rset.notifyRetireDeadSpace(chunk, heapFreeChunkHeaderSize());
+        if (limit.lessThan(end)) {
+            DarkMatter.format(limit, end);
+            rset.notifyRetireDeadSpace(limit, end.minus(limit).asSize());
+        }
+    }
+
+    /**
+     * Evacuate in parallel the cells reachable from the dirty cards of the owner's to-space and from the owner's survivor ranges.
+     * Must be called by the VM operation thread.
+     *
+     * @param sequentialCardVisitor visitor the owner uses to scan dirty cards sequentially if the parallel evacuation runs out of work items
+     */
+    void evacuate(OverlappingCellVisitor sequentialCardVisitor) {
+        this.sequentialCardVisitor = sequentialCardVisitor;
+        numWorkers = GCWorkGang.numWorkers();
+        numWorkItems = 0;
+        nextWorkItem = 0;
+        redirtiedCards = false;
+        largeObjectSize = owner.minRefillThreshold();
+
+        owner.toSpace.visit(dirtyCardRecorder);
+        final SurvivorRangesQueue survivorRanges = owner.survivorRanges();
+        while (!survivorRanges.isEmpty() && addWorkItem(survivorRanges.start(), survivorRanges.end(), SURVIVOR_RANGE_TAG)) {
+            survivorRanges.remove();
+        }
+
+        poolChunk = Address.zero();
+        retiredPoolChunks = Address.zero();
+        poolNextChunk = owner.handOverEvacuationBuffer();
+        refillPool();
+
+        for (int i = 0; i < numWorkers; i++) {
+            workers[i].reset(owner);
+        }
+        // First pass: visit work items, deferring the evacuation of large objects.
+        deferLargeObjects = true;
+        activeWorkers = numWorkers;
+        GCWorkGang.runTask(this);
+        // Second pass: evacuate the large objects.
+        deferLargeObjects = false;
+        activeWorkers = numWorkers;
+        GCWorkGang.runTask(this);
+
+        Size evacuatedBytes = Size.zero();
+        for (int i = 0; i < numWorkers; i++) {
+            final EvacuationWorker worker = workers[i];
+            worker.retireLAB();
+            evacuatedBytes = evacuatedBytes.plus(worker.evacuatedBytes);
+        }
+        Address chunk = retiredPoolChunks;
+        while (!chunk.isZero()) {
+            final Address next = getFreeChunkNext(chunk);
+            retirePoolChunkHeader(chunk);
+            chunk = next;
+        }
+        // What's left of the current pool chunk goes back to the owner.
+        final Pointer end = poolChunk.plus(getFreechunkSize(poolChunk)).asPointer();
+        DarkMatter.format(poolChunk, heapFreeChunkHeaderSize());
+        rset.notifyRetireDeadSpace(poolChunk, heapFreeChunkHeaderSize());
+        owner.resumeEvacuationBuffer(poolTop, end, poolNextChunk);
+        owner.addEvacuatedBytes(evacuatedBytes);
+        sequentialCardVisitor = null;
+    }
+
+    private boolean hasStealableCells() {
+        for (int i = 0; i < numWorkers; i++) {
+            if (!workers[i].evacueeStack.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void run(int workerIndex, int numWorkers) {
+        final EvacuationWorker worker = workers[workerIndex];
+        if (!deferLargeObjects) {
+            worker.processDeferredRefs();
+        }
+        int item = atomicIncrement(nextWorkItemOffset());
+        while (item < numWorkItems) {
+            final int index = item << 1;
+            final Address start = workItems.getWord(index).asAddress();
+            worker.processWorkItem(start.and(Address.fromInt(TAG_MASK).not()), workItems.getWord(index + 1).asAddress(), start.and(TAG_MASK).toInt());
+            worker.drain();
+            item = atomicIncrement(nextWorkItemOffset());
+        }
+        while (true) {
+            worker.drain();
+            if (worker.stealAndScan(numWorkers)) {
+                continue;
+            }
+            // Out of work. Offer to terminate, and come back to work if cells show up on any stack
+            // before all workers agreed to terminate.
+            atomicAddActiveWorkers(-1);
+            while (true) {
+                if (activeWorkers == 0) {
+                    return;
+                }
+                if (hasStealableCells()) {
+                    atomicAddActiveWorkers(1);
+                    break;
+                }
+                Intrinsics.pause();
+            }
+        }
+    }
+
+    void printStats() {
+        for (int i = 0; i < numWorkers; i++) {
+            final EvacuationWorker worker = workers[i];
+            Log.print("  worker ");
+            Log.print(i);
+            Log.print(": evacuated=");
+            Log.print(worker.evacuatedBytes.toLong());
+            Log.print(", stolen=");
+            Log.print(worker.numStolenCells);
+            Log.print(", deferred=");
+            Log.println(worker.numDeferredRefs);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import com.sun.max.annotate.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.layout.*;
+import com.sun.max.vm.reference.*;
+
+/**
+ * Parallel tracing of the objects marked grey by the root scan of a {@link TricolorHeapMarker}, run by the {@link GCWorkGang}.
+ * <p>
+ * Each worker owns a {@link WorkStealingMarkingStack}. Unlike the sequential forward scan, workers don't scan the color map:
+ * a worker that marks a white object grey pushes it on its own marking stack, and turns it black when visiting it. The color map
+ * is updated with atomic instructions, so that exactly one worker marks a given object grey. This guarantees that an object
+ * is visited at most once. Workers that run out of work steal from the others, and terminate when all marking stacks are empty.
+ * <p>
+ * When a worker's marking stack is full, the object is left grey in the color map and the leftmost of these overflowed objects
+ * is recorded. The heap marker recovers from overflows by running its sequential forward scan from the leftmost overflowed object
+ * once the parallel phase is over. Likewise, discovery of special references is serialized as the {@link SpecialReferenceManager}
+ * isn't thread-safe.
+ */
+final class ParallelMarking extends GCWorkGang.Task {
+
+    /**
+     * Per-worker marking state.
+     */
+    static final class MarkingWorker extends PointerIndexVisitor {
+        final ParallelMarking parallelMarking;
+        final TricolorHeapMarker heapMarker;
+        final int workerIndex;
+        final WorkStealingMarkingStack markingStack = new WorkStealingMarkingStack();
+
+        /**
+         * Rightmost object marked grey by this worker.
+         */
+        Address rightmost;
+
+        /**
+         * Leftmost object this worker couldn't push on its marking stack.
+         */
+        Address leftmostOverflowed;
+
+        // Statistics
+        int numVisitedCells;
+        int numStolenCells;
+        int numOverflows;
+
+        MarkingWorker(ParallelMarking parallelMarking, int workerIndex) {
+            this.parallelMarking = parallelMarking;
+            this.heapMarker = parallelMarking.heapMarker;
+            this.workerIndex = workerIndex;
+        }
+
+        void reset() {
+            markingStack.reset();
+            rightmost = heapMarker.coveredAreaStart;
+            leftmostOverflowed = heapMarker.coveredAreaEnd;
+            numVisitedCells = 0;
+            numStolenCells = 0;
+            numOverflows = 0;
+        }
+
+        /**
+         * Push a grey cell on the marking stack, or record it as overflowed if the stack is full.
+         */
+        @INLINE
+        void pushGreyCell(Pointer cell) {
+            if (!markingStack.push(cell)) {
+                numOverflows++;
+                if (cell.lessThan(leftmostOverflowed)) {
+                    leftmostOverflowed = cell;
+                }
+            }
+        }
+
+        @INLINE
+        private void markObjectGrey(Pointer cell) {
+            if (heapMarker.isCovered(cell) && heapMarker.atomicMarkGreyIfWhite(cell)) {
+                if (cell.greaterThan(rightmost)) {
+                    rightmost = cell;
+                }
+                pushGreyCell(cell);
+            }
+        }
+
+        @INLINE
+        private void markRefGrey(Reference ref) {
+            markObjectGrey(Layout.originToCell(ref.toOrigin()));
+        }
+
+        @Override
+        public void visit(Pointer pointer, int wordIndex) {
+            markRefGrey(pointer.getReference(wordIndex));
+        }
+
+        private void visitGreyCell(Pointer cell) {
+            if (MaxineVM.isDebug() && Heap.logAllGC()) {
+                TricolorHeapMarker.printVisitedCell(cell, "Visiting grey cell ");
+            }
+            final Pointer origin = Layout.cellToOrigin(cell);
+            final Reference hubRef = Layout.readHubReference(origin);
+            markRefGrey(hubRef);
+            final Hub hub = UnsafeCast.asHub(hubRef.toJava());
+            if (MaxineVM.isDebug()) {
+                heapMarker.checkGreyCellHub(origin, hub);
+            }
+            final SpecificLayout specificLayout = hub.specificLayout;
+            if (specificLayout.isTupleLayout()) {
+                TupleReferenceMap.visitReferences(hub, origin, this);
+                if (hub.isJLRReference) {
+                    parallelMarking.discoverSpecialReference(cell);
+                }
+            } else if (specificLayout.isReferenceArrayLayout()) {
+                final int length = Layout.readArrayLength(origin);
+                for (int index = 0; index < length; index++) {
+                    markRefGrey(Layout.getReference(origin, index));
+                }
+            } else if (specificLayout.isHybridLayout()) {
+                TupleReferenceMap.visitReferences(hub, origin, this);
+            }
+            heapMarker.atomicMarkBlackFromGrey(cell);
+            numVisitedCells++;
+        }
+
+        private void drain() {
+            Pointer cell = markingStack.pop();
+            while (!cell.isZero()) {
+                visitGreyCell(cell);
+                cell = markingStack.pop();
+            }
+        }
+
+        /**
+         * Steal a grey cell from another worker and visit it.
+         *
+         * @return true if a cell was stolen, false if no cell could be stolen from any worker
+         */
+        private boolean stealAndVisit(int numWorkers) {
+            final MarkingWorker[] workers = parallelMarking.workers;
+            for (int i = 1; i < numWorkers; i++) {
+                final Pointer cell = workers[(workerIndex + i) % numWorkers].markingStack.steal();
+                if (!cell.isZero()) {
+                    numStolenCells++;
+                    visitGreyCell(cell);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    final TricolorHeapMarker heapMarker;
+    final MarkingWorker[] workers;
+
+    /**
+     * Number of workers taking part in the current marking.
+     */
+    private int numWorkers;
+
+    /**
+     * Worker whose marking stack receives the next root.
+     */
+    private int nextSeededWorker;
+
+    /**
+     * Number of workers that may still push cells on their marking stack. Marking terminates when this drops to zero.
+     */
+    private volatile int activeWorkers;
+
+    /**
+     * Spin lock serializing discovery of special references.
+     */
+    private volatile int specialReferenceLock;
+
+    @FOLD
+    private static int activeWorkersOffset() {
+        return ClassActor.fromJava(ParallelMarking.class).findLocalInstanceFieldActor("activeWorkers").offset();
+    }
+
+    @FOLD
+    private static int specialReferenceLockOffset() {
+        return ClassActor.fromJava(ParallelMarking.class).findLocalInstanceFieldActor("specialReferenceLock").offset();
+    }
+
+    @HOSTED_ONLY
+    ParallelMarking(TricolorHeapMarker heapMarker) {
+        this.heapMarker = heapMarker;
+        workers = new MarkingWorker[GCWorkGang.MAX_PARALLEL_GC_THREADS];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new MarkingWorker(this, i);
+        }
+    }
+
+    /**
+     * Allocate the marking stacks of the workers requested on the command line.
+     */
+    void initialize() {
+        final int n = GCWorkGang.requestedNumWorkers();
+        for (int i = 0; i < n; i++) {
+            workers[i].markingStack.initialize();
+        }
+    }
+
+    /**
+     * Prepare for a new marking. Must be called before root marking.
+     */
+    void reset() {
+        numWorkers = GCWorkGang.numWorkers();
+        nextSeededWorker = 0;
+        for (int i = 0; i < numWorkers; i++) {
+            workers[i].reset();
+        }
+    }
+
+    /**
+     * Distribute a root marked grey among the marking stacks of the workers. Called during root marking, before the workers are started.
+     *
+     * @param cell a cell marked grey
+     */
+    void seed(Pointer cell) {
+        workers[nextSeededWorker].pushGreyCell(cell);
+        if (++nextSeededWorker == numWorkers) {
+            nextSeededWorker = 0;
+        }
+    }
+
+    private int atomicAddActiveWorkers(int delta) {
+        int oldValue;
+        do {
+            oldValue = activeWorkers;
+        } while (Reference.fromJava(this).compareAndSwapInt(activeWorkersOffset(), oldValue, oldValue + delta) != oldValue);
+        return oldValue + delta;
+    }
+
+    private boolean hasStealableCells() {
+        for (int i = 0; i < numWorkers; i++) {
+            if (!workers[i].markingStack.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void discoverSpecialReference(Pointer cell) {
+        while (Reference.fromJava(this).compareAndSwapInt(specialReferenceLockOffset(), 0, 1) != 0) {
+            Intrinsics.pause();
+        }
+        SpecialReferenceManager.discoverSpecialReference(cell);
+        specialReferenceLock = 0;
+    }
+
+    /**
+     * Trace all objects reachable from the seeded roots using the {@link GCWorkGang}.
+     */
+    void trace() {
+        activeWorkers = numWorkers;
+        GCWorkGang.runTask(this);
+    }
+
+    @Override
+    public void run(int workerIndex, int numWorkers) {
+        final MarkingWorker worker = workers[workerIndex];
+        while (true) {
+            worker.drain();
+            if (worker.stealAndVisit(numWorkers)) {
+                continue;
+            }
+            // Out of work. Offer to terminate, and come back to work if cells show up on any marking stack
+            // before all workers agreed to terminate.
+            atomicAddActiveWorkers(-1);
+            while (true) {
+                if (activeWorkers == 0) {
+                    return;
+                }
+                if (hasStealableCells()) {
+                    atomicAddActiveWorkers(1);
+                    break;
+                }
+                Intrinsics.pause();
+            }
+        }
+    }
+
+    /**
+     * Rightmost object marked grey by any of the workers, or the specified address if greater.
+     */
+    Address rightmost(Address rightmost) {
+        for (int i = 0; i < numWorkers; i++) {
+            if (workers[i].rightmost.greaterThan(rightmost)) {
+                rightmost = workers[i].rightmost;
+            }
+        }
+        return rightmost;
+    }
+
+    /**
+     * Leftmost object left grey because of a marking stack overflow, or the end of the covered area if there were no overflows.
+     */
+    Address leftmostOverflowed() {
+        Address leftmost = heapMarker.coveredAreaEnd;
+        for (int i = 0; i < numWorkers; i++) {
+            if (workers[i].leftmostOverflowed.lessThan(leftmost)) {
+                leftmost = workers[i].leftmostOverflowed;
+            }
+        }
+        return leftmost;
+    }
+
+    void printStats() {
+        for (int i = 0; i < numWorkers; i++) {
+            final MarkingWorker worker = workers[i];
+            Log.print("  worker ");
+            Log.print(i);
+            Log.print(": visited=");
+            Log.print(worker.numVisitedCells);
+            Log.print(", stolen=");
+            Log.print(worker.numStolenCells);
+            Log.print(", overflows=");
+            Log.println(worker.numOverflows);
+        }
+    }
+}
@@ -51,6 +51,11 @@ public final class RegionChunkListRefillManager extends ChunkListRefillManager {
      * Provider of regions.
      */
     private RegionProvider regionProvider;
+
+    /**
+     * NUMA node allocating regions must be bound to, or -1 if any region will do.
+     */
+    private int homeNode;
     /**
      * Dead space listener where to report dead space events.
      */
@@ -82,6 +87,10 @@ public final class RegionChunkListRefillManager extends ChunkListRefillManager {
         this.regionProvider = regionProvider;
     }
 
+    void setHomeNode(int node) {
+        homeNode = node;
+    }
+
     public Object refillLock() {
         return regionProvider;
     }
@@ -98,6 +107,7 @@ public final class RegionChunkListRefillManager extends ChunkListRefillManager {
         this.deadSpaceListener = deadSpaceListener;
         nextFreeChunkInRegion = Address.zero();
         allocatingRegion = INVALID_REGION_ID;
+        homeNode = -1;
     }
 
     void setRefillPolicy(Size refillThreshold) {
@@ -133,7 +143,7 @@ public final class RegionChunkListRefillManager extends ChunkListRefillManager {
             int gcCount = 0;
             retireCurrentAllocatingRegion();
             do {
-                allocatingRegion = regionProvider.getAllocatingRegion();
+                allocatingRegion = homeNode < 0 ? regionProvider.getAllocatingRegion() : regionProvider.getAllocatingRegion(homeNode);
                 if (allocatingRegion != INVALID_REGION_ID) {
                     if (allocatingRegion == DebuggedRegion) {
                         TLABLog.TraceTLABAllocation = true;
@@ -43,6 +43,14 @@ public interface RegionProvider {
      */
     int getAllocatingRegion();
 
+    /**
+     * Obtain a region with free space bound to the specified NUMA node, or, if the node has no free space left, any region with free space.
+     * @param node a NUMA node
+     * @return an region identifier, or {@link HeapRegionConstants#INVALID_REGION_ID} if free space is exhausted.
+     * @see HeapRegionManager#homeNode(int)
+     */
+    int getAllocatingRegion(int node);
+
     /**
      * Obtain a region with at least the specified amount of free space, and at most the specified number of chunks.
      * @param minFreeBytes
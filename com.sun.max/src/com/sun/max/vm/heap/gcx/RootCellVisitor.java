@@ -75,7 +75,7 @@ abstract class RootCellVisitor extends PointerIndexVisitor implements CellVisito
     final void markExternalRoot(Pointer cell) {
         // Note: the first test also acts as a null pointer filter.
         if (cell.greaterEqual(bottom) && isNonNullCovered(cell)) {
-            heapMarker.markGrey(cell);
+            heapMarker.markRootGrey(cell);
             if (cell.lessThan(leftmost)) {
                 leftmost = cell;
             } else if (cell.greaterThan(rightmost)) {
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import static com.sun.max.platform.Platform.*;
+
+import com.sun.max.annotate.*;
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.runtime.*;
+
+/**
+ * A pair of survivor semi-spaces for an aging nursery.
+ * At every minor collection, the spaces are flipped, and survivors from the nursery's allocation space (the eden) and from the
+ * survivor from-space that aren't old enough for tenuring are copied to the survivor to-space.
+ * <p>
+ * The age of a survivor is the number of minor collections it survived. The header of an object has no room to spare for it (the misc word is entirely
+ * used by the monitor scheme), so ages are kept in a side table with one byte per word of the survivor spaces, indexed by the cell address of survivors.
+ * Only entries of cells copied in the to-space during the last minor collection are meaningful.
+ */
+public final class SurvivorSpaces {
+    /**
+     * Maximum age a survivor can reach.
+     */
+    public static final int MAX_AGE = 15;
+
+    @INSPECTED
+    private final ContiguousHeapSpace space0;
+
+    @INSPECTED
+    private final ContiguousHeapSpace space1;
+
+    /**
+     * Survivor space that survivors are copied from. Empty outside of minor collections.
+     */
+    @INSPECTED
+    private ContiguousHeapSpace fromSpace;
+
+    /**
+     * Survivor space holding the survivors of the last minor collection.
+     */
+    @INSPECTED
+    private ContiguousHeapSpace toSpace;
+
+    /**
+     * Allocation hand in the to-space.
+     */
+    @INSPECTED
+    private Pointer top = Pointer.zero();
+
+    /**
+     * Side table of survivor ages.
+     */
+    private Pointer ageTable = Pointer.zero();
+
+    /**
+     * Bytes copied in the to-space during the last minor collection, indexed by age.
+     */
+    private final long[] survivorBytesByAge = new long[MAX_AGE + 1];
+
+    /**
+     * Area evacuated by a minor collection, i.e., the eden and the survivor from-space.
+     */
+    private final class EvacuatedArea implements EvacuatingSpace {
+        final EvacuatingSpace eden;
+        final SpaceBounds edenBounds;
+        final SpaceBounds bounds;
+
+        EvacuatedArea(EvacuatingSpace eden) {
+            this.eden = eden;
+            this.edenBounds = eden.bounds();
+            this.bounds = new SpaceBounds() {
+                @Override
+                boolean isIn(Address address) {
+                    return edenBounds.isIn(address) || fromSpace.inCommittedSpace(address);
+                }
+
+                @Override
+                boolean isContiguous() {
+                    return false;
+                }
+
+                @Override
+                Address lowestAddress() {
+                    final Address lowest = edenBounds.lowestAddress();
+                    return fromSpace.start().lessThan(lowest) ? fromSpace.start() : lowest;
+                }
+
+                @Override
+                Address highestAddress() {
+                    final Address highest = edenBounds.highestAddress();
+                    return fromSpace.committedEnd().greaterThan(highest) ? fromSpace.committedEnd() : highest;
+                }
+            };
+        }
+
+        public SpaceBounds bounds() {
+            return bounds;
+        }
+
+        public boolean contains(Address address) {
+            return eden.contains(address) || fromSpace.inCommittedSpace(address);
+        }
+
+        public void doBeforeGC() {
+            eden.doBeforeGC();
+        }
+
+        public void doAfterGC() {
+            eden.doAfterGC();
+            if (MaxineVM.isDebug()) {
+                zap(fromSpace);
+            }
+        }
+    }
+
+    @HOSTED_ONLY
+    public SurvivorSpaces(String name) {
+        space0 = new ContiguousHeapSpace(name + " 0");
+        space1 = new ContiguousHeapSpace(name + " 1");
+        fromSpace = space0;
+        toSpace = space1;
+    }
+
+    /**
+     * Create the evacuating space made of an eden and of the survivor from-space.
+     *
+     * @param eden the allocation space of the nursery
+     * @return an evacuating space
+     */
+    @HOSTED_ONLY
+    public EvacuatingSpace evacuatedArea(EvacuatingSpace eden) {
+        return new EvacuatedArea(eden);
+    }
+
+    /**
+     * Initialize the survivor spaces. They are laid out contiguously from the specified start address.
+     *
+     * @param start start of the virtual memory reserved for the survivor spaces
+     * @param maxSize maximum size of a survivor space
+     * @param initialSize initial size of a survivor space
+     */
+    public void initialize(Address start, Size maxSize, Size initialSize) {
+        space0.setReserved(start, maxSize);
+        space1.setReserved(start.plus(maxSize), maxSize);
+        if (maxSize.isZero()) {
+            top = toSpace.start().asPointer();
+            return;
+        }
+        if (!(space0.growCommittedSpace(initialSize) && space1.growCommittedSpace(initialSize))) {
+            MaxineVM.reportPristineMemoryFailure("survivor spaces", "commit", initialSize.times(2));
+        }
+        final Size ageTableSize = maxSize.times(2).unsignedShiftedRight(Word.widthValue().log2numberOfBytes);
+        ageTable = Memory.allocate(ageTableSize);
+        if (ageTable.isZero()) {
+            MaxineVM.reportPristineMemoryFailure("survivor age table", "allocate", ageTableSize);
+        }
+        top = toSpace.start().asPointer();
+    }
+
+    /**
+     * End of the virtual memory reserved for the survivor spaces.
+     */
+    public Address end() {
+        return space1.end();
+    }
+
+    public boolean isEmpty() {
+        return top.equals(toSpace.start());
+    }
+
+    /**
+     * Flip the survivor spaces before a minor collection.
+     */
+    public void flip() {
+        final ContiguousHeapSpace space = fromSpace;
+        fromSpace = toSpace;
+        toSpace = space;
+        top = toSpace.start().asPointer();
+        for (int age = 0; age <= MAX_AGE; age++) {
+            survivorBytesByAge[age] = 0L;
+        }
+    }
+
+    @INLINE
+    private int ageTableIndex(Address cell) {
+        return cell.minus(space0.start()).unsignedShiftedRight(Word.widthValue().log2numberOfBytes).toInt();
+    }
+
+    /**
+     * Age of a survivor in the from-space.
+     *
+     * @param cell a cell in the from-space
+     * @return the number of minor collections the cell survived
+     */
+    @INLINE
+    public int age(Address cell) {
+        return ageTable.readByte(ageTableIndex(cell));
+    }
+
+    @INLINE
+    public boolean inFromSpace(Address address) {
+        return fromSpace.inCommittedSpace(address);
+    }
+
+    @INLINE
+    public boolean inToSpace(Address address) {
+        return toSpace.inCommittedSpace(address);
+    }
+
+    /**
+     * Allocate space for a survivor in the to-space.
+     *
+     * @param size size of the survivor
+     * @param age age of the survivor once copied
+     * @return the cell allocated to the survivor, or zero if the to-space is full
+     */
+    public Pointer allocate(Size size, int age) {
+        final Pointer cell = top;
+        final Pointer newTop = cell.plus(size);
+        if (newTop.greaterThan(toSpace.committedEnd())) {
+            return Pointer.zero();
+        }
+        top = newTop;
+        ageTable.writeByte(ageTableIndex(cell), (byte) age);
+        survivorBytesByAge[age] += size.toLong();
+        return cell;
+    }
+
+    /**
+     * Allocation hand in the to-space. Cells below it are survivors of the last minor collection.
+     */
+    public Pointer top() {
+        return top;
+    }
+
+    public Address toSpaceStart() {
+        return toSpace.start();
+    }
+
+    public MemoryRegion toSpace() {
+        return toSpace;
+    }
+
+    /**
+     * Bytes copied in the to-space during the last minor collection, indexed by age.
+     */
+    public long[] survivorBytesByAge() {
+        return survivorBytesByAge;
+    }
+
+    /**
+     * Size of a survivor space.
+     */
+    public Size totalSpace() {
+        return toSpace.committedSize();
+    }
+
+    public Size usedSpace() {
+        return top.minus(toSpace.start()).asSize();
+    }
+
+    public boolean contains(Address address) {
+        return space0.inCommittedSpace(address) || space1.inCommittedSpace(address);
+    }
+
+    private static boolean resize(ContiguousHeapSpace space, Size newSize) {
+        final Size committedSize = space.committedSize();
+        if (newSize.greaterThan(committedSize)) {
+            return space.growCommittedSpace(space.adjustGrowth(newSize.minus(committedSize)));
+        } else if (newSize.lessThan(committedSize)) {
+            return space.shrinkCommittedSpace(committedSize.minus(newSize));
+        }
+        return true;
+    }
+
+    /**
+     * Resize the survivor spaces after a collection. The to-space is never shrunk below the space its survivors occupy.
+     *
+     * @param newSize page-aligned size requested for each survivor space
+     */
+    public void resize(Size newSize) {
+        final Size minToSpaceSize = usedSpace().alignUp(platform().pageSize).asSize();
+        final boolean resized = resize(fromSpace, newSize) && resize(toSpace, newSize.greaterThan(minToSpaceSize) ? newSize : minToSpaceSize);
+        FatalError.check(resized, "request for resizing survivor spaces after GC must always succeed");
+    }
+
+    public void visit(CellRangeVisitor visitor) {
+        visitor.visitCells(toSpace.start(), top);
+    }
+
+    public void visitAllocatedCells(CellVisitor visitor) {
+        Pointer cell = toSpace.start().asPointer();
+        while (cell.lessThan(top)) {
+            cell = visitor.visitCell(cell);
+        }
+    }
+
+    private static void zap(ContiguousHeapSpace space) {
+        Memory.setWords(space.start().asPointer(), space.committedSize().unsignedShiftedRight(Word.widthValue().log2numberOfBytes).toInt(), Memory.zappedMarker());
+    }
+
+    public MemoryRegion space0() {
+        return space0;
+    }
+
+    public MemoryRegion space1() {
+        return space1;
+    }
+}
@@ -317,6 +317,23 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
      */
     final MarkingStack markingStack;
 
+    /**
+     * Support for tracing grey objects in parallel with the {@link GCWorkGang}. Null if the heap scheme using this heap marker
+     * doesn't support parallel marking.
+     */
+    final ParallelMarking parallelMarking;
+
+    /**
+     * Indicates whether the current marking traces grey objects in parallel.
+     */
+    private boolean useParallelMarking;
+
+    /**
+     * Indicates whether roots are being re-scanned at the end of a concurrent marking.
+     * @see #beginRemark()
+     */
+    private boolean remarking;
+
     private final TimerMetric rootScanTimer = new TimerMetric(new SingleUseTimer(HeapScheme.GC_TIMING_CLOCK));
     private final TimerMetric bootHeapScanTimer = new TimerMetric(new SingleUseTimer(HeapScheme.GC_TIMING_CLOCK));
     private final TimerMetric codeScanTimer = new TimerMetric(new SingleUseTimer(HeapScheme.GC_TIMING_CLOCK));
@@ -522,6 +539,7 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         bitmapWordBoundaryMask = Address.fromInt(1).shiftedLeft(log2BytesCoveredPerBit + Word.widthValue().log2numberOfBits).minus(1).not();
         colorMap = new MemoryRegion("Mark Bitmap");
         markingStack = null;
+        parallelMarking = null;
         rootCellVisitor = null;
         heapRootsScanner = null;
         overflowLinearScanState = null;
@@ -533,6 +551,17 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
      * Boot image generation constructor.
      */
     public TricolorHeapMarker(int wordsCoveredPerBit, RootCellVisitor rootCellVisitor)  {
+        this(wordsCoveredPerBit, rootCellVisitor, false);
+    }
+
+    /**
+     * Boot image generation constructor.
+     *
+     * @param wordsCoveredPerBit number of words of the covered area that a single bit covers
+     * @param rootCellVisitor visitor of the roots external to the covered area
+     * @param supportsParallelMarking if true, grey objects are traced in parallel when the {@link GCWorkGang} is enabled
+     */
+    public TricolorHeapMarker(int wordsCoveredPerBit, RootCellVisitor rootCellVisitor, boolean supportsParallelMarking)  {
         this.wordsCoveredPerBit = wordsCoveredPerBit;
         log2BytesCoveredPerBit = Word.widthValue().log2numberOfBytes + Integer.numberOfTrailingZeros(wordsCoveredPerBit);
         assert wordsCoveredPerBit * Word.widthValue().numberOfBytes == 1 << log2BytesCoveredPerBit;
@@ -541,6 +570,7 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         colorMap = new MemoryRegion("Mark Bitmap");
         markingStack = new MarkingStack();
         markingStack.setOverflowHandler(this);
+        parallelMarking = supportsParallelMarking ? new ParallelMarking(this) : null;
         this.rootCellVisitor = rootCellVisitor;
         rootCellVisitor.initialize(this);
         heapRootsScanner = new SequentialHeapRootsScanner(rootCellVisitor);
@@ -585,6 +615,9 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
                 overflowScanState = overflowLinearScanState;
             }
             overflowScanState.initialize();
+            if (parallelMarking != null) {
+                parallelMarking.initialize();
+            }
         }
     }
 
@@ -727,6 +760,71 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         return false;
     }
 
+    /**
+     * Mark grey a root of the covered area. If grey objects are traced in parallel, the root is also distributed to the marking stack of a worker.
+     * @param cell a cell in the covered area
+     */
+    @INLINE
+    final void markRootGrey(Pointer cell) {
+        if (remarking) {
+            // Roots may have been marked already by the concurrent trace.
+            markGreyIfWhite(cell);
+        } else if (!useParallelMarking) {
+            markGrey(cell);
+        } else if (markGreyIfWhite(cell)) {
+            parallelMarking.seed(cell);
+        }
+    }
+
+    /**
+     * Atomically mark grey the specified cell if it is white.
+     * Used when tracing in parallel, as other workers may update the same words of the color map concurrently.
+     *
+     * @param cell a cell in the covered area
+     * @return true if the cell was marked grey by the caller, false if it was already marked
+     */
+    final boolean atomicMarkGreyIfWhite(Pointer cell) {
+        final int bitIndex = bitIndexOf(cell);
+        final Pointer wordPointer = bitmapWordPointerAt(bitIndex);
+        final long blackMask = bitmaskFor(bitIndex);
+        // Only the black bit tells whether a cell is white. If the color spans words, the caller that sets the black bit
+        // owns the cell, and may set the grey bit in the next word afterwards.
+        final long mask = colorSpanWords(bitIndex) ? blackMask : GREY << bitIndexInWord(bitIndex);
+        long word;
+        do {
+            word = wordPointer.getLong(0);
+            if ((word & blackMask) != 0L) {
+                return false;
+            }
+        } while (wordPointer.compareAndSwapLong(0, word, word | mask) != word);
+        if (colorSpanWords(bitIndex)) {
+            final Pointer nextWordPointer = wordPointer.plus(Word.widthValue().numberOfBytes);
+            do {
+                word = nextWordPointer.getLong(0);
+            } while (nextWordPointer.compareAndSwapLong(0, word, word | 1L) != word);
+        }
+        traceGreyMark(cell, bitIndex);
+        return true;
+    }
+
+    /**
+     * Atomically mark black the specified grey cell.
+     * Used when tracing in parallel, as other workers may update the same word of the color map concurrently.
+     *
+     * @param cell a grey cell in the covered area
+     */
+    final void atomicMarkBlackFromGrey(Pointer cell) {
+        final int bitIndex = bitIndexOf(cell);
+        traceBlackMark(cell, bitIndex);
+        final int greyBitIndex = bitIndex + 1;
+        final Pointer wordPointer = bitmapWordPointerAt(greyBitIndex);
+        final long greyMask = bitmaskFor(greyBitIndex);
+        long word;
+        do {
+            word = wordPointer.getLong(0);
+        } while (wordPointer.compareAndSwapLong(0, word, word & ~greyMask) != word);
+    }
+
     @INLINE
     final void markBlackFromGrey(int bitIndex) {
         final Pointer basePointer = base.asPointer();
@@ -1497,6 +1595,9 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
      */
     void visitGreyObjectsAfterRootMarking(HeapRegionRangeIterable regionsRanges) {
         initAfterRootMarking();
+        if (useParallelMarking && !visitGreyObjectsInParallel()) {
+            return;
+        }
         visitGreyObjects(regionsRanges);
     }
 
@@ -1505,9 +1606,35 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
      */
     void visitGreyObjectsAfterRootMarking() {
         initAfterRootMarking();
+        if (useParallelMarking && !visitGreyObjectsInParallel()) {
+            return;
+        }
         visitGreyObjects();
     }
 
+    /**
+     * Trace the roots distributed to the workers' marking stacks with the {@link GCWorkGang}.
+     * On return, the forward scan state is set to resume a sequential forward scan from the leftmost object left grey because of
+     * a marking stack overflow, if any.
+     *
+     * @return true if some objects were left grey and must be visited by a sequential forward scan
+     */
+    private boolean visitGreyObjectsInParallel() {
+        parallelMarking.trace();
+        final Address rightmost = parallelMarking.rightmost(forwardScanState.rightmost);
+        final Address leftmostOverflowed = parallelMarking.leftmostOverflowed();
+        forwardScanState.rightmost = rightmost;
+        if (Heap.logGCPhases()) {
+            parallelMarking.printStats();
+        }
+        if (leftmostOverflowed.lessThan(coveredAreaEnd)) {
+            forwardScanState.finger = leftmostOverflowed;
+            return true;
+        }
+        forwardScanState.finger = rightmost;
+        return false;
+    }
+
 
     /**
      * Find the first black mark in the specified range of the color map.
@@ -1635,20 +1762,33 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
      * This can server region-based heap as well as contiguous heap, wherein a single region is passed in this case.
      */
     public void sweep(HeapRegionSweeper regionsSweeper, boolean doImprecise) {
-        final Address endOfRightmostLiveObject = endOfCell(forwardScanState.rightmost);
-        do {
-            assert regionsSweeper.hasNextSweepingRegion();
-            regionsSweeper.beginSweep();
-            if (doImprecise) {
-                impreciseRegionSweep(regionsSweeper);
-            } else {
-                preciseRegionSweep(regionsSweeper);
-            }
-            regionsSweeper.endSweep();
-        } while (regionsSweeper.endOfSweepingRegion().lessThan(endOfRightmostLiveObject));
+        while (sweepNextRegion(regionsSweeper, doImprecise)) {
+            // Keep sweeping until the region holding the end of the rightmost live object is swept.
+        }
         regionsSweeper.reachedRightmostLiveRegion();
     }
 
+    /**
+     * Sweep the next region of the heap region sweeper. This allows sweeping to be spread over time, e.g., to sweep regions lazily
+     * when allocators need them. The mark bitmap must not be modified until all the regions up to the rightmost live object are swept.
+     * Note that the sweeper may consume more than one region if the swept region is the head of a multi-regions object.
+     *
+     * @param regionsSweeper the sweeper providing the region to sweep
+     * @param doImprecise whether to sweep imprecisely
+     * @return true if there are regions left with live objects, false if the region holding the end of the rightmost live object was swept
+     */
+    public boolean sweepNextRegion(HeapRegionSweeper regionsSweeper, boolean doImprecise) {
+        assert regionsSweeper.hasNextSweepingRegion();
+        regionsSweeper.beginSweep();
+        if (doImprecise) {
+            impreciseRegionSweep(regionsSweeper);
+        } else {
+            preciseRegionSweep(regionsSweeper);
+        }
+        regionsSweeper.endSweep();
+        return regionsSweeper.endOfSweepingRegion().lessThan(endOfCell(forwardScanState.rightmost));
+    }
+
     /**
      * Return the pointer immediately after the last word of the cell.
      *
@@ -1775,6 +1915,13 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         return lastLiveMark;
     }
 
+    private void prepareParallelMarking() {
+        useParallelMarking = parallelMarking != null && GCWorkGang.numWorkers() > 0;
+        if (useParallelMarking) {
+            parallelMarking.reset();
+        }
+    }
+
     public void markAll() {
         final boolean traceGCPhases = Heap.logGCPhases();
         traceGCTimes = Heap.logGCTime();
@@ -1784,6 +1931,7 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         FatalError.check(markingStack.isEmpty(), "Marking stack must be empty");
 
         clearColorMap();
+        prepareParallelMarking();
         markRoots();
 
         markPhase = MARK_PHASE.VISIT_GREY_FORWARD;
@@ -1816,6 +1964,161 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         markPhase = MARK_PHASE.DONE;
     }
 
+    /**
+     * Start a concurrent marking of the covered area. Must be called while mutators are stopped.
+     * The color map is cleared and the roots are marked grey. Grey objects are then traced by
+     * calls to {@link #markConcurrently(int)} while mutators are running. Mutators must record with a write barrier
+     * the cells they update until marking is completed with {@link #beginRemark()} and {@link #endRemark()}.
+     * Parallel marking isn't used by concurrent marking.
+     */
+    public void beginConcurrentMarking() {
+        final boolean traceGCPhases = Heap.logGCPhases();
+        traceGCTimes = Heap.logGCTime();
+        if (traceGCTimes) {
+            recoveryScanTimer.reset();
+        }
+        FatalError.check(markingStack.isEmpty(), "Marking stack must be empty");
+        clearColorMap();
+        useParallelMarking = false;
+        markRoots();
+        initAfterRootMarking();
+        currentScanState = forwardScanState;
+        overflowScanState.markingStackFlusher().setScanState(currentScanState);
+        markPhase = MARK_PHASE.VISIT_GREY_FORWARD;
+        markPhase.traceBegin(traceGCPhases);
+    }
+
+    /**
+     * Trace a bounded number of grey objects of a concurrent marking.
+     * The caller must prevent any garbage collection from taking place during the call, typically by disabling safepoints.
+     *
+     * @param maxBitmapWords maximum number of words of the color map to scan
+     * @return true if there is no more grey objects to trace
+     */
+    public boolean markConcurrently(int maxBitmapWords) {
+        return forwardScanState.visitGreyObjectsIncrementally(maxBitmapWords);
+    }
+
+    /**
+     * Begin the final pause of a concurrent marking. Complete the tracing of grey objects left by the concurrent marking, if any.
+     * Black objects that may have been updated by mutators since the beginning of the marking can then be marked grey
+     * with {@link #regreyBlackCells(Address, Address)}, and objects allocated since then with {@link #markCellsGrey(Address, Address)}.
+     */
+    public void beginRemark() {
+        startTimer(heapMarkingTimer);
+        while (!markConcurrently(Integer.MAX_VALUE >> 1)) {
+            // Keep tracing.
+        }
+        stopTimer(heapMarkingTimer);
+        markPhase.traceEnd(Heap.logGCPhases());
+        if (VerifyAfterMarking) {
+            verifyHasNoGreyMarks(coveredAreaStart, forwardScanState.endOfRightmostVisitedObject());
+        }
+        remarking = true;
+    }
+
+    /**
+     * Mark grey all black objects whose mark is within the specified range of the covered area.
+     * Must only be called during a remark, before any other objects are marked grey, as marks are interpreted assuming no grey objects.
+     * The range must be aligned to words of the color map.
+     *
+     * @param start start of the range
+     * @param end end of the range
+     */
+    public void regreyBlackCells(Address start, Address end) {
+        final Pointer colorMapBase = base.asPointer();
+        final int endBitIndex = bitIndexOf(end);
+        int bitIndex = bitIndexOf(start);
+        while (bitIndex < endBitIndex) {
+            final int bitmapWordIndex = bitmapWordIndex(bitIndex);
+            final long bitmapWord = colorMapBase.getLong(bitmapWordIndex) & (-1L << bitIndexInWord(bitIndex));
+            if (bitmapWord == 0L) {
+                bitIndex = (bitmapWordIndex + 1) << Word.widthValue().log2numberOfBits;
+                continue;
+            }
+            final int blackBitIndex = (bitmapWordIndex << Word.widthValue().log2numberOfBits) + Pointer.fromLong(bitmapWord).leastSignificantBitSet();
+            if (blackBitIndex >= endBitIndex) {
+                break;
+            }
+            markGrey(blackBitIndex);
+            final Address cell = addressOf(blackBitIndex);
+            if (cell.greaterThan(forwardScanState.rightmost)) {
+                forwardScanState.rightmost = cell;
+            }
+            // Skip the grey bit just set. Objects are at least two words, so the next mark cannot be before.
+            bitIndex = blackBitIndex + 2;
+        }
+    }
+
+    /**
+     * Mark grey all white objects in the specified range of the covered area. Used during a remark to keep alive
+     * all objects allocated since the beginning of a concurrent marking. The range must be parsable and its free chunks and dark matter are skipped.
+     *
+     * @param start start of the range
+     * @param end end of the range
+     */
+    public void markCellsGrey(Address start, Address end) {
+        Pointer cell = start.asPointer();
+        while (cell.lessThan(end)) {
+            final Pointer origin = Layout.cellToOrigin(cell);
+            final Reference hubRef = Layout.readHubReference(origin);
+            if (hubRef.isZero()) {
+                // Cleared space not yet allocated.
+                cell = cell.plus(Word.size());
+                continue;
+            }
+            if (UnsafeCast.asHub(hubRef.toJava()) == HeapFreeChunk.heapFreeChunkHub()) {
+                cell = cell.plus(HeapFreeChunk.getFreechunkSize(cell));
+                continue;
+            }
+            if (!DarkMatter.isDarkMatterHub(hubRef.toOrigin()) && markGreyIfWhite(cell) && cell.greaterThan(forwardScanState.rightmost)) {
+                forwardScanState.rightmost = cell;
+            }
+            cell = cell.plus(Layout.size(origin));
+        }
+    }
+
+    /**
+     * Complete a concurrent marking. Roots are re-scanned, then all grey objects are traced, and special references are processed.
+     */
+    public void endRemark() {
+        final boolean traceGCPhases = Heap.logGCPhases();
+        final Address rightmost = forwardScanState.rightmost;
+        markRoots();
+        remarking = false;
+
+        markPhase = MARK_PHASE.VISIT_GREY_FORWARD;
+        markPhase.traceBegin(traceGCPhases);
+        startTimer(heapMarkingTimer);
+        forwardScanState.rightmost = rightmost.greaterThan(rootCellVisitor.rightmost) ? rightmost : rootCellVisitor.rightmost;
+        forwardScanState.finger = coveredAreaStart;
+        visitGreyObjects();
+        stopTimer(heapMarkingTimer);
+        markPhase.traceEnd(traceGCPhases);
+
+        if (traceGCTimes) {
+            totalRecoveryScanCount += recoveryScanTimer.getCount();
+            totalRecoveryElapsedTime += recoveryScanTimer.getElapsedTime();
+        }
+
+        if (VerifyAfterMarking) {
+            verifyHasNoGreyMarks(coveredAreaStart, forwardScanState.endOfRightmostVisitedObject());
+        }
+
+        markPhase = MARK_PHASE.SPECIAL_REF;
+        markPhase.traceBegin(traceGCPhases);
+        startTimer(weakRefTimer);
+        SpecialReferenceManager.processDiscoveredSpecialReferences(forwardScanState);
+        visitGreyObjects();
+        stopTimer(weakRefTimer);
+        markPhase.traceEnd(traceGCPhases);
+
+        if (VerifyAfterMarking) {
+            verifyHasNoGreyMarks(coveredAreaStart, forwardScanState.endOfRightmostVisitedObject());
+        }
+        markPhase = MARK_PHASE.DONE;
+    }
+
     /**
      * Mark live all objects reachable from roots and residing in the heap regions enumerated by the iterable region range.
      *
@@ -1829,6 +2132,7 @@ public class TricolorHeapMarker implements MarkingStack.OverflowHandler, HeapMan
         markingStack.reset();
         clearColorMap();
         overflowScanState.setHeapRegionsRanges(regionsRanges);
+        prepareParallelMarking();
 
         markRoots();
 
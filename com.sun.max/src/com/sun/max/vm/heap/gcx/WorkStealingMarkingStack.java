@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import static com.sun.max.vm.VMOptions.*;
+
+import com.oracle.max.cri.intrinsics.*;
+import com.sun.max.annotate.*;
+import com.sun.max.memory.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.reference.*;
+
+/**
+ * Fixed size work-stealing marking stack used by parallel heap markers.
+ * This is a bounded variant of the Chase-Lev double-ended queue: the owner of the stack pushes and pops cells
+ * at the bottom end, whereas other workers steal cells from the top end. Only the last cell of the stack and
+ * stolen cells require an atomic update of the top index.
+ *
+ * Unlike {@link MarkingStack}, the stack never drains itself on overflow: {@link #push(Pointer)} fails instead,
+ * and the caller is responsible for recording the overflow.
+ *
+ * The stack can also be exercised on the host VM, where memory barriers are omitted (the volatile accesses to
+ * {@link #top} and {@link #bottom} already order the operations) and the top index is updated under a lock.
+ */
+final class WorkStealingMarkingStack {
+    private static final VMIntOption parallelMarkingStackSizeOption =
+        register(new VMIntOption("-XX:ParallelMarkingStackSize=", 16 * 1024,
+            "Size of the marking stack of each parallel marking worker in number of references (rounded up to a power of 2)."),
+                        MaxineVM.Phase.PRISTINE);
+
+    private Address base;
+    private int mask;
+
+    /**
+     * Index of the next cell to steal. Only ever incremented, with a CAS.
+     */
+    private volatile int top;
+
+    /**
+     * Index of the next free slot. Only updated by the owner of the stack.
+     */
+    private volatile int bottom;
+
+    @FOLD
+    private static int topOffset() {
+        return ClassActor.fromJava(WorkStealingMarkingStack.class).findLocalInstanceFieldActor("top").offset();
+    }
+
+    WorkStealingMarkingStack() {
+    }
+
+    void initialize() {
+        initialize(parallelMarkingStackSizeOption.getValue());
+    }
+
+    /**
+     * Allocate the backing storage of the stack.
+     *
+     * @param minLength minimum number of cells the stack can hold (rounded up to a power of 2)
+     */
+    void initialize(int minLength) {
+        int length = 2;
+        while (length < minLength) {
+            length <<= 1;
+        }
+        final int size = length << Word.widthValue().log2numberOfBytes;
+        base = Memory.allocate(Size.fromInt(size));
+        if (base.isZero()) {
+            MaxineVM.reportPristineMemoryFailure("parallel marking stack", "allocate", Size.fromInt(size));
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * Reset the stack. Must not be called while other workers may steal from it.
+     */
+    void reset() {
+        top = 0;
+        bottom = 0;
+    }
+
+    /**
+     * Indicates whether the stack is empty. The answer is only a hint when called by a worker other than the owner.
+     */
+    @INLINE
+    boolean isEmpty() {
+        return bottom - top <= 0;
+    }
+
+    private boolean casTop(int expectedValue, int newValue) {
+        if (MaxineVM.isHosted()) {
+            synchronized (this) {
+                if (top == expectedValue) {
+                    top = newValue;
+                    return true;
+                }
+                return false;
+            }
+        }
+        return Reference.fromJava(this).compareAndSwapInt(topOffset(), expectedValue, newValue) == expectedValue;
+    }
+
+    /**
+     * Push a cell on the stack. Can only be called by the owner of the stack.
+     *
+     * @param cell a pointer to a cell
+     * @return false if the stack is full, true otherwise
+     */
+    boolean push(Pointer cell) {
+        final int b = bottom;
+        if (b - top > mask) {
+            return false;
+        }
+        base.asPointer().setWord(b & mask, cell);
+        if (!MaxineVM.isHosted()) {
+            MemoryBarriers.barrier(MemoryBarriers.STORE_STORE);
+        }
+        bottom = b + 1;
+        return true;
+    }
+
+    /**
+     * Pop a cell from the stack. Can only be called by the owner of the stack.
+     *
+     * @return a pointer to a cell, or zero if the stack is empty
+     */
+    Pointer pop() {
+        final int b = bottom - 1;
+        bottom = b;
+        if (!MaxineVM.isHosted()) {
+            MemoryBarriers.barrier(MemoryBarriers.STORE_LOAD);
+        }
+        final int t = top;
+        if (b < t) {
+            bottom = t;
+            return Pointer.zero();
+        }
+        Pointer cell = base.asPointer().getWord(b & mask).asPointer();
+        if (b > t) {
+            return cell;
+        }
+        // Last cell of the stack: race with thieves for it.
+        if (!casTop(t, t + 1)) {
+            cell = Pointer.zero();
+        }
+        bottom = t + 1;
+        return cell;
+    }
+
+    /**
+     * Steal a cell from the stack. Can be called by any worker.
+     *
+     * @return a pointer to a cell, or zero if the stack was empty or if another worker won the race for the cell
+     */
+    Pointer steal() {
+        final int t = top;
+        if (!MaxineVM.isHosted()) {
+            MemoryBarriers.barrier(MemoryBarriers.LOAD_LOAD);
+        }
+        final int b = bottom;
+        if (b - t <= 0) {
+            return Pointer.zero();
+        }
+        final Pointer cell = base.asPointer().getWord(t & mask).asPointer();
+        if (!casTop(t, t + 1)) {
+            return Pointer.zero();
+        }
+        return cell;
+    }
+}
@@ -61,16 +61,20 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
      */
     static int YoungGenHeapPercent = 30;
     static Size ELABSize = Size.K.times(64);
+    static boolean EvacuateFragmentedRegions = false;
     static {
         VMOptions.addFieldOption("-XX:", "YoungGenHeapPercent", GenMSEHeapScheme.class, "Fixed percentage of heap size that must be used by young gen", Phase.PRISTINE);
         VMOptions.addFieldOption("-XX:", "ELABSize", GenMSEHeapScheme.class, "Size of evacuation buffers for young gen evacuation to old gen", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "EvacuateFragmentedRegions", GenMSEHeapScheme.class,
+                        "Evacuate the old gen regions with the most garbage after an old gen collection", Phase.PRISTINE);
     }
 
     public enum GenMSEHeapRegionTag {
         UNTAGGED,
         YOUNG,
         OLD,
-        BOOT;
+        BOOT,
+        EVACUATING;
         public int tag() {
             return ordinal();
         }
@@ -108,6 +112,15 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
      */
     private final NoAgingNurseryEvacuator youngSpaceEvacuator;
 
+    /**
+     * Implementation of the evacuation of fragmented old gen regions. Used after old gen collections if {@link #EvacuateFragmentedRegions} is set.
+     */
+    private final FragmentedRegionsEvacuator oldSpaceEvacuator;
+
+    private final EvacuationTimers evacTimers = new EvacuationTimers();
+
+    private final Evacuator.PhaseLogger evacPhaseLogger = new Evacuator.PhaseLogger();
+
     /**
      * Operation to submit to the {@link VmOperationThread} to perform a generational collection.
      */
@@ -127,7 +140,7 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
     @HOSTED_ONLY
     public GenMSEHeapScheme() {
         heapAccount = new HeapAccount<GenMSEHeapScheme>(this);
-        heapMarker = new TricolorHeapMarker(WORDS_COVERED_PER_BIT, new HeapAccounRootCellVisitor(this));
+        heapMarker = new TricolorHeapMarker(WORDS_COVERED_PER_BIT, new HeapAccounRootCellVisitor(this), true);
         cardTableRSet = new CardTableRSet();
         youngSpace = new NoAgingRegionalizedNursery(heapAccount, YOUNG.tag());
 
@@ -138,6 +151,11 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
 
         oldSpace = new FirstFitMarkSweepSpace<GenMSEHeapScheme>(heapAccount, tlabAllocator, overflowAllocator, true, cardTableRSet, OLD.tag());
         youngSpaceEvacuator = new NoAgingNurseryEvacuator(youngSpace, oldSpace, this, cardTableRSet, "Young");
+        oldSpaceEvacuator = new FragmentedRegionsEvacuator(oldSpace, this, cardTableRSet, EVACUATING.tag());
+        youngSpaceEvacuator.setTimers(evacTimers);
+        oldSpaceEvacuator.setTimers(evacTimers);
+        youngSpaceEvacuator.setPhaseLogger(evacPhaseLogger);
+        oldSpaceEvacuator.setPhaseLogger(evacPhaseLogger);
         noYoungReferencesVerifier = new NoEvacuatedSpaceReferenceVerifier(cardTableRSet, youngSpace);
         fotVerifier = new FOTVerifier(cardTableRSet);
         genCollection = new GenCollection();
@@ -247,6 +265,9 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
             // worst case evacuation and the number of fragments of old space available for allocation.
             // Same with the lab size. In non parallel evacuators, this should be all the space available for allocation in a region.
             youngSpaceEvacuator.initialize(1000, false, oldSpace.minReclaimableSpace(), false);
+            if (EvacuateFragmentedRegions) {
+                oldSpaceEvacuator.initialize(numberOfRegions(applicationHeapMaxSize));
+            }
 
             if (HeapRangeDumper.DumpOnError) {
                 MemoryRegion dumpingCoverage = new MemoryRegion();
@@ -298,6 +319,25 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
             oldSpace.visit(noYoungReferencesVerifier);
         }
 
+        /**
+         * Evacuate the old generation regions with the most garbage. This is done after the old generation was swept.
+         */
+        private void evacuateFragmentedRegions() {
+            oldSpaceEvacuator.setGCOperation(this);
+            final int numEvacuatedRegions = oldSpaceEvacuator.evacuateFragmentedRegions(Heap.logGCPhases());
+            oldSpaceEvacuator.setGCOperation(null);
+            if (Heap.verbose() && numEvacuatedRegions > 0) {
+                final boolean lockDisabledSafepoints = Log.lock();
+                Log.print("--Evacuated ");
+                Log.print(numEvacuatedRegions);
+                Log.print(" fragmented regions, live bytes: ");
+                Log.print(oldSpaceEvacuator.collectionSetLiveBytes());
+                Log.print(", evacuated bytes: ");
+                Log.println(oldSpaceEvacuator.evacuatedBytes().toLong());
+                Log.unlock(lockDisabledSafepoints);
+            }
+        }
+
         /**
          * Perform old generation collection. This is done after the young generation has been fully evacuated.
          */
@@ -310,6 +350,9 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
             heapMarker.markAll(regionsRangeIterable);
             HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.RECLAIMING);
             oldSpace.sweep(heapMarker, false);
+            if (EvacuateFragmentedRegions) {
+                evacuateFragmentedRegions();
+            }
             oldSpace.doAfterGC();
             youngSpaceEvacuator.doAfterGC();
             fullCollectionCount++;
@@ -458,7 +501,7 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
             allocateAndRefillTLAB(etla, tlabSize);
             // Let's do a bit of meta-circularity. The TLAB is refilled, and no-one except the current thread can use it.
             // So the TLAB allocation is going to succeed here
-            TLABRefillPolicy.setForCurrentThread(etla, new SimpleTLABRefillPolicy(tlabSize));
+            TLABRefillPolicy.setForCurrentThread(etla, createTLABRefillPolicy(tlabSize));
             // Now, address the initial request. Note that we may recurse down to handleTLABOverflow again here if the
             // request is larger than the TLAB size. However, this second call will succeed and allocate outside of the TLAB.
             return tlabAllocate(size);
@@ -524,6 +567,11 @@ final public class GenMSEHeapScheme extends HeapSchemeWithTLABAdaptor  implement
         return oldSpace.allocateTLAB(ELABSize);
     }
 
+    @Override
+    public Address refillEvacuationBuffer(int node) {
+        return oldSpace.allocateTLAB(ELABSize, node);
+    }
+
     @Override
     public void retireEvacuationBuffer(Address startOfSpaceLeft, Address endOfSpaceLeft) {
         oldSpace.retireTLAB(startOfSpaceLeft.asPointer(), endOfSpaceLeft.minus(startOfSpaceLeft).asSize());
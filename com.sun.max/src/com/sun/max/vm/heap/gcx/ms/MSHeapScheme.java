@@ -24,16 +24,21 @@ package com.sun.max.vm.heap.gcx.ms;
 
 import static com.sun.max.vm.VMConfiguration.*;
 
+import com.sun.cri.xir.*;
+import com.sun.cri.xir.CiXirAssembler.XirOperand;
 import com.sun.max.annotate.*;
 import com.sun.max.memory.*;
 import com.sun.max.platform.*;
 import com.sun.max.program.*;
 import com.sun.max.unsafe.*;
+import com.sun.max.util.*;
 import com.sun.max.util.timer.*;
 import com.sun.max.vm.*;
+import com.sun.max.vm.MaxineVM.Phase;
 import com.sun.max.vm.code.*;
 import com.sun.max.vm.heap.*;
 import com.sun.max.vm.heap.gcx.*;
+import com.sun.max.vm.heap.gcx.rset.ctbl.*;
 import com.sun.max.vm.reference.*;
 import com.sun.max.vm.runtime.*;
 import com.sun.max.vm.thread.*;
@@ -43,10 +48,46 @@ import com.sun.max.vm.thread.*;
  * marking and sweeping algorithms.
  * Implements TLAB over a linked list of free chunk provided by an object space manager.
  *
+ * Marking can optionally be mostly concurrent (see {@link #UseConcurrentMarking}) if the boot image is built with {@link #CONCURRENT_MARKING_PROPERTY}. A background thread starts a marking cycle when heap occupancy
+ * reaches a threshold. A short initial pause marks the roots and records the free chunks of the heap. Grey objects are then traced by the background
+ * thread in small increments while mutators run. A card table records the objects updated by mutators (incremental update barrier).
+ * The cycle completes with a remark pause that re-scans roots, objects on dirty cards, and objects allocated since the initial pause, before sweeping
+ * as usual. Any garbage collection requested while a cycle is in progress completes the cycle.
+ *
  * @see FreeHeapSpaceManager
  */
-public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
+public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor implements XirWriteBarrierSpecification {
     private static final int WORDS_COVERED_PER_BIT = 1;
+
+    /**
+     * Name of the system property that builds support for concurrent marking into the boot image.
+     */
+    public static final String CONCURRENT_MARKING_PROPERTY = "max.heap.ms.concurrentmarking";
+
+    /**
+     * Indicates whether the boot image supports concurrent marking. The card-marking write barrier that concurrent marking relies on
+     * is compiled into the boot image and into the XIR templates when the image is built, so it can't be turned on by a command line option.
+     * Without support (the default), reference stores have no write barrier and no card table is allocated.
+     */
+    static final boolean ConcurrentMarkingSupport = System.getProperty(CONCURRENT_MARKING_PROPERTY) != null;
+
+    static boolean UseConcurrentMarking = ConcurrentMarkingSupport;
+    static int ConcurrentMarkingOccupancy = 70;
+    static int ConcurrentMarkingInterval = 100;
+    static int ConcurrentMarkingIncrement = 1024;
+    static int ConcurrentMarkingMaxFreeRanges = 64 * 1024;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "UseConcurrentMarking", MSHeapScheme.class, "Mark mostly concurrently with mutators", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "ConcurrentMarkingOccupancy", MSHeapScheme.class,
+                        "Percentage of heap occupancy that starts a concurrent marking cycle", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "ConcurrentMarkingInterval", MSHeapScheme.class,
+                        "Interval (in milliseconds) between checks of heap occupancy by the concurrent marking thread", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "ConcurrentMarkingIncrement", MSHeapScheme.class,
+                        "Number of mark bitmap words scanned by the concurrent marking thread between safepoints", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "ConcurrentMarkingMaxFreeRanges", MSHeapScheme.class,
+                        "Maximum number of free chunks recorded at the start of a concurrent marking cycle", Phase.PRISTINE);
+    }
     /**
      * A marking algorithm for the MSHeapScheme.
      */
@@ -63,14 +104,55 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
 
     private final MSCollection collect = new MSCollection();
 
+    /**
+     * Card table recording updates of references by mutators. Null if the boot image doesn't support concurrent marking.
+     */
+    private final CardTableRSet cardTableRSet;
+
+    private final MSInitialMark initialMark = new MSInitialMark();
+
+    private final MSRemark remark = new MSRemark();
+
+    /**
+     * Indicates whether a concurrent marking cycle is in progress, i.e., an initial mark was done but not the remark.
+     * Only updated at safepoints.
+     */
+    private volatile boolean concurrentMarkingActive;
+
+    /**
+     * Storage for the bounds of the free chunks recorded at the initial mark of a concurrent marking cycle.
+     * Objects allocated during the cycle are found in these chunks.
+     */
+    private Pointer freeRanges = Pointer.zero();
+
+    /**
+     * Number of ranges in {@link #freeRanges}.
+     */
+    private int numFreeRanges;
+
+    /**
+     * Value of {@link #collectionCount} when a concurrent marking cycle last failed to start because the free chunks of the heap
+     * didn't fit in {@link #freeRanges}. The free chunks don't change much until the next full garbage collection, so no cycle is
+     * attempted before then.
+     */
+    private volatile int failedInitialMarkCollectionCount = -1;
+
+    /**
+     * Number of concurrent marking cycles completed by a remark.
+     */
+    private volatile int concurrentMarkingCycles;
+
+    private final DirtyCardsRegreyer dirtyCardsRegreyer = new DirtyCardsRegreyer();
+
     final AfterMarkSweepVerifier afterGCVerifier;
 
     private final AtomicPinCounter pinnedCounter = MaxineVM.isDebug() ? new AtomicPinCounter() : null;
 
     @HOSTED_ONLY
     public MSHeapScheme() {
-        heapMarker = new TricolorHeapMarker(WORDS_COVERED_PER_BIT, new ContiguousHeapRootCellVisitor());
+        heapMarker = new TricolorHeapMarker(WORDS_COVERED_PER_BIT, new ContiguousHeapRootCellVisitor(), true);
         objectSpace = new FreeHeapSpaceManager();
+        cardTableRSet = ConcurrentMarkingSupport ? new CardTableRSet() : null;
         afterGCVerifier = new AfterMarkSweepVerifier(heapMarker, objectSpace, AfterMarkSweepBootHeapVerifier.makeVerifier(heapMarker));
 
         pinningSupportFlags = PIN_SUPPORT_FLAG.makePinSupportFlags(true, false, true);
@@ -79,6 +161,18 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
     @Override
     public void initialize(MaxineVM.Phase phase) {
         super.initialize(phase);
+        if (cardTableRSet != null) {
+            cardTableRSet.initialize(phase);
+        }
+        if (phase == MaxineVM.Phase.PRISTINE && UseConcurrentMarking && !ConcurrentMarkingSupport) {
+            Log.print("Warning: -XX:+UseConcurrentMarking ignored, the boot image must be built with -D");
+            Log.println(CONCURRENT_MARKING_PROPERTY);
+            UseConcurrentMarking = false;
+        }
+        if (phase == MaxineVM.Phase.RUNNING && UseConcurrentMarking) {
+            freeRanges = Memory.allocate(Size.fromInt(ConcurrentMarkingMaxFreeRanges).times(2 * Word.size()));
+            new ConcurrentMarkingThread().start();
+        }
     }
 
     /**
@@ -113,7 +207,11 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
         final Address heapStart = firstUnusedByteAddress.roundedUpBy(pageSize);
         final Size heapMarkerDatasize = heapMarker.memoryRequirement(maxSize);
         final Address heapMarkerDataStart = heapStart.plus(maxSize).roundedUpBy(pageSize);
-        final Address leftoverStart = heapMarkerDataStart.plus(heapMarkerDatasize).roundedUpBy(pageSize);
+        // The card table covers the boot region, code and immortal heap so that the write barrier doesn't need boundary checks.
+        final Size cardTableCoveredAreaSize = heapStart.plus(maxSize).minus(Heap.bootHeapRegion.start()).asSize();
+        final Size cardTableDataSize = cardTableRSet == null ? Size.zero() : cardTableRSet.memoryRequirement(cardTableCoveredAreaSize);
+        final Address cardTableDataStart = heapMarkerDataStart.plus(heapMarkerDatasize).roundedUpBy(pageSize);
+        final Address leftoverStart = cardTableDataStart.plus(cardTableDataSize).roundedUpBy(pageSize);
 
         try {
             // Use immortal memory for now.
@@ -129,6 +227,16 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
             }
             heapMarker.initialize(markedSpace.start(), markedSpace.committedEnd(), heapMarkerDataStart, heapMarkerDatasize);
 
+            if (cardTableRSet != null) {
+                if (!Heap.AvoidsAnonOperations) {
+                    if (!VirtualMemory.commitMemory(cardTableDataStart, cardTableDataSize,  VirtualMemory.Type.DATA)) {
+                        MaxineVM.reportPristineMemoryFailure("card table space", "commit", cardTableDataSize);
+                    }
+                }
+                cardTableRSet.initialize(Heap.bootHeapRegion.start(), cardTableCoveredAreaSize, cardTableDataStart, cardTableDataSize);
+                cardTableRSet.initializeXirStartupConstants();
+            }
+
             // Free reserved space we will not be using.
             Size leftoverSize = endOfReservedSpace.minus(leftoverStart).asSize();
             // First, uncommit range we want to free (this will create a new mapping that can then be deallocated)
@@ -144,7 +252,11 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
             // From now on, we can allocate.
             // Make the heap (and mark bitmap) inspectable
             HeapScheme.Inspect.init(true);
-            HeapScheme.Inspect.notifyHeapRegions(markedSpace, heapMarker.memory());
+            if (cardTableRSet != null) {
+                HeapScheme.Inspect.notifyHeapRegions(markedSpace, heapMarker.memory(), cardTableRSet.memory());
+            } else {
+                HeapScheme.Inspect.notifyHeapRegions(markedSpace, heapMarker.memory());
+            }
         } finally {
             Heap.disableImmortalMemoryAllocation();
         }
@@ -168,6 +280,20 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
         return objectSpace.canSatisfyAllocation(gcRequest.requestedBytes);
     }
 
+    /**
+     * Indicates whether marking is done mostly concurrently with mutators.
+     */
+    public static boolean usesConcurrentMarking() {
+        return UseConcurrentMarking;
+    }
+
+    /**
+     * Gets the number of concurrent marking cycles completed so far.
+     */
+    public int concurrentMarkingCycles() {
+        return concurrentMarkingCycles;
+    }
+
     public boolean contains(Address address) {
         return objectSpace.contains(address);
     }
@@ -210,6 +336,45 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
     public void writeBarrier(Reference from, Reference to) {
     }
 
+    @INLINE
+    @Override
+    public boolean needsBarrier(IntBitSet<WriteBarrierSpecification.WriteBarrierSpec> writeBarrierSpec) {
+        return ConcurrentMarkingSupport && writeBarrierSpec.isSet(WriteBarrierSpec.POST_WRITE);
+    }
+
+    /**
+     * If the boot image supports concurrent marking, the write barrier dirties the card holding the origin of the updated object, for both tuples and arrays,
+     * so that the remark of a concurrent marking can find the updated objects from the mark bitmap.
+     */
+    @INLINE
+    @Override
+    public void postWriteBarrier(Reference ref, Offset offset, Reference value) {
+        if (ConcurrentMarkingSupport) {
+            cardTableRSet.record(ref, Offset.zero());
+        }
+    }
+
+    @INLINE
+    @Override
+    public void postWriteBarrier(Reference ref,  int displacement, int index, Reference value) {
+        if (ConcurrentMarkingSupport) {
+            cardTableRSet.record(ref, Offset.zero());
+        }
+    }
+
+    @HOSTED_ONLY
+    public XirWriteBarrierGenerator barrierGenerator(IntBitSet<WriteBarrierSpecification.WriteBarrierSpec> writeBarrierSpec) {
+        if (ConcurrentMarkingSupport && (writeBarrierSpec.equals(TUPLE_POST_BARRIER) || writeBarrierSpec.equals(ARRAY_POST_BARRIER))) {
+            return new XirWriteBarrierGenerator() {
+                @Override
+                public void genWriteBarrier(CiXirAssembler asm, XirOperand ... operands) {
+                    cardTableRSet.genTuplePostWriteBarrier(asm, operands[0]);
+                }
+            };
+        }
+        return XirWriteBarrierSpecification.NULL_WRITE_BARRIER_GEN;
+    }
+
     private static final class MSGCRequest extends GCRequest {
         protected MSGCRequest(VmThread thread) {
             super(thread);
@@ -282,12 +447,22 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
             return objectSpace.freeSpaceAfterSweep();
         }
 
-        private HeapResizingPolicy heapResizingPolicy = new HeapResizingPolicy();
+        private HeapResizingPolicy heapResizingPolicy = new ErgonomicHeapResizingPolicy();
 
         @Override
         public void collect(int invocationCount) {
+            markSweep();
+            final GCRequest gcRequest = callingThread().gcRequest;
+            gcRequest.lastInvocationCount = invocationCount;
+        }
+
+        /**
+         * Mark and sweep the heap. If a concurrent marking cycle is in progress, the marking completes it.
+         */
+        void markSweep() {
             traceGCTimes = Heap.logGCTime();
             startTimer(totalPauseTime);
+            heapResizingPolicy.notifyGCStart();
             VmThreadMap.ACTIVE.forAllThreadLocals(null, tlabFiller);
 
             HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.ANALYZING);
@@ -300,13 +475,20 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
                 Log.print("Begin mark-sweep #");
                 Log.println(collectionCount);
             }
-            heapMarker.markAll();
+            if (concurrentMarkingActive) {
+                concurrentMarkingActive = false;
+                remark();
+                concurrentMarkingCycles++;
+            } else {
+                heapMarker.markAll();
+            }
             HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.RECLAIMING);
             Size freeSpaceAfterGC = reclaim();
             if (VerifyAfterGC) {
                 afterGCVerifier.run();
             }
             vmConfig().monitorScheme().afterGarbageCollection();
+            heapResizingPolicy.notifyGCEnd();
 
             if (heapResizingPolicy.resizeAfterCollection(freeSpaceAfterGC, objectSpace)) {
                 // Heap was resized.
@@ -318,8 +500,6 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
                 Log.print("End mark-sweep #");
                 Log.println(collectionCount);
             }
-            final GCRequest gcRequest = callingThread().gcRequest;
-            gcRequest.lastInvocationCount = invocationCount;
             HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.MUTATING);
             stopTimer(totalPauseTime);
 
@@ -329,6 +509,120 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
         }
     }
 
+    /**
+     * Complete the marking of the current concurrent marking cycle.
+     */
+    private void remark() {
+        heapMarker.beginRemark();
+        final ContiguousHeapSpace markedSpace = objectSpace.committedHeapSpace;
+        cardTableRSet.cleanAndVisitCards(markedSpace.start(), markedSpace.committedEnd(), dirtyCardsRegreyer);
+        for (int i = 0; i < numFreeRanges; i++) {
+            heapMarker.markCellsGrey(freeRanges.getWord(2 * i).asAddress(), freeRanges.getWord(2 * i + 1).asAddress());
+        }
+        heapMarker.endRemark();
+    }
+
+    /**
+     * Mark grey the black objects of dirty cards so that they are visited again by the remark.
+     */
+    final class DirtyCardsRegreyer extends CardTableRSet.CardRangeVisitor {
+        @Override
+        public void visitCards(Address start, Address end) {
+            heapMarker.regreyBlackCells(start, end);
+        }
+    }
+
+    /**
+     * Initial pause of a concurrent marking cycle.
+     */
+    final class MSInitialMark extends GCOperation {
+        MSInitialMark() {
+            super("MSInitialMark");
+        }
+
+        @Override
+        protected void collect(int invocationCount) {
+            // Retire TLABs so that all allocations during the cycle are satisfied from the recorded free chunks.
+            VmThreadMap.ACTIVE.forAllThreadLocals(null, tlabFiller);
+            numFreeRanges = objectSpace.recordFreeChunks(freeRanges, ConcurrentMarkingMaxFreeRanges);
+            if (numFreeRanges < 0) {
+                if (Heap.logGCPhases()) {
+                    Log.println("Too many free chunks to start concurrent marking");
+                }
+                numFreeRanges = 0;
+                failedInitialMarkCollectionCount = collectionCount;
+                return;
+            }
+            final ContiguousHeapSpace markedSpace = objectSpace.committedHeapSpace;
+            cardTableRSet.setCards(markedSpace.start(), markedSpace.committedEnd(), CardState.CLEAN_CARD);
+            heapMarker.beginConcurrentMarking();
+            concurrentMarkingActive = true;
+        }
+    }
+
+    /**
+     * Final pause of a concurrent marking cycle requested by the concurrent marking thread.
+     * Does nothing if the cycle was already completed by another garbage collection.
+     */
+    final class MSRemark extends GCOperation {
+        MSRemark() {
+            super("MSRemark");
+        }
+
+        @Override
+        protected void collect(int invocationCount) {
+            if (concurrentMarkingActive) {
+                collect.markSweep();
+            }
+        }
+    }
+
+    /**
+     * Thread starting concurrent marking cycles and tracing grey objects concurrently with mutators.
+     * Tracing is done in increments during which safepoints are disabled so that no garbage collection can take place in the middle of an increment.
+     */
+    final class ConcurrentMarkingThread extends Thread {
+        ConcurrentMarkingThread() {
+            super(VmThread.systemThreadGroup, "ConcurrentMarking");
+            setDaemon(true);
+        }
+
+        private boolean shouldStartCycle() {
+            if (failedInitialMarkCollectionCount == collectionCount) {
+                return false;
+            }
+            final long totalSpace = objectSpace.totalSpace().toLong();
+            return objectSpace.usedSpace().toLong() * 100 >= totalSpace * ConcurrentMarkingOccupancy;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    Thread.sleep(ConcurrentMarkingInterval);
+                } catch (InterruptedException e) {
+                }
+                if (!shouldStartCycle()) {
+                    continue;
+                }
+                initialMark.submit();
+                if (!concurrentMarkingActive) {
+                    // The cycle couldn't be started, or a garbage collection already completed it: there is nothing to remark.
+                    continue;
+                }
+                boolean done = false;
+                while (!done) {
+                    final boolean wasDisabled = SafepointPoll.disable();
+                    done = !concurrentMarkingActive || heapMarker.markConcurrently(ConcurrentMarkingIncrement);
+                    if (!wasDisabled) {
+                        SafepointPoll.enable();
+                    }
+                }
+                remark.submit();
+            }
+        }
+    }
+
     private Size setNextTLABChunk(Pointer chunk) {
         if (MaxineVM.isDebug()) {
             FatalError.check(!chunk.isZero(), "TLAB chunk must not be null");
@@ -345,7 +639,8 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
     @INLINE
     private Size setNextTLABChunk(Pointer etla, Pointer nextChunk) {
         Size nextChunkEffectiveSize = setNextTLABChunk(nextChunk);
-        fastRefillTLAB(etla, nextChunk, nextChunkEffectiveSize);
+        // Only called when the current chunk is exactly filled, so nothing is left over.
+        fastRefillTLAB(etla, nextChunk, nextChunkEffectiveSize, Size.zero());
         return nextChunkEffectiveSize;
     }
 
@@ -373,7 +668,7 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
         // Zap chunk data to leave allocation area clean.
         Memory.clearWords(chunk, effectiveSize.unsignedShiftedRight(Word.widthValue().log2numberOfBytes).toInt());
         chunk.plus(effectiveSize).setWord(nextChunk);
-        fastRefillTLAB(etla, chunk, effectiveSize);
+        fastRefillTLAB(etla, chunk, effectiveSize, tlabHardLimit.minus(tlabMark).minus(tlabHeadroom()).asSize());
         return tlabAllocate(size);
     }
 
@@ -410,7 +705,7 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
             allocateAndRefillTLAB(etla, tlabSize);
             // Let's do a bit of dirty meta-circularity. The TLAB is refilled, and no-one except the current thread can use it.
             // So the tlab allocation is going to succeed here
-            TLABRefillPolicy.setForCurrentThread(etla, new SimpleTLABRefillPolicy(tlabSize));
+            TLABRefillPolicy.setForCurrentThread(etla, createTLABRefillPolicy(tlabSize));
             // Now, address the initial request. Note that we may recurse down to handleTLABOverflow again here if the
             // request is larger than the TLAB size. However, this second call will succeed and allocate outside of the tlab.
             return tlabAllocate(size);
@@ -432,7 +727,7 @@ public final class MSHeapScheme extends HeapSchemeWithTLABAdaptor {
                 Memory.clearWords(tlabEnd, tlabHeadroomNumWords());
                 if (nextChunk.isZero()) {
                     // Zero-out TLAB top and mark.
-                    fastRefillTLAB(etla, Pointer.zero(), Size.zero());
+                    fastRefillTLAB(etla, Pointer.zero(), Size.zero(), Size.zero());
                 } else {
                     // TLAB has another chunk of free space. Set it.
                     setNextTLABChunk(etla, nextChunk);
@@ -52,10 +52,20 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
     static boolean DumpFragStatsAfterGC = false;
     static boolean DumpFragStatsAtGCFailure = false;
     static boolean DoImpreciseSweep = false;
+    static boolean LazySweep = false;
+    static boolean BackgroundSweep = false;
+    static int BackgroundSweepInterval = 10;
+    static boolean UncommitIdleRegions = false;
+    static int UncommitIdleRegionsDelay = 30000;
     static {
-        VMOptions.addFieldOption("-XX:", "DumpFragStatsAfterGC", MSEHeapScheme.class, "Dump region fragmentation stats after GC", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "DumpFragStatsAfterGC", MSEHeapScheme.class, "Dump region fragmentation stats after GC (completes any lazy sweep right after each GC)", Phase.PRISTINE);
         VMOptions.addFieldOption("-XX:", "DumpFragStatsAtGCFailure", MSEHeapScheme.class, "Dump region fragmentation when GC failed to reclaim enough space", Phase.PRISTINE);
         VMOptions.addFieldOption("-XX:", "DoImpreciseSweep", MSEHeapScheme.class, "Control whether to do precise or imprecise sweep", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "LazySweep", MSEHeapScheme.class, "Sweep regions on demand after GC instead of during the GC pause", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "BackgroundSweep", MSEHeapScheme.class, "Sweep regions left unswept by GC in a background thread (implies LazySweep)", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "BackgroundSweepInterval", MSEHeapScheme.class, "Interval (in ms) at which the background sweeper checks for unswept regions", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "UncommitIdleRegions", MSEHeapScheme.class, "Periodically give back to the OS the memory of heap regions that stayed empty", Phase.PRISTINE);
+        VMOptions.addFieldOption("-XX:", "UncommitIdleRegionsDelay", MSEHeapScheme.class, "Time (in ms) a heap region must stay empty before its memory is given back to the OS", Phase.PRISTINE);
     }
 
     /**
@@ -102,6 +112,16 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
     @Override
     public void initialize(MaxineVM.Phase phase) {
         super.initialize(phase);
+        if (phase == MaxineVM.Phase.PRISTINE && BackgroundSweep) {
+            LazySweep = true;
+        } else if (phase == MaxineVM.Phase.RUNNING) {
+            if (BackgroundSweep) {
+                new BackgroundSweeperThread().start();
+            }
+            if (UncommitIdleRegions) {
+                new IdleRegionsUncommitterThread().start();
+            }
+        }
     }
 
     /**
@@ -173,8 +193,15 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
         theHeapRegionManager().checkOutgoingReferences();
     }
 
+    /**
+     * Report fragmentation statistics. These are only meaningful for swept regions, so the pending lazy sweep, if any, is completed first.
+     * Hence, {@link #DumpFragStatsAfterGC} effectively turns {@link #LazySweep} into an eager sweep run by the thread that requested the GC.
+     */
     private void reportFragmentationStats(boolean reclaimedEnoughSpace) {
         if (DumpFragStatsAfterGC || (!reclaimedEnoughSpace && DumpFragStatsAtGCFailure)) {
+            while (markSweepSpace.sweepIncrement()) {
+                // Sweep until done.
+            }
             fragmentationStats.reportStats(heapAccount());
         }
     }
@@ -221,6 +248,8 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
             return true;
         }
         collect.submit();
+        // Unswept regions count as used space: sweep lazily as much as the request needs before checking whether the GC reclaimed enough.
+        markSweepSpace.sweepUntilFree(gcRequest.requestedBytes);
         if (MaxineVM.isDebug()) {
             usedSpaceAfterLastGC = markSweepSpace.usedSpace().toLong();
         }
@@ -316,18 +345,23 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
             Log.unlock(lockDisabledSafepoints);
         }
 
-        private HeapResizingPolicy heapResizingPolicy = new HeapResizingPolicy();
+        private HeapResizingPolicy heapResizingPolicy = new ErgonomicHeapResizingPolicy();
 
         @Override
         protected void collect(int invocationCount) {
             final boolean traceGCPhases = Heap.logGCPhases();
             traceGCTimes = Heap.logGCTime();
             startTimer(totalPauseTime);
+            heapResizingPolicy.notifyGCStart();
             VmThreadMap.ACTIVE.forAllThreadLocals(null, tlabFiller);
 
             HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.ANALYZING);
 
             vmConfig().monitorScheme().beforeGarbageCollection();
+            if (LazySweep && markSweepSpace.completeLazySweep()) {
+                // Resizing was deferred until the previous lazy sweep completed.
+                heapResizingPolicy.resizeAfterCollection(markSweepSpace.lazySweptFreeSpace(), markSweepSpace);
+            }
             markSweepSpace.doBeforeGC();
             collectionCount++;
 
@@ -341,7 +375,11 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
                 Log.println("BEGIN: Sweeping");
             }
             startTimer(reclaimTimer);
-            markSweepSpace.sweep(heapMarker, DoImpreciseSweep);
+            if (LazySweep) {
+                markSweepSpace.beginLazySweep(heapMarker, DoImpreciseSweep);
+            } else {
+                markSweepSpace.sweep(heapMarker, DoImpreciseSweep);
+            }
             Size freeSpaceAfterGC = markSweepSpace.freeSpace();
             stopTimer(reclaimTimer);
             if (traceGCPhases) {
@@ -352,8 +390,11 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
                 afterGCVerifier.run();
             }
             vmConfig().monitorScheme().afterGarbageCollection();
+            heapResizingPolicy.notifyGCEnd();
 
-            heapResizingPolicy.resizeAfterCollection(freeSpaceAfterGC, markSweepSpace);
+            if (!LazySweep) {
+                heapResizingPolicy.resizeAfterCollection(freeSpaceAfterGC, markSweepSpace);
+            }
             markSweepSpace.doAfterGC();
 
             final GCRequest gcRequest = callingThread().gcRequest;
@@ -367,6 +408,52 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
         }
     }
 
+    /**
+     * Daemon thread sweeping the regions left unswept by the last GC, so that allocating threads rarely have to.
+     */
+    final class BackgroundSweeperThread extends Thread {
+        BackgroundSweeperThread() {
+            super(VmThread.systemThreadGroup, "BackgroundSweeper");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    Thread.sleep(BackgroundSweepInterval);
+                } catch (InterruptedException e) {
+                }
+                while (markSweepSpace.sweepIncrement()) {
+                    // Sweep one region at a time to not hold the refill lock for too long.
+                }
+            }
+        }
+    }
+
+    /**
+     * Daemon thread giving back to the OS the memory of regions that stayed empty for longer than {@link #UncommitIdleRegionsDelay}.
+     * Uncommitted regions are re-committed when allocation runs out of regions, or when the heap is resized after GC.
+     */
+    final class IdleRegionsUncommitterThread extends Thread {
+        IdleRegionsUncommitterThread() {
+            super(VmThread.systemThreadGroup, "IdleRegionsUncommitter");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    // Regions are time-stamped when first seen empty: check twice per delay to uncommit them no later than 1.5 times the delay.
+                    Thread.sleep(Math.max(UncommitIdleRegionsDelay / 2, 1));
+                } catch (InterruptedException e) {
+                }
+                markSweepSpace.uncommitIdleRegions(UncommitIdleRegionsDelay);
+            }
+        }
+    }
+
     private Size setNextTLABChunk(Pointer chunk) {
         if (MaxineVM.isDebug()) {
             FatalError.check(!chunk.isZero(), "TLAB chunk must not be null");
@@ -384,7 +471,8 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
     @INLINE
     private Size setNextTLABChunk(Pointer etla, Pointer nextChunk) {
         Size nextChunkEffectiveSize = setNextTLABChunk(nextChunk);
-        fastRefillTLAB(etla, nextChunk, nextChunkEffectiveSize);
+        // Only called when the current chunk is exactly filled, so nothing is left over.
+        fastRefillTLAB(etla, nextChunk, nextChunkEffectiveSize, Size.zero());
         return nextChunkEffectiveSize;
     }
 
@@ -414,7 +502,7 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
         // Zap chunk data to leave allocation area clean.
         Memory.clearWords(chunk, effectiveSize.unsignedShiftedRight(Word.widthValue().log2numberOfBytes).toInt());
         chunk.plus(effectiveSize).setWord(nextChunk);
-        fastRefillTLAB(etla, chunk, effectiveSize);
+        fastRefillTLAB(etla, chunk, effectiveSize, tlabHardLimit.minus(tlabMark).minus(tlabHeadroom()).asSize());
         return tlabAllocate(size);
     }
 
@@ -459,7 +547,7 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
             allocateAndRefillTLAB(etla, tlabSize);
             // Let's do a bit of dirty meta-circularity. The TLAB is refilled, and no-one except the current thread can use it.
             // So the tlab allocation is going to succeed here
-            TLABRefillPolicy.setForCurrentThread(etla, new SimpleTLABRefillPolicy(tlabSize));
+            TLABRefillPolicy.setForCurrentThread(etla, createTLABRefillPolicy(tlabSize));
             // Now, address the initial request. Note that we may recurse down to handleTLABOverflow again here if the
             // request is larger than the TLAB size. However, this second call will succeed and allocate outside of the tlab.
             return tlabAllocate(size);
@@ -482,7 +570,7 @@ public final class MSEHeapScheme extends HeapSchemeWithTLABAdaptor implements He
                 Memory.clearWords(tlabEnd, tlabHeadroomNumWords());
                 if (nextChunk.isZero()) {
                     // Zero-out TLAB top and mark.
-                    fastRefillTLAB(etla, Pointer.zero(), Size.zero());
+                    fastRefillTLAB(etla, Pointer.zero(), Size.zero(), Size.zero());
                 } else {
                     // TLAB has another chunk of free space. Set it.
                     setNextTLABChunk(etla, nextChunk);
@@ -415,6 +415,19 @@ public final class CardTableRSet extends DeadSpaceListener implements HeapManage
         }
     }
 
+    /**
+     * Iterate over cells that overlap the specified card-aligned range, regardless of the state of the cards covering it.
+     * This lets a parallel collector first record and clean the dirty cards of a space (see {@link #cleanAndVisitCards(Address, Address, CardRangeVisitor)}),
+     * then distribute the visit of the recorded ranges among several threads.
+     *
+     * @param start card-aligned start of the range
+     * @param end card-aligned end of the range
+     * @param cellVisitor
+     */
+    public void visitCards(Address start, Address end, OverlappingCellVisitor cellVisitor) {
+        visitCards(cardTable.tableEntryIndex(start), cardTable.tableEntryIndex(end), cellVisitor);
+    }
+
     public void visitCards(Address start, Address end, CardState cardState, OverlappingCellVisitor cellVisitor) {
         final int endOfRange = cardTable.tableEntryIndex(end);
         int startCardIndex = cardTable.first(cardTable.tableEntryIndex(start), endOfRange, cardState);
@@ -288,13 +288,17 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
     final ContiguousSemiSpace<CardSpaceAllocator<OldSpaceRefiller>> oldSpace;
 
     /**
-     * Young generation, organized as a simple linear space. The collector doesn't do aging
-     * in this first prototype. Later, this will be changed for a semi-space variant
-     * (either with equal-size semi-space, or with a eden / survivor semi-space).
+     * Allocation space of the young generation (the eden), organized as a simple linear space.
      */
     @INSPECTED
     final ContiguousAllocatingSpace<AtomicBumpPointerAllocator<YoungSpaceRefiller>> youngSpace;
 
+    /**
+     * Survivor spaces of the young generation. Empty if the young generation doesn't age objects.
+     */
+    @INSPECTED
+    final SurvivorSpaces survivorSpaces;
+
     /**
      * Policy for resizing the heap after each GC.
      */
@@ -321,7 +325,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
      * Implementation of young space evacuation. Used by minor collection operations.
      */
     @INSPECTED
-    private final NoAgingNurseryEvacuator youngSpaceEvacuator;
+    private final AgingNurseryEvacuator youngSpaceEvacuator;
 
     /**
      * Implementation of old space evacuation. Used by full collection operations to collect the old generation.
@@ -433,7 +437,8 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         resizingPolicy = new GenSSHeapSizingPolicy();
         youngSpace = new ContiguousAllocatingSpace<AtomicBumpPointerAllocator<YoungSpaceRefiller>>(nurseryAllocator, "Young Generation");
         oldSpace = new ContiguousSemiSpace<CardSpaceAllocator<OldSpaceRefiller>>(tenuredAllocator, "Old Generation");
-        youngSpaceEvacuator = new NoAgingNurseryEvacuator(youngSpace, oldSpace, this, cardTableRSet, "Young");
+        survivorSpaces = new SurvivorSpaces("Survivor Space");
+        youngSpaceEvacuator = new AgingNurseryEvacuator(youngSpace, survivorSpaces, oldSpace, this, cardTableRSet, "Young");
         oldSpaceEvacuator = new  EvacuatorToCardSpace(oldSpace.fromSpace, oldSpace, this, cardTableRSet, "Old");
         noFromSpaceReferencesVerifiers = new NoEvacuatedSpaceReferenceVerifier(cardTableRSet, youngSpace);
         fotVerifier = new FOTVerifier(cardTableRSet);
@@ -485,9 +490,16 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         return phaseLogger;
     }
 
+    /**
+     * The evacuator of the young generation, used by minor collections.
+     */
+    public AgingNurseryEvacuator youngSpaceEvacuator() {
+        return youngSpaceEvacuator;
+    }
+
     @Override
     public boolean contains(Address address) {
-        return oldSpace.contains(address) || youngSpace.contains(address);
+        return oldSpace.contains(address) || youngSpace.contains(address) || survivorSpaces.contains(address);
     }
 
     @Override
@@ -528,6 +540,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         // Code only point to memory region that contains live objects
         verifyCodeRegion(Code.bootCodeRegion());
         verifyCodeRegion(Code.getCodeManager().getRuntimeBaselineCodeRegion());
+        verifyCodeRegion(Code.getCodeManager().getRuntimeStubCodeRegion());
         verifyCodeRegion(Code.getCodeManager().getRuntimeOptCodeRegion());
         oldSpace.visit(fotVerifier);
     }
@@ -542,11 +555,12 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         noFromSpaceReferencesVerifiers.setEvacuatedSpace(youngSpace);
         if (resizingPolicy.minorEvacuationOverflow()) {
             // Have to visit both the old gen's to space and the overflow in the old gen from space (i.e., the bound of the oldSpace's allocator.
-            refVerifier.setValidSpaces(oldToSpace, overflowedArea);
+            refVerifier.setValidSpaces(oldToSpace, overflowedArea, survivorSpaces.toSpace(), null);
         } else {
-            refVerifier.setValidHeapSpace(oldSpace.space);
+            refVerifier.setValidSpaces(oldSpace.space, survivorSpaces.toSpace());
         }
         verifyCommon();
+        survivorSpaces.visit(noFromSpaceReferencesVerifiers);
         if (resizingPolicy.minorEvacuationOverflow()) {
             // Have to visit both the old gen's to space and the overflow in the old gen from space (i.e., the bound of the oldSpace's allocator.
             noFromSpaceReferencesVerifiers.visitCells(oldToSpace.start(), oldToSpace.committedEnd());
@@ -561,8 +575,9 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             Memory.zapRegion(oldSpace.fromSpace);
         }
         noFromSpaceReferencesVerifiers.setEvacuatedSpace(oldSpace.fromSpace);
-        refVerifier.setValidHeapSpace(oldSpace.space);
+        refVerifier.setValidSpaces(oldSpace.space, survivorSpaces.toSpace());
         verifyCommon();
+        survivorSpaces.visit(noFromSpaceReferencesVerifiers);
         oldSpace.visit(noFromSpaceReferencesVerifiers);
     }
 
@@ -578,6 +593,10 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             oldSpace.allocator.unsafeSetTop(overflowedArea.end());
             oldSpaceEvacuator.prefillSurvivorRanges(overflowedArea.start(), overflowedArea.end());
         }
+        if (!survivorSpaces.isEmpty()) {
+            // Survivors of the young generation may refer to old objects.
+            oldSpaceEvacuator.prefillRootRange(survivorSpaces.toSpaceStart(), survivorSpaces.top());
+        }
         oldSpaceEvacuator.setEvacuationSpace(oldSpace.fromSpace, oldSpace);
         oldSpaceEvacuator.evacuate(Heap.logGCPhases());
 
@@ -603,6 +622,11 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         } else {
             cardTableRSet.setCards(oldSpace.space.start(), oldSpace.allocator().unsafeTop(), CardState.CLEAN_CARD);
         }
+        if (!survivorSpaces.isEmpty()) {
+            // The evacuation of the old generation doesn't track references to survivors of the young generation.
+            // Dirty all the cards of the old generation so that the next minor collection finds them.
+            cardTableRSet.setCards(oldSpace.space.start(), oldSpace.allocator().unsafeTop(), CardState.DIRTY_CARD);
+        }
     }
 
     @Override
@@ -610,7 +634,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         final CardSpaceAllocator<OldSpaceRefiller> allocator = oldSpace.allocator();
         Size spaceLeft = allocator.freeSpace();
         Address startOfSpaceLeft = allocator.unsafeSetTopToLimit();
-        FatalError.check(VmThread.current().isVmOperationThread(), "must only be called by VmOperation");
+        FatalError.check(VmThread.current().isVmOperationThread() || VmThread.current().isGCWorkerThread(), "must only be called by VmOperation or GC worker threads");
         // First, make sure we're doing minor collection here.
         if (youngSpaceEvacuator.getGCOperation() != null) {
             FatalError.check(!resizingPolicy.minorEvacuationOverflow(), "Must not have recursive overflow of old space during minor collection");
@@ -646,7 +670,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             // Try growing the heap (mostly the old space)
             if (resizingPolicy.canIncreaseSizeDuringFullGC(youngSpaceEvacuator.evacuatedBytes(), spaceLeft)) {
                 final ContiguousHeapSpace space = oldSpace.space;
-                resize(youngSpace, resizingPolicy.youngGenSize());
+                resizeYoungGen();
                 resize(oldSpace, resizingPolicy.oldGenSize());
                 final Address endOfRefill = space.committedEnd();
                 final Address startOfRefill = allocator.unsafeSetTopToLimit();
@@ -681,6 +705,12 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         return Address.zero();
     }
 
+    @Override
+    public Address refillEvacuationBuffer(int node) {
+        // The old space isn't region-based: there's no node to choose from.
+        return refillEvacuationBuffer();
+    }
+
     @Override
     public void retireEvacuationBuffer(Address startOfSpaceLeft, Address endOfSpaceLeft) {
         oldSpace.allocator().retireTop(startOfSpaceLeft, endOfSpaceLeft.minus(startOfSpaceLeft).asSize());
@@ -702,6 +732,11 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         }
     }
 
+    private void resizeYoungGen() {
+        resize(youngSpace, resizingPolicy.edenSize());
+        survivorSpaces.resize(resizingPolicy.survivorSpaceSize());
+    }
+
     public void countOldSpaceDirtyCards(String when) {
         // there are no pointer from old to young, but card may be dirtied by GC code.
         final int countTo = cardTableRSet.countCardInState(oldSpace.space.start(), oldSpace.space.committedEnd(), CardState.DIRTY_CARD);
@@ -738,6 +773,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             Log.println("--Begin nursery evacuation");
         }
         final long startGCTime = System.currentTimeMillis();
+        resizingPolicy.notifyGCStart();
         evacTimers.start(TOTAL);
         youngSpaceEvacuator.setGCOperation(genCollection);
         HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.ANALYZING);
@@ -749,6 +785,8 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         }
         HeapScheme.Inspect.notifyHeapPhaseChange(HeapPhase.RECLAIMING);
         youngSpaceEvacuator.setGCOperation(null);
+        resizingPolicy.updateTenuringThreshold(survivorSpaces.survivorBytesByAge(), survivorSpaces.totalSpace());
+        youngSpaceEvacuator.setTenuringThreshold(resizingPolicy.tenuringThreshold());
         if (MaxineVM.isDebug() && Heap.verbose()) {
             Log.println("--End nursery evacuation");
         }
@@ -759,13 +797,15 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             verifyAfterMinorCollection();
         }
 
-        if (ForceCleanCardsAfterMinorGC && !resizingPolicy.minorEvacuationOverflow()) {
+        if (ForceCleanCardsAfterMinorGC && !resizingPolicy.minorEvacuationOverflow() && survivorSpaces.isEmpty()) {
             // Don't need to clean card if a minor evacuation overflow occurred as this will trigger a full GC.
             // Also, the boundary isn't correct in that case, as the allocator's is pointing to the other old semi-space in that case.
+            // Cards can't be cleaned either if there are survivors in the young generation, as they remember references to them.
             cardTableRSet.setCards(oldSpace.space.start(), oldSpace.allocator().unsafeTop(), CardState.CLEAN_CARD);
         }
         final Size estimatedEvac = estimatedNextEvac();
         evacTimers.stop(TOTAL);
+        resizingPolicy.notifyMinorGCEnd();
         if (Heap.logGCTime()) {
             timeLogger.logPhaseTimes(invocationCount,
                             evacTimers.get(ROOT_SCAN).getLastElapsedTime(),
@@ -795,7 +835,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             final GenSSGCRequest gcRequest = genCollection.gcRequest();
             final Size oldSpaceRequestedBytes = gcRequest.oldGenOverflow ?  gcRequest.requestedBytes : Size.zero();
             if (resizingPolicy.resizeAfterFullGC(estimatedEvac, oldSpace.freeSpace(), oldSpaceMutatorOverflow, oldSpaceRequestedBytes)) {
-                resize(youngSpace, resizingPolicy.youngGenSize());
+                resizeYoungGen();
                 resize(oldSpace, resizingPolicy.oldGenSize());
             }
             evacTimers.stop(TOTAL);
@@ -836,6 +876,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         youngOverflowEvacuationOp = null;
         oldOverflowEvacuationOp = null;
         final long endGCTime = System.currentTimeMillis();
+        resizingPolicy.notifyGCEnd();
         if (requiresFullGC) {
             gcRequest.fullGCOccurred = requiresFullGC;
             lastFullGCTime = endGCTime;
@@ -854,7 +895,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
 
     @Override
     public Size reportUsedSpace() {
-        return oldSpace.usedSpace().plus(youngSpace.usedSpace());
+        return oldSpace.usedSpace().plus(youngSpace.usedSpace()).plus(survivorSpaces.usedSpace());
     }
 
     @Override
@@ -864,6 +905,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
         VmThreadMap.ACTIVE.forAllThreadLocals(null, tlabFiller);
         oldSpace.visitAllocatedCells(visitor);
         youngSpace.visitAllocatedCells(visitor);
+        survivorSpaces.visitAllocatedCells(visitor);
     }
 
     @Override
@@ -943,9 +985,11 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
                 final Size newTLABSize = Size.fromLong(Long.highestOneBit(largeObjectSizeThreshold.toLong()));
                 setInitialTlabSize(newTLABSize);
             }
-            youngSpace.initialize(firstUnusedByteAddress, resizingPolicy.maxYoungGenSize(), resizingPolicy.initialYoungGenSize());
+            youngSpace.initialize(firstUnusedByteAddress, resizingPolicy.maxYoungGenSize(), resizingPolicy.initialEdenSize());
             youngSpace.allocator().initialize(youngSpace.space.start(), youngSpace.space.committedSize(), largeObjectSizeThreshold);
-            Address startOfOldSpace = youngSpace.space.end().alignUp(pageSize);
+            survivorSpaces.initialize(youngSpace.space.end().alignUp(pageSize), resizingPolicy.maxSurvivorSpaceSize(), resizingPolicy.initialSurvivorSpaceSize());
+            youngSpaceEvacuator.setTenuringThreshold(resizingPolicy.tenuringThreshold());
+            Address startOfOldSpace = survivorSpaces.end().alignUp(pageSize);
             oldSpace.initialize(startOfOldSpace, resizingPolicy.maxOldGenSize(), resizingPolicy.initialOldGenSize());
             // Set old space's allocator size limit to the max old space size  to never call allocate large, but always refill instead.
             oldSpace.allocator.setSizeLimit(resizingPolicy.maxOldGenSize());
@@ -969,7 +1013,8 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
              * Since the evacuation buffer is refilled before evacuation with the entire free space, the first allocation failure correspond to an overflow situation
              */
             youngSpaceEvacuator.initialize(2, true, Size.zero(), true);
-            oldSpaceEvacuator.initialize(2, true, Size.zero(), true);
+            // The old space evacuator may be prefilled with both a minor evacuation overflow range and the range of the young generation's survivors.
+            oldSpaceEvacuator.initialize(3, true, Size.zero(), true);
 
             Address unusedReservedSpaceStart = cardTableRSet.memory().end().alignUp(pageSize);
             // Free reserved space we will not be using.
@@ -990,7 +1035,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             // Make the heap inspectable
             HeapScheme.Inspect.init(true);
             // Register the regions (so, in particular, they can be retrieved when the inspector attaching to a core / a running vm)
-            HeapScheme.Inspect.notifyHeapRegions(youngSpace.space, oldSpace.space, oldSpace.fromSpace, cardTableRSet.memory());
+            HeapScheme.Inspect.notifyHeapRegions(youngSpace.space, survivorSpaces.space0(), survivorSpaces.space1(), oldSpace.space, oldSpace.fromSpace, cardTableRSet.memory());
         } finally {
             Heap.disableImmortalMemoryAllocation();
         }
@@ -1033,7 +1078,7 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             allocateAndRefillTLAB(etla, tlabSize);
             // Let's do a bit of meta-circularity. The TLAB is refilled, and no-one except the current thread can use it.
             // So the TLAB allocation is going to succeed here
-            TLABRefillPolicy.setForCurrentThread(etla, new SimpleTLABRefillPolicy(tlabSize));
+            TLABRefillPolicy.setForCurrentThread(etla, createTLABRefillPolicy(tlabSize));
             // Now, address the initial request. Note that we may recurse down to handleTLABOverflow again here if the
             // request is larger than the TLAB size. However, this second call will succeed and allocate outside of the TLAB.
             return tlabAllocate(size);
@@ -1116,6 +1161,8 @@ public final class GenSSHeapScheme extends HeapSchemeWithTLABAdaptor implements
             add(new GenSSMemoryPoolMXBean(oldSpace.space, this));
             add(new GenSSMemoryPoolMXBean(oldSpace.fromSpace, this));
             add(new GenSSMemoryPoolMXBean(youngSpace.space, this));
+            add(new GenSSMemoryPoolMXBean(survivorSpaces.space0(), this));
+            add(new GenSSMemoryPoolMXBean(survivorSpaces.space1(), this));
         }
     }
 
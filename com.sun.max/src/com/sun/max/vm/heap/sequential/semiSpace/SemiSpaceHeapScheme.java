@@ -879,7 +879,7 @@ public class SemiSpaceHeapScheme extends HeapSchemeWithTLAB implements CellVisit
             allocateAndRefillTLAB(etla, tlabSize);
             // Let's do a bit of meta-circularity. The TLAB is refilled, and no-one except the current thread can use it.
             // So the TLAB allocation is going to succeed here
-            TLABRefillPolicy.setForCurrentThread(etla, new SimpleTLABRefillPolicy(tlabSize));
+            TLABRefillPolicy.setForCurrentThread(etla, createTLABRefillPolicy(tlabSize));
             // Now, address the initial request. Note that we may recurse down to handleTLABOverflow again here if the
             // request is larger than the TLAB size. However, this second call will succeed and allocate outside of the TLAB.
             return tlabAllocate(size);
@@ -1029,6 +1029,11 @@ public class SemiSpaceHeapScheme extends HeapSchemeWithTLAB implements CellVisit
             verifyCodeRegion(Code.getCodeManager().getRuntimeBaselineCodeRegion());
             if (Heap.verbose()) {
                 Log.println("--Code Baseline Verification: End");
+                Log.println("--Code Stub Verification: Start");
+            }
+            verifyCodeRegion(Code.getCodeManager().getRuntimeStubCodeRegion());
+            if (Heap.verbose()) {
+                Log.println("--Code Stub Verification: End");
                 Log.println("--Code Opt Verification: Start");
             }
             verifyCodeRegion(Code.getCodeManager().getRuntimeOptCodeRegion());
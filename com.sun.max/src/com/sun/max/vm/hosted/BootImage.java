@@ -82,7 +82,7 @@ public class BootImage {
     /**
      * A version number of the boot image file layout, checked against IMAGE_FORMAT_VERSION in Native/substrate/image.c .
      */
-    public static final int BOOT_IMAGE_FORMAT_VERSION = 2;
+    public static final int BOOT_IMAGE_FORMAT_VERSION = 4;
 
     /**
      * A field section in a boot image is described by the {@code public final} and {@code final}
@@ -214,6 +214,11 @@ public class BootImage {
         public final int heapSize;
         public final int codeSize;
 
+        /**
+         * Offset of the page-aligned segment at the end of the heap holding the objects that are never written at runtime.
+         */
+        public final int immutableHeapSegmentOffset;
+
         public final int dynamicHeapRegionsArrayFieldOffset;
 
         /**
@@ -234,6 +239,17 @@ public class BootImage {
          */
         public final int bootRegionMappingConstraint;
 
+        /**
+         * The low and high 32 bits of the address for which the pointers in the heap and code were linked, or 0 if
+         * they are canonical (i.e. relative to address 0). If the boot image loader can map the heap and code at
+         * this address, it skips relocation altogether, leaving the mapped pages clean and shared with other
+         * processes mapping the same image.
+         *
+         * @see BootImage#linkAddress()
+         */
+        public final int linkAddressLow;
+        public final int linkAddressHigh;
+
         /**
          * @see VmThreadMap#ACTIVE
          */
@@ -300,11 +316,14 @@ public class BootImage {
             relocationDataSize = endian.readInt(dataInputStream);
             heapSize = endian.readInt(dataInputStream);
             codeSize = endian.readInt(dataInputStream);
+            immutableHeapSegmentOffset = endian.readInt(dataInputStream);
 
             dynamicHeapRegionsArrayFieldOffset = endian.readInt(dataInputStream);
             reservedVirtualSpaceSize = endian.readInt(dataInputStream);
             reservedVirtualSpaceFieldOffset = endian.readInt(dataInputStream);
             bootRegionMappingConstraint = endian.readInt(dataInputStream);
+            linkAddressLow = endian.readInt(dataInputStream);
+            linkAddressHigh = endian.readInt(dataInputStream);
             tlaListHeadOffset = endian.readInt(dataInputStream);
             exitCodeOffset = endian.readInt(dataInputStream);
 
@@ -334,7 +353,7 @@ public class BootImage {
             return staticTupleOrigin.toInt() + fieldActor.offset();
         }
 
-        private Header(DataPrototype dataPrototype, int stringInfoSize) {
+        private Header(DataPrototype dataPrototype, int stringInfoSize, long linkAddress) {
             super(platform().endianness(), 0);
             final VMConfiguration vmConfiguration = vmConfig();
             isBigEndian = endianness() == Endianness.LITTLE ? 0 : 0xffffffff;
@@ -356,12 +375,15 @@ public class BootImage {
             relocationDataSize = dataPrototype.relocationData().length;
             heapSize = dataPrototype.heapData().length;
             codeSize = dataPrototype.codeData().length;
+            immutableHeapSegmentOffset = dataPrototype.immutableHeapSegmentOffset();
 
             dynamicHeapRegionsArrayFieldOffset = staticFieldPointerOffset(dataPrototype, InspectableHeapInfo.class, "dynamicHeapMemoryRegions");
 
             reservedVirtualSpaceSize = vmConfiguration.heapScheme().reservedVirtualSpaceKB();
             reservedVirtualSpaceFieldOffset = staticFieldPointerOffset(dataPrototype, Heap.class, "reservedVirtualSpace");
             bootRegionMappingConstraint = vmConfiguration.heapScheme().bootRegionMappingConstraint().ordinal();
+            linkAddressLow = (int) linkAddress;
+            linkAddressHigh = (int) (linkAddress >>> 32);
             tlaListHeadOffset = dataPrototype.objectToOrigin(VmThreadMap.ACTIVE).toInt() + ClassActor.fromJava(VmThreadMap.class).findLocalInstanceFieldActor("tlaListHead").offset();
             exitCodeOffset = staticFieldPointerOffset(dataPrototype, MaxineVM.class, "exitCode");
 
@@ -392,6 +414,16 @@ public class BootImage {
             BootImageException.check(cacheAlignment > 4 && Ints.isPowerOfTwoOrZero(cacheAlignment), "implausible alignment size: " + cacheAlignment);
             BootImageException.check(pageSize >= Longs.K && pageSize % Longs.K == 0, "implausible page size: " + pageSize);
             BootImageException.check(!(bootRegionMappingConstraint > 0 && reservedVirtualSpaceSize == 0), "invalid boot region mapping constraint");
+            BootImageException.check(immutableHeapSegmentOffset % pageSize == 0 && immutableHeapSegmentOffset <= heapSize, "invalid immutable heap segment offset: " + immutableHeapSegmentOffset);
+            BootImageException.check(linkAddress() % pageSize == 0, "link address is not page-size aligned: 0x" + Long.toHexString(linkAddress()));
+            BootImageException.check(wordSize == 8 || linkAddressHigh == 0, "link address does not fit in a word: 0x" + Long.toHexString(linkAddress()));
+        }
+
+        /**
+         * Gets the address for which the pointers in the heap and code were linked.
+         */
+        public long linkAddress() {
+            return ((long) linkAddressHigh << 32) | (linkAddressLow & 0xffffffffL);
         }
 
         @Override
@@ -699,15 +731,34 @@ public class BootImage {
      * Used when constructing a boot image to be written to a file.
      */
     public BootImage(DataPrototype dataPrototype) throws BootImageException {
+        this(dataPrototype, 0L);
+    }
+
+    /**
+     * Used when constructing a boot image to be written to a file.
+     *
+     * @param linkAddress the address for which the pointers in the heap and code are linked. If this is 0, the
+     *            pointers are left canonical and the image is always relocated when loaded.
+     */
+    public BootImage(DataPrototype dataPrototype, long linkAddress) throws BootImageException {
         this.vmConfiguration = vmConfig();
-        this.stringInfo = new StringInfo(vmConfiguration, new Header(dataPrototype, 0).size());
+        this.stringInfo = new StringInfo(vmConfiguration, new Header(dataPrototype, 0, linkAddress).size());
         this.stringInfo.check();
-        this.header = new Header(dataPrototype, stringInfo.size());
+        this.header = new Header(dataPrototype, stringInfo.size(), linkAddress);
         this.header.check();
         this.relocationData = dataPrototype.relocationData();
         this.padding = new byte[deltaToPageAlign(header.size() + stringInfo.size() + relocationData.length)];
-        this.heap = ByteBuffer.wrap(dataPrototype.heapData());
-        this.code = ByteBuffer.wrap(dataPrototype.codeData());
+        if (linkAddress == 0L) {
+            this.heap = ByteBuffer.wrap(dataPrototype.heapData());
+            this.code = ByteBuffer.wrap(dataPrototype.codeData());
+        } else {
+            // Link copies so that the data prototype itself stays canonical
+            this.heap = ByteBuffer.wrap(dataPrototype.heapData().clone());
+            this.code = ByteBuffer.wrap(dataPrototype.codeData().clone());
+            heap.order(header.endianness().asByteOrder());
+            code.order(header.endianness().asByteOrder());
+            link(heap, code, relocationData, header.heapSize, header.wordSize, linkAddress);
+        }
         int trailerOffset = codeOffset() + header.codeSize;
         this.trailer = new Trailer(header, trailerOffset);
         this.imageFile = null;
@@ -820,16 +871,51 @@ public class BootImage {
         }
     }
 
+    /**
+     * Adds a given address to every non-null pointer in the heap and code, as denoted by the relocation data.
+     * The heap and code buffers must already be set to the byte order of the image.
+     */
+    static void link(ByteBuffer heap, ByteBuffer code, byte[] relocationData, int heapSize, int wordSize, long linkAddress) {
+        for (int i = 0; i < relocationData.length; i++) {
+            final int bits = relocationData[i] & 0xff;
+            if (bits == 0) {
+                continue;
+            }
+            for (int bit = 0; bit < 8; bit++) {
+                if ((bits & (1 << bit)) != 0) {
+                    int offset = ((i * 8) + bit) * wordSize;
+                    ByteBuffer buffer = heap;
+                    if (offset >= heapSize) {
+                        buffer = code;
+                        offset -= heapSize;
+                    }
+                    if (wordSize == 8) {
+                        final long value = buffer.getLong(offset);
+                        if (value != 0L) {
+                            buffer.putLong(offset, value + linkAddress);
+                        }
+                    } else {
+                        final int value = buffer.getInt(offset);
+                        if (value != 0) {
+                            buffer.putInt(offset, value + (int) linkAddress);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     private static native void nativeRelocate(long heap, long relocatedHeap, byte[] relocationDataPointer, int relocationDataSize, int isBigEndian, int wordSize);
 
     /**
      * Relocates the pointers in the heap and code. All the pointers are assumed to be
-     * canonicalized; their current values assume that the heap and code start address 0.
+     * linked for the {@linkplain Header#linkAddress() link address} of the image, which is 0
+     * if they are canonical.
      *
      * @param heap the physical address at which the (contiguous) heap and code reside
      * @param relocatedHeap the logical address to which the heap and code is being relocated
      */
     public void relocate(long heap, Address relocatedHeap) {
-        nativeRelocate(heap, relocatedHeap.toLong(), relocationData, relocationData.length, header.isBigEndian, header.wordSize);
+        nativeRelocate(heap, relocatedHeap.toLong() - header.linkAddress(), relocationData, relocationData.length, header.isBigEndian, header.wordSize);
     }
 }
@@ -38,6 +38,7 @@ import com.sun.max.vm.compiler.*;
 import com.sun.max.vm.compiler.deps.*;
 import com.sun.max.vm.compiler.target.*;
 import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.ms.*;
 import com.sun.max.vm.jdk.*;
 import com.sun.max.vm.runtime.*;
 import com.sun.max.vm.type.*;
@@ -95,6 +96,14 @@ public final class BootImageGenerator {
     private static final Option<Boolean> useOutOfLineStubs = options.newBooleanOption("out-stubs", true,
             "Uses out of line runtime stubs when generating inlined TLAB allocations with XIR");
 
+    private static final Option<String> linkAddressOption = options.newStringOption("link-address", null,
+            "Link the boot image for a fixed, page-aligned address (e.g. 0x7e0000000000). The image loader maps the " +
+            "boot heap and code at this address when it is free and then skips relocation, which keeps the mapped " +
+            "pages clean and shareable between VM processes. By default, the image is always relocated.");
+
+    private static final Option<Boolean> concurrentMarkingOption = options.newBooleanOption("concurrent-marking", false,
+            "Build support for mostly-concurrent marking into the gcx.ms heap scheme (same as -D" + MSHeapScheme.CONCURRENT_MARKING_PROPERTY + ").");
+
     private static final Option<Boolean> useNumaProfiler = options.newBooleanOption("use-numa-profiler", false,
             "Uses NUMA memory profiler.");
 
@@ -231,6 +240,10 @@ public final class BootImageGenerator {
                 System.setProperty(CompilationBroker.COMPILATION_BROKER_CLASS_PROPERTY_NAME, compilationBrokerClassOption.getValue());
             }
 
+            if (concurrentMarkingOption.getValue()) {
+                System.setProperty(MSHeapScheme.CONCURRENT_MARKING_PROPERTY, "true");
+            }
+
             ClassIDManager.traceArrayClassIDs = debugClassIDOption.getValue();
 
             String[] extraClassesAndPackages = options.getArguments();
@@ -370,7 +383,8 @@ public final class BootImageGenerator {
     private void writeImage(DataPrototype dataPrototype, File file) {
         try {
             final FileOutputStream outputStream = new FileOutputStream(file);
-            final BootImage bootImage = new BootImage(dataPrototype);
+            final String linkAddress = linkAddressOption.getValue();
+            final BootImage bootImage = new BootImage(dataPrototype, linkAddress == null ? 0L : Long.decode(linkAddress));
             try {
                 Trace.begin(1, "writing boot image file: " + file);
                 bootImage.write(outputStream);
@@ -230,33 +230,106 @@ public final class DataPrototype extends Prototype {
     }
 
     /**
-     * Assigns cells to all heap objects.
+     * Assigns cells to all heap objects. The boot heap is laid out in two segments:
+     * <ol>
+     * <li>a mutable segment, starting with the objects containing mutable references followed by all other objects
+     * that may be written at runtime, and</li>
+     * <li>a page-aligned immutable segment holding the objects that are never written once in the boot image (see
+     * {@link #gatherImmutableObjects()}).</li>
+     * </ol>
+     * The boot image is mapped privately (i.e. copy-on-write) by the image loader. Keeping the objects written at
+     * runtime on pages of their own leaves the pages of the immutable segment, like those of the code region, clean
+     * and thus shared by all the VM processes mapping the same image.
      */
     private void assignHeapCells() {
         preventNullConfusion();
         final BootHeapRegion heapRegion = Heap.bootHeapRegion;
+        final Set<Object> immutableObjects = gatherImmutableObjects();
 
-        assignHeapCells(heapRegion, true);
-        assignHeapCells(heapRegion, false);
+        assignHeapCells(heapRegion, true, immutableObjects);
+        assignHeapCells(heapRegion, false, immutableObjects);
+        assignPageAlignmentObject(heapRegion);
 
+        immutableHeapSegmentOffset = heapRegion.getAllocationMark().minus(heapRegion.start()).toInt();
+        heapRegion.setImmutableSegmentOffset(immutableHeapSegmentOffset);
+        assignImmutableHeapCells(heapRegion, immutableObjects);
+        assignPageAlignmentObject(heapRegion);
+
+        heapRegion.trim();
+        assert heapRegion.size().remainder(pageSize) == 0;
+    }
+
+    private void assignPageAlignmentObject(BootHeapRegion heapRegion) {
         final Object alignment = createPageAlignmentObject(heapRegion);
         if (alignment != null) {
             assignHeapCell(alignment, heapRegion.allocate(ObjectAccess.size(alignment), true));
         }
+    }
 
-        heapRegion.trim();
-        assert heapRegion.size().remainder(pageSize) == 0;
+    private int immutableHeapSegmentOffset;
+
+    /**
+     * Gets the offset of the page-aligned immutable segment in the boot heap.
+     */
+    public int immutableHeapSegmentOffset() {
+        return immutableHeapSegmentOffset;
+    }
+
+    /**
+     * Gathers the heap objects that are never written once in the boot image. These are the objects whose class is
+     * {@linkplain ClassInfo#isImmutable(Object) immutable}, strings and the arrays holding their characters. The
+     * hash code of each string is computed here so that its lazily initialized {@code hash} field is already set
+     * in the image.
+     */
+    private Set<Object> gatherImmutableObjects() {
+        Trace.begin(1, "gatherImmutableObjects");
+        final Set<Object> immutableObjects = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        for (Object object : graphPrototype.objects()) {
+            final ClassInfo classInfo = graphPrototype.classInfoFor(object);
+            if (classInfo.containsMutableReferences(object)) {
+                continue;
+            }
+            if (object instanceof String) {
+                object.hashCode();
+                immutableObjects.add(object);
+                final Object value = WithoutAccessCheck.getInstanceField(object, "value");
+                if (value != null) {
+                    immutableObjects.add(value);
+                }
+            } else if (classInfo.isImmutable(object)) {
+                immutableObjects.add(object);
+            }
+        }
+        Trace.end(1, "gatherImmutableObjects: " + immutableObjects.size() + " objects");
+        return immutableObjects;
+    }
+
+    /**
+     * Assigns cells to the immutable heap objects.
+     */
+    private void assignImmutableHeapCells(BootHeapRegion heapRegion, Set<Object> immutableObjects) {
+        Trace.begin(1, "assignImmutableHeapCells: ");
+        int count = 0;
+        final Address mark = heapRegion.getAllocationMark();
+        for (Object object : graphPrototype.objects()) {
+            if (immutableObjects.contains(object) && !objectToCell.containsKey(object)) {
+                assignHeapCell(object, heapRegion.allocate(ObjectAccess.size(object), true));
+                count++;
+            }
+        }
+        Trace.end(1, "assignImmutableHeapCells: " + count + " heap objects, " + heapRegion.getAllocationMark().minus(mark).toInt() + " bytes");
     }
 
     /**
-     * Assigns cells to some heap objects.
+     * Assigns cells to some of the heap objects that may be written at runtime.
      *
      * @param heapRegion the boot heap region in which the objects are to be allocated
      * @param objectsWithMutableReferences if {@code true} then only objects
      *            {@linkplain ClassInfo#containsMutableReferences(Object) containing mutable references} are processed;
      *            otherwise only objects the do not contain mutable object references are processed
+     * @param immutableObjects the objects to be skipped as they are allocated in the immutable segment
      */
-    private void assignHeapCells(BootHeapRegion heapRegion, boolean objectsWithMutableReferences) {
+    private void assignHeapCells(BootHeapRegion heapRegion, boolean objectsWithMutableReferences, Set<Object> immutableObjects) {
         final String tracePrefix = "assign" + (objectsWithMutableReferences ? "Mutable" : "Immutable") + "HeapCells: ";
         Trace.begin(1, tracePrefix);
         int count = 0;
@@ -264,7 +337,7 @@ public final class DataPrototype extends Prototype {
         final List<Object> mutableHeapObjects = new ArrayList<Object>(graphPrototype.objects().size());
         for (Object object : graphPrototype.objects()) {
             final ClassInfo classInfo = graphPrototype.classInfoFor(object);
-            if (classInfo.containsMutableReferences(object) == objectsWithMutableReferences) {
+            if (classInfo.containsMutableReferences(object) == objectsWithMutableReferences && !immutableObjects.contains(object)) {
                 Address cell = objectToCell.get(object);
                 if (cell != null) {
                     assert Code.bootCodeRegion().contains(cell);
@@ -38,6 +38,7 @@ import com.sun.max.vm.actor.member.*;
 import com.sun.max.vm.hosted.GraphStats.ClassStats;
 import com.sun.max.vm.hosted.JDKInterceptor.InterceptedField;
 import com.sun.max.vm.jdk.*;
+import com.sun.max.vm.object.*;
 import com.sun.max.vm.type.*;
 
 /**
@@ -200,6 +201,12 @@ public class GraphPrototype extends Prototype {
         final boolean instanceIsMutable;
         final boolean staticTupleIsMutable;
 
+        /**
+         * Denotes that instances of this class are never written once they are in the boot image: all their instance
+         * fields (including inherited ones) are final and the class is neither an array nor a hybrid.
+         */
+        final boolean instanceIsImmutable;
+
         final List<ReferenceFieldInfo> instanceFields;
         final List<ReferenceFieldInfo> staticFields;
 
@@ -230,6 +237,11 @@ public class GraphPrototype extends Prototype {
                                  isReferenceArray() ||
                                  Reference.class.isAssignableFrom(clazz);
             this.staticTupleIsMutable = addClassInfoFields(staticFields, classActor.localStaticFieldActors());
+            this.instanceIsImmutable = !instanceIsMutable &&
+                                       (superInfo == null || superInfo.instanceIsImmutable) &&
+                                       !clazz.isArray() &&
+                                       !Hybrid.class.isAssignableFrom(clazz) &&
+                                       allFinal(classActor.localInstanceFieldActors());
 
             this.instanceFields = instanceFields;
             this.staticFields = staticFields;
@@ -239,6 +251,15 @@ public class GraphPrototype extends Prototype {
             }
         }
 
+        private static boolean allFinal(FieldActor[] fieldActors) {
+            for (FieldActor fieldActor : fieldActors) {
+                if (!fieldActor.isFinal() || fieldActor.isInjected()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         boolean isReferenceArray() {
             final Class componentType = clazz.getComponentType();
             return componentType != null && !componentType.isPrimitive() && !Word.class.isAssignableFrom(componentType);
@@ -334,13 +355,27 @@ public class GraphPrototype extends Prototype {
             return instanceIsMutable;
         }
 
+        /**
+         * Determines if a given object is never written once it is in the boot image.
+         *
+         * @param object an object being queried for immutability
+         * @return {@code true} if no field of {@code object} is written at runtime
+         */
+        public boolean isImmutable(Object object) {
+            if (object instanceof StaticTuple || object.getClass() == Object.class) {
+                // Plain objects are typically allocated to be used as locks
+                return false;
+            }
+            return instanceIsImmutable;
+        }
+
         /**
          * Prints the details of this class to a given stream.
          *
          * @param stream
          */
         public void printTo(PrintStream stream) {
-            stream.println(clazz.getName() + ": mutable-instance=" + instanceIsMutable + ", mutable-static-tuple=" + staticTupleIsMutable);
+            stream.println(clazz.getName() + ": mutable-instance=" + instanceIsMutable + ", mutable-static-tuple=" + staticTupleIsMutable + ", immutable-instance=" + instanceIsImmutable);
             if (!instanceFields.isEmpty()) {
                 stream.println("  instance fields:");
                 for (ReferenceFieldInfo fieldInfo : instanceFields) {
@@ -482,6 +482,21 @@ public final class Layout {
         generalLayout().writeForwardRef(origin, forwardRef);
     }
 
+    /**
+     * Atomically installs a forward reference in an object, provided the object's hub word still holds the specified
+     * (unforwarded) hub reference. Used by parallel copying collectors to race for the forwarding of an object.
+     *
+     * @param origin location of an object
+     * @param suspectedRef the hub reference expected in the object's header
+     * @param forwardRef the forward reference to install
+     * @return the value of the hub word before the operation; if different from {@code suspectedRef} the forward reference wasn't installed
+     */
+    @ACCESSOR(Pointer.class)
+    @INLINE
+    public static Reference compareAndSwapForwardRef(Pointer origin, Reference suspectedRef, Reference forwardRef) {
+        return generalLayout().compareAndSwapForwardRef(origin, suspectedRef, forwardRef);
+    }
+
     /**
      * Access to <strong>byte array object</strong> layout information in the
      * context of the current {@linkplain VMConfiguration VM configuration}.
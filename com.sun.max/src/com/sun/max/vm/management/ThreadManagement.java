@@ -181,7 +181,17 @@ public class ThreadManagement {
                 traces[i] = trace;
             }
         }
-        VmOperationThread.submit(new StackTraceGatherer(Arrays.asList(threads), traces, maxDepth));
+        if (threads.length == 1 && currentThreadIndex < 0) {
+            // Only stop the thread whose stack is walked.
+            final VmThread vmThread = VmThread.fromJava(threads[0]);
+            if (vmThread != null) {
+                final StackTraceHandshake handshake = new StackTraceHandshake(vmThread, maxDepth);
+                handshake.execute();
+                traces[0] = handshake.trace;
+            }
+        } else {
+            VmOperationThread.submit(new StackTraceGatherer(Arrays.asList(threads), traces, maxDepth));
+        }
         if (currentThreadIndex >= 0) {
             threads[currentThreadIndex] = Thread.currentThread();
         }
@@ -210,14 +220,36 @@ public class ThreadManagement {
 
         @Override
         public void doThread(VmThread vmThread, Pointer ip, Pointer sp, Pointer fp) {
-            Thread thread = vmThread.javaThread();
-            if (ip.isZero()) {
-                traces[threads.indexOf(thread)] = new StackTraceElement[0];
-            } else {
-                VmStackFrameWalker sfw = new VmStackFrameWalker(vmThread.tla());
-                traces[threads.indexOf(thread)] = JDK_java_lang_Throwable.getStackTrace(sfw, ip, sp, fp, null, maxDepth);
-            }
+            traces[threads.indexOf(vmThread.javaThread())] = getStackTrace(vmThread, ip, sp, fp, maxDepth);
+        }
+    }
+
+    /**
+     * A handshake getting the stack trace of a single thread without stopping any other thread.
+     */
+    static final class StackTraceHandshake extends Handshake {
+        final int maxDepth;
+        StackTraceElement[] trace;
+        StackTraceHandshake(VmThread thread, int maxDepth) {
+            super("StackTraceHandshake", thread);
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public void doThread(VmThread vmThread, Pointer ip, Pointer sp, Pointer fp) {
+            trace = getStackTrace(vmThread, ip, sp, fp, maxDepth);
+        }
+    }
+
+    /**
+     * Gets the stack trace of a frozen thread.
+     */
+    private static StackTraceElement[] getStackTrace(VmThread vmThread, Pointer ip, Pointer sp, Pointer fp, int maxDepth) {
+        if (ip.isZero()) {
+            return new StackTraceElement[0];
         }
+        VmStackFrameWalker sfw = new VmStackFrameWalker(vmThread.tla());
+        return JDK_java_lang_Throwable.getStackTrace(sfw, ip, sp, fp, null, maxDepth);
     }
 
 
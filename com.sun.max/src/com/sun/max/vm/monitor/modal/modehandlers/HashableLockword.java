@@ -107,4 +107,21 @@ public class HashableLockword extends ModalLockword {
     public final HashableLockword setHashcode(int hashcode) {
         return HashableLockword.from(asAddress().or(Address.fromUnsignedInt(hashcode).shiftedLeft(HASHCODE_SHIFT)));
     }
+
+    /**
+     * Gets the index of the bit that is set in a lock word when it is inflated. The hashcode field
+     * of a lock word is only valid while this bit is clear.
+     */
+    @HOSTED_ONLY
+    public static int shapeBitIndex() {
+        return SHAPE_BIT_INDEX;
+    }
+
+    /**
+     * Gets the index of the lowest bit of the {@value #HASH_FIELD_WIDTH} bit wide hashcode field.
+     */
+    @HOSTED_ONLY
+    public static int hashcodeShift() {
+        return HASHCODE_SHIFT;
+    }
 }
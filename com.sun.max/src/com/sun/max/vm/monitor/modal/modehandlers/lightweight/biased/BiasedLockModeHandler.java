@@ -20,9 +20,12 @@
  */
 package com.sun.max.vm.monitor.modal.modehandlers.lightweight.biased;
 
+import com.sun.max.annotate.*;
 import com.sun.max.unsafe.*;
 import com.sun.max.vm.*;
 import com.sun.max.vm.actor.holder.*;
+import com.sun.max.vm.log.VMLog.*;
+import com.sun.max.vm.log.hosted.*;
 import com.sun.max.vm.monitor.*;
 import com.sun.max.vm.monitor.modal.modehandlers.*;
 import com.sun.max.vm.monitor.modal.modehandlers.AbstractModeHandler.ModeDelegate.DelegatedThreadHoldsMonitorResult;
@@ -57,6 +60,8 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
     // owner, or do we assume that it is by implication of block-structured locking?
     private static final boolean ASSUME_PERFECT_ENTRY_AND_EXIT_PAIRS = false;
 
+    public static final BiasedLockLogger biasedLockLogger = new BiasedLockLogger();
+
     public static MonitorSchemeEntry asFastPath(boolean useBulkRevocation, ModeDelegate delegate) {
         if (useBulkRevocation) {
             return new BiasedLockModeHandler.FastPathWithEpoch(delegate);
@@ -96,11 +101,14 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
         }
     }
 
-    class RevokeBiasOperation extends VmOperation {
+    /**
+     * Revokes a bias while the bias owner is stopped by a {@linkplain Handshake handshake}, leaving all other threads running.
+     */
+    class RevokeBiasOperation extends Handshake {
         final Object object;
         ModalLockword newLockword;
         RevokeBiasOperation(VmThread thread, Object object) {
-            super("RevokeBias", thread, Mode.Safepoint, false);
+            super("RevokeBias", thread);
             this.object = object;
         }
         @Override
@@ -110,6 +118,7 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
     }
 
     protected ModalLockword revokeWithOwnerSafepointed(final Object object, int vmThreadMapThreadID, BiasedLockword biasedLockword) {
+        final RevokeBiasOperation operation;
         synchronized (VmThreadMap.THREAD_LOCK) {
             final VmThread biasOwnerThread = VmThreadMap.ACTIVE.getVmThreadForID(vmThreadMapThreadID);
             if (biasOwnerThread == null) {
@@ -123,10 +132,15 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
                 FatalError.unexpected("Attempted to revoke bias for still initializing thread.");
             }
 
-            RevokeBiasOperation operation = new RevokeBiasOperation(VmThread.fromTLA(tla), object);
-            operation.submit();
-            return operation.newLockword;
+            operation = new RevokeBiasOperation(VmThread.fromTLA(tla), object);
+        }
+        // The thread lock is released so that the handshake can fall back to a VM operation if needed.
+        operation.execute();
+        if (operation.newLockword == null) {
+            // The bias owner terminated before the handshake.
+            return ModalLockword.from(ObjectAccess.compareAndSwapMisc(object, biasedLockword, biasedLockword.asAnonBiased()));
         }
+        return operation.newLockword;
     }
 
     public Word createMisc(Object object) {
@@ -397,8 +411,9 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
                     // We lock as normal. When the lock is released, the object will be rebiased.
                     ObjectAccess.writeMisc(object, biasedLockword.incrementCount());
                     return;
-                } else if (biasedLockword.equals(biasedLockword.asAnonBiased()) || !biasedLockword.getEpoch().equals(classEpoch)) {
-                    // Object is not biased or it's bias is not in the current epoch. Try to get the bias.
+                } else if (biasedLockword.equals(biasedLockword.asAnonBiased()) || (!biasedLockword.getEpoch().equals(classEpoch) && biasedLockword.countUnderflow())) {
+                    // Object is not biased, or its bias is not in the current epoch and it is not locked. Try to get the bias.
+                    // An object locked under a stale epoch is still owned by its bias owner, and must be revoked instead.
                     final BiasedLockword newBiasedLockword = biasedLockword.asBiasedAndLockedOnceBy(lockwordThreadID, classEpoch);
                     currentLockword = ModalLockword.from(ObjectAccess.compareAndSwapMisc(object, biasedLockword, newBiasedLockword));
                     if (currentLockword.equals(biasedLockword)) {
@@ -484,6 +499,7 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
         private ModalLockword performRevocation(Object object, BiasedLockword lockword) {
             final BiasedLockRevocationHeuristics revocationHeuristics = getHeuristics(object);
             final RevocationType type = revocationHeuristics.notifyContentionRevocationRequest();
+            final Hub hub = ObjectAccess.readHub(object);
             ModalLockword postRevokeLockword = ModalLockword.from(Word.zero());
             switch (type) {
                 case SINGLE_OBJECT_REVOCATION: {
@@ -493,6 +509,9 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
                         Log.println(object.getClass().getName());
                         Log.unlock(lockDisabledSafepoints);
                     }
+                    if (biasedLockLogger.enabled()) {
+                        biasedLockLogger.logRevoke(hub.classActor, revocationHeuristics.revocationCount());
+                    }
                     postRevokeLockword = revokeWithOwnerSafepointed(object, decodeLockwordThreadID(lockword.getBiasOwnerID()), lockword);
                     break;
                 }
@@ -508,6 +527,9 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
                     operation.submit();
                     postRevokeLockword = operation.postRebiasLockword;
                     revocationHeuristics.notifyBulkRebiasComplete();
+                    if (biasedLockLogger.enabled()) {
+                        biasedLockLogger.logBulkRebias(hub.classActor, revocationHeuristics.revocationCount(), hub.biasedLockEpoch.toInt());
+                    }
                     break;
                 }
                 case BULK_REVOCATION: {
@@ -521,6 +543,9 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
                     BulkRevokeOperation operation = new BulkRevokeOperation(object);
                     operation.submit();
                     postRevokeLockword = operation.postRevokeLockword;
+                    if (biasedLockLogger.enabled()) {
+                        biasedLockLogger.logBulkRevoke(hub.classActor, revocationHeuristics.revocationCount());
+                    }
                     break;
                 }
             }
@@ -563,4 +588,118 @@ public abstract class BiasedLockModeHandler extends AbstractModeHandler implemen
             return 0;
         }
     }
+
+    @HOSTED_ONLY
+    @VMLoggerInterface(defaultConstructor = true)
+    private interface BiasedLockLoggerInterface {
+        void revoke(
+                        @VMLogParam(name = "type") ClassActor type,
+                        @VMLogParam(name = "revocationCount") int revocationCount);
+        void bulkRebias(
+                        @VMLogParam(name = "type") ClassActor type,
+                        @VMLogParam(name = "revocationCount") int revocationCount,
+                        @VMLogParam(name = "epoch") int epoch);
+        void bulkRevoke(
+                        @VMLogParam(name = "type") ClassActor type,
+                        @VMLogParam(name = "revocationCount") int revocationCount);
+    }
+
+    /**
+     * Logs the revocation decisions taken by the {@linkplain BiasedLockRevocationHeuristics revocation heuristics}.
+     */
+    public static final class BiasedLockLogger extends BiasedLockLoggerAuto {
+        BiasedLockLogger() {
+            super("BiasedLock", "biased lock revocation decisions.");
+        }
+
+        private static void traceDecision(String decision, ClassActor type, int revocationCount) {
+            Log.print(decision);
+            Log.print(" of ");
+            Log.print(type.name.string);
+            Log.print(" after ");
+            Log.print(revocationCount);
+            Log.print(" revocations");
+        }
+
+        @Override
+        protected void traceRevoke(ClassActor type, int revocationCount) {
+            traceDecision("Single object revocation", type, revocationCount);
+            Log.println();
+        }
+
+        @Override
+        protected void traceBulkRebias(ClassActor type, int revocationCount, int epoch) {
+            traceDecision("Bulk rebias", type, revocationCount);
+            Log.print(", new epoch = ");
+            Log.println(epoch);
+        }
+
+        @Override
+        protected void traceBulkRevoke(ClassActor type, int revocationCount) {
+            traceDecision("Bulk revocation", type, revocationCount);
+            Log.println();
+        }
+    }
+
+// START GENERATED CODE
+    private static abstract class BiasedLockLoggerAuto extends com.sun.max.vm.log.VMLogger {
+        public enum Operation {
+            BulkRebias, BulkRevoke, Revoke;
+
+            @SuppressWarnings("hiding")
+            public static final Operation[] VALUES = values();
+        }
+
+        private static final int[] REFMAPS = null;
+
+        protected BiasedLockLoggerAuto(String name, String optionDescription) {
+            super(name, Operation.VALUES.length, optionDescription, REFMAPS);
+        }
+
+        protected BiasedLockLoggerAuto() {
+        }
+
+        @Override
+        public String operationName(int opCode) {
+            return Operation.VALUES[opCode].name();
+        }
+
+        @INLINE
+        public final void logBulkRebias(ClassActor type, int revocationCount, int epoch) {
+            log(Operation.BulkRebias.ordinal(), classActorArg(type), intArg(revocationCount), intArg(epoch));
+        }
+        protected abstract void traceBulkRebias(ClassActor type, int revocationCount, int epoch);
+
+        @INLINE
+        public final void logBulkRevoke(ClassActor type, int revocationCount) {
+            log(Operation.BulkRevoke.ordinal(), classActorArg(type), intArg(revocationCount));
+        }
+        protected abstract void traceBulkRevoke(ClassActor type, int revocationCount);
+
+        @INLINE
+        public final void logRevoke(ClassActor type, int revocationCount) {
+            log(Operation.Revoke.ordinal(), classActorArg(type), intArg(revocationCount));
+        }
+        protected abstract void traceRevoke(ClassActor type, int revocationCount);
+
+        @Override
+        protected void trace(Record r) {
+            switch (r.getOperation()) {
+                case 0: { //BulkRebias
+                    traceBulkRebias(toClassActor(r, 1), toInt(r, 2), toInt(r, 3));
+                    break;
+                }
+                case 1: { //BulkRevoke
+                    traceBulkRevoke(toClassActor(r, 1), toInt(r, 2));
+                    break;
+                }
+                case 2: { //Revoke
+                    traceRevoke(toClassActor(r, 1), toInt(r, 2));
+                    break;
+                }
+            }
+        }
+    }
+
+// END GENERATED CODE
 }
@@ -64,6 +64,13 @@ public class BiasedLockRevocationHeuristics {
         return RevocationType.SINGLE_OBJECT_REVOCATION;
     }
 
+    /**
+     * Gets the number of contended revocations counted so far for the class.
+     */
+    public int revocationCount() {
+        return revocationCount.get();
+    }
+
     public void notifyBulkRebiasComplete() {
         lastBulkRebiasTime = System.currentTimeMillis();
     }
@@ -31,11 +31,13 @@ import com.sun.max.vm.monitor.modal.schemes.*;
 
 /**
  * A modal monitor scheme that transitions between biased locks, thin locks and inflated monitors.
+ * Contended bias revocations are counted per class, and trigger a bulk rebias (by incrementing the class's
+ * {@linkplain BiasedLockEpoch epoch}) or a bulk revocation (disabling biasing for the class) once they become frequent.
  */
 public class BiasedThinInflatedMonitorScheme extends ModalMonitorScheme {
     @HOSTED_ONLY
     public BiasedThinInflatedMonitorScheme() {
-        super(BiasedLockModeHandler.asFastPath(false,
+        super(BiasedLockModeHandler.asFastPath(true,
                                 ThinLockModeHandler.asBiasedLockDelegate(
                                 InflatedMonitorModeHandler.asThinLockDelegate())));
     }
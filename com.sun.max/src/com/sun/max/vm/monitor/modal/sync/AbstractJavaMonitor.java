@@ -28,6 +28,7 @@ import com.sun.max.vm.actor.holder.*;
 import com.sun.max.vm.monitor.*;
 import com.sun.max.vm.monitor.modal.modehandlers.inflated.*;
 import com.sun.max.vm.monitor.modal.sync.JavaMonitorManager.ManagedMonitor;
+import com.sun.max.vm.monitor.modal.sync.JavaMonitorManager.ThreadMonitorCache;
 import com.sun.max.vm.monitor.modal.sync.JavaMonitorManager.VmLock;
 import com.sun.max.vm.object.*;
 import com.sun.max.vm.runtime.*;
@@ -53,6 +54,9 @@ abstract class AbstractJavaMonitor implements ManagedMonitor {
     // Support for direct linked lists of JavaMonitors.
     private ManagedMonitor next;
 
+    // The per-thread cache this monitor is given back to when unbound.
+    private ThreadMonitorCache owningCache;
+
     protected AbstractJavaMonitor() {
         bindingProtection = BindingProtection.PRE_ACQUIRE;
     }
@@ -180,6 +184,16 @@ abstract class AbstractJavaMonitor implements ManagedMonitor {
         this.next = next;
     }
 
+    @INLINE(must = false)
+    public final ThreadMonitorCache owningCache() {
+        return owningCache;
+    }
+
+    @INLINE(must = false)
+    public final void setOwningCache(ThreadMonitorCache cache) {
+        this.owningCache = cache;
+    }
+
     public void log() {
         Log.print(ObjectAccess.readClassActor(this).name.string);
         Log.print(" boundTo=");
@@ -33,6 +33,7 @@ import com.sun.max.vm.monitor.*;
 import com.sun.max.vm.monitor.modal.sync.JavaMonitorManager.ManagedMonitor.*;
 import com.sun.max.vm.monitor.modal.sync.nat.*;
 import com.sun.max.vm.object.*;
+import com.sun.max.vm.reference.*;
 import com.sun.max.vm.runtime.*;
 import com.sun.max.vm.thread.*;
 
@@ -41,11 +42,13 @@ import com.sun.max.vm.thread.*;
  * <p>
  * Binding can be performed at bootstrapping or runtime. If binding is performed while bootstrapping then either a default
  * or specialized monitor can be used. If binding is performed at runtime then an unbound monitor is taken from
- * a free list.
+ * the {@linkplain ThreadMonitorCache cache} of the current thread. The caches are refilled in batches from a lock-free
+ * global pool of unbound monitors, which is expanded by allocating new monitors when it runs dry.
  * <p>
  * Unbinding is performed at global safepoints. All unowned, unbindable, bound monitors are unbound. Writing of unbound
  * lockwords is delegated to an {@link UnboundMiscWordWriter} object (most likely the inflated mode handler of the ModalMonitorScheme).
- * This allows unbinding to be a transition to any other locking mode.
+ * This allows unbinding to be a transition to any other locking mode. Unbound monitors are returned to the cache of the
+ * thread that bound them, or to the global pool if that cache is full or its thread has terminated.
  * <p>
  * GC considerations:
  * <p>
@@ -63,10 +66,11 @@ public class JavaMonitorManager {
     // Image build time properties
     public static final String UNBOUNDLIST_IMAGE_QTY_PROPERTY = "max.monitor.unboundpool.imagesize";
     public static final String UNBOUNDLIST_GROW_QTY_PROPERTY = "max.monitor.unboundpool.grow";
+    public static final String THREAD_CACHE_QTY_PROPERTY = "max.monitor.threadcache.size";
 
     /**
-     * Minimum number of unbound monitors that are kept available to handle synchronization
-     * code during GC or monitor allocation code paths.
+     * Minimum number of unbound monitors that are kept in {@link #reserve} to handle synchronization
+     * code during GC.
      */
     private static final int UNBOUNDLIST_MIN_QTY = 25;
 
@@ -82,21 +86,22 @@ public class JavaMonitorManager {
     private static int unboundListGrowQty = 50;
 
     /**
-     * The current number of unbound monitors available.
+     * The maximum number of unbound monitors a {@linkplain ThreadMonitorCache thread cache} holds.
+     * A cache is refilled with half that many monitors at a time.
+     * This value can be configured via the {@link #THREAD_CACHE_QTY_PROPERTY} property at boot image build time.
      */
-    private static int numberOfUnboundMonitors = 0;
+    private static int threadCacheQty = 16;
 
     /**
-     * The unbound monitors high water mark.
-     *
-     * @see #bindMonitor(Object)
+     * The global pool of unbound monitors.
      */
-    private static int unboundMonitorsHwm;
+    private static final UnboundMonitorPool unboundPool = new UnboundMonitorPool();
 
     /**
-     * The head of the list of unbound monitors.
+     * Unbound monitors set aside for binding while at a global safepoint, when the
+     * thread caches cannot be used. Only accessed at global safepoints (or while hosted).
      */
-    private static ManagedMonitor unboundList;
+    private static final ThreadMonitorCache reserve = new ThreadMonitorCache(UNBOUNDLIST_MIN_QTY);
 
     /**
      * The pool of monitors that can be bound to objects.
@@ -146,12 +151,16 @@ public class JavaMonitorManager {
             if (unboundListGrowQtyProperty != null) {
                 unboundListGrowQty = Integer.parseInt(unboundListGrowQtyProperty);
             }
+            final String threadCacheQtyProperty = System.getProperty(THREAD_CACHE_QTY_PROPERTY);
+            if (threadCacheQtyProperty != null) {
+                threadCacheQty = Math.max(Integer.parseInt(threadCacheQtyProperty), 2);
+            }
             for (int i = 0; i < unboundListImageQty; i++) {
                 final ManagedMonitor monitor = newManagedMonitor();
-                addToUnboundList(monitor);
+                unboundPool.push(monitor, monitor, 1);
                 addToBindableMonitors(monitor);
             }
-            unboundMonitorsHwm = unboundListImageQty;
+            refillCache(reserve, UNBOUNDLIST_MIN_QTY);
         } else if (phase == MaxineVM.Phase.PRIMORDIAL) {
             NativeMutexFactory.initialize();
             NativeConditionVariableFactory.initialize();
@@ -181,6 +190,7 @@ public class JavaMonitorManager {
                 Log.unlock(lockDisabledSafepoints);
             }
         } else if (phase == MaxineVM.Phase.STARTING) {
+            StandardJavaMonitor.initialize(phase);
             assert numberOfBindableMonitors <= bindableMonitors.length;
             if (Monitor.TraceMonitors && stickyMonitors.length > 0) {
                 final boolean lockDisabledSafepoints = Log.lock();
@@ -195,6 +205,8 @@ public class JavaMonitorManager {
                 }
                 Log.unlock(lockDisabledSafepoints);
             }
+        } else if (phase == MaxineVM.Phase.TERMINATING) {
+            StandardJavaMonitor.initialize(phase);
         }
     }
 
@@ -303,24 +315,228 @@ public class JavaMonitorManager {
         bindableMonitors[numberOfBindableMonitors++] = monitor;
     }
 
-    private static ManagedMonitor takeFromUnboundList() {
-        // No safe points in here, so safe to touch the free list.
-        final ManagedMonitor monitor = unboundList;
-        unboundList = unboundList.next();
-        monitor.setNext(null);
-        numberOfUnboundMonitors--;
+    /**
+     * A cache of unbound monitors private to a thread. Monitors are taken from the cache of the current
+     * thread when binding, and are given back to the cache that supplied them when unbound at a global
+     * safepoint. A cache is only accessed by its thread outside of safepoints, and by the GC at global
+     * safepoints, so all accesses to it are made atomic with respect to safepoints instead of being locked.
+     */
+    public static final class ThreadMonitorCache {
+        private final int capacity;
+        private ManagedMonitor head;
+        private int size;
+
+        /**
+         * Set once the owning thread has terminated. Monitors are no longer given back to a retired cache.
+         */
+        private boolean retired;
+
+        private ThreadMonitorCache(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * A lock-free pool of unbound monitors linked through {@link ManagedMonitor#next()}.
+     * <p>
+     * Monitors are pushed with a compare-and-swap of the head of the pool. Monitors are taken by first
+     * detaching the whole list, then re-installing whatever exceeds the requested quantity. Unlike popping
+     * single monitors, this is immune to the ABA problem as it never depends on the next link of a head
+     * that another thread may have taken and given back in between.
+     */
+    static final class UnboundMonitorPool {
+        private volatile ManagedMonitor head;
+
+        /**
+         * Number of monitors in the pool, including those transiently detached by a thread taking from it.
+         */
+        private volatile int size;
+
+        @FOLD
+        private static int headOffset() {
+            return ClassActor.fromJava(UnboundMonitorPool.class).findLocalInstanceFieldActor("head").offset();
+        }
+
+        @FOLD
+        private static int sizeOffset() {
+            return ClassActor.fromJava(UnboundMonitorPool.class).findLocalInstanceFieldActor("size").offset();
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private boolean compareAndSwapHead(ManagedMonitor expectedValue, ManagedMonitor newValue) {
+            if (MaxineVM.isHosted()) {
+                if (head != expectedValue) {
+                    return false;
+                }
+                head = newValue;
+                return true;
+            }
+            return Reference.fromJava(this).compareAndSwapReference(headOffset(), Reference.fromJava(expectedValue), Reference.fromJava(newValue)).toJava() == expectedValue;
+        }
+
+        private void addToSize(int delta) {
+            if (MaxineVM.isHosted()) {
+                size += delta;
+                return;
+            }
+            final Reference ref = Reference.fromJava(this);
+            int oldValue;
+            do {
+                oldValue = size;
+            } while (ref.compareAndSwapInt(sizeOffset(), oldValue, oldValue + delta) != oldValue);
+        }
+
+        private void pushChain(ManagedMonitor first, ManagedMonitor last) {
+            ManagedMonitor oldHead;
+            do {
+                oldHead = head;
+                last.setNext(oldHead);
+            } while (!compareAndSwapHead(oldHead, first));
+        }
+
+        /**
+         * Adds a chain of monitors to the pool.
+         *
+         * @param first the first monitor of the chain
+         * @param last the last monitor of the chain
+         * @param n the number of monitors in the chain
+         */
+        @NO_SAFEPOINT_POLLS("monitors in transit between the pool and a cache must not be visible to the GC")
+        void push(ManagedMonitor first, ManagedMonitor last, int n) {
+            addToSize(n);
+            pushChain(first, last);
+        }
+
+        /**
+         * Takes up to {@code n} monitors from the pool.
+         *
+         * @param n the maximum number of monitors to take
+         * @return a chain of at most {@code n} monitors, or {@code null} if the pool is empty
+         */
+        @NO_SAFEPOINT_POLLS("monitors in transit between the pool and a cache must not be visible to the GC")
+        ManagedMonitor take(int n) {
+            ManagedMonitor list;
+            do {
+                list = head;
+                if (list == null) {
+                    return null;
+                }
+            } while (!compareAndSwapHead(list, null));
+            ManagedMonitor last = list;
+            int taken = 1;
+            while (taken < n && last.next() != null) {
+                last = last.next();
+                taken++;
+            }
+            final ManagedMonitor rest = last.next();
+            last.setNext(null);
+            if (rest != null && !compareAndSwapHead(null, rest)) {
+                // Other threads pushed monitors in the meantime: put the rest back in front of them.
+                ManagedMonitor restLast = rest;
+                while (restLast.next() != null) {
+                    restLast = restLast.next();
+                }
+                pushChain(rest, restLast);
+            }
+            addToSize(-taken);
+            return list;
+        }
+    }
+
+    /**
+     * Gets the monitor cache of the current thread, creating it if necessary.
+     */
+    private static ThreadMonitorCache currentThreadCache() {
+        final VmThread current = VmThread.current();
+        ThreadMonitorCache cache = current.monitorCache;
+        if (cache == null) {
+            cache = new ThreadMonitorCache(threadCacheQty);
+            current.monitorCache = cache;
+        }
+        return cache;
+    }
+
+    @NO_SAFEPOINT_POLLS("cache access must be atomic with respect to unbinding at safepoints")
+    private static ManagedMonitor takeFromCache(ThreadMonitorCache cache) {
+        final ManagedMonitor monitor = cache.head;
+        if (monitor != null) {
+            cache.head = monitor.next();
+            cache.size--;
+            monitor.setNext(null);
+            monitor.setOwningCache(cache);
+        }
         return monitor;
     }
 
-    private static void addToUnboundList(ManagedMonitor monitor) {
-        // No safe points in here, so safe to touch the free list.
-        monitor.setNext(unboundList);
-        unboundList = monitor;
-        numberOfUnboundMonitors++;
+    @NO_SAFEPOINT_POLLS("cache access must be atomic with respect to unbinding at safepoints")
+    private static void addToCache(ThreadMonitorCache cache, ManagedMonitor monitor) {
+        monitor.setNext(cache.head);
+        cache.head = monitor;
+        cache.size++;
+    }
+
+    /**
+     * Moves up to {@code n} monitors from the global pool into the given cache.
+     *
+     * @return false if the global pool was found empty
+     */
+    @NO_SAFEPOINT_POLLS("monitors in transit between the pool and a cache must not be visible to the GC")
+    private static boolean refillCache(ThreadMonitorCache cache, int n) {
+        ManagedMonitor monitor = unboundPool.take(n);
+        if (monitor == null) {
+            return false;
+        }
+        while (monitor != null) {
+            final ManagedMonitor next = monitor.next();
+            addToCache(cache, monitor);
+            monitor = next;
+        }
+        return true;
+    }
+
+    /**
+     * Gives an unbound monitor back to the cache it was taken from, or to the global pool if that cache is
+     * full or retired. Must only be called on a global safepoint.
+     */
+    private static void releaseUnboundMonitor(ManagedMonitor monitor) {
+        final ThreadMonitorCache cache = monitor.owningCache();
+        if (cache != null && !cache.retired && cache.size < cache.capacity) {
+            addToCache(cache, monitor);
+        } else {
+            unboundPool.push(monitor, monitor, 1);
+        }
+    }
+
+    /**
+     * Returns the monitors cached by a terminating thread to the global pool.
+     *
+     * @param thread the terminating thread
+     */
+    @NO_SAFEPOINT_POLLS("cache access must be atomic with respect to unbinding at safepoints")
+    public static void retireThreadCache(VmThread thread) {
+        final ThreadMonitorCache cache = thread.monitorCache;
+        if (cache == null) {
+            return;
+        }
+        thread.monitorCache = null;
+        cache.retired = true;
+        final ManagedMonitor first = cache.head;
+        if (first != null) {
+            ManagedMonitor last = first;
+            while (last.next() != null) {
+                last = last.next();
+            }
+            unboundPool.push(first, last, cache.size);
+            cache.head = null;
+            cache.size = 0;
+        }
     }
 
     /**
-     * Lock used to synchronize access to the unbound monitor list.
+     * Lock used to serialize expansion of the unbound monitor pool.
      */
     @CONSTANT_WHEN_NOT_ZERO
     private static Object LOCK;
@@ -339,18 +555,22 @@ public class JavaMonitorManager {
     public static ManagedMonitor bindMonitor(Object object) {
         ManagedMonitor monitor;
         if (inGlobalSafepoint) {
-            monitor = takeFromUnboundList();
+            monitor = takeFromCache(reserve);
+            if (monitor == null && refillCache(reserve, 1)) {
+                monitor = takeFromCache(reserve);
+            }
+            if (monitor == null) {
+                FatalError.unexpected("Exhausted unbound monitors during a global safepoint");
+            }
         } else {
-            synchronized (LOCK) {
-                if (numberOfUnboundMonitors < UNBOUNDLIST_MIN_QTY) {
-                    System.gc();
-                }
-
-                // If we didn't free up enough such that we are at least midway between min and hwm, expand
-                if (numberOfUnboundMonitors < (unboundMonitorsHwm + UNBOUNDLIST_MIN_QTY) >> 1) {
+            final ThreadMonitorCache cache = currentThreadCache();
+            monitor = takeFromCache(cache);
+            while (monitor == null) {
+                // An empty pool with a non-zero size means another thread is busy taking from it: retry.
+                if (!refillCache(cache, threadCacheQty >> 1) && unboundPool.isEmpty()) {
                     expandUnboundList();
                 }
-                monitor = takeFromUnboundList();
+                monitor = takeFromCache(cache);
             }
         }
         monitor.setBoundObject(object);
@@ -365,7 +585,7 @@ public class JavaMonitorManager {
     }
 
     /**
-     * Places the given monitor back into the free list.
+     * Places the given monitor back into the cache of the current thread, or into the global pool.
      * <p>
      * Important: This should only be called for monitors that have
      * failed to be two-way bound to an object.
@@ -377,10 +597,13 @@ public class JavaMonitorManager {
         final ManagedMonitor bindableMonitor = (ManagedMonitor) monitor;
         bindableMonitor.reset();
         if (inGlobalSafepoint) {
-            addToUnboundList(bindableMonitor);
+            releaseUnboundMonitor(bindableMonitor);
         } else {
-            synchronized (LOCK) {
-                addToUnboundList(bindableMonitor);
+            final ThreadMonitorCache cache = currentThreadCache();
+            if (cache.size < cache.capacity) {
+                addToCache(cache, bindableMonitor);
+            } else {
+                unboundPool.push(bindableMonitor, bindableMonitor, 1);
             }
         }
     }
@@ -403,10 +626,18 @@ public class JavaMonitorManager {
     }
 
     /**
-     * Expands the list of unbound monitors by allocating and adding {@link #unboundListGrowQty} new
-     * monitors to the list.
+     * Expands the pool of unbound monitors by allocating and adding {@link #unboundListGrowQty} new
+     * monitors to the pool, unless another thread refilled the pool in the meantime.
      */
     private static void expandUnboundList() {
+        synchronized (LOCK) {
+            if (unboundPool.isEmpty()) {
+                expandUnboundPool();
+            }
+        }
+    }
+
+    private static void expandUnboundPool() {
         ManagedMonitor newUnboundList = null;
         final ManagedMonitor[] newAllBindable = new ManagedMonitor[bindableMonitors.length + unboundListGrowQty];
 
@@ -424,15 +655,15 @@ public class JavaMonitorManager {
             newAllBindable[i] = bindableMonitors[i];
         }
         bindableMonitors = newAllBindable;
-        unboundMonitorsHwm = newAllBindable.length;
         ManagedMonitor monitor = newUnboundList;
+        ManagedMonitor last = null;
         while (monitor != null) {
-            newUnboundList = monitor.next();
-            addToUnboundList(monitor);
             addToAllBindable(monitor);
-            monitor = newUnboundList;
+            last = monitor;
+            monitor = monitor.next();
         }
         FatalError.check(bindableMonitors.length >= numberOfBindableMonitors, "corrupted bindableMonitors array");
+        unboundPool.push(newUnboundList, last, unboundListGrowQty);
         SafepointPoll.enable();
         FatalError.check(verifyBindableMonitors() == 0, "corrupted bindableMonitors array");
     }
@@ -519,14 +750,17 @@ public class JavaMonitorManager {
                     unboundMiscWordWriter.writeUnboundHashWord(monitor.boundObject(), monitor.displacedHash());
                 }
                 monitor.reset();
-                // Put the monitor back on the unbound list.
-                // This is thread-safe as mutator thread access to the free-list is
+                // Give the monitor back to the cache it came from.
+                // This is thread-safe as mutator thread access to the caches and the pool is
                 // atomic with respect to safepointing.
-                addToUnboundList(monitor);
+                releaseUnboundMonitor(monitor);
             } else if (monitor.isBound()) {
                 monitor.preGCPrepare();
             }
         }
+        if (reserve.size < reserve.capacity) {
+            refillCache(reserve, reserve.capacity - reserve.size);
+        }
     }
 
     /**
@@ -661,6 +895,21 @@ public class JavaMonitorManager {
          */
         void setNext(ManagedMonitor monitor);
 
+        /**
+         * Returns the cache this monitor was last taken from when bound. The monitor is given back to that
+         * cache when unbound.
+         *
+         * @return the owning cache, or {@code null} if this monitor has never been bound from a cache
+         */
+        ThreadMonitorCache owningCache();
+
+        /**
+         * Sets the cache this monitor was taken from.
+         *
+         * @param cache the owning cache
+         */
+        void setOwningCache(ThreadMonitorCache cache);
+
         void log();
     }
 
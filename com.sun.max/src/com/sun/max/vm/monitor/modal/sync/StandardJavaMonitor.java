@@ -21,6 +21,7 @@
 package com.sun.max.vm.monitor.modal.sync;
 
 import com.sun.cri.bytecode.*;
+import com.sun.max.atomic.*;
 import com.sun.max.unsafe.*;
 import com.sun.max.vm.*;
 import com.sun.max.vm.runtime.*;
@@ -30,7 +31,10 @@ import com.sun.max.vm.thread.*;
  * Provides Java monitor services on behalf of a {@linkplain #boundObject() bound} object.
  *
  * The {@link Bytecodes#MONITORENTER} and {@link Bytecodes#MONITOREXIT} instructions are implemented via a per-monitor
- * mutex. {@linkplain Object#wait() Wait} and {@linkplain Object#notify() notify} are implemented via a per-monitor
+ * mutex. A contending thread first spins for a while, retrying to acquire the mutex, before blocking on it. The number of
+ * spin iterations is learned per monitor: it grows each time spinning acquires the mutex and shrinks each time the thread
+ * ends up blocking anyway. Spinning is abandoned early when the owner of the monitor is not running, as the monitor cannot
+ * then be released soon. {@linkplain Object#wait() Wait} and {@linkplain Object#notify() notify} are implemented via a per-monitor
  * waiting list and a per-thread {@linkplain VmThread#waitingCondition() condition variable} on which a thread suspends
  * itself. A per-thread condition variable is necessary in order to implement single thread notification. <br>
  * <br>
@@ -58,8 +62,64 @@ import com.sun.max.vm.thread.*;
  */
 public class StandardJavaMonitor extends AbstractJavaMonitor {
 
+    /**
+     * Enables spinning before blocking on a contended monitor.
+     */
+    public static boolean MonitorSpinning = true;
+
+    /**
+     * Upper bound of the learned spin limit of a monitor, in number of attempts at acquiring its mutex.
+     */
+    public static int MonitorMaxSpin = 1000;
+
+    /**
+     * Report spin successes and failures when the VM terminates.
+     */
+    public static boolean PrintMonitorSpinStats;
+
+    static {
+        VMOptions.addFieldOption("-XX:", "MonitorSpinning", StandardJavaMonitor.class, "Spin before blocking on a contended monitor.");
+        VMOptions.addFieldOption("-XX:", "MonitorMaxSpin", StandardJavaMonitor.class, "Maximum number of attempts at acquiring a contended monitor before blocking.");
+        VMOptions.addFieldOption("-XX:", "PrintMonitorSpinStats", StandardJavaMonitor.class, "Print monitor spinning statistics when the VM terminates.");
+    }
+
+    /**
+     * Spin limit given to a newly created monitor.
+     */
+    private static final int INITIAL_SPIN = 100;
+
+    /**
+     * Spin limit below which a monitor never goes, so that it keeps probing whether spinning pays off again.
+     */
+    private static final int MIN_SPIN = 10;
+
+    /**
+     * Amount by which the spin limit of a monitor grows when spinning acquires it.
+     */
+    private static final int SPIN_BONUS = 100;
+
+    /**
+     * Amount by which the spin limit of a monitor shrinks when spinning fails to acquire it.
+     */
+    private static final int SPIN_PENALTY = 200;
+
+    /**
+     * Number of pause instructions between two attempts at acquiring the mutex.
+     */
+    private static final int SPIN_PAUSES = 16;
+
+    private static final AtomicInteger spinSuccesses = new AtomicInteger();
+    private static final AtomicInteger spinFailures = new AtomicInteger();
+    private static final AtomicInteger spinAborts = new AtomicInteger();
+
     protected final Mutex mutex;
 
+    /**
+     * The number of attempts at acquiring the mutex a contending thread makes before blocking on it.
+     * Updated without synchronization as it is only a heuristic.
+     */
+    private int spinLimit = INITIAL_SPIN;
+
     /**
      * The list of threads waiting on this monitor as a result of a call to {@link #monitorWait(long)}. A thread is
      * responsible for adding/removing itself to/from this list on either side of the call to
@@ -95,15 +155,72 @@ public class StandardJavaMonitor extends AbstractJavaMonitor {
             traceEndMonitorEnter(currentThread);
             return;
         }
-        currentThread.setState(Thread.State.BLOCKED);
-        mutex.lock();
-        currentThread.setState(Thread.State.RUNNABLE);
+        if (!MonitorSpinning || !spinLock()) {
+            currentThread.setState(Thread.State.BLOCKED);
+            mutex.lock();
+            currentThread.setState(Thread.State.RUNNABLE);
+        }
         ownerThread = currentThread;
         setBindingProtection(BindingProtection.PROTECTED);
         recursionCount = 1;
         traceEndMonitorEnter(currentThread);
     }
 
+    /**
+     * Spins trying to acquire the mutex of this monitor, up to the current spin limit of the monitor.
+     * Gives up as soon as the owner of this monitor is seen not running.
+     *
+     * @return true if the mutex was acquired
+     */
+    private boolean spinLock() {
+        final int limit = spinLimit;
+        for (int i = 0; i < limit; i++) {
+            final VmThread owner = ownerThread;
+            if (owner == null) {
+                if (mutex.tryLock()) {
+                    spinLimit = Math.min(limit + SPIN_BONUS, MonitorMaxSpin);
+                    spinSuccesses.getAndAdd(1);
+                    return true;
+                }
+            } else if (owner.state() != Thread.State.RUNNABLE) {
+                // The owner is blocked or waiting itself: it won't release the monitor any time soon.
+                spinAborts.getAndAdd(1);
+                return false;
+            }
+            for (int j = 0; j < SPIN_PAUSES; j++) {
+                Intrinsics.pause();
+            }
+        }
+        spinLimit = Math.max(limit - SPIN_PENALTY, MIN_SPIN);
+        spinFailures.getAndAdd(1);
+        return false;
+    }
+
+    /**
+     * Performs any initialization necessary for the given phase.
+     *
+     * @param phase the current VM phase
+     */
+    static void initialize(MaxineVM.Phase phase) {
+        if (phase == MaxineVM.Phase.STARTING) {
+            if (Runtime.getRuntime().availableProcessors() < 2) {
+                // Spinning cannot succeed while the owner is not running.
+                MonitorSpinning = false;
+            }
+        } else if (phase == MaxineVM.Phase.TERMINATING) {
+            if (PrintMonitorSpinStats) {
+                final boolean lockDisabledSafepoints = Log.lock();
+                Log.print("Monitor spinning: successes=");
+                Log.print(spinSuccesses.get());
+                Log.print(" failures=");
+                Log.print(spinFailures.get());
+                Log.print(" aborts=");
+                Log.println(spinAborts.get());
+                Log.unlock(lockDisabledSafepoints);
+            }
+        }
+    }
+
     @Override
     public void monitorExit() {
         final VmThread currentThread = VmThread.current();
@@ -261,6 +378,8 @@ public class StandardJavaMonitor extends AbstractJavaMonitor {
         super.log();
         Log.print(" mutex=");
         Log.print(Address.fromLong(mutex.logId()));
+        Log.print(" spinLimit=");
+        Log.print(spinLimit);
         Log.print(" waiters={");
         VmThread waiter = waitingThreads;
         while (waiter != null) {
@@ -45,6 +45,19 @@ public class MethodInstrumentation {
 
     public static int protectionThreshold = (int) (1 - PROTECTION_PERCENTAGE) * initialEntryBackedgeCount;
 
+    /**
+     * The number of failed speculative type guards on call sites of a method after which its receiver
+     * type profile is no longer used for type speculation (see {@link MethodProfile#isTypeSpeculationAllowed()}).
+     */
+    public static int typeGuardMissLimit = 2;
+
+    /**
+     * The number of invocations and backward branches counted before on-stack replacement is attempted again after
+     * an attempt that did not replace the frame (see {@link MethodProfile#rearmOSR()}). Doubled by each such attempt
+     * of a method, up to {@link #initialEntryBackedgeCount}.
+     */
+    public static int initialOSRBackoffCount = 1000;
+
     private static boolean enabled;
 
     public static void enable(int initialEntryCount) {
@@ -88,8 +101,10 @@ public class MethodInstrumentation {
     }
 
     @INLINE
-    public static void recordBackwardBranch(MethodProfile mpo) {
-        mpo.entryBackedgeCount--;
+    public static void recordBackwardBranch(MethodProfile mpo, int bci) {
+        if (--mpo.entryBackedgeCount <= 0) {
+            CompilationBroker.backedgeCounterOverflow(mpo, bci);
+        }
     }
 
     @INLINE
@@ -90,6 +90,23 @@ public class MethodProfile {
      */
     public int entryBackedgeCount;
 
+    /**
+     * The most recent method compiled for on-stack replacement of {@link #method} at {@link #osrBCI}.
+     * It is reused by later on-stack replacements at the same loop header as long as it is still valid.
+     */
+    public TargetMethod osrMethod;
+
+    /**
+     * The bytecode index of the loop header that {@link #osrMethod} was compiled for.
+     */
+    public int osrBCI;
+
+    /**
+     * The value that {@link #entryBackedgeCount} is reset to by the next {@linkplain #rearmOSR() failed} on-stack
+     * replacement attempt.
+     */
+    private int osrBackoffCount = MethodInstrumentation.initialOSRBackoffCount;
+
     /**
      * Records actual counts of a count entry.
      */
@@ -105,6 +122,13 @@ public class MethodProfile {
      */
     private int[] deoptimizationCounts;
 
+    /**
+     * The number of times a speculative type guard placed by the optimizing compiler on a call site
+     * of this method failed. Once this reaches {@link MethodInstrumentation#typeGuardMissLimit},
+     * the receiver type profile of this method is no longer offered to the optimizing compiler.
+     */
+    private int typeGuardMissCount;
+
     /**
      * When {@code true} re-compilation is disabled.
      * This is used by JVMTI to prevent methods with JVMTI instrumentation from
@@ -130,6 +154,22 @@ public class MethodProfile {
         deoptimizationCounts[deoptReasonId] = counter;
     }
 
+    /**
+     * Records a failed speculative type guard on a call site of this method.
+     */
+    public void incrementTypeGuardMissCount() {
+        if (typeGuardMissCount != Integer.MAX_VALUE) {
+            typeGuardMissCount++;
+        }
+    }
+
+    /**
+     * Determines if the receiver type profile of this method may still be used for type speculation.
+     */
+    public boolean isTypeSpeculationAllowed() {
+        return typeGuardMissCount < MethodInstrumentation.typeGuardMissLimit;
+    }
+
     /**
      * Gets the count at the method entrypoint, if it is available.
      * @return the count of the method entrypoint if available;
@@ -572,6 +612,32 @@ public class MethodProfile {
         return entryBackedgeCount <= MethodInstrumentation.protectionThreshold;
     }
 
+    /**
+     * Halves the number of invocations and backward branches counted since {@link #entryBackedgeCount} was last
+     * reset, so that a method that is only used occasionally neither reaches the recompilation threshold
+     * nor stays protected from {@linkplain com.sun.max.vm.code.CodeEviction code eviction} forever.
+     * Counters that are disabled or that have already overflowed are left untouched.
+     */
+    public void decayEntryBackedgeCount() {
+        final int initial = MethodInstrumentation.initialEntryBackedgeCount;
+        final int count = entryBackedgeCount;
+        if (count > 0 && count < initial) {
+            entryBackedgeCount = initial - ((initial - count) >> 1);
+        }
+    }
+
+    /**
+     * Resets {@link #entryBackedgeCount} after an on-stack replacement attempt that left the baseline frame in place,
+     * so that the replacement is attempted again once the loop has run for a while longer. Without this, the counter
+     * would only be decremented further below zero and the overflow that triggers the attempt would never recur.
+     */
+    public void rearmOSR() {
+        entryBackedgeCount = osrBackoffCount;
+        if (osrBackoffCount < MethodInstrumentation.initialEntryBackedgeCount) {
+            osrBackoffCount = Math.min(osrBackoffCount << 1, MethodInstrumentation.initialEntryBackedgeCount);
+        }
+    }
+
     /**
      * This class implements a builder that collects the instrumentation created for a particular
      * method and then packs the information into a dense, sorted representation in the form of
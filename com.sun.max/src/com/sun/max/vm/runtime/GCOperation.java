@@ -154,6 +154,16 @@ public abstract class GCOperation extends VmOperation {
         }
     }
 
+    /**
+     * {@linkplain GCWorkGang GC worker threads} are not frozen as they may be asked to perform work
+     * on behalf of this operation. They only run when the VM operation thread dispatches work to them
+     * and prepare their own stack reference map before parking.
+     */
+    @Override
+    protected boolean operateOnThread(VmThread thread) {
+        return !thread.isGCWorkerThread();
+    }
+
     @Override
     public void doIt() {
         // The next 2 statements *must* be adjacent as the reference map for this frame must
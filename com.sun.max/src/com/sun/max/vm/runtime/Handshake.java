@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.runtime;
+
+import com.sun.max.vm.thread.*;
+
+/**
+ * A {@link VmOperation} on a single thread that is performed by the requesting thread itself instead of being
+ * queued for the {@linkplain VmOperationThread VM operation thread}. Only the safepoint of the target thread is
+ * triggered: every other thread keeps running while the operation is {@linkplain #doIt() performed} on the target's
+ * behalf.
+ * <p>
+ * The requesting thread holds the {@linkplain VmThreadMap#THREAD_LOCK thread lock} while the target is frozen, which
+ * serializes handshakes with each other and with VM operations. A consequence is that a handshake cannot trigger a
+ * garbage collection. If it attempts to, the handshake is abandoned and the operation is performed again as a
+ * normal VM operation. {@link #doIt()} must therefore be restartable.
+ */
+public abstract class Handshake extends VmOperation {
+
+    private final VmThread target;
+
+    /**
+     * Creates a handshake with a given thread.
+     *
+     * @param name descriptive name of the operation. This value is only used for tracing.
+     * @param target the thread the operation is performed on. This must not be the requesting thread.
+     */
+    protected Handshake(String name, VmThread target) {
+        super(name, target, Mode.Safepoint);
+        this.target = target;
+    }
+
+    /**
+     * Gets the thread this handshake is performed on.
+     */
+    public final VmThread target() {
+        return target;
+    }
+
+    /**
+     * Performs this handshake. The current thread is blocked until the operation completes.
+     * Nothing is done if the target thread is not running.
+     */
+    public final void execute() {
+        final VmThread current = VmThread.current();
+        FatalError.check(target != current, "A thread cannot handshake with itself");
+        if (current.isVmOperationThread()) {
+            // The target may already be frozen by the current operation: run as a nested operation.
+            submit();
+            return;
+        }
+        try {
+            synchronized (VmThreadMap.THREAD_LOCK) {
+                setCallingThread(current);
+                runFrozen();
+                setCallingThread(null);
+            }
+        } catch (VmOperationThread.HoldsThreadLockError error) {
+            // The operation requires a garbage collection, which cannot happen while the thread lock is held.
+            setCallingThread(null);
+            submit();
+        }
+    }
+}
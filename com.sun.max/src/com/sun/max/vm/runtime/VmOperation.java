@@ -537,63 +537,70 @@ public class VmOperation {
         assert singleThread == null || !singleThread.isVmOperationThread();
 
         if (mode.requiresSafepoint()) {
-            Throwable error = null;
             synchronized (VmThreadMap.THREAD_LOCK) {
+                runFrozen();
+            }
+        } else {
+            run0();
+        }
+    }
 
-                if (singleThread != null && singleThread.tla().isZero()) {
-                    // The thread is not yet on the global thread list or has terminated.
-                    // Either way, we cannot freeze it if it has no thread locals.
-                    tracePhase("Aborting operation on single, non-running thread");
-                    return;
-                }
+    /**
+     * Freezes the thread(s) targeted by this operation, performs it, and thaws the thread(s).
+     * The current thread must hold the {@linkplain VmThreadMap#THREAD_LOCK thread lock}.
+     */
+    final void runFrozen() {
+        Throwable error = null;
+        if (singleThread != null && singleThread.tla().isZero()) {
+            // The thread is not yet on the global thread list or has terminated.
+            // Either way, we cannot freeze it if it has no thread locals.
+            tracePhase("Aborting operation on single, non-running thread");
+            return;
+        }
 
-                tracePhase("-- Begin --");
+        tracePhase("-- Begin --");
 
-                freeze();
+        freeze();
 
-                // Ensures updates to safepoint-related control variables are visible to all threads
-                // before the VM operation thread reads them
-                MemoryBarriers.barrier(MemoryBarriers.STORE_LOAD);
+        // Ensures updates to safepoint-related control variables are visible to all threads
+        // before the VM operation thread reads them
+        MemoryBarriers.barrier(MemoryBarriers.STORE_LOAD);
 
-                waitUntilFrozen();
+        waitUntilFrozen();
 
-                boolean oldAtSafepoint = atSafepoint;
-                try {
-                    if (singleThread == null) {
-                        atSafepoint = true;
-                    }
-                    run0();
-                } catch (Throwable t) {
-                    if (TraceVmOperations) {
-                        boolean lockDisabledSafepoints = Log.lock();
-                        Log.print(name);
-                        Log.print(": error while running operation: ");
-                        Log.println(ObjectAccess.readClassActor(t).name.string);
-                        Log.unlock(lockDisabledSafepoints);
-                    }
+        boolean oldAtSafepoint = atSafepoint;
+        try {
+            if (singleThread == null) {
+                atSafepoint = true;
+            }
+            run0();
+        } catch (Throwable t) {
+            if (TraceVmOperations) {
+                boolean lockDisabledSafepoints = Log.lock();
+                Log.print(name);
+                Log.print(": error while running operation: ");
+                Log.println(ObjectAccess.readClassActor(t).name.string);
+                Log.unlock(lockDisabledSafepoints);
+            }
 
-                    // Errors are propagated once the remaining phases of the operation are complete
-                    // otherwise frozen threads will never be unfrozen
-                    error = t;
-                }
-                atSafepoint = oldAtSafepoint;
+            // Errors are propagated once the remaining phases of the operation are complete
+            // otherwise frozen threads will never be unfrozen
+            error = t;
+        }
+        atSafepoint = oldAtSafepoint;
 
-                thaw();
+        thaw();
 
-                tracePhase("-- End --");
-            }
+        tracePhase("-- End --");
 
-            if (error != null) {
-                if (error instanceof RuntimeException) {
-                    throw (RuntimeException) error;
-                } else if (error instanceof Error) {
-                    throw (Error) error;
-                } else {
-                    throw (InternalError) new InternalError().initCause(error);
-                }
+        if (error != null) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else {
+                throw (InternalError) new InternalError().initCause(error);
             }
-        } else {
-            run0();
         }
     }
 
@@ -281,6 +281,11 @@ public class VmThread {
 
     public JavaMonitor protectedMonitor;
 
+    /**
+     * Unbound monitors available to this thread for inflation, created on first use.
+     */
+    public JavaMonitorManager.ThreadMonitorCache monitorCache;
+
     private ConditionVariable waitingCondition = ConditionVariableFactory.create();
 
     public final HeapScheme.GCRequest gcRequest = VMConfiguration.vmConfig().heapScheme().createThreadLocalGCRequest(this);
@@ -295,6 +300,8 @@ public class VmThread {
      */
     private boolean jvmtiAgent;
 
+    private boolean isGCWorkerThread;
+
     /**
      * Holds the exception object for the exception currently being raised. This value will only be
      * non-null during the unwinding process between calls to {@link #storeExceptionForHandler(Throwable, TargetMethod, int)}
@@ -675,6 +682,7 @@ public class VmThread {
 
             // We can now start the other system threads.
             VmThread.vmOperationThread.startVmSystemThread();
+            GCWorkGang.startWorkers();
             SpecialReferenceManager.initialize(MaxineVM.Phase.PRISTINE);
             VmThread.signalDispatcherThread.startVmSystemThread();
 
@@ -818,6 +826,8 @@ public class VmThread {
 
         thread.traceThreadAfterTermination();
 
+        JavaMonitorManager.retireThreadCache(thread);
+
         // GC may now reclaim or prepare any of its resources before the thread vanishes forever.
         vmConfig().heapScheme().notifyCurrentThreadDetach();
 
@@ -1135,6 +1145,25 @@ public class VmThread {
         return vmOperationThread == this;
     }
 
+    /**
+     * Creates the VM thread of a {@linkplain GCWorkerThread GC worker thread}. Unlike the other system threads, GC worker
+     * threads are not pre-allocated in the boot image: the {@link GCWorkGang} creates as many as requested when the VM starts.
+     *
+     * @param javaThread the GC worker thread
+     */
+    public static VmThread createGCWorkerThread(GCWorkerThread javaThread) {
+        final VmThread vmThread = VmThreadFactory.create(javaThread);
+        vmThread.isGCWorkerThread = true;
+        return vmThread;
+    }
+
+    /**
+     * Determines if this is one of the {@linkplain GCWorkerThread GC worker threads}.
+     */
+    public final boolean isGCWorkerThread() {
+        return isGCWorkerThread;
+    }
+
     public final boolean isJVMTIAgentThread() {
         return jvmtiAgent;
     }
@@ -1367,7 +1396,7 @@ public class VmThread {
      */
     public final void startVmSystemThread() {
         ThreadGroupAlias threadGroupAlias = ThreadGroupAlias.asThreadGroupAlias(systemThreadGroup);
-        if (this == vmOperationThread) {
+        if (this == vmOperationThread || isGCWorkerThread) {
             // hidden
             threadGroupAlias.nUnstartedThreads--;
         } else {
@@ -541,7 +541,8 @@ public class VmThreadLocal implements FormatWithToString {
      */
     public static void scanReferences(Pointer tla, PointerIndexVisitor wordPointerIndexVisitor) {
         final VmThread thread = VmThread.fromTLA(tla);
-        boolean isVmOperationThread = thread.isVmOperationThread();
+        // These threads prepare their own stack reference map, which hence doesn't cover the frames below it.
+        boolean preparesOwnReferenceMap = thread.isVmOperationThread() || thread.isGCWorkerThread();
 
         // Note: as a side effect, this lock serializes stack reference map scanning
         boolean tracing = logStackRootScanning();
@@ -564,7 +565,7 @@ public class VmThreadLocal implements FormatWithToString {
             final Pointer highestSlot = HIGHEST_STACK_SLOT_ADDRESS.load(tla);
             final Pointer lowestSlot = LOWEST_STACK_SLOT_ADDRESS.load(tla);
 
-            if (!isVmOperationThread && lastJavaCallerStackPointer.lessThan(lowestActiveSlot)) {
+            if (!preparesOwnReferenceMap && lastJavaCallerStackPointer.lessThan(lowestActiveSlot)) {
                 Log.print("The stack has slots between ");
                 Log.print(lastJavaCallerStackPointer);
                 Log.print(" and ");
@@ -42,6 +42,12 @@ public final class AutoTest {
         suite.addTest(com.sun.max.lang.AllTests.suite());
         suite.addTest(com.sun.max.profile.AllTests.suite());
         suite.addTest(com.sun.max.util.AllTests.suite());
+        suite.addTest(com.sun.max.vm.code.AllTests.suite());
+        suite.addTest(com.sun.max.vm.heap.AllTests.suite());
+        suite.addTest(com.sun.max.vm.heap.gcx.AllTests.suite());
+        suite.addTest(com.sun.max.vm.hosted.AllTests.suite());
+        suite.addTest(com.sun.max.vm.monitor.modal.modehandlers.lightweight.biased.AllTests.suite());
+        suite.addTest(com.sun.max.vm.profile.AllTests.suite());
         return suite;
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.code;
+
+import com.sun.max.ide.*;
+import com.sun.max.unsafe.*;
+
+/**
+ * Tests for {@link FreeCodeBlocks}, the free block bookkeeping of the optimized code region.
+ */
+public class FreeCodeBlocksTest extends MaxTestCase {
+
+    public FreeCodeBlocksTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(FreeCodeBlocksTest.class);
+    }
+
+    private static final Size MIN_REMAINDER = Size.fromInt(16);
+
+    private static Address a(int offset) {
+        return Address.fromLong(0x10000L + offset);
+    }
+
+    private static void assertBlock(FreeCodeBlocks blocks, int i, int start, int end) {
+        assertEquals(a(start).toLong(), blocks.blockStart(i).toLong());
+        assertEquals(a(end).toLong(), blocks.blockEnd(i).toLong());
+    }
+
+    public void test_sortedInsertion() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(8);
+        assertTrue(blocks.add(a(400), a(500)));
+        assertTrue(blocks.add(a(0), a(100)));
+        assertTrue(blocks.add(a(200), a(300)));
+        assertEquals(3, blocks.numBlocks());
+        assertBlock(blocks, 0, 0, 100);
+        assertBlock(blocks, 1, 200, 300);
+        assertBlock(blocks, 2, 400, 500);
+        assertEquals(300, blocks.freeBytes());
+    }
+
+    public void test_coalescing() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(8);
+        blocks.add(a(0), a(100));
+        blocks.add(a(200), a(300));
+        // Merges with the previous block.
+        blocks.add(a(100), a(150));
+        assertEquals(2, blocks.numBlocks());
+        assertBlock(blocks, 0, 0, 150);
+        // Merges with the next block.
+        blocks.add(a(180), a(200));
+        assertEquals(2, blocks.numBlocks());
+        assertBlock(blocks, 1, 180, 300);
+        // Merges with both.
+        blocks.add(a(150), a(180));
+        assertEquals(1, blocks.numBlocks());
+        assertBlock(blocks, 0, 0, 300);
+        assertEquals(300, blocks.freeBytes());
+    }
+
+    public void test_firstFit() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(8);
+        blocks.add(a(0), a(40));
+        blocks.add(a(100), a(140));
+        blocks.add(a(200), a(300));
+        // Exact fit.
+        assertEquals(0, blocks.firstFit(Size.fromInt(40), MIN_REMAINDER));
+        // A remainder too small to be formatted as a dead object rules out the first two blocks.
+        assertEquals(2, blocks.firstFit(Size.fromInt(32), MIN_REMAINDER));
+        assertEquals(0, blocks.firstFit(Size.fromInt(24), MIN_REMAINDER));
+        assertEquals(-1, blocks.firstFit(Size.fromInt(200), MIN_REMAINDER));
+    }
+
+    public void test_take() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(8);
+        blocks.add(a(0), a(40));
+        blocks.add(a(100), a(200));
+        assertEquals(a(100).toLong(), blocks.take(1, Size.fromInt(60)).toLong());
+        assertBlock(blocks, 1, 160, 200);
+        assertEquals(a(0).toLong(), blocks.take(0, Size.fromInt(40)).toLong());
+        assertEquals(1, blocks.numBlocks());
+        assertBlock(blocks, 0, 160, 200);
+        assertEquals(40, blocks.freeBytes());
+    }
+
+    public void test_retractMark() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(8);
+        blocks.add(a(0), a(100));
+        blocks.add(a(200), a(300));
+        // No block ends at the mark.
+        assertEquals(a(400).toLong(), blocks.retractMark(a(400)).toLong());
+        assertEquals(2, blocks.numBlocks());
+        assertEquals(a(200).toLong(), blocks.retractMark(a(300)).toLong());
+        assertEquals(1, blocks.numBlocks());
+        assertEquals(100, blocks.freeBytes());
+    }
+
+    public void test_fullTable() {
+        final FreeCodeBlocks blocks = new FreeCodeBlocks(2);
+        assertTrue(blocks.add(a(0), a(100)));
+        assertTrue(blocks.add(a(200), a(300)));
+        assertFalse(blocks.add(a(400), a(500)));
+        assertEquals(100, blocks.lostBytes());
+        assertEquals(200, blocks.freeBytes());
+        // Adjacent ranges are still coalesced when the table is full.
+        assertTrue(blocks.add(a(100), a(200)));
+        assertEquals(1, blocks.numBlocks());
+        assertBlock(blocks, 0, 0, 300);
+    }
+}
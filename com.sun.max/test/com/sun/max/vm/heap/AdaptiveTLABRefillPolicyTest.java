@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap;
+
+import com.sun.max.ide.*;
+import com.sun.max.unsafe.*;
+
+/**
+ * Tests for {@link AdaptiveTLABRefillPolicy}, run with the default sizing options.
+ */
+public class AdaptiveTLABRefillPolicyTest extends MaxTestCase {
+
+    public AdaptiveTLABRefillPolicyTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(AdaptiveTLABRefillPolicyTest.class);
+    }
+
+    private static final Size INITIAL_TLAB_SIZE = Size.K.times(64);
+
+    /**
+     * A thread allocating in TLABs, which notifies its refill policy in the same sequence as {@link HeapSchemeWithTLAB}.
+     * The thread's first TLAB is filled before the policy is created, and isn't notified. After the TLAB is reset by a GC,
+     * the next allocation fills a new TLAB and notifies it as a refill with no leftover. A TLAB may be made of several
+     * chunks, as with the mark-sweep heap schemes: the first one is notified as a refill, the others as chunk refills.
+     */
+    private static final class SimulatedThread {
+        final AdaptiveTLABRefillPolicy policy = new AdaptiveTLABRefillPolicy(INITIAL_TLAB_SIZE);
+        final int chunksPerTLAB;
+
+        /**
+         * Size of the current chunk of the TLAB, zero if the TLAB was reset.
+         */
+        Size chunkSize;
+        Size chunkUsed;
+        int chunksLeft;
+
+        SimulatedThread(int chunksPerTLAB) {
+            this.chunksPerTLAB = chunksPerTLAB;
+            fill(INITIAL_TLAB_SIZE);
+        }
+
+        private void fill(Size tlabSize) {
+            chunkSize = tlabSize.dividedBy(chunksPerTLAB).wordAligned();
+            chunkUsed = Size.zero();
+            chunksLeft = chunksPerTLAB - 1;
+        }
+
+        void allocate(Size size) {
+            if (size.greaterThan(policy.nextTlabSize())) {
+                // Allocated outside of TLABs.
+                return;
+            }
+            if (chunkSize.isZero()) {
+                fill(policy.nextTlabSize());
+                policy.notifyRefill(chunkSize, Size.zero());
+            } else if (chunkUsed.plus(size).greaterThan(chunkSize)) {
+                final Size leftover = chunkSize.minus(chunkUsed);
+                if (chunksLeft > 0 && size.lessEqual(chunkSize)) {
+                    chunksLeft--;
+                    chunkUsed = Size.zero();
+                    policy.notifyChunkRefill(chunkSize, leftover);
+                } else {
+                    fill(policy.nextTlabSize());
+                    policy.notifyRefill(chunkSize, leftover);
+                }
+            }
+            chunkUsed = chunkUsed.plus(size);
+        }
+
+        void collectGarbage() {
+            policy.notifyReset(Pointer.zero(), chunkSize.minus(chunkUsed));
+            chunkSize = Size.zero();
+            chunkUsed = Size.zero();
+        }
+
+        /**
+         * Simulates the allocation of the thread between two GCs.
+         */
+        void runCycle(long allocatedBytes, Size objectSize) {
+            for (long allocated = 0L; allocated < allocatedBytes; allocated += objectSize.toLong()) {
+                allocate(objectSize);
+            }
+            collectGarbage();
+        }
+    }
+
+    public void test_steadyAllocationKeepsSize() {
+        final SimulatedThread thread = new SimulatedThread(1);
+        for (int cycle = 0; cycle < 20; cycle++) {
+            thread.runCycle(INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget, Size.K);
+        }
+        // The TLAB filled after each GC is accounted for like any other.
+        final long size = thread.policy.nextTlabSize().toLong();
+        final long margin = INITIAL_TLAB_SIZE.toLong() / 200;
+        assertTrue(Math.abs(size - INITIAL_TLAB_SIZE.toLong()) < margin);
+    }
+
+    public void test_heavyAllocatorGrows() {
+        final SimulatedThread thread = new SimulatedThread(1);
+        Size previous = thread.policy.nextTlabSize();
+        for (int cycle = 0; cycle < 3; cycle++) {
+            thread.runCycle(4 * INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget, Size.fromInt(256));
+            assertTrue(thread.policy.nextTlabSize().greaterThan(previous));
+            previous = thread.policy.nextTlabSize();
+        }
+        for (int cycle = 0; cycle < 50; cycle++) {
+            thread.runCycle(100 * INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget, Size.K.times(8));
+        }
+        assertEquals(Size.M.toLong(), thread.policy.nextTlabSize().toLong());
+    }
+
+    public void test_idleThreadShrinks() {
+        final SimulatedThread thread = new SimulatedThread(1);
+        for (int cycle = 0; cycle < 50; cycle++) {
+            // A single object per cycle, in the TLAB filled after the last GC.
+            thread.runCycle(Word.size(), Size.fromInt(Word.size()));
+        }
+        assertEquals(Size.K.times(4).toLong(), thread.policy.nextTlabSize().toLong());
+    }
+
+    public void test_wasteReducesSize() {
+        final SimulatedThread frugal = new SimulatedThread(1);
+        final SimulatedThread wasteful = new SimulatedThread(1);
+        final long allocatedBytes = 2 * INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget;
+        for (int cycle = 0; cycle < 10; cycle++) {
+            frugal.runCycle(allocatedBytes, Size.K);
+            // Objects larger than half a TLAB leave a large part of each TLAB unused.
+            wasteful.runCycle(allocatedBytes, INITIAL_TLAB_SIZE.dividedBy(5).times(3));
+        }
+        assertTrue(wasteful.policy.nextTlabSize().lessThan(frugal.policy.nextTlabSize()));
+    }
+
+    public void test_chunkedTLABsSizedLikeContiguousOnes() {
+        final SimulatedThread contiguous = new SimulatedThread(1);
+        final SimulatedThread chunked = new SimulatedThread(4);
+        for (int cycle = 0; cycle < 10; cycle++) {
+            final long allocatedBytes = (cycle + 1) * INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget;
+            contiguous.runCycle(allocatedBytes, Size.fromInt(128));
+            chunked.runCycle(allocatedBytes, Size.fromInt(128));
+        }
+        final long contiguousSize = contiguous.policy.nextTlabSize().toLong();
+        final long chunkedSize = chunked.policy.nextTlabSize().toLong();
+        assertTrue(contiguousSize > INITIAL_TLAB_SIZE.toLong());
+        assertTrue(Math.abs(contiguousSize - chunkedSize) < contiguousSize / 20);
+    }
+
+    public void test_resizeUpdatesRefillThreshold() {
+        final SimulatedThread thread = new SimulatedThread(1);
+        for (int cycle = 0; cycle < 50; cycle++) {
+            thread.runCycle(100 * INITIAL_TLAB_SIZE.toLong() * AdaptiveTLABRefillPolicy.TLABRefillTarget, INITIAL_TLAB_SIZE);
+        }
+        // A failed allocation larger than a tenth of the initial TLAB but smaller than a tenth of the resized one must refill.
+        assertTrue(thread.policy.shouldRefill(INITIAL_TLAB_SIZE.dividedBy(5), Pointer.fromLong(0x1000)));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import com.sun.max.ide.*;
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.hosted.*;
+
+/**
+ * Tests for {@link ErgonomicHeapResizingPolicy} and the {@link GCTimeStatistics} driving it, run with the default goals.
+ * GC pauses and the time between GCs are simulated with sleeps, with ratios far enough from the goals to be insensitive to timing noise.
+ */
+public class ErgonomicHeapResizingPolicyTest extends MaxTestCase {
+
+    public ErgonomicHeapResizingPolicyTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(ErgonomicHeapResizingPolicyTest.class);
+    }
+
+    /**
+     * A resizable space that grants all requests within its capacity.
+     */
+    static final class TestSpace implements ResizableSpace {
+        Size totalSpace;
+        final Size capacity;
+
+        TestSpace(Size totalSpace, Size capacity) {
+            this.totalSpace = totalSpace;
+            this.capacity = capacity;
+        }
+
+        public Size increaseSize(Size delta) {
+            final Size growth = totalSpace.plus(delta).greaterThan(capacity) ? capacity.minus(totalSpace) : delta;
+            totalSpace = totalSpace.plus(growth);
+            return growth;
+        }
+
+        public Size decreaseSize(Size delta) {
+            totalSpace = totalSpace.minus(delta);
+            return delta;
+        }
+
+        public Size totalSpace() {
+            return totalSpace;
+        }
+
+        public Size capacity() {
+            return capacity;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+        }
+    }
+
+    private static void simulateGC(HeapResizingPolicy policy, long pauseMillis, long mutatorMillis) {
+        sleep(mutatorMillis);
+        policy.notifyGCStart();
+        sleep(pauseMillis);
+        policy.notifyGCEnd();
+    }
+
+    private static void runGCs(HeapResizingPolicy policy, int numGCs, long pauseMillis, long mutatorMillis) {
+        for (int i = 0; i < numGCs; i++) {
+            simulateGC(policy, pauseMillis, mutatorMillis);
+        }
+    }
+
+    private ErgonomicHeapResizingPolicy newPolicy() {
+        ErgonomicHeapResizingPolicy.ErgonomicHeapSizing = true;
+        return new ErgonomicHeapResizingPolicy();
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // The policies check the build level of the VM.
+        if (MaxineVM.vm() == null) {
+            VMConfigurator.installStandard(BuildLevel.PRODUCT);
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        ErgonomicHeapResizingPolicy.ErgonomicHeapSizing = false;
+        super.tearDown();
+    }
+
+    public void test_gcTimeStatistics() {
+        final GCTimeStatistics statistics = new GCTimeStatistics();
+        statistics.notifyGCStart();
+        statistics.notifyGCEnd();
+        // The first GC has no previous GC to measure the elapsed time from.
+        assertFalse(statistics.hasSamples());
+        sleep(10);
+        statistics.notifyGCStart();
+        sleep(10);
+        statistics.notifyGCEnd();
+        assertTrue(statistics.hasSamples());
+        assertTrue(statistics.averageGCTimeFraction() > 0.0 && statistics.averageGCTimeFraction() <= 1.0);
+        assertTrue(statistics.exceedsGCTimeGoal());
+        assertFalse(statistics.exceedsPauseGoal());
+    }
+
+    public void test_growsWhenGCTimeExceedsGoal() {
+        final ErgonomicHeapResizingPolicy policy = newPolicy();
+        final TestSpace space = new TestSpace(Size.M.times(64), Size.M.times(256));
+        runGCs(policy, 4, 5, 0);
+        // Half the heap free: the base policy would leave the heap as is.
+        assertTrue(policy.resizeAfterCollection(Size.M.times(32), space));
+        assertTrue(space.totalSpace().greaterThan(Size.M.times(64)));
+    }
+
+    public void test_neverGrowsBeyondCapacity() {
+        final ErgonomicHeapResizingPolicy policy = newPolicy();
+        final TestSpace space = new TestSpace(Size.M.times(64), Size.M.times(64));
+        runGCs(policy, 4, 5, 0);
+        assertFalse(policy.resizeAfterCollection(Size.M.times(32), space));
+        assertEquals(Size.M.times(64).toLong(), space.totalSpace().toLong());
+    }
+
+    public void test_shrinksWhenIdle() {
+        final ErgonomicHeapResizingPolicy policy = newPolicy();
+        final TestSpace space = new TestSpace(Size.M.times(64), Size.M.times(256));
+        runGCs(policy, 4, 0, 50);
+        // Half the heap free: the base policy would leave the heap as is.
+        final Size spaceLeftAfterGC = Size.M.times(32);
+        assertTrue(policy.resizeAfterCollection(spaceLeftAfterGC, space));
+        assertTrue(space.totalSpace().lessThan(Size.M.times(64)));
+        // The free space is never reduced below the expansion ratio of the base policy.
+        final long spaceUsed = Size.M.times(32).toLong();
+        final long spaceLeft = space.totalSpace().toLong() - spaceUsed;
+        assertTrue(spaceLeft * 100 >= (spaceLeft + spaceUsed) * (policy.minFreeSpaceRatioForExpansion - 1));
+    }
+
+    public void test_disabledBehavesAsBasePolicy() {
+        final ErgonomicHeapResizingPolicy policy = newPolicy();
+        ErgonomicHeapResizingPolicy.ErgonomicHeapSizing = false;
+        final TestSpace space = new TestSpace(Size.M.times(64), Size.M.times(256));
+        runGCs(policy, 4, 5, 0);
+        assertFalse(policy.resizeAfterCollection(Size.M.times(32), space));
+        assertEquals(Size.M.times(64).toLong(), space.totalSpace().toLong());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import java.util.*;
+
+import com.sun.max.ide.*;
+import com.sun.max.unsafe.*;
+
+/**
+ * Tests for the nursery aging part of {@link GenSSHeapSizingPolicy}, run with the default tenuring options.
+ */
+public class GenSSHeapSizingPolicyTest extends MaxTestCase {
+
+    public GenSSHeapSizingPolicyTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(GenSSHeapSizingPolicyTest.class);
+    }
+
+    private static GenSSHeapSizingPolicy newPolicy() {
+        final GenSSHeapSizingPolicy policy = new GenSSHeapSizingPolicy();
+        policy.initialize(Size.M.times(64), Size.M.times(256), 12);
+        return policy;
+    }
+
+    public void test_survivorSpaces() {
+        final GenSSHeapSizingPolicy policy = newPolicy();
+        assertTrue(policy.agesNursery());
+        final Size survivorSpaceSize = policy.survivorSpaceSize();
+        assertFalse(survivorSpaceSize.isZero());
+        assertTrue(survivorSpaceSize.isAligned(1 << 12));
+        assertEquals(policy.youngGenSize().toLong(), policy.edenSize().plus(survivorSpaceSize.times(2)).toLong());
+        assertEquals(policy.initialYoungGenSize().toLong(), policy.initialEdenSize().plus(policy.initialSurvivorSpaceSize().times(2)).toLong());
+        assertTrue(policy.maxSurvivorSpaceSize().greaterEqual(policy.initialSurvivorSpaceSize()));
+    }
+
+    public void test_tenuringThreshold() {
+        final GenSSHeapSizingPolicy policy = newPolicy();
+        assertEquals(SurvivorSpaces.MAX_AGE, policy.tenuringThreshold());
+        final Size survivorSpaceSize = Size.K.times(1024);
+        final long[] survivorBytesByAge = new long[SurvivorSpaces.MAX_AGE + 1];
+
+        // Few survivors: never promote before the maximum age.
+        survivorBytesByAge[1] = 64 * 1024;
+        survivorBytesByAge[5] = 64 * 1024;
+        policy.updateTenuringThreshold(survivorBytesByAge, survivorSpaceSize);
+        assertEquals(SurvivorSpaces.MAX_AGE, policy.tenuringThreshold());
+
+        // Survivors of age 3 or younger overflow half of the survivor space.
+        survivorBytesByAge[2] = 300 * 1024;
+        survivorBytesByAge[3] = 200 * 1024;
+        policy.updateTenuringThreshold(survivorBytesByAge, survivorSpaceSize);
+        assertEquals(3, policy.tenuringThreshold());
+
+        // Survivors of the last collection alone overflow it.
+        survivorBytesByAge[1] = 600 * 1024;
+        policy.updateTenuringThreshold(survivorBytesByAge, survivorSpaceSize);
+        assertEquals(1, policy.tenuringThreshold());
+
+        // The threshold goes back up when survivors decrease.
+        Arrays.fill(survivorBytesByAge, 0L);
+        policy.updateTenuringThreshold(survivorBytesByAge, survivorSpaceSize);
+        assertEquals(SurvivorSpaces.MAX_AGE, policy.tenuringThreshold());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import static com.sun.max.vm.heap.gcx.HeapRegionState.*;
+
+import com.sun.max.ide.*;
+import com.sun.max.vm.*;
+import com.sun.max.vm.hosted.*;
+
+/**
+ * Tests for the commit status of heap regions kept in {@link HeapRegionState}.
+ */
+public class HeapRegionStateTest extends MaxTestCase {
+
+    public HeapRegionStateTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(HeapRegionStateTest.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // State changes check the build level of the VM.
+        if (MaxineVM.vm() == null) {
+            VMConfigurator.installStandard(BuildLevel.PRODUCT);
+        }
+    }
+
+    public void test_uncommitTransitions() {
+        assertTrue(isValidTransition(EMPTY_REGION, UNCOMMITTED_REGION));
+        assertTrue(isValidTransition(UNCOMMITTED_REGION, EMPTY_REGION));
+        assertTrue(isValidTransition(UNCOMMITTED_REGION, UNCOMMITTED_REGION));
+        for (HeapRegionState state : HeapRegionState.values()) {
+            if (state != EMPTY_REGION && state != UNCOMMITTED_REGION) {
+                assertFalse(isValidTransition(state, UNCOMMITTED_REGION));
+                assertFalse(isValidTransition(UNCOMMITTED_REGION, state));
+            }
+        }
+    }
+
+    public void test_commitStatus() {
+        final HeapRegionInfo rinfo = new HeapRegionInfo();
+        EMPTY_REGION.setState(rinfo);
+        assertTrue(rinfo.isEmpty());
+        assertTrue(rinfo.isCommitted());
+        UNCOMMITTED_REGION.setState(rinfo);
+        assertFalse(rinfo.isEmpty());
+        assertFalse(rinfo.isCommitted());
+        EMPTY_REGION.setState(rinfo);
+        assertTrue(rinfo.isEmpty());
+        assertTrue(rinfo.isCommitted());
+    }
+
+    public void test_idleTimeStamp() {
+        final HeapRegionInfo rinfo = new HeapRegionInfo();
+        EMPTY_REGION.setState(rinfo);
+        rinfo.idleSince = 1000L;
+        // Staying empty keeps the time stamp.
+        EMPTY_REGION.setState(rinfo);
+        assertEquals(1000L, rinfo.idleSince);
+        // Any use of the region clears it.
+        toAllocatingState(rinfo);
+        assertEquals(0L, rinfo.idleSince);
+        toFullState(rinfo);
+        EMPTY_REGION.setState(rinfo);
+        rinfo.idleSince = 2000L;
+        UNCOMMITTED_REGION.setState(rinfo);
+        assertEquals(0L, rinfo.idleSince);
+    }
+}
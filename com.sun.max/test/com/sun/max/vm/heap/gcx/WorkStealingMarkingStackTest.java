@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.heap.gcx;
+
+import java.util.concurrent.atomic.*;
+
+import com.sun.max.ide.*;
+import com.sun.max.unsafe.*;
+
+/**
+ * Tests for {@link WorkStealingMarkingStack}.
+ */
+public class WorkStealingMarkingStackTest extends MaxTestCase {
+
+    public WorkStealingMarkingStackTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(WorkStealingMarkingStackTest.class);
+    }
+
+    private static Pointer cell(int i) {
+        return Pointer.fromLong((i + 1L) << 3);
+    }
+
+    private static int index(Pointer cell) {
+        return (int) (cell.toLong() >> 3) - 1;
+    }
+
+    private static WorkStealingMarkingStack newStack(int length) {
+        final WorkStealingMarkingStack stack = new WorkStealingMarkingStack();
+        stack.initialize(length);
+        stack.reset();
+        return stack;
+    }
+
+    public void test_empty() {
+        final WorkStealingMarkingStack stack = newStack(4);
+        assertTrue(stack.isEmpty());
+        assertTrue(stack.pop().isZero());
+        assertTrue(stack.steal().isZero());
+        // A pop on an empty stack must leave it in a usable state.
+        assertTrue(stack.isEmpty());
+        assertTrue(stack.push(cell(0)));
+        assertFalse(stack.isEmpty());
+        assertEquals(0, index(stack.pop()));
+        assertTrue(stack.isEmpty());
+        assertTrue(stack.pop().isZero());
+    }
+
+    public void test_pushPop() {
+        final WorkStealingMarkingStack stack = newStack(16);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(stack.push(cell(i)));
+        }
+        for (int i = 9; i >= 0; i--) {
+            assertEquals(i, index(stack.pop()));
+        }
+        assertTrue(stack.pop().isZero());
+    }
+
+    public void test_steal() {
+        final WorkStealingMarkingStack stack = newStack(16);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(stack.push(cell(i)));
+        }
+        // Thieves take the oldest cells, the owner the youngest ones.
+        assertEquals(0, index(stack.steal()));
+        assertEquals(1, index(stack.steal()));
+        assertEquals(9, index(stack.pop()));
+        for (int i = 2; i < 8; i++) {
+            assertEquals(i, index(stack.steal()));
+        }
+        // Last cell taken by the owner, with the top index race.
+        assertEquals(8, index(stack.pop()));
+        assertTrue(stack.steal().isZero());
+        assertTrue(stack.pop().isZero());
+        assertTrue(stack.isEmpty());
+    }
+
+    public void test_overflow() {
+        final WorkStealingMarkingStack stack = newStack(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(stack.push(cell(i)));
+        }
+        assertFalse(stack.push(cell(4)));
+        // Stealing frees a slot at the other end: the next push wraps around the backing storage.
+        assertEquals(0, index(stack.steal()));
+        assertTrue(stack.push(cell(4)));
+        assertFalse(stack.push(cell(5)));
+        assertEquals(4, index(stack.pop()));
+        for (int i = 1; i < 4; i++) {
+            assertEquals(i, index(stack.steal()));
+        }
+        assertTrue(stack.isEmpty());
+        assertTrue(stack.pop().isZero());
+    }
+
+    public void test_lengthRoundedUp() {
+        final WorkStealingMarkingStack stack = newStack(5);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(stack.push(cell(i)));
+        }
+        assertFalse(stack.push(cell(8)));
+    }
+
+    /**
+     * An owner pushes and pops cells while thieves steal from it. Every cell pushed must be taken exactly once,
+     * in particular when the owner and the thieves race for the last cell of the stack or when the stack overflows.
+     */
+    public void test_concurrentSteal() throws InterruptedException {
+        final int numCells = 200000;
+        final int numThieves = 3;
+        final WorkStealingMarkingStack stack = newStack(64);
+        final AtomicIntegerArray taken = new AtomicIntegerArray(numCells);
+        final AtomicInteger numTaken = new AtomicInteger();
+        final AtomicInteger numStolen = new AtomicInteger();
+
+        final Thread[] thieves = new Thread[numThieves];
+        for (int t = 0; t < numThieves; t++) {
+            thieves[t] = new Thread() {
+                @Override
+                public void run() {
+                    while (numTaken.get() < numCells) {
+                        final Pointer cell = stack.steal();
+                        if (!cell.isZero()) {
+                            taken.incrementAndGet(index(cell));
+                            numTaken.incrementAndGet();
+                            numStolen.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            thieves[t].start();
+        }
+
+        int next = 0;
+        while (next < numCells) {
+            // Push a few cells, then pop some of them back, so that the owner frequently races for the last cell.
+            final int burst = 1 + next % 7;
+            for (int i = 0; i < burst && next < numCells; i++) {
+                if (stack.push(cell(next))) {
+                    next++;
+                } else {
+                    break;
+                }
+            }
+            for (int i = 0; i < next % 3; i++) {
+                final Pointer cell = stack.pop();
+                if (cell.isZero()) {
+                    break;
+                }
+                taken.incrementAndGet(index(cell));
+                numTaken.incrementAndGet();
+            }
+        }
+        Pointer cell = stack.pop();
+        while (!cell.isZero()) {
+            taken.incrementAndGet(index(cell));
+            numTaken.incrementAndGet();
+            cell = stack.pop();
+        }
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+
+        assertEquals(numCells, numTaken.get());
+        for (int i = 0; i < numCells; i++) {
+            assertEquals("cell " + i, 1, taken.get(i));
+        }
+        assertTrue(stack.isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.hosted;
+
+import java.nio.*;
+
+import com.sun.max.ide.*;
+
+/**
+ * Tests the linking of a boot image for a fixed address, as done by {@link BootImage#link}.
+ */
+public class BootImageLinkTest extends MaxTestCase {
+
+    public BootImageLinkTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(BootImageLinkTest.class);
+    }
+
+    private static final long LINK_ADDRESS = 0x7f0000000000L;
+
+    private static ByteBuffer buffer(int words, int wordSize, ByteOrder byteOrder) {
+        return ByteBuffer.allocate(words * wordSize).order(byteOrder);
+    }
+
+    private void checkLink(ByteOrder byteOrder) {
+        // Two words of heap, two words of code; every word except the second heap word is a pointer
+        final ByteBuffer heap = buffer(2, 8, byteOrder);
+        final ByteBuffer code = buffer(2, 8, byteOrder);
+        heap.putLong(0, 0x100L);
+        heap.putLong(8, 0x200L);
+        code.putLong(0, 0L);
+        code.putLong(8, 0x18L);
+        final byte[] relocationData = {(byte) 0x0d};
+
+        BootImage.link(heap, code, relocationData, heap.capacity(), 8, LINK_ADDRESS);
+
+        assertEquals(LINK_ADDRESS + 0x100L, heap.getLong(0));
+        assertEquals("word not marked for relocation must be left alone", 0x200L, heap.getLong(8));
+        assertEquals("null pointer must stay null", 0L, code.getLong(0));
+        assertEquals(LINK_ADDRESS + 0x18L, code.getLong(8));
+    }
+
+    public void test_littleEndian() {
+        checkLink(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void test_bigEndian() {
+        checkLink(ByteOrder.BIG_ENDIAN);
+    }
+
+    public void test_32BitWords() {
+        final ByteBuffer heap = buffer(2, 4, ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer code = buffer(1, 4, ByteOrder.LITTLE_ENDIAN);
+        heap.putInt(0, 0x40);
+        heap.putInt(4, 0x80);
+        code.putInt(0, 0x4);
+        final byte[] relocationData = {(byte) 0x05};
+
+        BootImage.link(heap, code, relocationData, heap.capacity(), 4, 0x10000000L);
+
+        assertEquals(0x10000040, heap.getInt(0));
+        assertEquals(0x80, heap.getInt(4));
+        assertEquals(0x10000004, code.getInt(0));
+    }
+
+    public void test_noRelocationData() {
+        final ByteBuffer heap = buffer(1, 8, ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer code = buffer(1, 8, ByteOrder.LITTLE_ENDIAN);
+        heap.putLong(0, 0x100L);
+        code.putLong(0, 0x200L);
+
+        BootImage.link(heap, code, new byte[1], heap.capacity(), 8, LINK_ADDRESS);
+
+        assertEquals(0x100L, heap.getLong(0));
+        assertEquals(0x200L, code.getLong(0));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.monitor.modal.modehandlers.lightweight.biased;
+
+import com.sun.max.ide.*;
+
+/**
+ * Tests for {@link BiasedLockEpoch}, which bulk rebiasing relies on to invalidate biases.
+ */
+public class BiasedLockEpochTest extends MaxTestCase {
+
+    public BiasedLockEpochTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(BiasedLockEpochTest.class);
+    }
+
+    public void test_epochIncrement() {
+        BiasedLockEpoch epoch = BiasedLockEpoch.init();
+        for (int i = 0; i < 10; i++) {
+            final BiasedLockEpoch next = epoch.increment();
+            assertEquals(epoch.toInt() + 1, next.toInt());
+            assertFalse(next.equals(epoch));
+            epoch = next;
+        }
+    }
+
+    public void test_epochWrapAround() {
+        final BiasedLockEpoch max = BiasedLockEpoch.from(BiasedLockword.EPOCH_MASK);
+        final BiasedLockEpoch next = max.increment();
+        assertEquals(BiasedLockEpoch.init().toInt(), next.toInt());
+        assertFalse(next.isBulkRevocation());
+        assertFalse(next.equals(BiasedLockEpoch.REVOKED));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.sun.max.vm.profile;
+
+import com.sun.max.ide.*;
+
+/**
+ * Tests the bookkeeping of {@link MethodProfile} that backs off speculative optimizations after they failed.
+ */
+public class MethodProfileTest extends MaxTestCase {
+
+    public MethodProfileTest(String name) {
+        super(name);
+    }
+
+    public static void main(String[] args) {
+        junit.textui.TestRunner.run(MethodProfileTest.class);
+    }
+
+    public void test_rearmOSRBacksOff() {
+        final MethodProfile mpo = new MethodProfile();
+        final int initial = MethodInstrumentation.initialOSRBackoffCount;
+        mpo.entryBackedgeCount = -1;
+        mpo.rearmOSR();
+        assertEquals(initial, mpo.entryBackedgeCount);
+        mpo.entryBackedgeCount = 0;
+        mpo.rearmOSR();
+        assertEquals(initial * 2, mpo.entryBackedgeCount);
+    }
+
+    public void test_rearmOSRIsCapped() {
+        final MethodProfile mpo = new MethodProfile();
+        for (int i = 0; i < 32; i++) {
+            mpo.rearmOSR();
+            assertTrue(mpo.entryBackedgeCount > 0);
+            assertTrue(mpo.entryBackedgeCount <= MethodInstrumentation.initialEntryBackedgeCount);
+        }
+        assertEquals(MethodInstrumentation.initialEntryBackedgeCount, mpo.entryBackedgeCount);
+    }
+
+    public void test_typeSpeculationStopsAtMissLimit() {
+        final MethodProfile mpo = new MethodProfile();
+        for (int i = 0; i < MethodInstrumentation.typeGuardMissLimit; i++) {
+            assertTrue(mpo.isTypeSpeculationAllowed());
+            mpo.incrementTypeGuardMissCount();
+        }
+        assertFalse(mpo.isTypeSpeculationAllowed());
+        mpo.incrementTypeGuardMissCount();
+        assertFalse(mpo.isTypeSpeculationAllowed());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.bytecode;
+
+/*
+ * Tests multianewarray of ranks 2 and 3 with resolved classes, which is allocated by rank-specific stubs: every
+ * sub-array must be a distinct array of the right type and length, and a negative dimension must throw even
+ * if an outer dimension is zero.
+ * @Harness: java
+ * @Runs: 0 = 0; 1 = 3; 2 = 24; 3 = 24; 4 = !java.lang.NegativeArraySizeException; 5 = !java.lang.NegativeArraySizeException;
+ * @Runs: 6 = 0; 7 = 1000
+ */
+public class BC_multianewarray05 {
+
+    public static int test(int arg) {
+        switch (arg) {
+            case 0:
+                return new int[0][5].length;
+            case 1: {
+                final String[][] strings = new String[3][0];
+                return strings[0] != strings[2] && strings[2].length == 0 ? strings.length : -1;
+            }
+            case 2: {
+                final long[][] longs = new long[4][6];
+                longs[1][5] = 1;
+                return longs[0][5] == 0 && longs[3].length == 6 ? longs.length * longs[3].length : -1;
+            }
+            case 3: {
+                final Object[][][] objects = new Object[2][3][4];
+                if (objects[0][0] == objects[1][0] || objects[0][1] == objects[0][2]) {
+                    return -1;
+                }
+                if (!(objects instanceof Object[][][]) || !(objects[1] instanceof Object[][])) {
+                    return -1;
+                }
+                return objects.length * objects[1].length * objects[1][2].length;
+            }
+            case 4:
+                return new int[0][arg - 5].length;
+            case 5:
+                return new char[2][3][arg - 6].length;
+            case 6:
+                return new double[3][0][4][0].length == 3 ? 0 : -1;
+            case 7: {
+                // enough sub-arrays to refill the TLAB while the outer array is being filled
+                final int[][][] ints = new int[10][100][300];
+                int sum = 0;
+                for (int[][] a : ints) {
+                    for (int[] b : a) {
+                        sum += b.length == 300 ? 1 : 0;
+                    }
+                }
+                return sum;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.bytecode;
+
+/*
+ * Tests array allocation with lengths on either side of the limit up to which arrays are allocated inline from
+ * the TLAB, negative lengths and lengths whose size in bytes does not fit in 32 bits.
+ * @Harness: java
+ * @Runs: 0 = 262100; 1 = 262144; 2 = 262145; 3 = 1048577; 4 = 131073; 5 = 262145; 6 = !java.lang.NegativeArraySizeException;
+ * @Runs: 7 = !java.lang.NegativeArraySizeException; 8 = !java.lang.OutOfMemoryError; 9 = !java.lang.OutOfMemoryError
+ */
+public class BC_newarray02 {
+
+    static final int LIMIT = 1 << 20;
+
+    public static int test(int arg) {
+        switch (arg) {
+            case 0:
+                return check(new int[LIMIT / 4 - 44]);
+            case 1:
+                return check(new int[LIMIT / 4]);
+            case 2:
+                return check(new int[LIMIT / 4 + 1]);
+            case 3:
+                final byte[] bytes = new byte[LIMIT + 1];
+                bytes[LIMIT] = 1;
+                return bytes.length;
+            case 4: {
+                final long[] longs = new long[LIMIT / 8 + 1];
+                longs[LIMIT / 8] = 1;
+                return longs.length;
+            }
+            case 5: {
+                final Object[] objects = new Object[LIMIT / 4 + 1];
+                objects[LIMIT / 4] = objects;
+                return objects[0] == null ? objects.length : -1;
+            }
+            case 6:
+                return new int[arg - 7].length;
+            case 7:
+                return new Object[Integer.MIN_VALUE].length;
+            case 8:
+                // 0x40000001 * 4 wraps around to 4 in 32 bits
+                return new int[0x40000001].length;
+            case 9:
+                return new long[Integer.MAX_VALUE].length;
+        }
+        return -1;
+    }
+
+    private static int check(int[] array) {
+        final int last = array.length - 1;
+        if (array[0] != 0 || array[last] != 0) {
+            return -1;
+        }
+        array[last] = last;
+        return array[last] + 1;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+import java.lang.reflect.*;
+
+import com.sun.max.unsafe.*;
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.object.*;
+
+/*
+ * @Harness: java
+ * @Runs: 0=true; 1=true; 2=true
+ */
+/**
+ * Checks the objects laid out in the immutable segment of the boot heap: boot image strings and instances of immutable
+ * classes lie within the segment, the hash of a boot image string is computed when the image is built, and the
+ * copy-on-write pages of the segment can still be written by locking and identity hashing.
+ */
+public final class BootHeapImmutable01 {
+
+    /**
+     * A string only used by this test, so that nothing else computes its hash code at runtime.
+     */
+    private static final String UNHASHED = "BootHeapImmutable01: never hashed before this test";
+
+    private BootHeapImmutable01() {
+    }
+
+    public static boolean test(int arg) throws Exception {
+        switch (arg) {
+            case 0:
+                if (!isInImmutableSegment(UNHASHED)) {
+                    return false;
+                }
+                // read the hash field before hashCode() is first called
+                final int hash = precomputedHash(UNHASHED);
+                return hash != 0 && hash == recomputeHash(UNHASHED) && UNHASHED.hashCode() == hash;
+            case 1:
+                final String name = Heap.bootHeapRegion.regionName();
+                return isInImmutableSegment(name) && lockAndHash(name) && name.equals("Heap-Boot");
+            case 2:
+                final Integer boxed = Integer.valueOf(1);
+                return isInImmutableSegment(boxed) && lockAndHash(boxed) && boxed.intValue() == 1;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isInImmutableSegment(Object object) {
+        final Address origin = ObjectAccess.toOrigin(object);
+        return origin.greaterEqual(Heap.bootHeapRegion.immutableSegmentStart()) && origin.lessThan(Heap.bootHeapRegion.end());
+    }
+    private static int precomputedHash(String s) throws Exception {
+        final Field hash = String.class.getDeclaredField("hash");
+        hash.setAccessible(true);
+        return hash.getInt(s);
+    }
+
+    private static int recomputeHash(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static boolean lockAndHash(Object object) {
+        final int hash = System.identityHashCode(object);
+        synchronized (object) {
+            if (System.identityHashCode(object) != hash) {
+                return false;
+            }
+        }
+        return System.identityHashCode(object) == hash;
+    }
+}
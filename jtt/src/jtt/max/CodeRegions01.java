@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+import com.sun.max.vm.code.*;
+import com.sun.max.vm.code.CodeManager.*;
+import com.sun.max.vm.compiler.target.*;
+
+/*
+ * @Harness: java
+ * @Runs: 0=true; 1=true; 2=true
+ */
+/**
+ * Checks the segmentation of the runtime code cache: the baseline, stub and optimized code regions are disjoint, and
+ * each only holds code of its own lifespan.
+ */
+public final class CodeRegions01 {
+
+    private CodeRegions01() {
+    }
+
+    public static boolean test(int arg) {
+        final CodeManager codeManager = Code.getCodeManager();
+        final CodeRegion baseline = codeManager.getRuntimeBaselineCodeRegion();
+        final CodeRegion stubs = codeManager.getRuntimeStubCodeRegion();
+        final CodeRegion opt = codeManager.getRuntimeOptCodeRegion();
+        switch (arg) {
+            case 0:
+                return !baseline.overlaps(stubs) && !stubs.overlaps(opt) && !baseline.overlaps(opt);
+            case 1:
+                return holdsOnly(stubs, true);
+            case 2:
+                return holdsOnly(opt, false);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean holdsOnly(CodeRegion region, boolean permanent) {
+        for (TargetMethod tm : region.copyOfTargetMethods()) {
+            if ((tm.lifespan() == Lifespan.PERMANENT) != permanent) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+/*
+ * @Harness: java
+ * @Runs: 1=true; 20=true
+ */
+/**
+ * Stores references to new objects into long-lived objects, and moves references from one long-lived object to another,
+ * while the heap fills up with garbage. With mostly-concurrent marking, an object only reachable from an object already marked
+ * when the reference was stored must be found again by the remark through the write barrier.
+ */
+public final class ConcurrentMarking01 {
+
+    private ConcurrentMarking01() {
+    }
+
+    static final class Node {
+        final int value;
+        Node next;
+        int[] payload;
+
+        Node(int value) {
+            this.value = value;
+        }
+    }
+
+    static int[] garbage;
+
+    public static boolean test(int rounds) {
+        final int n = 1024;
+        final Node[] roots = new Node[n];
+        for (int i = 0; i < n; i++) {
+            roots[i] = new Node(i);
+        }
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < n; i++) {
+                final Node node = new Node(r * n + i);
+                node.payload = new int[] {r, i};
+                roots[i].next = node;
+            }
+            allocateGarbage();
+            // Rotate the new nodes so that the only reference to each of them moves to another long-lived object.
+            final Node first = roots[0].next;
+            for (int i = 0; i < n - 1; i++) {
+                roots[i].next = roots[i + 1].next;
+            }
+            roots[n - 1].next = first;
+            if (r % 4 == 3) {
+                System.gc();
+            }
+            allocateGarbage();
+            for (int i = 0; i < n; i++) {
+                final int expected = (i + 1) % n;
+                final Node node = roots[i].next;
+                if (node.value != r * n + expected || node.payload[0] != r || node.payload[1] != expected) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void allocateGarbage() {
+        for (int i = 0; i < 1024; i++) {
+            garbage = new int[256];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+import static com.sun.max.vm.VMConfiguration.*;
+
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.ms.*;
+
+/*
+ * @Harness: java
+ * @Runs: 0=true
+ */
+/**
+ * Fills the heap over the occupancy that starts a concurrent marking cycle and keeps allocating until the cycle
+ * completes, checking that the objects retained across the cycle are intact. Only checks something in images built
+ * with concurrent marking support (see the {@code jtt-msconcurrent} configuration of the tester); other heap schemes
+ * and images pass trivially.
+ */
+public final class ConcurrentMarking02 {
+
+    private ConcurrentMarking02() {
+    }
+
+    static Object[] retained;
+    static int[] garbage;
+
+    public static boolean test(int arg) throws InterruptedException {
+        final HeapScheme heapScheme = vmConfig().heapScheme();
+        if (!(heapScheme instanceof MSHeapScheme) || !MSHeapScheme.usesConcurrentMarking()) {
+            return true;
+        }
+        final MSHeapScheme msHeapScheme = (MSHeapScheme) heapScheme;
+        final int cycles = msHeapScheme.concurrentMarkingCycles();
+        final Runtime runtime = Runtime.getRuntime();
+        // Retain 4KB chunks until the heap is over the default occupancy (70%) that starts a concurrent marking cycle
+        retained = new Object[(int) (runtime.maxMemory() / 4096)];
+        int count = 0;
+        while (count < retained.length && (runtime.totalMemory() - runtime.freeMemory()) * 100 < runtime.totalMemory() * 72) {
+            final int[] chunk = new int[1024];
+            chunk[0] = count;
+            chunk[1023] = -count;
+            retained[count++] = chunk;
+        }
+        final long deadline = System.currentTimeMillis() + 30000;
+        while (msHeapScheme.concurrentMarkingCycles() == cycles && System.currentTimeMillis() < deadline) {
+            for (int i = 0; i < 256; i++) {
+                garbage = new int[16];
+            }
+            // Let the marking thread run
+            Thread.sleep(1);
+        }
+        final boolean ranConcurrently = msHeapScheme.concurrentMarkingCycles() > cycles;
+        for (int i = 0; i < count; i++) {
+            final int[] a = (int[]) retained[i];
+            if (a[0] != i || a[1023] != -i) {
+                return false;
+            }
+        }
+        retained = null;
+        return ranConcurrently;
+    }
+}
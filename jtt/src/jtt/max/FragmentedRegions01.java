@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+/*
+ * @Harness: java
+ * @Runs: 1=true; 3=true
+ */
+/**
+ * Fragments the old generation by keeping one object out of eight alive across full collections, so that regions with
+ * little live data are selected for evacuation. Checks that the contents, the identity hash codes and the references
+ * between evacuated objects are preserved.
+ */
+public final class FragmentedRegions01 {
+
+    private FragmentedRegions01() {
+    }
+
+    static final class Node {
+        final int value;
+        final byte[] payload;
+        Node next;
+
+        Node(int value) {
+            this.value = value;
+            this.payload = new byte[value % 64];
+            if (payload.length > 0) {
+                payload[payload.length - 1] = (byte) value;
+            }
+        }
+    }
+
+    public static boolean test(int rounds) {
+        final int count = 64 * 1024;
+        Node[] nodes = new Node[count];
+        for (int i = 0; i < count; i++) {
+            nodes[i] = new Node(i);
+        }
+        // Tenure everything, then drop most of it.
+        System.gc();
+        final Node[] kept = new Node[count / 8];
+        final int[] hashes = new int[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            kept[i] = nodes[i * 8];
+            hashes[i] = System.identityHashCode(kept[i]);
+        }
+        for (int i = 0; i < kept.length - 1; i++) {
+            kept[i].next = kept[i + 1];
+        }
+        nodes = null;
+        for (int round = 0; round < rounds; round++) {
+            System.gc();
+            for (int i = 0; i < kept.length; i++) {
+                final Node node = kept[i];
+                if (node.value != i * 8 || System.identityHashCode(node) != hashes[i]) {
+                    return false;
+                }
+                if (node.payload.length > 0 && node.payload[node.payload.length - 1] != (byte) node.value) {
+                    return false;
+                }
+                if (i < kept.length - 1 && node.next != kept[i + 1]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+/*
+ * @Harness: java
+ * @Runs: 1=true; 8=true
+ */
+/**
+ * Checks that the free memory reported right after a garbage collection doesn't include live data, in particular when
+ * regions are left unswept by a lazy sweep, and that live objects in lazily swept regions are left intact. The
+ * {@code jtt-mselazysweep} configuration of the tester builds the gcx.mse heap scheme with {@code -XX:+LazySweep} to
+ * run it with lazy sweeping enabled.
+ */
+public final class LazySweep01 {
+
+    private LazySweep01() {
+    }
+
+    static Object garbage;
+
+    public static boolean test(int megabytes) {
+        final int arrayLength = 1 << 20;
+        final byte[][] live = new byte[megabytes][];
+        for (int i = 0; i < megabytes; i++) {
+            live[i] = new byte[arrayLength];
+            live[i][i] = (byte) (i + 1);
+            for (int j = 0; j < 256; j++) {
+                garbage = new byte[1024];
+            }
+        }
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        final long totalMemory = runtime.totalMemory();
+        final long freeMemory = runtime.freeMemory();
+        if (freeMemory + (long) megabytes * arrayLength > totalMemory) {
+            return false;
+        }
+        // Allocate enough for the allocators to sweep regions lazily, then check the live data.
+        for (int i = 0; i < 4 * 1024; i++) {
+            garbage = new byte[1024];
+        }
+        for (int i = 0; i < megabytes; i++) {
+            if (live[i].length != arrayLength || live[i][i] != (byte) (i + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+/*
+ * @Harness: java
+ * @Runs: 2=true; 4=true
+ */
+/**
+ * Several threads allocate and retain objects concurrently, so that TLABs are refilled from the per-node allocators of a
+ * NUMA-aware heap ({@code -XX:+NUMAAwareHeap}), and objects are evacuated to the buffer of their source region's node.
+ * Checks that the objects of every thread survive collections intact. Without NUMA support, all threads use the same node.
+ */
+public final class NUMAAllocation01 {
+
+    private NUMAAllocation01() {
+    }
+
+    static final class Allocator extends Thread {
+        final int id;
+        int[][] retained;
+        boolean ok;
+
+        Allocator(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            retained = new int[2048][];
+            for (int i = 0; i < retained.length; i++) {
+                final int[] array = new int[16 + (i & 63)];
+                array[0] = id;
+                array[array.length - 1] = i;
+                retained[i] = array;
+            }
+            System.gc();
+            ok = check();
+        }
+
+        boolean check() {
+            for (int i = 0; i < retained.length; i++) {
+                final int[] array = retained[i];
+                if (array.length != 16 + (i & 63) || array[0] != id || array[array.length - 1] != i) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static boolean test(int threads) throws InterruptedException {
+        final Allocator[] allocators = new Allocator[threads];
+        for (int i = 0; i < threads; i++) {
+            allocators[i] = new Allocator(i);
+            allocators[i].start();
+        }
+        for (Allocator allocator : allocators) {
+            allocator.join();
+        }
+        System.gc();
+        for (Allocator allocator : allocators) {
+            if (!allocator.ok || !allocator.check()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+/*
+ * @Harness: java
+ * @Runs: 1=true; 4=true
+ */
+/**
+ * Stresses the parallel evacuation of a young generation. Young objects are each referenced from many tenured holders
+ * spread over distinct cards, so that several workers race to forward them, and large young arrays are referenced from
+ * tenured holders, so that the update of these references is deferred to the second pass. The contents of all objects
+ * are checked after each collection.
+ */
+public final class ParallelEvacuation01 {
+
+    private ParallelEvacuation01() {
+    }
+
+    static final class Holder {
+        Object small;
+        Object large;
+        final long[] padding = new long[64];
+    }
+
+    static final class Cell {
+        final int value;
+        Cell(int value) {
+            this.value = value;
+        }
+    }
+
+    static Object garbage;
+
+    public static boolean test(int rounds) {
+        final int holderCount = 4 * 1024;
+        final int sharedCount = 64;
+        final Holder[] holders = new Holder[holderCount];
+        for (int i = 0; i < holderCount; i++) {
+            holders[i] = new Holder();
+        }
+        // Tenure the holders.
+        System.gc();
+        System.gc();
+        for (int round = 0; round < rounds; round++) {
+            final Cell[] shared = new Cell[sharedCount];
+            for (int i = 0; i < sharedCount; i++) {
+                shared[i] = new Cell(round * sharedCount + i);
+            }
+            for (int i = 0; i < holderCount; i++) {
+                final Holder holder = holders[i];
+                holder.small = shared[i % sharedCount];
+                if (i % 16 == 0) {
+                    final int[] large = new int[4 * 1024];
+                    large[large.length - 1] = i;
+                    holder.large = large;
+                }
+                garbage = new byte[256];
+            }
+            System.gc();
+            for (int i = 0; i < holderCount; i++) {
+                final Holder holder = holders[i];
+                if (((Cell) holder.small).value != round * sharedCount + i % sharedCount) {
+                    return false;
+                }
+                if (holder.small != shared[i % sharedCount]) {
+                    return false;
+                }
+                if (i % 16 == 0 && ((int[]) holder.large)[4 * 1024 - 1] != i) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.max;
+
+import static com.sun.max.vm.VMConfiguration.*;
+
+import com.sun.max.vm.heap.*;
+import com.sun.max.vm.heap.gcx.*;
+import com.sun.max.vm.heap.sequential.gen.semiSpace.*;
+
+/*
+ * @Harness: java
+ * @Runs: 4=true
+ */
+/**
+ * Checks which path the minor collections of the GenSS heap scheme take. Minor collections that age survivors are
+ * sequential, and the others are parallel if and only if GC worker threads are available. The
+ * {@code jtt-gssparallel} and {@code jtt-gssparallelnoaging} configurations of the tester build the GenSS heap scheme
+ * with GC worker threads, with and without aging. Other heap schemes pass trivially.
+ */
+public final class ParallelEvacuation02 {
+
+    private ParallelEvacuation02() {
+    }
+
+    static Object[] survivors;
+
+    public static boolean test(int collections) {
+        final HeapScheme heapScheme = vmConfig().heapScheme();
+        if (!(heapScheme instanceof GenSSHeapScheme)) {
+            return true;
+        }
+        final AgingNurseryEvacuator evacuator = ((GenSSHeapScheme) heapScheme).youngSpaceEvacuator();
+        final int evacuations = evacuator.evacuationCount();
+        final int agingEvacuations = evacuator.agingEvacuationCount();
+        final int parallelEvacuations = evacuator.parallelEvacuationCount();
+        for (int i = 0; i < collections; i++) {
+            survivors = new Object[256];
+            for (int j = 0; j < survivors.length; j++) {
+                survivors[j] = new int[j];
+            }
+            System.gc();
+        }
+        final int evacuated = evacuator.evacuationCount() - evacuations;
+        final int aged = evacuator.agingEvacuationCount() - agingEvacuations;
+        final int parallel = evacuator.parallelEvacuationCount() - parallelEvacuations;
+        if (evacuated < collections) {
+            return false;
+        }
+        if (GCWorkGang.numWorkers() == 0) {
+            return parallel == 0;
+        }
+        // Every evacuation either ages survivors sequentially or promotes them in parallel
+        return aged + parallel == evacuated;
+    }
+}
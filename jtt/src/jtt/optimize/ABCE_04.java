@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests range check elimination with a decreasing induction variable. The bounds checks may only be removed when
+ * the initial value is below the array length and the loop test keeps the index non-negative.
+ * @Harness: java
+ * @Runs: 0=55; 1=55; 2=!java.lang.ArrayIndexOutOfBoundsException; 3=!java.lang.ArrayIndexOutOfBoundsException;
+ * @Runs: 4=!java.lang.ArrayIndexOutOfBoundsException
+ */
+public class ABCE_04 {
+
+    public static int[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    public static int[] longer = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+
+    public static int test(int arg) {
+        final int[] a = array;
+        int r = 0;
+        switch (arg) {
+            case 0:
+                for (int i = a.length - 1; i >= 0; i--) {
+                    r += a[i];
+                }
+                return r;
+            case 1:
+                for (int i = a.length - 1; i > -1; i--) {
+                    r += a[i];
+                }
+                return r;
+            case 2:
+                // starts at a.length
+                for (int i = a.length; i >= 0; i--) {
+                    r += a[i];
+                }
+                return r;
+            case 3:
+                // ends at -1
+                for (int i = a.length - 1; i > -2; i--) {
+                    r += a[i];
+                }
+                return r;
+            case 4:
+                // bounded by the length of another array
+                for (int i = longer.length - 1; i >= 0; i--) {
+                    r += a[i];
+                }
+                return r;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests that bounds checks are kept when the array accessed in a loop is not the one bounding the loop,
+ * because it is replaced or the bound is read before the loop.
+ * @Harness: java
+ * @Runs: 0=!java.lang.ArrayIndexOutOfBoundsException; 1=!java.lang.ArrayIndexOutOfBoundsException; 2=55
+ */
+public class ABCE_05 {
+
+    public static int[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    public static int[] shorter = {1, 2, 3};
+    public static int[] field;
+
+    public static int test(int arg) {
+        int[] a = array;
+        int r = 0;
+        switch (arg) {
+            case 0: {
+                final int n = a.length;
+                for (int i = 0; i < n; i++) {
+                    a = shorter;
+                    r += a[i];
+                }
+                return r;
+            }
+            case 1:
+                field = array;
+                for (int i = 0; i < field.length; i++) {
+                    r += field[i];
+                    if (i == 1) {
+                        field = shorter;
+                        r += field[i + 2];
+                    }
+                }
+                return r;
+            case 2:
+                // the array is replaced after the access, so the loop test still bounds the access
+                for (int i = 0; i < a.length; i++) {
+                    r += a[i];
+                    a = a == array ? array.clone() : a;
+                }
+                return r;
+        }
+        return -1;
+    }
+}
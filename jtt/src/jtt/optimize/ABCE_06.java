@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests that bounds checks are kept for indices that can overflow or that do not start at a known non-negative
+ * value.
+ * @Harness: java
+ * @Runs: 0=!java.lang.ArrayIndexOutOfBoundsException; 1=!java.lang.ArrayIndexOutOfBoundsException; 2=0;
+ * @Runs: 3=!java.lang.ArrayIndexOutOfBoundsException; 4=54
+ */
+public class ABCE_06 {
+
+    public static int[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    public static int test(int arg) {
+        final int[] a = array;
+        int r = 0;
+        switch (arg) {
+            case 0:
+                for (int i = 0; i < a.length; i++) {
+                    r += a[i];
+                    if (i == 5) {
+                        // the next increment wraps around to Integer.MIN_VALUE
+                        i = Integer.MAX_VALUE;
+                    }
+                }
+                return r;
+            case 1:
+                // the initial value is not known to be non-negative
+                for (int i = arg - 2; i < a.length; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 2:
+                for (int i = Integer.MAX_VALUE - 1; i < a.length; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 3:
+                for (int i = 0; i <= a.length; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 4:
+                for (int i = 1; i <= a.length - 1; i++) {
+                    r += a[i];
+                }
+                return r;
+        }
+        return -1;
+    }
+}
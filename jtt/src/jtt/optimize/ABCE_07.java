@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests that loop optimizations keep the null checks of a possibly null array, and do not execute them
+ * speculatively for a loop that is never entered.
+ * @Harness: java
+ * @Runs: 0=!java.lang.NullPointerException; 1=0; 2=!java.lang.NullPointerException; 3=0; 4=20
+ */
+public class ABCE_07 {
+
+    public static int[] array = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    public static int test(int arg) {
+        final int[] a = arg < 4 ? null : array;
+        int r = 0;
+        switch (arg) {
+            case 0:
+                for (int i = 0; i < a.length; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 1:
+                // the loop is not entered, so the length of the null array is never read
+                for (int i = 0; i < arg - 1; i++) {
+                    r += a.length;
+                }
+                return r;
+            case 2:
+                for (int i = 0; i < arg; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 3:
+                for (int i = 0; i < arg - 3; i++) {
+                    r += a[i];
+                }
+                return r;
+            case 4:
+                for (int i = 0; i < 2; i++) {
+                    r += a.length;
+                }
+                return r;
+        }
+        return -1;
+    }
+}
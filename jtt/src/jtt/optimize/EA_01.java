@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests escape analysis on allocations that do not escape and are replaced by their field values, including
+ * fields that are never written, wide fields and locking of the allocated object.
+ * @Harness: java
+ * @Runs: 0=110; 1=0; 2=42; 3=12; 4=3
+ */
+public class EA_01 {
+
+    static final class Point {
+        int x;
+        int y;
+        long z;
+        double w;
+        Object tag;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        int sum() {
+            return x + y;
+        }
+    }
+
+    public static int test(int arg) {
+        final Point p = new Point(arg + 10, arg * 10);
+        switch (arg) {
+            case 0:
+                p.x = 11;
+                p.y = 10;
+                return p.x * p.y;
+            case 1:
+                // fields that were never stored read their default values
+                return p.tag == null && p.z == 0L && p.w == 0.0d ? 0 : -1;
+            case 2:
+                p.z = 1L << 40;
+                p.w = 0.5d;
+                return (int) (p.z >>> 40) + (int) (p.w * 82);
+            case 3:
+                synchronized (p) {
+                    p.x = 2;
+                }
+                return p.sum() - 20;
+            case 4:
+                p.x = 1;
+                p.y = p.x + 1;
+                return p.sum();
+        }
+        return -1;
+    }
+}
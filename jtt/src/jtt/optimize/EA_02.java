@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests escape analysis on allocations that escape through a phi, a field, an array or a call and must therefore
+ * be kept: the escaped object must be identical to the allocated one and hold the values stored into it.
+ * @Harness: java
+ * @Runs: 0=1; 1=2; 2=7; 3=8; 4=4; 5=5; 6=9
+ */
+public class EA_02 {
+
+    static final class Box {
+        int value;
+
+        Box(int value) {
+            this.value = value;
+        }
+    }
+
+    static Box field;
+    static Object[] array = new Object[1];
+    Box instanceField;
+
+    public static int test(int arg) {
+        Box b = new Box(arg);
+        switch (arg) {
+            case 0:
+            case 1:
+                // b escapes into a phi
+                final Box merged = arg == 0 ? b : new Box(2);
+                merged.value += arg == 0 ? 1 : 0;
+                return merged.value;
+            case 2:
+                field = b;
+                b.value = 7;
+                return field == b ? field.value : -1;
+            case 3:
+                array[0] = b;
+                b.value = 8;
+                return array[0] == b ? ((Box) array[0]).value : -1;
+            case 4: {
+                final EA_02 holder = new EA_02();
+                holder.instanceField = b;
+                field = holder.instanceField;
+                return field == b ? field.value : -1;
+            }
+            case 5:
+                return identity(b) == b ? keep(b) : -1;
+            case 6:
+                for (int i = 0; i < 3; i++) {
+                    // the allocation in the loop reaches the loop header phi
+                    b = new Box(b.value + 1);
+                }
+                return b.value;
+        }
+        return -1;
+    }
+
+    private static Box identity(Box b) {
+        field = b;
+        return b;
+    }
+
+    private static int keep(Box b) {
+        return b.value;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+import com.sun.max.vm.intrinsics.*;
+
+/*
+ * Tests deoptimization while scalar replaced objects are live: the objects must be materialized with their
+ * current field values, shared between the frames that refer to them, and re-locked if they were locked.
+ * @Harness: java
+ * @Runs: 0=true; 1=true; 2=true; 3=true
+ */
+public class EA_03 {
+
+    static final class Pair {
+        int first;
+        long second;
+        Pair other;
+
+        Pair(int first, long second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    public static boolean test(int arg) {
+        final Pair p = new Pair(arg, 1L << 33);
+        switch (arg) {
+            case 0:
+                p.first = 42;
+                Infopoints.uncommonTrap();
+                return p.first == 42 && p.second == 1L << 33;
+            case 1:
+                synchronized (p) {
+                    p.first = 3;
+                    Infopoints.uncommonTrap();
+                    if (!Thread.holdsLock(p)) {
+                        return false;
+                    }
+                }
+                return !Thread.holdsLock(p) && p.first == 3;
+            case 2: {
+                // a virtual object referring to another virtual object
+                final Pair q = new Pair(7, 8L);
+                p.other = q;
+                Infopoints.uncommonTrap();
+                return p.other == q && q.first == 7 && p.other.second == 8L;
+            }
+            case 3:
+                p.first = 5;
+                return inner(p, p.first) && p.first == 6;
+        }
+        return false;
+    }
+
+    private static boolean inner(Pair p, int first) {
+        synchronized (p) {
+            Infopoints.uncommonTrap();
+            p.first = first + 1;
+            return Thread.holdsLock(p);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests the String.equals intrinsic on strings whose lengths are not multiples of the word size and that differ
+ * only in their first, middle or last character.
+ * @Harness: java
+ * @Runs: 0=true; 1=false; 2=true; 3=false; 4=false; 5=false; 6=false; 7=true; 8=false; 9=false; 10=false
+ */
+public class Intrinsic_String01 {
+
+    static final String[] LEFT = {"", "", "abcdefghi", "abcdefghi", "abcdefghi", "abcdefghi", "abcdefgh", "\u1234\u5678x", "\u1234\u5678x", "abc", "abc"};
+    static final String[] RIGHT = {"", "a", "abcdefghi", "xbcdefghi", "abcdxfghi", "abcdefghx", "abcdefghi", "\u1234\u5678x", "\u1234\u5679x", null, "ab"};
+
+    public static boolean test(int arg) {
+        final String left = new String(LEFT[arg].toCharArray());
+        final String right = RIGHT[arg];
+        if (arg == 10) {
+            // compare against an object that is not a string
+            return left.equals(new StringBuilder(right));
+        }
+        return left.equals(right);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests the String.compareTo intrinsic, including prefixes, differences past the first word and characters
+ * whose difference does not fit in a byte.
+ * @Harness: java
+ * @Runs: 0=0; 1=-1; 2=1; 3=0; 4=-23; 5=23; 6=-1; 7=1; 8=-4; 9=4369; 10=!java.lang.NullPointerException
+ */
+public class Intrinsic_String02 {
+
+    static final String[] LEFT = {"", "", "a", "abcdefghij", "abcdefghia", "abcdefghix", "abcdefghi", "abcdefghij", "abcdefghi", "\u2345", "abc"};
+    static final String[] RIGHT = {"", "a", "", "abcdefghij", "abcdefghix", "abcdefghia", "abcdefghij", "abcdefghi", "abcdefghijklm", "\u1234", null};
+
+    public static int test(int arg) {
+        final String left = new String(LEFT[arg].toCharArray());
+        return left.compareTo(RIGHT[arg]);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests the String.indexOf(String) intrinsic with empty strings, partial matches, matches at either end and
+ * patterns longer than the string searched.
+ * @Harness: java
+ * @Runs: 0=0; 1=0; 2=-1; 3=0; 4=8; 5=3; 6=-1; 7=-1; 8=5; 9=2; 10=!java.lang.NullPointerException
+ */
+public class Intrinsic_String03 {
+
+    static final String[] SOURCE = {"", "abc", "", "abcdefghij", "abcdefghij", "aaabaaabaaab", "abcdefghij", "abc", "ababaababc", "\u1234\u1234\u5678\u1234", "abc"};
+    static final String[] PATTERN = {"", "", "a", "abc", "ij", "baaa", "abcdefghijk", "abd", "ababc", "\u5678", null};
+
+    public static int test(int arg) {
+        final String source = new String(SOURCE[arg].toCharArray());
+        return source.indexOf(PATTERN[arg]);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests the Integer.bitCount and Long.bitCount intrinsics, including sign bits and the upper half of longs.
+ * @Harness: java
+ * @Runs: 0=0; 1=1; 2=32; 3=1; 4=16; 5=0; 6=64; 7=1; 8=32; 9=33
+ */
+public class Intrinsic_bitCount01 {
+
+    public static int test(int arg) {
+        switch (arg) {
+            case 0:
+                return Integer.bitCount(0);
+            case 1:
+                return Integer.bitCount(1);
+            case 2:
+                return Integer.bitCount(-1);
+            case 3:
+                return Integer.bitCount(Integer.MIN_VALUE);
+            case 4:
+                return Integer.bitCount(0x5a5a5a5a);
+            case 5:
+                return Long.bitCount(0L);
+            case 6:
+                return Long.bitCount(-1L);
+            case 7:
+                return Long.bitCount(Long.MIN_VALUE);
+            case 8:
+                return Long.bitCount(0xffffffff00000000L);
+            case 9:
+                return Long.bitCount(0xffffffff00000000L | arg - 8);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests the System.identityHashCode and Object.hashCode intrinsics, which read an assigned hash code straight
+ * from the lock word and call the runtime otherwise. The hash must be stable across locking, inflation of the
+ * lock by waiting on the object and garbage collection. Calls of hashCode() through an Object whose class
+ * overrides it must not use the intrinsic.
+ * @Harness: java
+ * @Runs: 0=true; 1=true; 2=true; 3=true; 4=true; 5=true; 6=true
+ */
+public class Intrinsic_hashCode01 {
+
+    static class Overrides {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    /**
+     * Not final, so that the compiler cannot know the exact types of the elements.
+     */
+    static Object[] receivers = {"Intrinsic_hashCode01", new Overrides()};
+
+    public static boolean test(int arg) throws InterruptedException {
+        final Object object = new Object();
+        final int hash = System.identityHashCode(object);
+        switch (arg) {
+            case 0:
+                return object.hashCode() == hash && System.identityHashCode(object) == hash;
+            case 1:
+                synchronized (object) {
+                    if (System.identityHashCode(object) != hash || object.hashCode() != hash) {
+                        return false;
+                    }
+                }
+                return System.identityHashCode(object) == hash;
+            case 2:
+                synchronized (object) {
+                    // waiting inflates the lock, moving the hash code out of the lock word
+                    object.wait(1);
+                    if (System.identityHashCode(object) != hash) {
+                        return false;
+                    }
+                }
+                return object.hashCode() == hash;
+            case 3:
+                System.gc();
+                return System.identityHashCode(object) == hash && object.hashCode() == hash;
+            case 4:
+                final Overrides overrides = new Overrides();
+                return overrides.hashCode() == 42 && System.identityHashCode(overrides) == System.identityHashCode(overrides);
+            case 5:
+                return hashCodeOf(receivers[0]) == "Intrinsic_hashCode01".hashCode();
+            case 6:
+                return hashCodeOf(receivers[1]) == 42;
+        }
+        return false;
+    }
+
+    static int hashCodeOf(Object object) {
+        return object.hashCode();
+    }
+}
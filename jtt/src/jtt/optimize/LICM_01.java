@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jtt.optimize;
+
+/*
+ * Tests loop invariant code motion: field loads must stay in a loop that writes fields or calls a method,
+ * instructions that can trap must not be executed before the loop, and invariant arithmetic is still computed
+ * correctly once hoisted.
+ * @Harness: java
+ * @Runs: 0=36; 1=36; 2=36; 3=0; 4=!java.lang.ArithmeticException; 5=150
+ */
+public class LICM_01 {
+
+    static int field;
+    int instanceField;
+
+    public static int test(int arg) {
+        int r = 0;
+        switch (arg) {
+            case 0:
+                field = 0;
+                for (int i = 0; i < 10; i++) {
+                    r += field;
+                    field = i;
+                }
+                return r + field - 9;
+            case 1: {
+                final LICM_01 o = new LICM_01();
+                for (int i = 0; i < 10; i++) {
+                    r += o.instanceField;
+                    o.instanceField = i;
+                }
+                return r + o.instanceField - 9;
+            }
+            case 2:
+                field = 0;
+                for (int i = 0; i < 10; i++) {
+                    r += field;
+                    set(i);
+                }
+                return r + field - 9;
+            case 3:
+                // the division by zero must not happen as the loop is never entered
+                for (int i = 0; i < arg - 3; i++) {
+                    r += 100 / (arg - 3);
+                }
+                return r;
+            case 4:
+                for (int i = 0; i < 2; i++) {
+                    r += 100 / (arg - 4);
+                }
+                return r;
+            case 5:
+                for (int i = 0; i < 10; i++) {
+                    r += (arg * 3) - (arg << 1);
+                    r += arg + 5;
+                }
+                return r;
+        }
+        return -1;
+    }
+
+    private static void set(int value) {
+        field = value;
+    }
+}
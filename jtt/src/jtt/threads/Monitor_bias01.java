@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+/*
+ * @Harness: java
+ * @Runs: 0 = true
+ */
+package jtt.threads;
+
+/**
+ * Locks many instances of a class from one thread, then from another, so that the contended revocations of their
+ * biases reach the bulk rebias and then the bulk revocation thresholds. Some of the instances are still locked by the
+ * first thread when the second one contends for them, and must not be stolen by a rebias.
+ */
+public final class Monitor_bias01 extends Thread {
+
+    static final int NUM_OBJECTS = 100;
+    static final int NUM_HELD = 10;
+
+    static final class Biased {
+        int value;
+    }
+
+    static final Biased[] objects = new Biased[NUM_OBJECTS];
+    static final Object handOff = new Object();
+    static boolean firstDone;
+    static boolean release;
+
+    private Monitor_bias01() {
+    }
+
+    public static boolean test(int arg) throws InterruptedException {
+        for (int i = 0; i < NUM_OBJECTS; i++) {
+            objects[i] = new Biased();
+        }
+        firstDone = false;
+        release = false;
+        final Thread first = new Monitor_bias01();
+        first.start();
+        synchronized (handOff) {
+            while (!firstDone) {
+                handOff.wait();
+            }
+        }
+        // The first thread holds the monitors of the first NUM_HELD objects until released.
+        for (int i = NUM_HELD; i < NUM_OBJECTS; i++) {
+            synchronized (objects[i]) {
+                objects[i].value++;
+            }
+        }
+        synchronized (handOff) {
+            release = true;
+            handOff.notifyAll();
+        }
+        for (int i = 0; i < NUM_HELD; i++) {
+            synchronized (objects[i]) {
+                // The first thread incremented the value again before releasing the monitor.
+                if (objects[i].value != 2) {
+                    return false;
+                }
+                objects[i].value++;
+            }
+        }
+        first.join();
+        for (int i = 0; i < NUM_OBJECTS; i++) {
+            if (objects[i].value != (i < NUM_HELD ? 3 : 2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        for (int i = NUM_HELD; i < NUM_OBJECTS; i++) {
+            synchronized (objects[i]) {
+                objects[i].value++;
+            }
+        }
+        lockHeld(0);
+    }
+
+    private static void lockHeld(int i) {
+        if (i == NUM_HELD) {
+            synchronized (handOff) {
+                firstDone = true;
+                handOff.notifyAll();
+                while (!release) {
+                    try {
+                        handOff.wait();
+                    } catch (InterruptedException e) {
+                    }
+                }
+            }
+            return;
+        }
+        synchronized (objects[i]) {
+            objects[i].value++;
+            lockHeld(i + 1);
+            objects[i].value++;
+        }
+    }
+}
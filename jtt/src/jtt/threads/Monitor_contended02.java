@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+/*
+ * @Harness: java
+ * @Runs: 2 = true; 4 = true
+ */
+package jtt.threads;
+
+/**
+ * Threads contend for an inflated monitor with short critical sections, which spinning mostly acquires, and with a
+ * critical section in which the owner sleeps, which contending threads must stop spinning for and block on.
+ * Checks that the monitor provides mutual exclusion in both cases.
+ */
+public final class Monitor_contended02 extends Thread {
+
+    static final int ITERATIONS = 20000;
+
+    static final Object lock = new Object();
+    static int counter;
+
+    private Monitor_contended02() {
+    }
+
+    public static boolean test(int numThreads) throws InterruptedException {
+        counter = 0;
+        synchronized (lock) {
+            // Inflate the monitor.
+            lock.wait(1);
+        }
+        final Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Monitor_contended02();
+        }
+        synchronized (lock) {
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            // Sleep while owning the monitor, so that the threads give up spinning and block.
+            Thread.sleep(20);
+            counter++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return counter == numThreads * ITERATIONS + 1;
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            synchronized (lock) {
+                counter++;
+            }
+        }
+    }
+}
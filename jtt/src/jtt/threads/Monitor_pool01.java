@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+/*
+ * @Harness: java
+ * @Runs: 2 = true; 8 = true
+ */
+package jtt.threads;
+
+/**
+ * Several threads inflate the monitors of many more objects than a thread's monitor cache holds, so that caches are
+ * refilled from the global pool concurrently, and monitors are unbound and given back to caches and the pool by
+ * collections. Checks that each monitor still provides mutual exclusion.
+ */
+public final class Monitor_pool01 extends Thread {
+
+    static final int NUM_OBJECTS = 256;
+    static final int ITERATIONS = 4;
+
+    static final class Counter {
+        int value;
+    }
+
+    private final Counter[] counters;
+
+    private Monitor_pool01(Counter[] counters) {
+        this.counters = counters;
+    }
+
+    public static boolean test(int numThreads) throws InterruptedException {
+        final Counter[] counters = new Counter[NUM_OBJECTS];
+        for (int i = 0; i < NUM_OBJECTS; i++) {
+            counters[i] = new Counter();
+        }
+        final Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Monitor_pool01(counters);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Counter counter : counters) {
+            if (counter.value != numThreads * ITERATIONS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            for (Counter counter : counters) {
+                synchronized (counter) {
+                    try {
+                        // Waiting inflates the monitor, and lets other threads contend for it.
+                        counter.wait(0, 1);
+                    } catch (InterruptedException e) {
+                    }
+                    final int value = counter.value;
+                    Thread.yield();
+                    counter.value = value + 1;
+                }
+            }
+            if (iteration == ITERATIONS / 2) {
+                System.gc();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+/*
+ * @Harness: java
+ * @Runs: 0 = true; 1 = true
+ */
+package jtt.threads;
+
+/**
+ * Takes stack traces of other threads, which stops only the target thread with a handshake, while the target is running
+ * (arg 0) or blocked on a monitor (arg 1). Checks that the traces show the target's frames, that the target resumes
+ * afterwards, and that a terminated thread has an empty trace.
+ */
+public final class Thread_getStackTrace01 extends Thread {
+
+    static final Object lock = new Object();
+
+    private final boolean blocking;
+    volatile boolean stop;
+    volatile long iterations;
+
+    private Thread_getStackTrace01(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public static boolean test(int arg) throws InterruptedException {
+        final Thread_getStackTrace01 thread = new Thread_getStackTrace01(arg == 1);
+        boolean result = true;
+        synchronized (lock) {
+            thread.start();
+            // Wait for the thread to be in the method its traces must show.
+            while (arg == 1 ? thread.getState() != Thread.State.BLOCKED : thread.iterations == 0) {
+                Thread.yield();
+            }
+            for (int i = 0; i < 20; i++) {
+                final String method = arg == 1 ? "blockOnLock" : "spin";
+                if (!contains(thread.getStackTrace(), method)) {
+                    result = false;
+                }
+            }
+            thread.stop = true;
+        }
+        thread.join();
+        return result && thread.getStackTrace().length == 0 && thread.iterations > 0;
+    }
+
+    private static boolean contains(StackTraceElement[] trace, String methodName) {
+        for (StackTraceElement element : trace) {
+            if (element.getClassName().equals(Thread_getStackTrace01.class.getName()) && element.getMethodName().equals(methodName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void run() {
+        if (blocking) {
+            blockOnLock();
+        } else {
+            spin();
+        }
+    }
+
+    private void blockOnLock() {
+        synchronized (lock) {
+            iterations++;
+        }
+    }
+
+    private void spin() {
+        while (!stop) {
+            iterations++;
+        }
+    }
+}
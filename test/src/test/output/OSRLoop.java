@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package test.output;
+
+/**
+ * Runs the same hot loop from a baseline caller and from a caller that has been recompiled by the optimizing
+ * compiler. On-stack replacement of the loop is refused for the baseline caller, and must then be retried once the
+ * loop is entered from the optimized caller. Also runs a loop long enough for several failed attempts to back off.
+ */
+public class OSRLoop {
+
+    public static void main(String[] args) {
+        // Warm up the caller without entering the loop so that it is recompiled while the loop is still baseline code
+        long warm = 0;
+        for (int i = 0; i < 20000; i++) {
+            warm += caller(-1);
+        }
+        System.out.println("warm: " + warm);
+        System.out.println("baseline caller: " + loop(3000000));
+        System.out.println("optimized caller: " + caller(3000000));
+        System.out.println("baseline caller again: " + loop(3000000));
+        System.out.println("nested: " + nested(2000, 2000));
+    }
+
+    private static long caller(int n) {
+        if (n < 0) {
+            return n;
+        }
+        return loop(n);
+    }
+
+    private static long loop(int n) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += i ^ (sum >>> 7);
+        }
+        return sum;
+    }
+
+    private static long nested(int outer, int inner) {
+        long sum = 0;
+        for (int i = 0; i < outer; i++) {
+            for (int j = 0; j < inner; j++) {
+                sum += (i * 31) ^ j;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package test.output;
+
+/**
+ * Warms up a virtual call site with a single receiver type so that the optimizing compiler inlines it behind a
+ * speculative type guard, then calls it with a second receiver type. The guard miss must deoptimize and re-execute
+ * the invoke with all of its arguments intact. Switching receiver types repeatedly exceeds the miss limit, after
+ * which the call site must no longer be speculated on but still dispatch correctly.
+ */
+public class TypeGuardMiss {
+
+    abstract static class Shape {
+        abstract long area(int scale, long offset, double factor, String tag);
+    }
+
+    static final class Square extends Shape {
+        @Override
+        long area(int scale, long offset, double factor, String tag) {
+            return scale * scale + offset + (long) factor + tag.length();
+        }
+    }
+
+    static final class Circle extends Shape {
+        @Override
+        long area(int scale, long offset, double factor, String tag) {
+            return 3 * scale * scale - offset + (long) (factor * 2) + tag.hashCode();
+        }
+    }
+
+    public static void main(String[] args) {
+        final Shape square = new Square();
+        final Shape circle = new Circle();
+        for (int round = 0; round < 4; round++) {
+            long sum = 0;
+            for (int i = 0; i < 20000; i++) {
+                sum += call(square, i & 0xff, i, 1.5, "square");
+            }
+            System.out.println("round " + round + " square: " + sum);
+            System.out.println("round " + round + " circle: " + call(circle, 7, 1L << 40, 2.25, "circle"));
+        }
+        long mixed = 0;
+        for (int i = 0; i < 20000; i++) {
+            mixed += call((i & 1) == 0 ? square : circle, i & 0xff, i, 0.5, "mixed");
+        }
+        System.out.println("mixed: " + mixed);
+    }
+
+    private static long call(Shape shape, int scale, long offset, double factor, String tag) {
+        return shape.area(scale, offset, factor, tag);
+    }
+}